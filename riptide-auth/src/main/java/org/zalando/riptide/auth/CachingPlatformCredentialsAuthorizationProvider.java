@@ -0,0 +1,145 @@
+package org.zalando.riptide.auth;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A {@link PlatformCredentialsAuthorizationProvider platform credentials provider} that keeps the authorization in
+ * memory instead of reading the token files for every request. A background thread reloads them whenever the
+ * credentials directory changes and, in case a change went unnoticed, periodically.
+ *
+ * A reloaded authorization is only used if two subsequent reads agree, i.e. a token that is still being written is
+ * never served. Failed reloads keep the previous authorization.
+ */
+@Slf4j
+public final class CachingPlatformCredentialsAuthorizationProvider implements AuthorizationProvider, Closeable {
+
+    private final AuthorizationProvider provider;
+    private final Duration interval;
+
+    @Nullable
+    private final WatchService watcher;
+    private final Thread thread;
+
+    @Nullable
+    private volatile String authorization;
+
+    public CachingPlatformCredentialsAuthorizationProvider(final String name) {
+        this(Paths.get("/meta/credentials"), name);
+    }
+
+    public CachingPlatformCredentialsAuthorizationProvider(final Path directory, final String name) {
+        this(directory, name, Duration.ofMinutes(1));
+    }
+
+    public CachingPlatformCredentialsAuthorizationProvider(
+            final Path directory, final String name, final Duration interval) {
+
+        this.provider = new PlatformCredentialsAuthorizationProvider(directory, name);
+        this.interval = interval;
+        this.watcher = watch(directory);
+        this.thread = new Thread(this::run, "riptide-platform-credentials-" + name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    @Override
+    public String get() throws IOException {
+        @Nullable final String authorization = this.authorization;
+
+        if (authorization != null) {
+            return authorization;
+        }
+
+        return reload();
+    }
+
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    private String reload() throws IOException {
+        String previous = provider.get();
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            final String current = provider.get();
+
+            if (current.equals(previous)) {
+                authorization = current;
+                return current;
+            }
+
+            previous = current;
+        }
+
+        throw new IOException("Platform credentials are still changing");
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                await();
+            } catch (final InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            try {
+                reload();
+            } catch (final IOException | RuntimeException e) {
+                log.warn("Failed to reload platform credentials, keeping the previous ones", e);
+            }
+        }
+    }
+
+    private void await() throws InterruptedException {
+        if (watcher == null) {
+            Thread.sleep(interval.toMillis());
+            return;
+        }
+
+        @Nullable final WatchKey key = watcher.poll(interval.toMillis(), MILLISECONDS);
+
+        if (key != null) {
+            // any change counts, e.g. Kubernetes swaps a symlink to rotate all files of a secret at once
+            key.pollEvents();
+            key.reset();
+        }
+    }
+
+    @Nullable
+    private static WatchService watch(final Path directory) {
+        try {
+            final WatchService watcher = directory.getFileSystem().newWatchService();
+            try {
+                directory.register(watcher, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                return watcher;
+            } catch (final IOException e) {
+                watcher.close();
+                throw e;
+            }
+        } catch (final IOException e) {
+            log.warn("Unable to watch {} for changes, falling back to periodic reloads", directory, e);
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,290 @@
+package org.zalando.riptide.auth;
+
+import com.google.common.math.LongMath;
+import com.google.common.reflect.TypeToken;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.zalando.riptide.Http;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.net.HttpHeaders.AUTHORIZATION;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PRIVATE;
+import static org.springframework.http.HttpStatus.Series.SUCCESSFUL;
+import static org.springframework.http.MediaType.APPLICATION_FORM_URLENCODED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.zalando.riptide.Bindings.on;
+import static org.zalando.riptide.Navigators.series;
+
+/**
+ * An {@link AuthorizationProvider authorization provider} that obtains access tokens from an OAuth 2.0 token endpoint
+ * using the client credentials grant. Tokens are cached per set of {@link #withScopes(String...) scopes}.
+ *
+ * Once a token reached the {@link #withRefreshRatio(double) refresh ratio} of its lifetime, the next request triggers
+ * a refresh in the background and keeps using the current token in the meantime. Only requests without a valid token,
+ * e.g. the very first ones, wait for the token endpoint. Concurrent refreshes of the same scopes are coalesced into a
+ * single call. Tokens without an {@code expires_in} are considered valid for a minute.
+ *
+ * Failed refreshes are {@link #withBackoff(Duration, Duration) backed off} exponentially: until the next attempt is due,
+ * requests keep using a still valid token or fail right away instead of calling the token endpoint again. Waiting for
+ * the token endpoint is bounded by a {@link #withTimeout(Duration) timeout}.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc6749#section-4.4">RFC 6749: Client Credentials Grant</a>
+ */
+@Slf4j
+@AllArgsConstructor(access = PRIVATE)
+public final class ClientCredentialsAuthorizationProvider implements AuthorizationProvider {
+
+    private static final TypeToken<Map<String, Object>> RESPONSE = new TypeToken<Map<String, Object>>() {
+    };
+
+    private static final long DEFAULT_EXPIRES_IN = 60;
+
+    private static final Duration DEFAULT_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(1);
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Http http;
+    private final URI tokenEndpoint;
+    private final String credentials;
+    private final ConcurrentMap<String, Entry> entries;
+    private final String scope;
+    private final double ratio;
+    private final long backoff;
+    private final long maxBackoff;
+    private final long timeout;
+    private final LongSupplier ticker;
+
+    /**
+     * @param http the client to call the token endpoint with, needs to be able to read JSON
+     * @param tokenEndpoint the URI of the token endpoint
+     * @param clientId the client identifier
+     * @param clientSecret the client secret
+     */
+    public ClientCredentialsAuthorizationProvider(
+            final Http http,
+            final URI tokenEndpoint,
+            final String clientId,
+            final String clientSecret) {
+
+        this(http, tokenEndpoint, new BasicAuthorizationProvider(clientId, clientSecret).get(),
+                new ConcurrentHashMap<>(), "", 0.8, DEFAULT_BACKOFF.toNanos(), DEFAULT_MAX_BACKOFF.toNanos(),
+                DEFAULT_TIMEOUT.toNanos(), System::nanoTime);
+    }
+
+    /**
+     * @param scopes the scopes to request tokens for, none by default
+     * @return a copy of this provider using the given scopes, sharing its cached tokens
+     */
+    public ClientCredentialsAuthorizationProvider withScopes(final String... scopes) {
+        final String scope = String.join(" ", new TreeSet<>(Arrays.asList(scopes)));
+        return new ClientCredentialsAuthorizationProvider(
+                http, tokenEndpoint, credentials, entries, scope, ratio, backoff, maxBackoff, timeout, ticker);
+    }
+
+    /**
+     * @param ratio the fraction of a token's lifetime, i.e. {@code expires_in}, after which it's refreshed,
+     *              defaults to 0.8
+     * @return a copy of this provider using the given refresh ratio, sharing its cached tokens
+     */
+    public ClientCredentialsAuthorizationProvider withRefreshRatio(final double ratio) {
+        checkArgument(ratio > 0 && ratio <= 1, "Refresh ratio must be in (0, 1], but was: %s", ratio);
+        return new ClientCredentialsAuthorizationProvider(
+                http, tokenEndpoint, credentials, entries, scope, ratio, backoff, maxBackoff, timeout, ticker);
+    }
+
+    /**
+     * @param backoff the delay after the first failed refresh, doubled after every consecutive failure,
+     *                defaults to 1 second
+     * @param maxBackoff the maximum delay between failed refreshes, defaults to 1 minute
+     * @return a copy of this provider using the given backoff, sharing its cached tokens
+     */
+    public ClientCredentialsAuthorizationProvider withBackoff(final Duration backoff, final Duration maxBackoff) {
+        checkArgument(!backoff.isNegative(), "Backoff must not be negative, but was: %s", backoff);
+        checkArgument(maxBackoff.compareTo(backoff) >= 0,
+                "Max backoff must not be less than backoff, but was: %s", maxBackoff);
+        return new ClientCredentialsAuthorizationProvider(
+                http, tokenEndpoint, credentials, entries, scope, ratio, backoff.toNanos(), maxBackoff.toNanos(),
+                timeout, ticker);
+    }
+
+    /**
+     * @param timeout the maximum time to wait for the token endpoint, defaults to 10 seconds
+     * @return a copy of this provider using the given timeout, sharing its cached tokens
+     */
+    public ClientCredentialsAuthorizationProvider withTimeout(final Duration timeout) {
+        checkArgument(!timeout.isNegative() && !timeout.isZero(), "Timeout must be positive, but was: %s", timeout);
+        return new ClientCredentialsAuthorizationProvider(
+                http, tokenEndpoint, credentials, entries, scope, ratio, backoff, maxBackoff, timeout.toNanos(),
+                ticker);
+    }
+
+    ClientCredentialsAuthorizationProvider withTicker(final LongSupplier ticker) {
+        return new ClientCredentialsAuthorizationProvider(
+                http, tokenEndpoint, credentials, entries, scope, ratio, backoff, maxBackoff, timeout, ticker);
+    }
+
+    @Override
+    public String get() throws IOException {
+        final Entry entry = entries.computeIfAbsent(scope, key -> new Entry());
+        final long now = ticker.getAsLong();
+        @Nullable final Token token = entry.token;
+        @Nullable final Failure failure = entry.failure;
+        final boolean backingOff = failure != null && now < failure.retryAt;
+
+        if (token != null && now < token.expiresAt) {
+            if (now >= token.refreshAt && !backingOff) {
+                refresh(entry);
+            }
+            return token.authorization;
+        }
+
+        if (backingOff) {
+            throw new IOException("Backing off from " + tokenEndpoint + " after failed refresh", failure.cause);
+        }
+
+        try {
+            return refresh(entry).join().authorization;
+        } catch (final CompletionException e) {
+            final Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    private CompletableFuture<Token> refresh(final Entry entry) {
+        final CompletableFuture<Token> future = new CompletableFuture<>();
+        @Nullable final CompletableFuture<Token> pending = entry.refresh.compareAndExchange(null, future);
+
+        if (pending != null) {
+            return pending;
+        }
+
+        request().orTimeout(timeout, NANOSECONDS).whenComplete((token, throwable) -> {
+            if (throwable == null) {
+                entry.token = token;
+                entry.failures = 0;
+                entry.failure = null;
+            } else {
+                log.warn("Failed to obtain access token from {}", tokenEndpoint, throwable);
+                final int failures = ++entry.failures;
+                final Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                entry.failure = new Failure(cause, ticker.getAsLong() + delay(failures));
+            }
+
+            entry.refresh.set(null);
+
+            if (throwable == null) {
+                future.complete(token);
+            } else {
+                future.completeExceptionally(throwable);
+            }
+        });
+
+        return future;
+    }
+
+    private long delay(final int failures) {
+        final long multiplier = LongMath.saturatedPow(2, Math.min(failures - 1, Long.SIZE));
+        return Math.min(LongMath.saturatedMultiply(backoff, multiplier), maxBackoff);
+    }
+
+    private CompletableFuture<Token> request() {
+        final MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "client_credentials");
+
+        if (!scope.isEmpty()) {
+            form.add("scope", scope);
+        }
+
+        final long requested = ticker.getAsLong();
+        final AtomicReference<Token> token = new AtomicReference<>();
+
+        try {
+            return http.post(tokenEndpoint)
+                    .header(AUTHORIZATION, credentials)
+                    .contentType(APPLICATION_FORM_URLENCODED)
+                    .accept(APPLICATION_JSON)
+                    .body(form)
+                    .dispatch(series(),
+                            on(SUCCESSFUL).call(RESPONSE, response -> token.set(parse(response, requested))))
+                    .thenApply(response -> token.get());
+        } catch (final RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Token parse(final Map<String, Object> response, final long requested) throws IOException {
+        @Nullable final Object type = response.get("token_type");
+        @Nullable final Object accessToken = response.get("access_token");
+
+        if (type == null || accessToken == null) {
+            throw new IOException("Token response lacks token_type or access_token");
+        }
+
+        final long expiresIn = Long.parseLong(Objects.toString(response.get("expires_in"), String.valueOf(DEFAULT_EXPIRES_IN)));
+        final long lifetime = TimeUnit.SECONDS.toNanos(expiresIn);
+
+        return new Token(type + " " + accessToken, requested + (long) (lifetime * ratio), requested + lifetime);
+    }
+
+    private static final class Entry {
+
+        @Nullable
+        private volatile Token token;
+
+        @Nullable
+        private volatile Failure failure;
+
+        /**
+         * Only modified by the single pending refresh.
+         */
+        private volatile int failures;
+
+        private final AtomicReference<CompletableFuture<Token>> refresh = new AtomicReference<>();
+
+    }
+
+    @AllArgsConstructor
+    private static final class Failure {
+
+        private final Throwable cause;
+
+        /**
+         * Measured in {@link System#nanoTime() nanos}.
+         */
+        private final long retryAt;
+
+    }
+
+    @AllArgsConstructor
+    private static final class Token {
+
+        private final String authorization;
+
+        /**
+         * Measured in {@link System#nanoTime() nanos}, from the time the token was requested.
+         */
+        private final long refreshAt;
+        private final long expiresAt;
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.zalando.riptide.auth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class CachingPlatformCredentialsAuthorizationProviderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldSupplyOAuthToken() throws IOException {
+        try (final CachingPlatformCredentialsAuthorizationProvider unit =
+                     new CachingPlatformCredentialsAuthorizationProvider(
+                             Paths.get("src/test/resources/meta/credentials"), "example")) {
+
+            assertEquals("Bearer eyJhbGciOiJub25lIiwidHlwIjoiSldUIn0.e30.", unit.get());
+        }
+    }
+
+    @Test
+    void shouldCacheToken() throws IOException {
+        write("Bearer", "first");
+
+        try (final CachingPlatformCredentialsAuthorizationProvider unit = create(Duration.ofMinutes(1))) {
+            assertSame(unit.get(), unit.get());
+        }
+    }
+
+    @Test
+    void shouldReloadRotatedToken() throws IOException, InterruptedException {
+        write("Bearer", "first");
+
+        try (final CachingPlatformCredentialsAuthorizationProvider unit = create(Duration.ofMinutes(1))) {
+            assertEquals("Bearer first", unit.get());
+
+            write("Bearer", "second");
+
+            assertEventually("Bearer second", unit);
+        }
+    }
+
+    @Test
+    void shouldFailWithoutDirectory() throws IOException {
+        try (final CachingPlatformCredentialsAuthorizationProvider unit =
+                     new CachingPlatformCredentialsAuthorizationProvider(
+                             directory.resolve("missing"), "example", Duration.ofMillis(50))) {
+
+            assertThrows(NoSuchFileException.class, unit::get);
+        }
+    }
+
+    @Test
+    void shouldKeepPreviousTokenIfReloadFails() throws IOException, InterruptedException {
+        write("Bearer", "first");
+
+        try (final CachingPlatformCredentialsAuthorizationProvider unit = create(Duration.ofMillis(50))) {
+            assertEquals("Bearer first", unit.get());
+
+            Files.write(directory.resolve("example-token-secret"), new byte[0]);
+            Thread.sleep(200);
+
+            assertEquals("Bearer first", unit.get());
+
+            write("Bearer", "second");
+
+            assertEventually("Bearer second", unit);
+        }
+    }
+
+    @Test
+    void shouldFailOnMissingFile() throws IOException {
+        try (final CachingPlatformCredentialsAuthorizationProvider unit = create(Duration.ofMinutes(1))) {
+            assertThrows(NoSuchFileException.class, unit::get);
+        }
+    }
+
+    private CachingPlatformCredentialsAuthorizationProvider create(final Duration interval) {
+        return new CachingPlatformCredentialsAuthorizationProvider(directory, "example", interval);
+    }
+
+    private void write(final String type, final String secret) throws IOException {
+        Files.write(directory.resolve("example-token-type"), type.getBytes(UTF_8));
+        Files.write(directory.resolve("example-token-secret"), secret.getBytes(UTF_8));
+    }
+
+    private static void assertEventually(final String expected, final AuthorizationProvider unit)
+            throws IOException, InterruptedException {
+
+        final long deadline = System.nanoTime() + Duration.ofSeconds(20).toNanos();
+
+        while (!expected.equals(unit.get()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(expected, unit.get());
+    }
+
+}
@@ -0,0 +1,242 @@
+package org.zalando.riptide.auth;
+
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.zalando.riptide.Http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zalando.riptide.auth.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.auth.MockWebServerUtil.jsonMockResponse;
+
+final class ClientCredentialsAuthorizationProviderTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService executor = newFixedThreadPool(4);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final ClientCredentialsAuthorizationProvider unit = new ClientCredentialsAuthorizationProvider(
+            Http.builder()
+                    .executor(executor)
+                    .requestFactory(new SimpleClientHttpRequestFactory())
+                    .build(),
+            URI.create(getBaseUrl(server) + "/oauth2/token"),
+            "client",
+            "secret")
+            .withTicker(clock::get);
+
+    @SneakyThrows
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldObtainToken() throws IOException, InterruptedException {
+        server.enqueue(token("first", 3600));
+
+        assertEquals("Bearer first", unit.withScopes("write", "read").get());
+
+        final RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals("POST", request.getMethod());
+        assertEquals("/oauth2/token", request.getPath());
+        assertEquals("Basic Y2xpZW50OnNlY3JldA==", request.getHeader("Authorization"));
+        assertEquals("grant_type=client_credentials&scope=read+write", request.getBody().readUtf8());
+    }
+
+    @Test
+    void shouldCacheToken() throws IOException {
+        server.enqueue(token("first", 3600));
+
+        assertEquals("Bearer first", unit.get());
+        assertEquals("Bearer first", unit.get());
+        assertEquals("Bearer first", unit.withRefreshRatio(0.5).get());
+
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void shouldCacheTokensPerScope() throws IOException {
+        server.enqueue(token("first", 3600));
+        server.enqueue(token("second", 3600));
+
+        assertEquals("Bearer first", unit.withScopes("read").get());
+        assertEquals("Bearer second", unit.withScopes("write").get());
+        assertEquals("Bearer first", unit.withScopes("read").get());
+
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void shouldRefreshInBackground() throws IOException, InterruptedException {
+        server.enqueue(token("first", 100));
+        server.enqueue(token("second", 100).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        assertEquals("Bearer first", unit.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(81));
+
+        assertEquals("Bearer first", unit.get());
+        assertEquals("Bearer first", unit.get());
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"Bearer second".equals(unit.get()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals("Bearer second", unit.get());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void shouldWaitForTokenOnceExpired() throws IOException {
+        server.enqueue(token("first", 100));
+        server.enqueue(token("second", 100));
+
+        assertEquals("Bearer first", unit.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(100));
+
+        assertEquals("Bearer second", unit.get());
+    }
+
+    @Test
+    void shouldCoalesceConcurrentRefreshes() throws Exception {
+        server.enqueue(token("first", 3600).setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        final ExecutorService callers = newFixedThreadPool(8);
+        final List<Future<String>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 8; i++) {
+                futures.add(callers.submit(unit::get));
+            }
+
+            for (final Future<String> future : futures) {
+                assertEquals("Bearer first", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdown();
+        }
+
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void shouldFailOnErrorResponse() {
+        server.enqueue(new MockResponse().setResponseCode(401));
+
+        assertThrows(IOException.class, unit::get);
+    }
+
+    @Test
+    void shouldFailOnIncompleteResponse() {
+        server.enqueue(jsonMockResponse("{\"token_type\": \"Bearer\"}"));
+
+        assertThrows(IOException.class, unit::get);
+    }
+
+    @Test
+    void shouldBackOffAfterFailedRefresh() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(token("first", 3600));
+
+        assertThrows(IOException.class, unit::get);
+        assertThrows(IOException.class, unit::get);
+        assertEquals(1, server.getRequestCount());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertEquals("Bearer first", unit.get());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void shouldBackOffExponentially() {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThrows(IOException.class, unit::get);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThrows(IOException.class, unit::get);
+        assertEquals(2, server.getRequestCount());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        assertThrows(IOException.class, unit::get);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void shouldKeepUsingValidTokenWhileBackingOff() throws IOException, InterruptedException {
+        server.enqueue(token("first", 100));
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(token("second", 100));
+
+        assertEquals("Bearer first", unit.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(81));
+
+        assertEquals("Bearer first", unit.get());
+        server.takeRequest(5, TimeUnit.SECONDS);
+        server.takeRequest(5, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Bearer first", unit.get());
+        }
+
+        assertEquals(2, server.getRequestCount());
+
+        // the backoff starts once the failure was processed, which happens asynchronously
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"Bearer second".equals(unit.get()) && System.nanoTime() < deadline) {
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+            Thread.sleep(10);
+        }
+
+        assertEquals("Bearer second", unit.get());
+        assertEquals(3, server.getRequestCount());
+    }
+
+    @Test
+    void shouldTimeOutWaitingForToken() throws IOException {
+        server.enqueue(token("first", 3600).setHeadersDelay(1, TimeUnit.SECONDS));
+
+        final ClientCredentialsAuthorizationProvider unit = this.unit.withTimeout(Duration.ofMillis(100));
+
+        assertThrows(IOException.class, unit::get);
+    }
+
+    @Test
+    void shouldRejectInvalidBackoff() {
+        assertThrows(IllegalArgumentException.class, () ->
+                unit.withBackoff(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+    }
+
+    private static MockResponse token(final String token, final long expiresIn) {
+        return jsonMockResponse("{\"access_token\": \"" + token + "\", \"token_type\": \"Bearer\", " +
+                "\"expires_in\": " + expiresIn + "}");
+    }
+
+}
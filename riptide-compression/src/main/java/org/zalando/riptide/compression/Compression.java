@@ -5,15 +5,137 @@ import lombok.Getter;
 import org.apiguardian.api.API;
 import org.zalando.fauxpas.ThrowingUnaryOperator;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.zip.Deflater.BEST_COMPRESSION;
+import static java.util.zip.Deflater.DEFAULT_COMPRESSION;
+import static java.util.zip.Deflater.NO_COMPRESSION;
+import static lombok.AccessLevel.PRIVATE;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 @API(status = EXPERIMENTAL)
-@AllArgsConstructor(staticName = "of")
+@AllArgsConstructor(access = PRIVATE)
 @Getter
 public final class Compression {
+
+    private static final Pool<Inflater> INFLATERS = new Pool<>(
+            Runtime.getRuntime().availableProcessors() * 2,
+            () -> new Inflater(true), Inflater::reset, Inflater::end);
+
+    private static final Pool<Deflater> DEFLATERS = new Pool<>(
+            Runtime.getRuntime().availableProcessors() * 2,
+            () -> new Deflater(DEFAULT_COMPRESSION, true), Deflater::reset, Deflater::end);
+
+    private static final Compression GZIP = gzip(DEFAULT_COMPRESSION);
+
+    private static final Compression DEFLATE = deflate(DEFAULT_COMPRESSION);
+
     private final String contentEncoding;
     private final ThrowingUnaryOperator<OutputStream, IOException> outputStreamDecorator;
+
+    /**
+     * Decompresses response bodies, if supported.
+     */
+    @Nullable
+    private final ThrowingUnaryOperator<InputStream, IOException> inputStreamDecorator;
+
+    public static Compression of(
+            final String contentEncoding,
+            final ThrowingUnaryOperator<OutputStream, IOException> outputStreamDecorator) {
+        return new Compression(contentEncoding, outputStreamDecorator, null);
+    }
+
+    public static Compression of(
+            final String contentEncoding,
+            final ThrowingUnaryOperator<OutputStream, IOException> outputStreamDecorator,
+            final ThrowingUnaryOperator<InputStream, IOException> inputStreamDecorator) {
+        return new Compression(contentEncoding, outputStreamDecorator, inputStreamDecorator);
+    }
+
+    /**
+     * @return {@code gzip} compression using the default level, with pooled {@link Deflater deflaters} and
+     * {@link Inflater inflaters}
+     */
+    public static Compression gzip() {
+        return GZIP;
+    }
+
+    /**
+     * @param level the compression level, from 0 (no compression) to 9 (best compression), or -1 for the default
+     * @return {@code gzip} compression using the given level, with pooled {@link Deflater deflaters} and
+     * {@link Inflater inflaters}
+     */
+    public static Compression gzip(final int level) {
+        return pooled(Format.GZIP, "gzip", level);
+    }
+
+    /**
+     * @return {@code deflate} compression using the default level, with pooled {@link Deflater deflaters} and
+     * {@link Inflater inflaters}
+     */
+    public static Compression deflate() {
+        return DEFLATE;
+    }
+
+    /**
+     * @param level the compression level, from 0 (no compression) to 9 (best compression), or -1 for the default
+     * @return {@code deflate} compression using the given level, with pooled {@link Deflater deflaters} and
+     * {@link Inflater inflaters}
+     */
+    public static Compression deflate(final int level) {
+        return pooled(Format.DEFLATE, "deflate", level);
+    }
+
+    /**
+     * @return {@code gzip} compression using the default level that compresses blocks of 128 KiB in parallel, on the
+     * {@link ForkJoinPool#commonPool() common pool}
+     * @see #parallelGzip(int, int, ForkJoinPool)
+     */
+    public static Compression parallelGzip() {
+        return parallelGzip(DEFAULT_COMPRESSION, 128 * 1024, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compresses request bodies like <a href="https://zlib.net/pigz/">pigz</a>: Bodies are cut into blocks that are
+     * compressed concurrently and emitted, in order, as a single {@code gzip} stream. This pays off for large
+     * bodies, i.e. ones that span many blocks, where single-threaded compression would become the bottleneck.
+     * Smaller bodies are better served by {@link #gzip(int)}.
+     *
+     * @param level the compression level, from 0 (no compression) to 9 (best compression), or -1 for the default
+     * @param blockSize the size of blocks that are compressed concurrently, in bytes, pigz uses 128 KiB
+     * @param executor the pool to compress blocks on
+     * @return parallel {@code gzip} compression, decompression is the same as {@link #gzip(int)}
+     */
+    public static Compression parallelGzip(final int level, final int blockSize, final ForkJoinPool executor) {
+        checkLevel(level);
+        checkArgument(blockSize > 0, "Block size must be positive, but was: %s", blockSize);
+
+        final Pool<Deflater> deflaters = new Pool<>(executor.getParallelism(),
+                () -> new Deflater(level, true), Deflater::reset, Deflater::end);
+
+        return of("gzip",
+                stream -> new ParallelGzipOutputStream(stream, blockSize, executor, deflaters),
+                stream -> new InflatingInputStream(stream, Format.GZIP, INFLATERS));
+    }
+
+    private static Compression pooled(final Format format, final String contentEncoding, final int level) {
+        checkLevel(level);
+
+        return of(contentEncoding,
+                stream -> new DeflatingOutputStream(stream, format, level, DEFLATERS),
+                stream -> new InflatingInputStream(stream, format, INFLATERS));
+    }
+
+    private static void checkLevel(final int level) {
+        checkArgument(level == DEFAULT_COMPRESSION || (level >= NO_COMPRESSION && level <= BEST_COMPRESSION),
+                "Compression level must be in [0, 9] or -1, but was: %s", level);
+    }
+
 }
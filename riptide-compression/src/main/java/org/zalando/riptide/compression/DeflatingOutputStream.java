@@ -0,0 +1,112 @@
+package org.zalando.riptide.compression;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Compresses into {@code gzip} or {@code deflate} (zlib) format using a pooled {@link Deflater}. In contrast to
+ * {@link java.util.zip.GZIPOutputStream} it doesn't allocate a new deflater, and with that native memory, per stream.
+ * The deflater is returned to its pool once this stream is closed.
+ */
+final class DeflatingOutputStream extends DeflaterOutputStream {
+
+    static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, 0};
+
+    // 32K window, default compression
+    private static final byte[] ZLIB_HEADER = {0x78, (byte) 0x9c};
+
+    private final Format format;
+    private final Pool<Deflater> pool;
+    private final Checksum checksum;
+
+    private boolean closed;
+
+    DeflatingOutputStream(
+            final OutputStream stream,
+            final Format format,
+            final int level,
+            final Pool<Deflater> pool) throws IOException {
+
+        this(stream, format, pool, borrow(pool, level));
+    }
+
+    private DeflatingOutputStream(
+            final OutputStream stream,
+            final Format format,
+            final Pool<Deflater> pool,
+            final Deflater deflater) throws IOException {
+
+        super(stream, deflater, 8192);
+        this.format = format;
+        this.pool = pool;
+        this.checksum = format == Format.GZIP ? new CRC32() : new Adler32();
+
+        try {
+            out.write(format == Format.GZIP ? GZIP_HEADER : ZLIB_HEADER);
+        } catch (final IOException e) {
+            pool.release(deflater);
+            throw e;
+        }
+    }
+
+    private static Deflater borrow(final Pool<Deflater> pool, final int level) {
+        final Deflater deflater = pool.borrow();
+        deflater.setLevel(level);
+        return deflater;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+
+        super.write(b, off, len);
+        checksum.update(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (closed || def.finished()) {
+            return;
+        }
+
+        super.finish();
+
+        final long value = checksum.getValue();
+
+        if (format == Format.GZIP) {
+            writeIntLittleEndian(value);
+            writeIntLittleEndian(def.getBytesRead());
+        } else {
+            out.write(new byte[]{
+                    (byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value});
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            finish();
+            out.close();
+        } finally {
+            closed = true;
+            pool.release(def);
+        }
+    }
+
+    private void writeIntLittleEndian(final long value) throws IOException {
+        out.write(new byte[]{
+                (byte) value, (byte) (value >>> 8), (byte) (value >>> 16), (byte) (value >>> 24)});
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.zalando.riptide.compression;
+
+/**
+ * The framings around raw deflate data that {@link InflatingInputStream} and {@link DeflatingOutputStream} support.
+ */
+enum Format {
+
+    /**
+     * @see <a href="https://tools.ietf.org/html/rfc1952">RFC 1952: GZIP file format specification</a>
+     */
+    GZIP,
+
+    /**
+     * @see <a href="https://tools.ietf.org/html/rfc1950">RFC 1950: ZLIB Compressed Data Format Specification</a>
+     */
+    DEFLATE
+
+}
@@ -0,0 +1,294 @@
+package org.zalando.riptide.compression;
+
+import javax.annotation.Nullable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates a {@code gzip} or {@code deflate} encoded stream using a pooled {@link Inflater}. In contrast to
+ * {@link java.util.zip.GZIPInputStream} it returns inflated bytes as soon as they are available, i.e. it's suited for
+ * streamed responses, and it doesn't allocate a new inflater, and with that native memory, per stream.
+ *
+ * The {@code deflate} encoding is supposed to be a zlib stream, but some servers send raw deflate data instead. Both
+ * are supported. Checksums of gzip members and zlib streams are verified.
+ */
+final class InflatingInputStream extends InputStream {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final InputStream stream;
+    private final Format format;
+    private final Pool<Inflater> pool;
+
+    private final byte[] buffer = new byte[8192];
+    private final byte[] single = new byte[1];
+    private int position;
+    private int limit;
+
+    @Nullable
+    private Inflater inflater;
+
+    @Nullable
+    private Checksum checksum;
+
+    private boolean started;
+    private boolean finished;
+
+    InflatingInputStream(final InputStream stream, final Format format, final Pool<Inflater> pool) {
+        this.stream = stream;
+        this.format = format;
+        this.pool = pool;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+
+        if (!started) {
+            started = true;
+
+            if (!buffered()) {
+                // empty bodies, e.g. of HEAD requests, are not encoded at all
+                finish();
+                return -1;
+            }
+
+            inflater = pool.borrow();
+            readHeader();
+        }
+
+        while (!finished) {
+            final Inflater inflater = this.inflater;
+            final int count = inflate(inflater, b, off, len);
+
+            if (count > 0) {
+                if (checksum != null) {
+                    checksum.update(b, off, count);
+                }
+                return count;
+            }
+
+            if (inflater.finished()) {
+                position = limit - inflater.getRemaining();
+                readTrailer(inflater);
+
+                if (format == Format.GZIP && nextMemberFollows()) {
+                    inflater.reset();
+                    readHeader();
+                } else {
+                    finish();
+                }
+            } else if (inflater.needsDictionary()) {
+                throw new ZipException("Preset dictionaries are not supported");
+            } else if (inflater.needsInput()) {
+                if (!buffered()) {
+                    throw new EOFException("Unexpected end of compressed stream");
+                }
+
+                inflater.setInput(buffer, position, limit - position);
+                position = limit;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        finish();
+        stream.close();
+    }
+
+    private static int inflate(final Inflater inflater, final byte[] b, final int off, final int len)
+            throws ZipException {
+        try {
+            return inflater.inflate(b, off, len);
+        } catch (final DataFormatException e) {
+            final ZipException exception = new ZipException(e.getMessage());
+            exception.initCause(e);
+            throw exception;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (format == Format.GZIP) {
+            readGzipHeader();
+        } else {
+            readZlibHeader();
+        }
+    }
+
+    private void readGzipHeader() throws IOException {
+        if (readUnsignedShort() != GZIP_MAGIC) {
+            throw new ZipException("Not in GZIP format");
+        }
+
+        if (readUnsignedByte() != 8) {
+            throw new ZipException("Unsupported compression method");
+        }
+
+        final int flags = readUnsignedByte();
+        skip(6); // modification time, extra flags and operating system
+
+        if ((flags & FEXTRA) == FEXTRA) {
+            skip(readUnsignedShort());
+        }
+
+        if ((flags & FNAME) == FNAME) {
+            skipZeroTerminated();
+        }
+
+        if ((flags & FCOMMENT) == FCOMMENT) {
+            skipZeroTerminated();
+        }
+
+        if ((flags & FHCRC) == FHCRC) {
+            skip(2);
+        }
+
+        checksum = new CRC32();
+    }
+
+    private void readZlibHeader() throws IOException {
+        if (limit - position < 2) {
+            fill(2);
+        }
+
+        final int cmf = buffer[position] & 0xff;
+        final int flg = limit - position > 1 ? buffer[position + 1] & 0xff : 0;
+
+        if ((cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0) {
+            position += 2;
+
+            if ((flg & 0x20) != 0) {
+                throw new ZipException("Preset dictionaries are not supported");
+            }
+
+            checksum = new Adler32();
+        } else {
+            // raw deflate data without zlib wrapper
+            checksum = null;
+        }
+    }
+
+    private void readTrailer(final Inflater inflater) throws IOException {
+        if (format == Format.GZIP) {
+            final long crc = readUnsignedInt();
+            final long size = readUnsignedInt();
+
+            if (crc != checksum.getValue() || size != (inflater.getBytesWritten() & 0xffffffffL)) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+
+            checksum.reset();
+        } else if (checksum != null) {
+            // zlib stores its checksum in network byte order
+            final long adler = (long) readUnsignedByte() << 24 | readUnsignedByte() << 16 |
+                    readUnsignedByte() << 8 | readUnsignedByte();
+
+            if (adler != checksum.getValue()) {
+                throw new ZipException("Corrupt zlib trailer");
+            }
+        }
+    }
+
+    private boolean nextMemberFollows() throws IOException {
+        return buffered() && (buffer[position] & 0xff) == (GZIP_MAGIC & 0xff);
+    }
+
+    private void finish() {
+        finished = true;
+
+        if (inflater != null) {
+            pool.release(inflater);
+            inflater = null;
+        }
+    }
+
+    /**
+     * @return whether there is at least one buffered byte, reading more if needed
+     */
+    private boolean buffered() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+
+        final int count = stream.read(buffer);
+        position = 0;
+        limit = Math.max(count, 0);
+        return count > 0;
+    }
+
+    /**
+     * Tries to buffer at least the given number of bytes, moving the remaining ones to the start of the buffer.
+     */
+    private void fill(final int count) throws IOException {
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        limit -= position;
+        position = 0;
+
+        while (limit < count) {
+            final int read = stream.read(buffer, limit, buffer.length - limit);
+
+            if (read == -1) {
+                return;
+            }
+
+            limit += read;
+        }
+    }
+
+    private int readUnsignedByte() throws IOException {
+        if (!buffered()) {
+            throw new EOFException("Unexpected end of compressed stream");
+        }
+
+        return buffer[position++] & 0xff;
+    }
+
+    /**
+     * Reads two bytes in little endian order, as used by gzip.
+     */
+    private int readUnsignedShort() throws IOException {
+        return readUnsignedByte() | readUnsignedByte() << 8;
+    }
+
+    /**
+     * Reads four bytes in little endian order, as used by gzip.
+     */
+    private long readUnsignedInt() throws IOException {
+        return readUnsignedShort() | (long) readUnsignedShort() << 16;
+    }
+
+    private void skip(final int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readUnsignedByte();
+        }
+    }
+
+    private void skipZeroTerminated() throws IOException {
+        while (readUnsignedByte() != 0) {
+            // skip
+        }
+    }
+
+}
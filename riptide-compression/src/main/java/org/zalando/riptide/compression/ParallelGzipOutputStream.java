@@ -0,0 +1,199 @@
+package org.zalando.riptide.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static java.util.zip.Deflater.SYNC_FLUSH;
+
+/**
+ * Compresses into {@code gzip} format using multiple threads, the same way
+ * <a href="https://zlib.net/pigz/">pigz</a> does. Written bytes are cut into blocks of {@code blockSize} bytes that
+ * are compressed concurrently. Every block is primed with the last 32 KiB of its predecessor as a dictionary, which
+ * keeps the compression ratio close to that of a single stream. Blocks end on a byte boundary (sync flush), i.e.
+ * they are simply concatenated, in order, into one deflate stream. The CRC32 of the trailer is calculated on the
+ * writing thread.
+ *
+ * At most twice the pool's parallelism of blocks are pending at any time. Writing blocks once that limit is reached
+ * waits for the oldest one.
+ */
+final class ParallelGzipOutputStream extends OutputStream {
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private final OutputStream out;
+    private final int blockSize;
+    private final ForkJoinPool executor;
+    private final Pool<Deflater> deflaters;
+    private final int maxPending;
+
+    private final Queue<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+    private final CRC32 checksum = new CRC32();
+
+    private byte[] block;
+    private int position;
+
+    private byte[] previous = new byte[0];
+    private long size;
+
+    private boolean closed;
+
+    ParallelGzipOutputStream(
+            final OutputStream out,
+            final int blockSize,
+            final ForkJoinPool executor,
+            final Pool<Deflater> deflaters) throws IOException {
+
+        this.out = out;
+        this.blockSize = blockSize;
+        this.executor = executor;
+        this.deflaters = deflaters;
+        this.maxPending = executor.getParallelism() * 2;
+        this.block = new byte[blockSize];
+
+        out.write(DeflatingOutputStream.GZIP_HEADER);
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+
+        checksum.update(b, off, len);
+        size += len;
+
+        int offset = off;
+        int remaining = len;
+
+        while (remaining > 0) {
+            final int length = Math.min(remaining, blockSize - position);
+            System.arraycopy(b, offset, block, position, length);
+            position += length;
+            offset += length;
+            remaining -= length;
+
+            if (position == blockSize) {
+                submit(false);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain(false);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            submit(true);
+            drain(true);
+
+            final long value = checksum.getValue();
+            writeIntLittleEndian(value);
+            writeIntLittleEndian(size);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void submit(final boolean last) throws IOException {
+        final byte[] input = block;
+        final int length = position;
+        final byte[] dictionary = previous;
+
+        pending.add(CompletableFuture.supplyAsync(() -> compress(dictionary, input, length, last), executor));
+
+        previous = input;
+        block = new byte[blockSize];
+        position = 0;
+
+        while (pending.size() > maxPending) {
+            writeNext();
+        }
+
+        drain(false);
+    }
+
+    private byte[] compress(final byte[] dictionary, final byte[] input, final int length, final boolean last) {
+        final Deflater deflater = deflaters.borrow();
+
+        try {
+            final int dictionaryLength = Math.min(dictionary.length, DICTIONARY_SIZE);
+
+            if (dictionaryLength > 0) {
+                deflater.setDictionary(dictionary, dictionary.length - dictionaryLength, dictionaryLength);
+            }
+
+            deflater.setInput(input, 0, length);
+
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(length / 2 + 64);
+            final byte[] buffer = new byte[8192];
+
+            if (last) {
+                deflater.finish();
+
+                while (!deflater.finished()) {
+                    output.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int written;
+                do {
+                    written = deflater.deflate(buffer, 0, buffer.length, SYNC_FLUSH);
+                    output.write(buffer, 0, written);
+                } while (written == buffer.length);
+            }
+
+            return output.toByteArray();
+        } finally {
+            deflaters.release(deflater);
+        }
+    }
+
+    /**
+     * Writes completed blocks in order, or all of them if {@code await} is set.
+     */
+    private void drain(final boolean await) throws IOException {
+        while (!pending.isEmpty() && (await || pending.peek().isDone())) {
+            writeNext();
+        }
+    }
+
+    private void writeNext() throws IOException {
+        final byte[] compressed;
+
+        try {
+            compressed = pending.remove().join();
+        } catch (final CompletionException e) {
+            throw new IOException("Failed to compress block", e.getCause());
+        }
+
+        out.write(compressed);
+    }
+
+    private void writeIntLittleEndian(final long value) throws IOException {
+        out.write(new byte[]{
+                (byte) value, (byte) (value >>> 8), (byte) (value >>> 16), (byte) (value >>> 24)});
+    }
+
+}
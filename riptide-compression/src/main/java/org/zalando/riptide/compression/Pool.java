@@ -0,0 +1,43 @@
+package org.zalando.riptide.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A pool of objects that hold native memory, e.g. {@link java.util.zip.Inflater inflaters}. At most {@code capacity}
+ * idle objects are kept for reuse, surplus objects are ended once they are released.
+ */
+final class Pool<T> {
+
+    private final BlockingQueue<T> idle;
+    private final Supplier<T> factory;
+    private final Consumer<T> reset;
+    private final Consumer<T> end;
+
+    Pool(final int capacity, final Supplier<T> factory, final Consumer<T> reset, final Consumer<T> end) {
+        this.idle = new ArrayBlockingQueue<>(capacity);
+        this.factory = factory;
+        this.reset = reset;
+        this.end = end;
+    }
+
+    T borrow() {
+        final T object = idle.poll();
+        return object == null ? factory.get() : object;
+    }
+
+    void release(final T object) {
+        reset.accept(object);
+
+        if (!idle.offer(object)) {
+            end.accept(object);
+        }
+    }
+
+    int getIdle() {
+        return idle.size();
+    }
+
+}
@@ -12,20 +12,46 @@ import org.zalando.riptide.RequestExecution;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.GZIPOutputStream;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static lombok.AccessLevel.PRIVATE;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
 import static org.springframework.http.HttpHeaders.TRANSFER_ENCODING;
 
 @API(status = EXPERIMENTAL)
-@AllArgsConstructor
+@AllArgsConstructor(access = PRIVATE)
 public final class RequestCompressionPlugin implements Plugin {
 
     private final Compression compression;
+    private final int threshold;
 
     public RequestCompressionPlugin() {
-        this(Compression.of("gzip", GZIPOutputStream::new));
+        this(Compression.gzip());
+    }
+
+    public RequestCompressionPlugin(final Compression compression) {
+        this(compression, 0);
+    }
+
+    /**
+     * Request bodies of up to {@code threshold} bytes are sent uncompressed, since compressing them usually costs
+     * more than it saves. The first bytes of every body are buffered until either the body is complete or the
+     * threshold is exceeded.
+     *
+     * <strong>Beware</strong> that streaming request factories send headers before the body and with that before
+     * the body's size is known. For those, bodies are only sent uncompressed if their {@code Content-Length} header
+     * is known up front and doesn't exceed the threshold, all other bodies are compressed. Bodies are always written
+     * only once, which is required for non-repeatable ones, e.g. an
+     * {@link org.springframework.core.io.InputStreamResource input stream}.
+     *
+     * @param threshold the maximum size of bodies that are sent uncompressed, in bytes, 0 by default
+     * @return a copy of this plugin using the given threshold
+     */
+    public RequestCompressionPlugin withThreshold(final int threshold) {
+        checkArgument(threshold >= 0, "Threshold must not be negative, but was: %s", threshold);
+        return new RequestCompressionPlugin(compression, threshold);
     }
 
     @Override
@@ -37,8 +63,10 @@ public final class RequestCompressionPlugin implements Plugin {
                 return execution.execute(arguments);
             }
 
-            return execution.execute(
-                    arguments.withEntity(new CompressingEntity(compression, entity)));
+            final CompressingEntity compressing = new CompressingEntity(compression, entity);
+
+            return execution.execute(arguments.withEntity(threshold == 0 ?
+                    compressing : new ThresholdEntity(threshold, entity, compressing)));
         };
     }
 
@@ -68,9 +96,71 @@ public final class RequestCompressionPlugin implements Plugin {
             }
         }
 
+        /**
+         * Writes the given, partially written, body compressed, i.e. continues to compress it in place.
+         */
+        private OutputStream compress(final HttpOutputMessage message) throws IOException {
+            update(message.getHeaders());
+            return compression.getOutputStreamDecorator().tryApply(message.getBody());
+        }
+
         private void update(final HttpHeaders headers) {
             headers.set(CONTENT_ENCODING, compression.getContentEncoding());
             headers.set(TRANSFER_ENCODING, "chunked");
+            // in case the entity or the caller knew the length of the uncompressed body
+            headers.remove(CONTENT_LENGTH);
+        }
+
+    }
+
+    /**
+     * Sends bodies of up to a threshold uncompressed and delegates all bigger ones to a {@link CompressingEntity}.
+     */
+    @AllArgsConstructor
+    private static final class ThresholdEntity implements Entity {
+
+        private final int threshold;
+        private final Entity entity;
+        private final CompressingEntity compressing;
+
+        @Override
+        public void writeTo(final HttpOutputMessage message) throws IOException {
+            if (message instanceof StreamingHttpOutputMessage) {
+                writeToStreaming((StreamingHttpOutputMessage) message);
+            } else {
+                writeToBuffering(message);
+            }
+        }
+
+        /**
+         * Headers are still mutable until the message is sent, i.e. compression can be switched on in place.
+         */
+        private void writeToBuffering(final HttpOutputMessage message) throws IOException {
+            final ThresholdOutputStream stream =
+                    new ThresholdOutputStream(threshold, () -> compressing.compress(message));
+
+            try (stream) {
+                entity.writeTo(new DelegatingHttpOutputMessage(message.getHeaders(), stream));
+            }
+
+            if (!stream.isExceeded()) {
+                message.getBody().write(stream.toByteArray());
+            }
+        }
+
+        /**
+         * Headers are sent before the body, i.e. compression has to be decided before the body is written. Buffering
+         * the body to learn its size would defeat streaming, so only a known {@code Content-Length} is taken into
+         * account.
+         */
+        private void writeToStreaming(final StreamingHttpOutputMessage message) throws IOException {
+            final long length = message.getHeaders().getContentLength();
+
+            if (length >= 0 && length <= threshold) {
+                entity.writeTo(message);
+            } else {
+                compressing.writeTo(message);
+            }
         }
 
     }
@@ -0,0 +1,187 @@
+package org.zalando.riptide.compression;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.fauxpas.ThrowingUnaryOperator;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+
+/**
+ * Advertises the supported {@link Compression compressions} using {@code Accept-Encoding} and decompresses response
+ * bodies accordingly. Routes receive the decompressed body as a stream, without {@code Content-Encoding} and
+ * {@code Content-Length} headers.
+ *
+ * Requests that specify an {@code Accept-Encoding} already are left untouched, as are responses with an unsupported
+ * {@code Content-Encoding}.
+ */
+@API(status = EXPERIMENTAL)
+public final class ResponseDecompressionPlugin implements Plugin {
+
+    private final ImmutableMap<String, Compression> compressions;
+    private final String acceptEncoding;
+
+    public ResponseDecompressionPlugin() {
+        this(Compression.gzip(), Compression.deflate());
+    }
+
+    public ResponseDecompressionPlugin(final Compression... compressions) {
+        this(Arrays.asList(compressions));
+    }
+
+    public ResponseDecompressionPlugin(final Collection<Compression> compressions) {
+        checkArgument(!compressions.isEmpty(), "At least one compression is required");
+
+        final ImmutableMap.Builder<String, Compression> builder = ImmutableMap.builder();
+
+        for (final Compression compression : compressions) {
+            checkArgument(compression.getInputStreamDecorator() != null,
+                    "Compression %s doesn't support decompression", compression.getContentEncoding());
+            builder.put(normalize(compression.getContentEncoding()), compression);
+        }
+
+        this.compressions = builder.build();
+        this.acceptEncoding = String.join(", ", this.compressions.keySet());
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            if (arguments.getHeaders().containsKey(ACCEPT_ENCODING)) {
+                return execution.execute(arguments);
+            }
+
+            return execution.execute(arguments.withHeader(ACCEPT_ENCODING, acceptEncoding))
+                    .thenApply(this::decompress);
+        };
+    }
+
+    private ClientHttpResponse decompress(final ClientHttpResponse response) {
+        @Nullable final String encoding = response.getHeaders().getFirst(CONTENT_ENCODING);
+
+        if (encoding == null) {
+            return response;
+        }
+
+        final List<String> codings = Arrays.stream(encoding.split(","))
+                .map(ResponseDecompressionPlugin::normalize)
+                .filter(coding -> !coding.isEmpty() && !coding.equals("identity"))
+                .collect(Collectors.toList());
+
+        if (codings.isEmpty() || !compressions.keySet().containsAll(codings)) {
+            return response;
+        }
+
+        // codings are listed in the order in which they were applied
+        final List<ThrowingUnaryOperator<InputStream, IOException>> decorators = Lists.reverse(codings).stream()
+                .map(compressions::get)
+                .map(Compression::getInputStreamDecorator)
+                .collect(Collectors.toList());
+
+        return new DecompressedResponse(response, decorators);
+    }
+
+    private static String normalize(final String coding) {
+        return coding.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @AllArgsConstructor
+    private static final class DecompressedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final List<ThrowingUnaryOperator<InputStream, IOException>> decorators;
+
+        @Nullable
+        private InputStream body;
+
+        @Nullable
+        private HttpHeaders headers;
+
+        DecompressedResponse(
+                final ClientHttpResponse response,
+                final List<ThrowingUnaryOperator<InputStream, IOException>> decorators) {
+            this(response, decorators, null, null);
+        }
+
+        @Nonnull
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getStatusCode().value();
+        }
+
+        @Nonnull
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Nonnull
+        @Override
+        public synchronized HttpHeaders getHeaders() {
+            if (headers == null) {
+                final HttpHeaders copy = new HttpHeaders();
+                copy.putAll(response.getHeaders());
+                copy.remove(CONTENT_ENCODING);
+                copy.remove(CONTENT_LENGTH);
+                headers = HttpHeaders.readOnlyHttpHeaders(copy);
+            }
+            return headers;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized InputStream getBody() throws IOException {
+            if (body == null) {
+                InputStream stream = response.getBody();
+
+                for (final ThrowingUnaryOperator<InputStream, IOException> decorator : decorators) {
+                    stream = decorator.tryApply(stream);
+                }
+
+                body = stream;
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (body != null) {
+                    // returns pooled resources
+                    body.close();
+                }
+            } catch (final IOException e) {
+                // the original response will be closed anyway
+            } finally {
+                response.close();
+            }
+        }
+
+    }
+
+}
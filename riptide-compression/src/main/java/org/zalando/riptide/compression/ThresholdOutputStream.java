@@ -0,0 +1,78 @@
+package org.zalando.riptide.compression;
+
+import org.zalando.fauxpas.ThrowingSupplier;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Buffers up to {@code threshold} bytes. Once more bytes are written, the buffered bytes and everything after them
+ * are passed on to the stream that is obtained from the given supplier at that point.
+ */
+final class ThresholdOutputStream extends OutputStream {
+
+    private final int threshold;
+    private final ThrowingSupplier<OutputStream, IOException> overflow;
+
+    @Nullable
+    private ByteArrayOutputStream buffer;
+
+    @Nullable
+    private OutputStream stream;
+
+    ThresholdOutputStream(final int threshold, final ThrowingSupplier<OutputStream, IOException> overflow) {
+        this.threshold = threshold;
+        this.overflow = overflow;
+        this.buffer = new ByteArrayOutputStream(Math.min(threshold, 8192));
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (stream == null) {
+            if (buffer.size() + len <= threshold) {
+                buffer.write(b, off, len);
+                return;
+            }
+
+            final OutputStream stream = overflow.tryGet();
+            buffer.writeTo(stream);
+            buffer = null;
+            this.stream = stream;
+        }
+
+        stream.write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (stream != null) {
+            stream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    boolean isExceeded() {
+        return stream != null;
+    }
+
+    /**
+     * @return the buffered bytes, as long as the threshold wasn't exceeded
+     */
+    byte[] toByteArray() {
+        return buffer == null ? new byte[0] : buffer.toByteArray();
+    }
+
+}
@@ -0,0 +1,97 @@
+package org.zalando.riptide.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class DeflatingOutputStreamTest {
+
+    private final Pool<Deflater> pool = new Pool<>(1,
+            () -> new Deflater(Deflater.DEFAULT_COMPRESSION, true), Deflater::reset, Deflater::end);
+
+    @Test
+    void shouldCompressGzip() throws IOException {
+        final byte[] data = data();
+
+        try (final InputStream stream = new GZIPInputStream(new ByteArrayInputStream(
+                deflate(Format.GZIP, Deflater.DEFAULT_COMPRESSION, data)))) {
+            assertArrayEquals(data, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldCompressZlib() throws IOException {
+        final byte[] data = data();
+
+        try (final InputStream stream = new InflaterInputStream(new ByteArrayInputStream(
+                deflate(Format.DEFLATE, Deflater.DEFAULT_COMPRESSION, data)))) {
+            assertArrayEquals(data, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldApplyLevel() throws IOException {
+        final byte[] data = data();
+
+        final int stored = deflate(Format.GZIP, Deflater.NO_COMPRESSION, data).length;
+        final int best = deflate(Format.GZIP, Deflater.BEST_COMPRESSION, data).length;
+
+        assertTrue(stored > data.length);
+        assertTrue(best < data.length / 2);
+    }
+
+    @Test
+    void shouldReturnDeflaterToPool() throws IOException {
+        deflate(Format.GZIP, Deflater.DEFAULT_COMPRESSION, data());
+        deflate(Format.GZIP, Deflater.BEST_SPEED, data());
+
+        assertEquals(1, pool.getIdle());
+    }
+
+    @Test
+    void shouldRejectWritesAfterClose() throws IOException {
+        final OutputStream unit = new DeflatingOutputStream(
+                new ByteArrayOutputStream(), Format.GZIP, Deflater.DEFAULT_COMPRESSION, pool);
+
+        unit.close();
+        unit.close();
+
+        assertThrows(IOException.class, () -> unit.write(1));
+    }
+
+    private byte[] deflate(final Format format, final int level, final byte[] data) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (final OutputStream unit = new DeflatingOutputStream(output, format, level, pool)) {
+            unit.write(data, 0, 1000);
+            unit.write(data[1000]);
+            unit.write(data, 1001, data.length - 1001);
+        }
+
+        return output.toByteArray();
+    }
+
+    private static byte[] data() {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        for (int i = 0; i < 10_000; i++) {
+            data.writeBytes(("{\"id\":" + i + "}\n").getBytes(UTF_8));
+        }
+
+        return data.toByteArray();
+    }
+
+}
@@ -0,0 +1,161 @@
+package org.zalando.riptide.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class InflatingInputStreamTest {
+
+    private final Pool<Inflater> pool = new Pool<>(1, () -> new Inflater(true), Inflater::reset, Inflater::end);
+
+    @Test
+    void shouldInflateGzip() throws IOException {
+        final byte[] data = data();
+
+        assertArrayEquals(data, inflate(Format.GZIP, gzip(data)));
+    }
+
+    @Test
+    void shouldInflateConcatenatedGzipMembers() throws IOException {
+        final ByteArrayOutputStream members = new ByteArrayOutputStream();
+        members.write(gzip("Hello, ".getBytes(UTF_8)));
+        members.write(gzip("world!".getBytes(UTF_8)));
+
+        assertEquals("Hello, world!", new String(inflate(Format.GZIP, members.toByteArray()), UTF_8));
+    }
+
+    @Test
+    void shouldSkipOptionalGzipHeaderFields() throws IOException {
+        final byte[] member = gzip("Hello".getBytes(UTF_8));
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        output.write(member, 0, 3);
+        output.write(4 | 8 | 16); // extra field, file name and comment
+        output.write(member, 4, 6);
+        output.write(new byte[]{2, 0, 'x', 'y'});
+        output.write("name\0comment\0".getBytes(UTF_8));
+        output.write(member, 10, member.length - 10);
+
+        assertEquals("Hello", new String(inflate(Format.GZIP, output.toByteArray()), UTF_8));
+    }
+
+    @Test
+    void shouldInflateZlib() throws IOException {
+        final byte[] data = data();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (final DeflaterOutputStream stream = new DeflaterOutputStream(output)) {
+            stream.write(data);
+        }
+
+        assertArrayEquals(data, inflate(Format.DEFLATE, output.toByteArray()));
+    }
+
+    @Test
+    void shouldInflateRawDeflate() throws IOException {
+        final byte[] data = data();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+        try (final DeflaterOutputStream stream = new DeflaterOutputStream(output, deflater)) {
+            stream.write(data);
+        } finally {
+            deflater.end();
+        }
+
+        assertArrayEquals(data, inflate(Format.DEFLATE, output.toByteArray()));
+    }
+
+    @Test
+    void shouldReturnEmptyBody() throws IOException {
+        assertArrayEquals(new byte[0], inflate(Format.GZIP, new byte[0]));
+    }
+
+    @Test
+    void shouldStreamFlushedData() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final GZIPOutputStream gzip = new GZIPOutputStream(output, true);
+        gzip.write("{\"id\":1}\n".getBytes(UTF_8));
+        gzip.flush();
+
+        // the trailer is still missing, i.e. the stream is incomplete
+        try (final InputStream unit = new InflatingInputStream(
+                new ByteArrayInputStream(output.toByteArray()), Format.GZIP, pool)) {
+
+            final byte[] line = new byte[9];
+            assertEquals(9, unit.readNBytes(line, 0, 9));
+            assertEquals("{\"id\":1}\n", new String(line, UTF_8));
+
+            assertThrows(EOFException.class, unit::read);
+        }
+    }
+
+    @Test
+    void shouldRejectCorruptTrailer() {
+        final byte[] member = gzip("Hello".getBytes(UTF_8));
+        member[member.length - 5]++;
+
+        assertThrows(ZipException.class, () -> inflate(Format.GZIP, member));
+    }
+
+    @Test
+    void shouldRejectInvalidFormat() {
+        assertThrows(ZipException.class, () -> inflate(Format.GZIP, "Hello".getBytes(UTF_8)));
+    }
+
+    @Test
+    void shouldReturnInflaterToPool() throws IOException {
+        inflate(Format.GZIP, gzip(data()));
+        inflate(Format.GZIP, gzip(data()));
+
+        assertEquals(1, pool.getIdle());
+    }
+
+    private byte[] inflate(final Format format, final byte[] data) throws IOException {
+        try (final InputStream unit = new InflatingInputStream(new ByteArrayInputStream(data), format, pool)) {
+            return unit.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(final byte[] data) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (final GZIPOutputStream stream = new GZIPOutputStream(output)) {
+            stream.write(data);
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+
+        return output.toByteArray();
+    }
+
+    private static byte[] data() {
+        final byte[] random = new byte[50_000];
+        new Random(42).nextBytes(random);
+
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        data.writeBytes(random);
+
+        for (int i = 0; i < 10_000; i++) {
+            data.writeBytes(("{\"id\":" + i + "}\n").getBytes(UTF_8));
+        }
+
+        return data.toByteArray();
+    }
+
+}
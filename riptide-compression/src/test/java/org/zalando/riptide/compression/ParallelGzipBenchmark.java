@@ -0,0 +1,117 @@
+package org.zalando.riptide.compression;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.zip.Deflater.DEFAULT_COMPRESSION;
+
+/**
+ * Compresses a 64 MiB body with {@link Compression#gzip(int) gzip} and with
+ * {@link Compression#parallelGzip(int, int, ForkJoinPool) parallel gzip} using an increasing number of threads.
+ * Throughput, in bodies per second, is expected to scale with the number of threads, up to the number of available
+ * cores. Run via {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelGzipBenchmark {
+
+    private static final int SIZE = 64 * 1024 * 1024;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private byte[] body;
+    private ForkJoinPool executor;
+    private Compression parallel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random random = new Random(0);
+        final StringBuilder builder = new StringBuilder(SIZE + 128);
+
+        while (builder.length() < SIZE) {
+            builder.append("{\"id\":").append(random.nextInt())
+                    .append(",\"type\":\"event-").append(random.nextInt(100))
+                    .append("\",\"amount\":").append(random.nextInt(10_000)).append("}\n");
+        }
+
+        body = builder.substring(0, SIZE).getBytes(UTF_8);
+        executor = new ForkJoinPool(threads);
+        parallel = Compression.parallelGzip(DEFAULT_COMPRESSION, 128 * 1024, executor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public long gzip() throws IOException {
+        return compress(Compression.gzip());
+    }
+
+    @Benchmark
+    public long parallelGzip() throws IOException {
+        return compress(parallel);
+    }
+
+    private long compress(final Compression compression) throws IOException {
+        final CountingOutputStream counter = new CountingOutputStream();
+
+        try (final OutputStream stream = compression.getOutputStreamDecorator().tryApply(counter)) {
+            for (int offset = 0; offset < SIZE; offset += 8192) {
+                stream.write(body, offset, 8192);
+            }
+        }
+
+        return counter.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(final int b) {
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ParallelGzipBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
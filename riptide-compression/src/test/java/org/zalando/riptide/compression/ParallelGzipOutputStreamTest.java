@@ -0,0 +1,136 @@
+package org.zalando.riptide.compression;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ParallelGzipOutputStreamTest {
+
+    private final ForkJoinPool executor = new ForkJoinPool(4);
+
+    private final Pool<Deflater> pool = new Pool<>(4,
+            () -> new Deflater(Deflater.DEFAULT_COMPRESSION, true), Deflater::reset, Deflater::end);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 4096, 8192, 100_000, 1_000_000})
+    void shouldProduceSingleGzipStream(final int size) throws IOException {
+        final byte[] data = data(size);
+
+        try (final InputStream stream = new GZIPInputStream(new ByteArrayInputStream(compress(data, 8192)))) {
+            assertArrayEquals(data, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldBeReadableByInflatingInputStream() throws IOException {
+        final byte[] data = data(1_000_000);
+        final Pool<Inflater> inflaters = new Pool<>(1, () -> new Inflater(true), Inflater::reset, Inflater::end);
+
+        try (final InputStream stream = new InflatingInputStream(
+                new ByteArrayInputStream(compress(data, 8192)), Format.GZIP, inflaters)) {
+            assertArrayEquals(data, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    void shouldPrimeBlocksWithDictionary() throws IOException {
+        final byte[] data = data(1_000_000);
+
+        final int parallel = compress(data, 32 * 1024).length;
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (final OutputStream stream = new DeflatingOutputStream(
+                output, Format.GZIP, Deflater.DEFAULT_COMPRESSION, pool)) {
+            stream.write(data);
+        }
+        final int sequential = output.size();
+
+        assertTrue(parallel < sequential * 1.05, parallel + " vs. " + sequential);
+    }
+
+    @Test
+    void shouldReturnDeflatersToPool() throws IOException {
+        compress(data(100_000), 8192);
+
+        assertTrue(pool.getIdle() > 0);
+        assertTrue(pool.getIdle() <= 4);
+    }
+
+    @Test
+    void shouldRejectWritesAfterClose() throws IOException {
+        final OutputStream unit = new ParallelGzipOutputStream(new ByteArrayOutputStream(), 8192, executor, pool);
+
+        unit.close();
+        unit.close();
+
+        assertThrows(IOException.class, () -> unit.write(1));
+    }
+
+    @Test
+    void shouldCloseUnderlyingStream() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                reset();
+            }
+        };
+
+        new ParallelGzipOutputStream(output, 8192, executor, pool).close();
+
+        assertEquals(0, output.size());
+    }
+
+    private byte[] compress(final byte[] data, final int blockSize) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (final OutputStream unit = new ParallelGzipOutputStream(output, blockSize, executor, pool)) {
+            int offset = 0;
+            int chunk = 1;
+
+            while (offset < data.length) {
+                final int length = Math.min(chunk, data.length - offset);
+                unit.write(data, offset, length);
+                offset += length;
+                chunk = chunk * 3 % 20_011 + 1;
+            }
+
+            unit.flush();
+        }
+
+        return output.toByteArray();
+    }
+
+    private static byte[] data(final int size) {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream(size);
+
+        for (int i = 0; data.size() < size; i++) {
+            data.writeBytes(("{\"id\":" + i + ",\"name\":\"event-" + (i % 97) + "\"}\n").getBytes(UTF_8));
+        }
+
+        return Arrays.copyOf(data.toByteArray(), size);
+    }
+
+}
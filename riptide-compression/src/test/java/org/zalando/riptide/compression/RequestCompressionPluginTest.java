@@ -11,6 +11,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.BufferingClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestFactory;
@@ -21,20 +22,28 @@ import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
 import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.Mode;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.IntStream.range;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
 import static org.zalando.riptide.PassRoute.pass;
 import static org.zalando.riptide.compression.MockWebServerUtil.getBaseUrl;
 import static org.zalando.riptide.compression.MockWebServerUtil.getRecordedRequest;
@@ -128,6 +137,129 @@ class RequestCompressionPluginTest {
         assertEquals("custom", recordedRequest.getHeaders().get("Content-Encoding"));
     }
 
+    @ParameterizedTest
+    @ArgumentsSource(RequestFactorySource.class)
+    void shouldNotCompressRequestBodyOfKnownLengthBelowThreshold(final ClientHttpRequestFactory factory) {
+        server.enqueue(textMockResponse(""));
+
+        final Http http = buildHttp(factory, new RequestCompressionPlugin().withThreshold(100));
+        http.post("/")
+                .header(CONTENT_LENGTH, "16")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(singletonMap("name", "Alice"))
+                .call(pass())
+                .join();
+
+        RecordedRequest recordedRequest = getRecordedRequest(server);
+        verifyRequest(recordedRequest, "/", "POST");
+        assertEquals("{\"name\":\"Alice\"}", recordedRequest.getBody().readString(UTF_8));
+        assertNull(recordedRequest.getHeaders().get("Content-Encoding"));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(BufferingRequestFactorySource.class)
+    void shouldNotCompressBufferedRequestBodyBelowThreshold(final ClientHttpRequestFactory factory) {
+        server.enqueue(textMockResponse(""));
+
+        final Http http = buildHttp(factory, new RequestCompressionPlugin().withThreshold(100));
+        http.post("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(singletonMap("name", "Alice"))
+                .call(pass())
+                .join();
+
+        RecordedRequest recordedRequest = getRecordedRequest(server);
+        verifyRequest(recordedRequest, "/", "POST");
+        assertEquals("{\"name\":\"Alice\"}", recordedRequest.getBody().readString(UTF_8));
+        assertNull(recordedRequest.getHeaders().get("Content-Encoding"));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(StreamingRequestFactorySource.class)
+    void shouldCompressStreamedRequestBodyOfUnknownLengthBelowThreshold(final ClientHttpRequestFactory factory) {
+        server.enqueue(textMockResponse(""));
+
+        final Http http = buildHttp(factory, new RequestCompressionPlugin().withThreshold(100));
+        http.post("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(singletonMap("name", "Alice"))
+                .call(pass())
+                .join();
+
+        RecordedRequest recordedRequest = getRecordedRequest(server);
+        verifyRequest(recordedRequest, "/", "POST");
+        assertEquals("gzip", recordedRequest.getHeaders().get("Content-Encoding"));
+        verifyRequestBody(recordedRequest, "{\"name\":\"Alice\"}");
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(RequestFactorySource.class)
+    void shouldCompressRequestBodyAboveThreshold(final ClientHttpRequestFactory factory) {
+        server.enqueue(textMockResponse(""));
+
+        final Map<String, Integer> body = new TreeMap<>();
+        range(0, 1000).forEach(i -> body.put("key" + i, i));
+
+        final Http http = buildHttp(factory,
+                new RequestCompressionPlugin(Compression.gzip(9)).withThreshold(100));
+        http.post("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .call(pass())
+                .join();
+
+        RecordedRequest recordedRequest = getRecordedRequest(server);
+        verifyRequest(recordedRequest, "/", "POST");
+        assertEquals("gzip", recordedRequest.getHeaders().get("Content-Encoding"));
+        verifyRequestBody(recordedRequest, body.entrySet().stream()
+                .map(entry -> "\"" + entry.getKey() + "\":" + entry.getValue())
+                .collect(joining(",", "{", "}")));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(RequestFactorySource.class)
+    void shouldCompressRequestBodyInParallel(final ClientHttpRequestFactory factory) {
+        server.enqueue(textMockResponse(""));
+
+        final Map<String, Integer> body = new TreeMap<>();
+        range(0, 10_000).forEach(i -> body.put("key" + i, i));
+
+        final Http http = buildHttp(factory, new RequestCompressionPlugin(
+                Compression.parallelGzip(6, 16 * 1024, ForkJoinPool.commonPool())));
+        http.post("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)
+                .call(pass())
+                .join();
+
+        RecordedRequest recordedRequest = getRecordedRequest(server);
+        verifyRequest(recordedRequest, "/", "POST");
+        assertEquals("gzip", recordedRequest.getHeaders().get("Content-Encoding"));
+        verifyRequestBody(recordedRequest, body.entrySet().stream()
+                .map(entry -> "\"" + entry.getKey() + "\":" + entry.getValue())
+                .collect(joining(",", "{", "}")));
+    }
+
+    @ParameterizedTest
+    @ArgumentsSource(RequestFactorySource.class)
+    void shouldCompressNonRepeatableRequestBodyAboveThreshold(final ClientHttpRequestFactory factory) {
+        server.enqueue(textMockResponse(""));
+
+        final String body = range(0, 1000).mapToObj(i -> "line " + i).collect(joining(","));
+
+        final Http http = buildHttp(factory, new RequestCompressionPlugin().withThreshold(100));
+        http.post("/")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(new InputStreamResource(new ByteArrayInputStream(body.getBytes(UTF_8))))
+                .call(pass())
+                .join();
+
+        RecordedRequest recordedRequest = getRecordedRequest(server);
+        verifyRequest(recordedRequest, "/", "POST");
+        assertEquals("gzip", recordedRequest.getHeaders().get("Content-Encoding"));
+        assertEquals(body, decompressIfNeeded(recordedRequest.getBody()));
+    }
+
     private static void verifyRequest(RecordedRequest recordedRequest,
                                       String expectedPath,
                                       String expectedMethod) {
@@ -189,4 +321,24 @@ class RequestCompressionPluginTest {
         }
     }
 
+    static class BufferingRequestFactorySource implements ArgumentsProvider {
+        @Override
+        public Stream<? extends Arguments> provideArguments(ExtensionContext extensionContext) {
+            return Stream.of(
+                    new BufferingClientHttpRequestFactory(new SimpleClientHttpRequestFactory()),
+                    new ApacheClientHttpRequestFactory(HttpClients.createDefault(), Mode.BUFFERING)
+            ).map(Arguments::of);
+        }
+    }
+
+    static class StreamingRequestFactorySource implements ArgumentsProvider {
+        @Override
+        public Stream<? extends Arguments> provideArguments(ExtensionContext extensionContext) {
+            return Stream.of(
+                    new SimpleClientHttpRequestFactory(),
+                    new ApacheClientHttpRequestFactory(HttpClients.createDefault(), Mode.STREAMING)
+            ).map(Arguments::of);
+        }
+    }
+
 }
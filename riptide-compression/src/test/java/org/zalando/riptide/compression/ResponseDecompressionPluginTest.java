@@ -0,0 +1,175 @@
+package org.zalando.riptide.compression;
+
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.zalando.fauxpas.ThrowingUnaryOperator;
+import org.zalando.riptide.Http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.http.HttpHeaders.ACCEPT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+import static org.springframework.http.HttpHeaders.CONTENT_LENGTH;
+import static org.zalando.riptide.compression.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.compression.MockWebServerUtil.getRecordedRequest;
+import static org.zalando.riptide.compression.MockWebServerUtil.textMockResponse;
+
+final class ResponseDecompressionPluginTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ExecutorService executor = newSingleThreadExecutor();
+
+    private final Http http = Http.builder()
+            .executor(executor)
+            .requestFactory(new SimpleClientHttpRequestFactory())
+            .baseUrl(getBaseUrl(server))
+            .plugin(new ResponseDecompressionPlugin())
+            .build();
+
+    @SneakyThrows
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldAdvertiseSupportedEncodings() {
+        server.enqueue(textMockResponse("Hello"));
+
+        assertEquals("Hello", get());
+
+        final RecordedRequest request = getRecordedRequest(server);
+        assertEquals("gzip, deflate", request.getHeader(ACCEPT_ENCODING));
+    }
+
+    @Test
+    void shouldDecompressGzip() throws IOException {
+        server.enqueue(encoded("gzip", compress(GZIPOutputStream::new, "Hello, world!")));
+
+        final AtomicReference<ClientHttpResponse> response = new AtomicReference<>();
+        assertEquals("Hello, world!", get(response));
+
+        assertNull(response.get().getHeaders().getFirst(CONTENT_ENCODING));
+        assertFalse(response.get().getHeaders().containsKey(CONTENT_LENGTH));
+    }
+
+    @Test
+    void shouldDecompressDeflate() throws IOException {
+        server.enqueue(encoded("deflate", compress(DeflaterOutputStream::new, "Hello, world!")));
+
+        assertEquals("Hello, world!", get());
+    }
+
+    @Test
+    void shouldDecompressMultipleCodingsInReverseOrder() throws IOException {
+        final byte[] deflated = compress(DeflaterOutputStream::new, "Hello, world!");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (final GZIPOutputStream stream = new GZIPOutputStream(output)) {
+            stream.write(deflated);
+        }
+
+        server.enqueue(encoded("deflate, GZIP", output.toByteArray()));
+
+        assertEquals("Hello, world!", get());
+    }
+
+    @Test
+    void shouldPassUnsupportedEncoding() throws IOException {
+        final byte[] body = compress(GZIPOutputStream::new, "Hello, world!");
+        server.enqueue(encoded("br", body));
+
+        final AtomicReference<ClientHttpResponse> response = new AtomicReference<>();
+        final AtomicReference<byte[]> bytes = new AtomicReference<>();
+
+        http.get("/")
+                .call((r, reader) -> {
+                    response.set(r);
+                    bytes.set(r.getBody().readAllBytes());
+                })
+                .join();
+
+        assertArrayEquals(body, bytes.get());
+        assertEquals("br", response.get().getHeaders().getFirst(CONTENT_ENCODING));
+    }
+
+    @Test
+    void shouldBackOffIfAcceptEncodingIsSpecified() throws IOException {
+        final byte[] body = compress(GZIPOutputStream::new, "Hello, world!");
+        server.enqueue(encoded("gzip", body));
+
+        final AtomicReference<byte[]> bytes = new AtomicReference<>();
+
+        http.get("/")
+                .header(ACCEPT_ENCODING, "gzip")
+                .call((response, reader) -> bytes.set(response.getBody().readAllBytes()))
+                .join();
+
+        assertArrayEquals(body, bytes.get());
+    }
+
+    @Test
+    void shouldRejectCompressionWithoutDecompression() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new ResponseDecompressionPlugin(Compression.of("identity", stream -> stream)));
+    }
+
+    private String get() {
+        return get(new AtomicReference<>());
+    }
+
+    private String get(final AtomicReference<ClientHttpResponse> response) {
+        final AtomicReference<String> body = new AtomicReference<>();
+
+        http.get("/")
+                .call((r, reader) -> {
+                    response.set(r);
+                    body.set(new String(r.getBody().readAllBytes(), UTF_8));
+                })
+                .join();
+
+        return body.get();
+    }
+
+    private static MockResponse encoded(final String encoding, final byte[] body) {
+        return textMockResponse("")
+                .setHeader(CONTENT_ENCODING, encoding)
+                .setBody(new Buffer().write(body));
+    }
+
+    private static byte[] compress(
+            final ThrowingUnaryOperator<OutputStream, IOException> compressor,
+            final String body) throws IOException {
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try (final OutputStream stream = compressor.tryApply(output)) {
+            stream.write(body.getBytes(UTF_8));
+        }
+
+        return output.toByteArray();
+    }
+
+}
@@ -0,0 +1,42 @@
+package org.zalando.riptide.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ThresholdOutputStreamTest {
+
+    private final ByteArrayOutputStream overflow = new ByteArrayOutputStream();
+
+    private final ThresholdOutputStream unit = new ThresholdOutputStream(5, () -> overflow);
+
+    @Test
+    void shouldBufferUpToThreshold() throws IOException {
+        unit.write("Hel".getBytes(UTF_8));
+        unit.write("lo".getBytes(UTF_8));
+        unit.close();
+
+        assertFalse(unit.isExceeded());
+        assertEquals("Hello", new String(unit.toByteArray(), UTF_8));
+        assertEquals(0, overflow.size());
+    }
+
+    @Test
+    void shouldPassOnceThresholdIsExceeded() throws IOException {
+        unit.write("Hel".getBytes(UTF_8));
+        unit.write("lo".getBytes(UTF_8));
+        unit.write('!');
+        unit.write(", world".getBytes(UTF_8));
+
+        assertTrue(unit.isExceeded());
+        assertEquals("Hello!, world", overflow.toString(UTF_8));
+        assertEquals(0, unit.toByteArray().length);
+    }
+
+}
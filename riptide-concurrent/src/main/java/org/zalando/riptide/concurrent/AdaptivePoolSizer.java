@@ -0,0 +1,347 @@
+package org.zalando.riptide.concurrent;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Periodically resizes a {@link ThreadPoolExecutor} within configured bounds, based on the observed arrival rate
+ * and service time of its tasks.
+ *
+ * The required number of busy threads is estimated using Little's law, i.e. {@code arrival rate × service time}.
+ * The {@link ThreadPoolExecutor#setCorePoolSize(int) core pool size} is set to that estimate divided by the
+ * {@link #withTargetUtilization(double) target utilization} and the
+ * {@link ThreadPoolExecutor#setMaximumPoolSize(int) maximum pool size} adds a
+ * {@link #withHeadroom(double) headroom} for bursts on top of that. Both are clamped to the configured bounds.
+ * The pool won't be shrunk as long as tasks wait in the queue for more than a tenth of their service time.
+ *
+ * Pools without a queue, i.e. a {@link SynchronousQueue}, reject tasks as soon as all threads are busy and never
+ * observe any queueing. Only their core pool size is adjusted, their maximum pool size stays at the upper bound.
+ *
+ * The sizer needs to be registered as the pool's {@link TaskListener} in order to observe tasks:
+ *
+ * <pre>{@code
+ * var sizer = new AdaptivePoolSizer(5, 50);
+ * var executor = ThreadPoolExecutors.builder()
+ *     .elasticSize(5, 50)
+ *     .keepAlive(Duration.ofMinutes(1))
+ *     .scaleFirst()
+ *     .boundedQueue(20)
+ *     .listener(sizer)
+ *     .build();
+ *
+ * sizer.start(executor, Duration.ofSeconds(10));
+ * }</pre>
+ */
+@API(status = EXPERIMENTAL)
+@Slf4j
+public final class AdaptivePoolSizer implements TaskListener {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final int minSize;
+    private final int maxSize;
+    private final double targetUtilization;
+    private final double headroom;
+    private final double smoothing;
+    private final LongSupplier clock;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder queueTime = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder executionTime = new LongAdder();
+
+    private final AtomicLong resizes = new AtomicLong();
+    private final AtomicReference<Decision> decision = new AtomicReference<>();
+
+    /**
+     * Only accessed by {@link #adjust(ThreadPoolExecutor)} while holding the lock.
+     */
+    private long lastAdjustment;
+    private double arrivalRate = Double.NaN;
+    private double serviceTime = Double.NaN;
+
+    public AdaptivePoolSizer(final int minSize, final int maxSize) {
+        this(minSize, maxSize, 0.75, 0.5, 0.5, System::nanoTime);
+    }
+
+    AdaptivePoolSizer(
+            final int minSize,
+            final int maxSize,
+            final double targetUtilization,
+            final double headroom,
+            final double smoothing,
+            final LongSupplier clock) {
+
+        if (minSize < 0 || maxSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException(
+                    "Invalid bounds: [" + minSize + ", " + maxSize + "]");
+        }
+
+        if (targetUtilization <= 0 || targetUtilization > 1) {
+            throw new IllegalArgumentException(
+                    "Target utilization must be in (0, 1], but was: " + targetUtilization);
+        }
+
+        if (headroom < 0) {
+            throw new IllegalArgumentException("Headroom must not be negative, but was: " + headroom);
+        }
+
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1], but was: " + smoothing);
+        }
+
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetUtilization = targetUtilization;
+        this.headroom = headroom;
+        this.smoothing = smoothing;
+        this.clock = clock;
+        this.lastAdjustment = clock.getAsLong();
+    }
+
+    /**
+     * @param targetUtilization the ratio of busy threads the sizer aims for, e.g. {@code 0.75}
+     * @return a copy of this sizer with the given target utilization
+     */
+    public AdaptivePoolSizer withTargetUtilization(final double targetUtilization) {
+        return new AdaptivePoolSizer(minSize, maxSize, targetUtilization, headroom, smoothing, clock);
+    }
+
+    /**
+     * @param headroom the ratio of additional threads on top of the core pool size that may be started during
+     *                 bursts, e.g. {@code 0.5}
+     * @return a copy of this sizer with the given headroom
+     */
+    public AdaptivePoolSizer withHeadroom(final double headroom) {
+        return new AdaptivePoolSizer(minSize, maxSize, targetUtilization, headroom, smoothing, clock);
+    }
+
+    /**
+     * @param smoothing the weight of the latest observation in the exponentially weighted moving averages of
+     *                  arrival rate and service time, {@code 1.0} disables smoothing
+     * @return a copy of this sizer with the given smoothing
+     */
+    public AdaptivePoolSizer withSmoothing(final double smoothing) {
+        return new AdaptivePoolSizer(minSize, maxSize, targetUtilization, headroom, smoothing, clock);
+    }
+
+    @Override
+    public void onSubmitted() {
+        submitted.increment();
+    }
+
+    @Override
+    public void onStarted(final long queueTimeNanos) {
+        started.increment();
+        queueTime.add(queueTimeNanos);
+    }
+
+    @Override
+    public void onCompleted(final long executionTimeNanos) {
+        completed.increment();
+        executionTime.add(executionTimeNanos);
+    }
+
+    /**
+     * Schedules periodic adjustments on a dedicated daemon thread, which stops once the executor is shut down.
+     *
+     * @param executor the executor to resize
+     * @param interval the time between adjustments
+     * @return a future that can be used to stop adjusting
+     */
+    public ScheduledFuture<?> start(final ThreadPoolExecutor executor, final Duration interval) {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "adaptive-pool-sizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        return schedule(executor, scheduler, interval, scheduler::shutdown);
+    }
+
+    /**
+     * Schedules periodic adjustments using the given scheduler, until the executor is shut down.
+     *
+     * @param executor the executor to resize
+     * @param scheduler the scheduler to run adjustments on
+     * @param interval the time between adjustments
+     * @return a future that can be used to stop adjusting
+     */
+    public ScheduledFuture<?> start(
+            final ThreadPoolExecutor executor,
+            final ScheduledExecutorService scheduler,
+            final Duration interval) {
+
+        final AtomicReference<ScheduledFuture<?>> self = new AtomicReference<>();
+        final ScheduledFuture<?> future = schedule(executor, scheduler, interval, () -> self.get().cancel(false));
+        self.set(future);
+        return future;
+    }
+
+    private ScheduledFuture<?> schedule(
+            final ThreadPoolExecutor executor,
+            final ScheduledExecutorService scheduler,
+            final Duration interval,
+            final Runnable stop) {
+
+        final long nanos = interval.toNanos();
+
+        return scheduler.scheduleWithFixedDelay(() -> {
+            if (executor.isShutdown()) {
+                stop.run();
+            } else {
+                adjust(executor);
+            }
+        }, nanos, nanos, NANOSECONDS);
+    }
+
+    /**
+     * Resizes the given executor based on the tasks that were observed since the last adjustment.
+     *
+     * @param executor the executor to resize
+     * @return the decision that was applied
+     */
+    public synchronized Decision adjust(final ThreadPoolExecutor executor) {
+        final long now = clock.getAsLong();
+        final double elapsed = (now - lastAdjustment) / NANOS_PER_SECOND;
+        lastAdjustment = now;
+
+        final long arrivals = submitted.sumThenReset();
+        final long starts = started.sumThenReset();
+        final long queued = queueTime.sumThenReset();
+        final long completions = completed.sumThenReset();
+        final long executed = executionTime.sumThenReset();
+
+        if (elapsed > 0) {
+            arrivalRate = smooth(arrivalRate, arrivals / elapsed);
+        }
+
+        if (completions > 0) {
+            serviceTime = smooth(serviceTime, executed / NANOS_PER_SECOND / completions);
+        }
+
+        final double queueWait = starts == 0 ? 0 : queued / NANOS_PER_SECOND / starts;
+        final double concurrency = Double.isNaN(arrivalRate) || Double.isNaN(serviceTime) ?
+                0 : arrivalRate * serviceTime;
+
+        final int currentCorePoolSize = executor.getCorePoolSize();
+        final int currentMaximumPoolSize = executor.getMaximumPoolSize();
+
+        final int estimate = clamp(Math.ceil(concurrency / targetUtilization));
+        final boolean queueing = !Double.isNaN(serviceTime) && queueWait > serviceTime / 10;
+        final int corePoolSize = queueing ? clamp(Math.max(estimate, currentCorePoolSize)) : estimate;
+        final int maximumPoolSize = executor.getQueue() instanceof SynchronousQueue ?
+                maxSize : Math.max(corePoolSize, clamp(Math.ceil(corePoolSize * (1 + headroom))));
+
+        final boolean changed =
+                corePoolSize != currentCorePoolSize || maximumPoolSize != currentMaximumPoolSize;
+
+        final Decision decision = new Decision(
+                arrivalRate, serviceTime, queueWait, concurrency, corePoolSize, maximumPoolSize, changed);
+
+        if (changed) {
+            resize(executor, corePoolSize, maximumPoolSize);
+            resizes.incrementAndGet();
+
+            log.info("Resized thread pool from [{}, {}] to [{}, {}]: " +
+                            "arrival rate={}/s, service time={}s, queue wait={}s, concurrency={}",
+                    currentCorePoolSize, currentMaximumPoolSize, corePoolSize, maximumPoolSize,
+                    arrivalRate, serviceTime, queueWait, concurrency);
+        } else {
+            log.debug("Kept thread pool at [{}, {}]: " +
+                            "arrival rate={}/s, service time={}s, queue wait={}s, concurrency={}",
+                    corePoolSize, maximumPoolSize, arrivalRate, serviceTime, queueWait, concurrency);
+        }
+
+        this.decision.set(decision);
+        return decision;
+    }
+
+    private double smooth(final double average, final double sample) {
+        return Double.isNaN(average) ? sample : smoothing * sample + (1 - smoothing) * average;
+    }
+
+    private int clamp(final double size) {
+        return (int) Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    private static void resize(final ThreadPoolExecutor executor, final int corePoolSize, final int maximumPoolSize) {
+        // core pool size must never exceed maximum pool size, not even temporarily
+        if (maximumPoolSize >= executor.getCorePoolSize()) {
+            executor.setMaximumPoolSize(maximumPoolSize);
+            executor.setCorePoolSize(corePoolSize);
+        } else {
+            executor.setCorePoolSize(corePoolSize);
+            executor.setMaximumPoolSize(maximumPoolSize);
+        }
+    }
+
+    /**
+     * @return the number of adjustments that changed the pool size
+     */
+    public long getResizes() {
+        return resizes.get();
+    }
+
+    /**
+     * @return the most recent decision or {@code null} if no adjustment happened yet
+     */
+    @Nullable
+    public Decision getDecision() {
+        return decision.get();
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Decision {
+
+        /**
+         * Smoothed number of submitted tasks per second
+         */
+        private final double arrivalRate;
+
+        /**
+         * Smoothed execution time per task in seconds, {@link Double#NaN} if no task completed yet
+         */
+        private final double serviceTime;
+
+        /**
+         * Average time in seconds tasks waited in the queue since the last adjustment
+         */
+        private final double queueWait;
+
+        /**
+         * Estimated number of busy threads, i.e. arrival rate × service time
+         */
+        private final double concurrency;
+
+        private final int corePoolSize;
+        private final int maximumPoolSize;
+
+        /**
+         * Whether this decision changed the pool size
+         */
+        private final boolean changed;
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package org.zalando.riptide.concurrent;
+
+import lombok.AllArgsConstructor;
+
+import java.util.Collection;
+
+@AllArgsConstructor
+final class CompositeTaskListener implements TaskListener {
+
+    private final Collection<TaskListener> listeners;
+
+    @Override
+    public void onSubmitted() {
+        listeners.forEach(TaskListener::onSubmitted);
+    }
+
+    @Override
+    public void onStarted(final long queueTimeNanos) {
+        listeners.forEach(listener -> listener.onStarted(queueTimeNanos));
+    }
+
+    @Override
+    public void onCompleted(final long executionTimeNanos) {
+        listeners.forEach(listener -> listener.onCompleted(executionTimeNanos));
+    }
+
+    @Override
+    public void onReEnqueued() {
+        listeners.forEach(TaskListener::onReEnqueued);
+    }
+
+    @Override
+    public void onRejected() {
+        listeners.forEach(TaskListener::onRejected);
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.zalando.riptide.concurrent;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * A {@link ThreadPoolExecutor} that timestamps every task on submission in order to report
+ * queue and execution times to a {@link TaskListener}.
+ *
+ * Tasks are wrapped before they are handed to the {@link #getQueue() work queue} and the
+ * {@link #getRejectedExecutionHandler() rejected execution handler}.
+ */
+final class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final TaskListener listener;
+
+    InstrumentedThreadPoolExecutor(
+            final int corePoolSize,
+            final int maximumPoolSize,
+            final long keepAliveTime,
+            final TimeUnit unit,
+            final BlockingQueue<Runnable> workQueue,
+            final ThreadFactory threadFactory,
+            final RejectedExecutionHandler handler,
+            final TaskListener listener) {
+
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, handler);
+        this.listener = listener;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        listener.onSubmitted();
+        super.execute(new TimedTask(command, nanoTime()));
+    }
+
+    @Override
+    protected void beforeExecute(final Thread thread, final Runnable runnable) {
+        if (runnable instanceof TimedTask) {
+            listener.onStarted(((TimedTask) runnable).start(nanoTime()));
+        }
+    }
+
+    @Override
+    protected void afterExecute(final Runnable runnable, final Throwable throwable) {
+        if (runnable instanceof TimedTask) {
+            listener.onCompleted(((TimedTask) runnable).complete(nanoTime()));
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package org.zalando.riptide.concurrent;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static lombok.AccessLevel.PACKAGE;
+
+@AllArgsConstructor
+final class ListeningRejectedExecutionHandler implements RejectedExecutionHandler {
+
+    @Getter(PACKAGE) // visible for testing
+    private final RejectedExecutionHandler handler;
+
+    private final TaskListener listener;
+
+    @Override
+    public void rejectedExecution(
+            final Runnable task, final ThreadPoolExecutor executor) {
+
+        listener.onRejected();
+        handler.rejectedExecution(task, executor);
+    }
+
+}
@@ -14,16 +14,19 @@ final class ReEnqueuePolicy implements RejectedExecutionHandler {
     @Getter(PACKAGE) // visible for testing
     private final RejectedExecutionHandler handler;
 
+    private final TaskListener listener;
+
     @Override
     public void rejectedExecution(
             final Runnable task, final ThreadPoolExecutor executor) {
 
         final boolean added = executor.getQueue().add(task);
 
-        if (!added) {
+        if (added) {
+            listener.onReEnqueued();
+        } else {
             handler.rejectedExecution(task, executor);
         }
     }
 
 }
-
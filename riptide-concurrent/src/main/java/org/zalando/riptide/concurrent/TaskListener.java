@@ -0,0 +1,76 @@
+package org.zalando.riptide.concurrent;
+
+import org.apiguardian.api.API;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Receives notifications about the lifecycle of tasks that are submitted to a
+ * {@link ThreadPoolExecutor} built by {@link ThreadPoolExecutors#builder()}.
+ *
+ * Callbacks are invoked synchronously on the submitting or executing thread, i.e. implementations
+ * need to be thread-safe and should return quickly.
+ *
+ * @see ThreadPoolExecutors.Instrumentation#listener(TaskListener)
+ */
+@API(status = EXPERIMENTAL)
+public interface TaskListener {
+
+    TaskListener DEFAULT = new TaskListener() {
+        // nothing to implement, since default methods are sufficient
+    };
+
+    /**
+     * A task was handed to the executor, regardless of whether it will be accepted or not.
+     */
+    default void onSubmitted() {
+        // nothing to do
+    }
+
+    /**
+     * A worker thread picked up a task.
+     *
+     * @param queueTimeNanos time in nanoseconds between submission and start of execution
+     */
+    default void onStarted(final long queueTimeNanos) {
+        // nothing to do
+    }
+
+    /**
+     * A worker thread finished executing a task, either normally or exceptionally.
+     *
+     * @param executionTimeNanos time in nanoseconds between start and end of execution
+     */
+    default void onCompleted(final long executionTimeNanos) {
+        // nothing to do
+    }
+
+    /**
+     * A task was initially refused by a <i>scale-first</i> pool that reached its maximum size and
+     * was subsequently put into the work queue.
+     */
+    default void onReEnqueued() {
+        // nothing to do
+    }
+
+    /**
+     * A task was passed to the configured {@link RejectedExecutionHandler}.
+     */
+    default void onRejected() {
+        // nothing to do
+    }
+
+    static TaskListener composite(final TaskListener... listeners) {
+        return composite(Arrays.asList(listeners));
+    }
+
+    static TaskListener composite(final Collection<TaskListener> listeners) {
+        return new CompositeTaskListener(listeners);
+    }
+
+}
@@ -5,11 +5,13 @@ import lombok.With;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.Build;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.ElasticSize;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.FixedSize;
+import org.zalando.riptide.concurrent.ThreadPoolExecutors.Instrumentation;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.KeepAliveTime;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.PreStart;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.QueueFirst;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.RejectedExecutions;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.ScaleFirst;
+import org.zalando.riptide.concurrent.ThreadPoolExecutors.ScaleFirstMode;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.Start;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors.Threads;
 
@@ -22,6 +24,7 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 import java.util.function.UnaryOperator;
 
 import static java.util.concurrent.Executors.defaultThreadFactory;
@@ -35,7 +38,7 @@ final class ThreadPoolExecutorBuilder implements
         FixedSize,
         ElasticSize, KeepAliveTime,
         QueueFirst, ScaleFirst,
-        Threads, PreStart, RejectedExecutions,
+        Threads, PreStart, RejectedExecutions, Instrumentation,
         Build {
 
     private final Integer corePoolSize;
@@ -47,9 +50,10 @@ final class ThreadPoolExecutorBuilder implements
     private final ThreadFactory threadFactory;
     private final boolean preStart;
     private final RejectedExecutionHandler handler;
+    private final TaskListener listener;
 
     private final UnaryOperator<BlockingQueue<Runnable>> queueProcessor;
-    private final UnaryOperator<RejectedExecutionHandler> handlerProcessor;
+    private final BiFunction<RejectedExecutionHandler, TaskListener, RejectedExecutionHandler> handlerProcessor;
 
     public ThreadPoolExecutorBuilder() {
         this(null,
@@ -61,8 +65,9 @@ final class ThreadPoolExecutorBuilder implements
                 defaultThreadFactory(),
                 false,
                 new AbortPolicy(),
+                TaskListener.DEFAULT,
                 identity(),
-                identity());
+                (handler, listener) -> handler);
     }
 
     @Override
@@ -110,10 +115,18 @@ final class ThreadPoolExecutorBuilder implements
 
     @Override
     public ScaleFirst scaleFirst() {
+        return scaleFirst(ScaleFirstMode.RE_ENQUEUE);
+    }
+
+    @Override
+    public ScaleFirst scaleFirst(final ScaleFirstMode mode) {
         if (corePoolSize == 0) {
             // ThreadPoolExecutor has scale-first support, but just for this
             return withCorePoolSize(maximumPoolSize)
                     .withAllowCoreThreadTimeOut(true);
+        } else if (mode == ScaleFirstMode.TRANSFER) {
+            return withQueueProcessor(queue -> new TransferWorkQueue<>(queue.remainingCapacity()))
+                    .withHandlerProcessor(ReEnqueuePolicy::new);
         } else {
             return withQueueProcessor(WorkQueue::new)
                     .withHandlerProcessor(ReEnqueuePolicy::new);
@@ -135,17 +148,23 @@ final class ThreadPoolExecutorBuilder implements
         return withHandler(handler);
     }
 
+    @Override
+    public ThreadPoolExecutorBuilder listener(final TaskListener listener) {
+        return withListener(listener);
+    }
+
     @Override
     public ThreadPoolExecutor build() {
-        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
-                corePoolSize,
-                maximumPoolSize,
-                keepAliveTime,
-                unit,
-                queueProcessor.apply(queue),
-                threadFactory,
-                handlerProcessor.apply(handler)
-        );
+        final BlockingQueue<Runnable> workQueue = queueProcessor.apply(queue);
+        final ThreadPoolExecutor executor;
+
+        if (workQueue instanceof TransferWorkQueue) {
+            final TransferWorkQueue<Runnable> transferQueue = (TransferWorkQueue<Runnable>) workQueue;
+            executor = create(workQueue, transferQueue.track(threadFactory));
+            transferQueue.bind(executor);
+        } else {
+            executor = create(workQueue, threadFactory);
+        }
 
         executor.allowCoreThreadTimeOut(allowCoreThreadTimeOut);
 
@@ -156,4 +175,32 @@ final class ThreadPoolExecutorBuilder implements
         return executor;
     }
 
+    private ThreadPoolExecutor create(
+            final BlockingQueue<Runnable> workQueue, final ThreadFactory threadFactory) {
+
+        if (listener == TaskListener.DEFAULT) {
+            return new ThreadPoolExecutor(
+                    corePoolSize,
+                    maximumPoolSize,
+                    keepAliveTime,
+                    unit,
+                    workQueue,
+                    threadFactory,
+                    handlerProcessor.apply(handler, listener)
+            );
+        }
+
+        return new InstrumentedThreadPoolExecutor(
+                corePoolSize,
+                maximumPoolSize,
+                keepAliveTime,
+                unit,
+                workQueue,
+                threadFactory,
+                handlerProcessor.apply(
+                        new ListeningRejectedExecutionHandler(handler, listener), listener),
+                listener
+        );
+    }
+
 }
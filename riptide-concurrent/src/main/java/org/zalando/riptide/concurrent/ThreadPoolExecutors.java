@@ -43,6 +43,24 @@ public final class ThreadPoolExecutors {
         Threads withoutQueue();
         QueueFirst queueFirst();
         ScaleFirst scaleFirst();
+        ScaleFirst scaleFirst(ScaleFirstMode mode);
+    }
+
+    public enum ScaleFirstMode {
+
+        /**
+         * Refuses tasks as long as no worker is idle and puts them back into the queue after they got rejected
+         * by a pool that reached its maximum size.
+         */
+        RE_ENQUEUE,
+
+        /**
+         * Hands tasks directly to idle workers and only starts queueing them once the pool reached its
+         * maximum size. Avoids the round trip through the rejected execution handler and scales better
+         * under contention.
+         */
+        TRANSFER
+
     }
 
     @CheckReturnValue
@@ -71,8 +89,13 @@ public final class ThreadPoolExecutors {
     }
 
     @CheckReturnValue
-    public interface RejectedExecutions extends Build {
-        Build handler(RejectedExecutionHandler handler);
+    public interface RejectedExecutions extends Instrumentation {
+        Instrumentation handler(RejectedExecutionHandler handler);
+    }
+
+    @CheckReturnValue
+    public interface Instrumentation extends Build {
+        Build listener(TaskListener listener);
     }
 
     @CheckReturnValue
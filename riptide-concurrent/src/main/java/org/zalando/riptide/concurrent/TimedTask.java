@@ -0,0 +1,39 @@
+package org.zalando.riptide.concurrent;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static lombok.AccessLevel.PACKAGE;
+
+@RequiredArgsConstructor
+final class TimedTask implements Runnable {
+
+    @Getter(PACKAGE) // visible for testing
+    private final Runnable task;
+
+    private final long submittedAt;
+
+    /**
+     * Only ever accessed by the worker thread that executes this task, i.e. between
+     * {@link ThreadPoolExecutor#beforeExecute(Thread, Runnable) beforeExecute} and
+     * {@link ThreadPoolExecutor#afterExecute(Runnable, Throwable) afterExecute}.
+     */
+    private long startedAt;
+
+    long start(final long now) {
+        startedAt = now;
+        return now - submittedAt;
+    }
+
+    long complete(final long now) {
+        return now - startedAt;
+    }
+
+    @Override
+    public void run() {
+        task.run();
+    }
+
+}
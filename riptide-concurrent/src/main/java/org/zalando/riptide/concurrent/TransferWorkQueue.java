@@ -0,0 +1,234 @@
+package org.zalando.riptide.concurrent;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * A special {@link BlockingQueue} that hands new elements directly to idle consumers and refuses to accept
+ * them as long as the pool is still allowed to grow.
+ *
+ * Similar to the {@link WorkQueue} it deliberately breaks the {@link BlockingQueue} contract in order to
+ * make any {@link ThreadPoolExecutor} using this queue start new threads rather than adding tasks to the
+ * queue. In contrast to the {@link WorkQueue} it doesn't need to track idle workers, since
+ * {@link LinkedTransferQueue#tryTransfer(Object) tryTransfer} only succeeds if a worker is actually waiting.
+ * It also doesn't rely on the {@link ReEnqueuePolicy} during regular operation, since it starts enqueueing
+ * tasks once the pool reached its {@link ThreadPoolExecutor#getMaximumPoolSize() maximum pool size}.
+ * The {@link ReEnqueuePolicy} is only needed for the rare case of a race between two threads trying to add
+ * the last worker.
+ *
+ * The number of workers is tracked by {@link #track(ThreadFactory) decorating} the executor's thread factory,
+ * since {@link ThreadPoolExecutor#getPoolSize()} requires a lock.
+ *
+ * The capacity of bounded queues is enforced by counting the queued elements, since
+ * {@link LinkedTransferQueue#size()} traverses the whole queue. Elements that are about to be transferred are
+ * counted as well, until they are taken, i.e. the remaining capacity is a conservative estimate.
+ *
+ * @see WorkQueue
+ * @param <E> element type
+ */
+final class TransferWorkQueue<E> extends ForwardingBlockingQueue<E> {
+
+    private final LinkedTransferQueue<E> delegate = new LinkedTransferQueue<>();
+    private final AtomicInteger workers = new AtomicInteger();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    @Nullable
+    private volatile ThreadPoolExecutor executor;
+
+    TransferWorkQueue(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    protected BlockingQueue<E> delegate() {
+        return delegate;
+    }
+
+    ThreadFactory track(final ThreadFactory factory) {
+        return runnable -> factory.newThread(() -> {
+            workers.incrementAndGet();
+            try {
+                runnable.run();
+            } finally {
+                workers.decrementAndGet();
+            }
+        });
+    }
+
+    void bind(final ThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean offer(final E element) {
+        // counted before the transfer, since the consumer that receives it doesn't know it wasn't queued
+        size.incrementAndGet();
+
+        if (delegate.tryTransfer(element)) {
+            return true;
+        }
+
+        size.decrementAndGet();
+
+        if (canGrow()) {
+            return false;
+        }
+
+        return add(element);
+    }
+
+    private boolean canGrow() {
+        @Nullable final ThreadPoolExecutor executor = this.executor;
+        return executor == null || workers.get() < executor.getMaximumPoolSize();
+    }
+
+    @Override
+    public boolean add(final E element) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return false;
+        }
+
+        delegate.offer(element);
+        return true;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        if (capacity == Integer.MAX_VALUE) {
+            return Integer.MAX_VALUE;
+        }
+
+        return Math.max(capacity - size.get(), 0);
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return taken(delegate.take());
+    }
+
+    @Nullable
+    @Override
+    public E poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return taken(delegate.poll(timeout, unit));
+    }
+
+    @Nullable
+    @Override
+    public E poll() {
+        return taken(delegate.poll());
+    }
+
+    @Override
+    public E remove() {
+        return taken(delegate.remove());
+    }
+
+    @Override
+    public boolean remove(final Object element) {
+        return removed(delegate.remove(element) ? 1 : 0) > 0;
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> collection) {
+        return removed(delegate.drainTo(collection));
+    }
+
+    @Override
+    public int drainTo(final Collection<? super E> collection, final int maxElements) {
+        return removed(delegate.drainTo(collection, maxElements));
+    }
+
+    @Override
+    public void clear() {
+        drainTo(new ArrayList<>());
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super E> filter) {
+        boolean removed = false;
+        final Iterator<E> iterator = iterator();
+
+        while (iterator.hasNext()) {
+            if (filter.test(iterator.next())) {
+                iterator.remove();
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> collection) {
+        return removeIf(collection::contains);
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> collection) {
+        return removeIf(element -> !collection.contains(element));
+    }
+
+    /**
+     * Used by {@link ThreadPoolExecutor#purge()} to remove cancelled tasks.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> iterator = delegate.iterator();
+
+        return new Iterator<E>() {
+
+            @Nullable
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = iterator.next();
+                return last;
+            }
+
+            /**
+             * Only counts elements that weren't taken concurrently.
+             */
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+
+                TransferWorkQueue.this.remove(last);
+                last = null;
+            }
+
+        };
+    }
+
+    @Nullable
+    private E taken(@Nullable final E element) {
+        if (element != null) {
+            size.decrementAndGet();
+        }
+        return element;
+    }
+
+    private int removed(final int count) {
+        size.addAndGet(-count);
+        return count;
+    }
+
+}
@@ -0,0 +1,292 @@
+package org.zalando.riptide.concurrent;
+
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.System.nanoTime;
+import static java.util.Objects.requireNonNull;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * An executor that starts a new virtual thread for every task, optionally limiting the number of tasks that execute
+ * concurrently. Tasks that exceed the limit wait for a permit in their own (parked) virtual thread, rather than in a
+ * work queue.
+ *
+ * Virtual threads require Java 21 or later. The Java 17 baseline can detect that using {@link #isSupported()} and
+ * fall back to a regular thread pool, e.g. built by {@link ThreadPoolExecutors#builder()}:
+ *
+ * <pre>{@code
+ * ExecutorService executor = VirtualThreadExecutor.isSupported() ?
+ *     VirtualThreadExecutor.create("http-example-", 100, listener) :
+ *     ThreadPoolExecutors.builder()...build();
+ * }</pre>
+ *
+ * Tasks that didn't acquire a permit yet are interrupted and discarded by {@link #shutdownNow()}.
+ *
+ * Submitting and completing tasks doesn't lock: virtual threads are counted and the executor terminates once the last
+ * one finished after it was shut down, whoever observes that first.
+ */
+@API(status = EXPERIMENTAL)
+public final class VirtualThreadExecutor extends AbstractExecutorService {
+
+    @Nullable
+    private static final VirtualThreadFactories FACTORIES = VirtualThreadFactories.load();
+
+    private final ThreadFactory threadFactory;
+    private final int maxConcurrency;
+    @Nullable
+    private final Semaphore permits;
+    private final TaskListener listener;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicInteger alive = new AtomicInteger();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch termination = new CountDownLatch(1);
+    private volatile boolean shutdown;
+    private volatile boolean stopped;
+
+    VirtualThreadExecutor(
+            final ThreadFactory threadFactory,
+            final int maxConcurrency,
+            final TaskListener listener) {
+
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be positive, but was: " + maxConcurrency);
+        }
+
+        this.threadFactory = threadFactory;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = maxConcurrency == Integer.MAX_VALUE ? null : new Semaphore(maxConcurrency);
+        this.listener = listener;
+    }
+
+    /**
+     * @return whether the current runtime supports virtual threads, i.e. Java 21 or later
+     */
+    public static boolean isSupported() {
+        return FACTORIES != null;
+    }
+
+    /**
+     * @param namePrefix the name prefix of the virtual threads, followed by an increasing number
+     * @return a new executor without a concurrency limit
+     * @throws UnsupportedOperationException if virtual threads are not {@link #isSupported() supported}
+     */
+    public static VirtualThreadExecutor create(final String namePrefix) {
+        return create(namePrefix, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param namePrefix the name prefix of the virtual threads, followed by an increasing number
+     * @param maxConcurrency the maximum number of concurrently executing tasks
+     * @return a new executor
+     * @throws UnsupportedOperationException if virtual threads are not {@link #isSupported() supported}
+     */
+    public static VirtualThreadExecutor create(final String namePrefix, final int maxConcurrency) {
+        return create(namePrefix, maxConcurrency, TaskListener.DEFAULT);
+    }
+
+    /**
+     * @param namePrefix the name prefix of the virtual threads, followed by an increasing number
+     * @param maxConcurrency the maximum number of concurrently executing tasks
+     * @param listener the listener to report task events to
+     * @return a new executor
+     * @throws UnsupportedOperationException if virtual threads are not {@link #isSupported() supported}
+     */
+    public static VirtualThreadExecutor create(
+            final String namePrefix,
+            final int maxConcurrency,
+            final TaskListener listener) {
+
+        if (FACTORIES == null) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+        }
+
+        return new VirtualThreadExecutor(FACTORIES.create(namePrefix), maxConcurrency, listener);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        requireNonNull(command);
+
+        // counted before checking for shutdown, so that termination can't be signalled in between
+        alive.incrementAndGet();
+
+        if (shutdown) {
+            terminate();
+            listener.onRejected();
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+
+        listener.onSubmitted();
+        queued.incrementAndGet();
+
+        final long submittedAt = nanoTime();
+        final Thread thread = threadFactory.newThread(() -> run(command, submittedAt));
+        threads.add(thread);
+        thread.start();
+    }
+
+    private void run(final Runnable command, final long submittedAt) {
+        try {
+            if (acquire()) {
+                try {
+                    final long startedAt = nanoTime();
+                    listener.onStarted(startedAt - submittedAt);
+                    active.incrementAndGet();
+
+                    try {
+                        command.run();
+                    } finally {
+                        active.decrementAndGet();
+                        listener.onCompleted(nanoTime() - startedAt);
+                    }
+                } finally {
+                    release();
+                }
+            }
+        } finally {
+            threads.remove(Thread.currentThread());
+            terminate();
+        }
+    }
+
+    private boolean acquire() {
+        try {
+            // threads that were started after shutdownNow() interrupted all others
+            if (stopped) {
+                return false;
+            }
+            if (permits != null) {
+                permits.acquire();
+            }
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    private void terminate() {
+        if (alive.decrementAndGet() == 0 && shutdown) {
+            termination.countDown();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+
+        if (alive.get() == 0) {
+            termination.countDown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        stopped = true;
+        shutdown();
+        threads.forEach(Thread::interrupt);
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return termination.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return termination.await(timeout, unit);
+    }
+
+    /**
+     * @return the maximum number of concurrently executing tasks, {@link Integer#MAX_VALUE} if unlimited
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return the number of tasks that are currently executing
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * @return the number of tasks that are waiting for a permit to execute
+     */
+    public int getQueueSize() {
+        return queued.get();
+    }
+
+    /**
+     * Creates virtual {@link ThreadFactory thread factories} using reflection, since the
+     * {@code Thread.ofVirtual()} API isn't available on the Java 17 baseline.
+     */
+    private static final class VirtualThreadFactories {
+
+        private final Method ofVirtual;
+        private final Method name;
+        private final Method factory;
+
+        private VirtualThreadFactories() throws ReflectiveOperationException {
+            this.ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            this.name = builder.getMethod("name", String.class, long.class);
+            this.factory = builder.getMethod("factory");
+        }
+
+        @Nullable
+        static VirtualThreadFactories load() {
+            try {
+                final VirtualThreadFactories factories = new VirtualThreadFactories();
+                // fails on Java 19 and 20, unless preview features are enabled
+                factories.create("");
+                return factories;
+            } catch (final ReflectiveOperationException | IllegalStateException e) {
+                return null;
+            }
+        }
+
+        ThreadFactory create(final String namePrefix) {
+            try {
+                final Object builder = name.invoke(ofVirtual.invoke(null), namePrefix, 0L);
+                return (ThreadFactory) factory.invoke(builder);
+            } catch (final ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
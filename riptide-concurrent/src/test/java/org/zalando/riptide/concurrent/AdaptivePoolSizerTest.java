@@ -0,0 +1,293 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+final class AdaptivePoolSizerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final AdaptivePoolSizer unit =
+            new AdaptivePoolSizer(2, 20, 0.75, 0.5, 1.0, clock::get);
+
+    private final ThreadPoolExecutor executor = (ThreadPoolExecutor) ThreadPoolExecutors.builder()
+            .elasticSize(2, 20)
+            .keepAlive(Duration.ofMinutes(1))
+            .scaleFirst()
+            .boundedQueue(10)
+            .listener(unit)
+            .build();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldGrowPoolWithLoad() {
+        // 100 tasks/s × 100ms = 10 busy threads
+        simulate(100, MILLISECONDS.toNanos(100), 0);
+
+        final AdaptivePoolSizer.Decision decision = unit.adjust(executor);
+
+        assertThat(decision.getArrivalRate()).isEqualTo(100.0);
+        assertThat(decision.getServiceTime()).isEqualTo(0.1);
+        assertThat(decision.getConcurrency()).isEqualTo(10.0);
+        assertThat(decision.getCorePoolSize()).isEqualTo(14);
+        assertThat(decision.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(decision.isChanged()).isTrue();
+
+        assertThat(executor.getCorePoolSize()).isEqualTo(14);
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(20);
+        assertThat(unit.getResizes()).isEqualTo(1);
+        assertThat(unit.getDecision()).isSameAs(decision);
+    }
+
+    @Test
+    void shouldShrinkPoolWithoutLoad() {
+        simulate(100, MILLISECONDS.toNanos(100), 0);
+        unit.adjust(executor);
+
+        // 10 tasks/s × 100ms = 1 busy thread
+        simulate(10, MILLISECONDS.toNanos(100), 0);
+        final AdaptivePoolSizer.Decision decision = unit.adjust(executor);
+
+        assertThat(decision.getCorePoolSize()).isEqualTo(2);
+        assertThat(decision.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(executor.getCorePoolSize()).isEqualTo(2);
+        assertThat(executor.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(unit.getResizes()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotShrinkWhileTasksAreQueueing() {
+        simulate(100, MILLISECONDS.toNanos(100), 0);
+        unit.adjust(executor);
+
+        // tasks wait 50ms on average, i.e. half their service time
+        simulate(10, MILLISECONDS.toNanos(100), MILLISECONDS.toNanos(50));
+        final AdaptivePoolSizer.Decision decision = unit.adjust(executor);
+
+        assertThat(decision.getQueueWait()).isEqualTo(0.05);
+        assertThat(decision.getCorePoolSize()).isEqualTo(14);
+        assertThat(decision.isChanged()).isFalse();
+        assertThat(executor.getCorePoolSize()).isEqualTo(14);
+        assertThat(unit.getResizes()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepPoolAtMinimumWithoutObservations() {
+        executor.setMaximumPoolSize(3);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        final AdaptivePoolSizer.Decision decision = unit.adjust(executor);
+
+        assertThat(decision.getServiceTime()).isNaN();
+        assertThat(decision.getConcurrency()).isZero();
+        assertThat(decision.getQueueWait()).isZero();
+        assertThat(decision.getCorePoolSize()).isEqualTo(2);
+        assertThat(decision.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(decision.isChanged()).isFalse();
+        assertThat(unit.getResizes()).isZero();
+    }
+
+    @Test
+    void shouldIgnoreArrivalRateIfNoTimeElapsed() {
+        executor.setMaximumPoolSize(3);
+
+        final AdaptivePoolSizer.Decision decision = unit.adjust(executor);
+
+        assertThat(decision.getArrivalRate()).isNaN();
+        assertThat(decision.getConcurrency()).isZero();
+    }
+
+    @Test
+    void shouldSmoothObservations() {
+        final AdaptivePoolSizer sizer = new AdaptivePoolSizer(1, 100, 1.0, 0.0, 1.0, clock::get)
+                .withSmoothing(0.5)
+                .withTargetUtilization(0.5)
+                .withHeadroom(1.0);
+
+        simulate(sizer, 100, MILLISECONDS.toNanos(100), 0);
+        sizer.adjust(executor);
+
+        simulate(sizer, 300, MILLISECONDS.toNanos(300), 0);
+        final AdaptivePoolSizer.Decision decision = sizer.adjust(executor);
+
+        assertThat(decision.getArrivalRate()).isEqualTo(200.0);
+        assertThat(decision.getServiceTime()).isEqualTo(0.2);
+        assertThat(decision.getConcurrency()).isEqualTo(40.0);
+        assertThat(decision.getCorePoolSize()).isEqualTo(80);
+        assertThat(decision.getMaximumPoolSize()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new AdaptivePoolSizer(-1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptivePoolSizer(0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptivePoolSizer(10, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        final AdaptivePoolSizer sizer = new AdaptivePoolSizer(1, 10);
+
+        assertThatThrownBy(() -> sizer.withTargetUtilization(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sizer.withTargetUtilization(1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sizer.withHeadroom(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sizer.withSmoothing(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sizer.withSmoothing(1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldKeepMaximumPoolSizeOfPoolsWithoutQueue() throws Exception {
+        final AdaptivePoolSizer sizer = new AdaptivePoolSizer(1, 10, 0.75, 0.5, 1.0, clock::get);
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) ThreadPoolExecutors.builder()
+                .elasticSize(1, 10)
+                .keepAlive(Duration.ofMinutes(1))
+                .withoutQueue()
+                .listener(sizer)
+                .build();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        try {
+            simulate(sizer, 1, MILLISECONDS.toNanos(100), 0);
+
+            final AdaptivePoolSizer.Decision decision = sizer.adjust(executor);
+
+            assertThat(decision.getCorePoolSize()).isEqualTo(1);
+            assertThat(decision.getMaximumPoolSize()).isEqualTo(10);
+
+            // a burst above core pool size × (1 + headroom) must not be rejected
+            for (int i = 0; i < 10; i++) {
+                executor.execute(() -> {
+                    try {
+                        latch.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            assertThat(executor.getPoolSize()).isEqualTo(10);
+        } finally {
+            latch.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldObserveRealTasks() throws Exception {
+        final AdaptivePoolSizer sizer = new AdaptivePoolSizer(1, 4);
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) ThreadPoolExecutors.builder()
+                .fixedSize(4)
+                .boundedQueue(10)
+                .listener(sizer)
+                .build();
+
+        try {
+            executor.submit(() -> {}).get();
+            Thread.sleep(10);
+
+            final AdaptivePoolSizer.Decision decision = sizer.adjust(executor);
+
+            assertThat(decision.getArrivalRate()).isPositive();
+            assertThat(decision.getServiceTime()).isNotNaN();
+            assertThat(decision.getCorePoolSize()).isBetween(1, 4);
+            assertThat(decision.getMaximumPoolSize()).isBetween(decision.getCorePoolSize(), 4);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldAdjustPeriodicallyUntilShutdown() {
+        final AdaptivePoolSizer sizer = new AdaptivePoolSizer(1, 20);
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) ThreadPoolExecutors.builder()
+                .elasticSize(1, 20)
+                .keepAlive(Duration.ofMinutes(1))
+                .scaleFirst()
+                .boundedQueue(10)
+                .listener(sizer)
+                .build();
+
+        final ScheduledFuture<?> future = sizer.start(executor, Duration.ofMillis(5));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (sizer.getDecision() == null) {
+                Thread.sleep(5);
+            }
+
+            executor.shutdown();
+
+            while (!future.isDone()) {
+                Thread.sleep(5);
+            }
+        });
+
+        assertThat(future.isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldAdjustPeriodicallyOnGivenScheduler() {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        try {
+            final ScheduledFuture<?> future = unit.start(executor, scheduler, Duration.ofMillis(5));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                while (unit.getDecision() == null) {
+                    Thread.sleep(5);
+                }
+
+                executor.shutdown();
+
+                while (!future.isDone()) {
+                    Thread.sleep(5);
+                }
+            });
+
+            assertThat(future.isCancelled()).isTrue();
+            assertThat(scheduler.isShutdown()).isFalse();
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void simulate(final int tasks, final long executionTime, final long queueTime) {
+        simulate(unit, tasks, executionTime, queueTime);
+    }
+
+    private void simulate(
+            final AdaptivePoolSizer sizer, final int tasks, final long executionTime, final long queueTime) {
+
+        for (int i = 0; i < tasks; i++) {
+            sizer.onSubmitted();
+            sizer.onStarted(queueTime);
+            sizer.onCompleted(executionTime);
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    }
+
+}
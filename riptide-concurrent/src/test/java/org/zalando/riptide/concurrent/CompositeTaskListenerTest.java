@@ -0,0 +1,33 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class CompositeTaskListenerTest {
+
+    private final RecordingTaskListener first = new RecordingTaskListener();
+    private final RecordingTaskListener second = new RecordingTaskListener();
+
+    private final TaskListener unit = TaskListener.composite(first, second);
+
+    @Test
+    void shouldDelegateToAllListeners() {
+        unit.onSubmitted();
+        unit.onStarted(17);
+        unit.onCompleted(23);
+        unit.onReEnqueued();
+        unit.onRejected();
+
+        for (final RecordingTaskListener listener : new RecordingTaskListener[]{first, second}) {
+            assertThat(listener.submitted).hasValue(1);
+            assertThat(listener.started).hasValue(1);
+            assertThat(listener.queueTime).hasValue(17);
+            assertThat(listener.completed).hasValue(1);
+            assertThat(listener.executionTime).hasValue(23);
+            assertThat(listener.reEnqueued).hasValue(1);
+            assertThat(listener.rejected).hasValue(1);
+        }
+    }
+
+}
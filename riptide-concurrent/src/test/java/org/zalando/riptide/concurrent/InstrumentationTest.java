@@ -0,0 +1,186 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.DiscardPolicy;
+
+import static com.google.common.util.concurrent.Uninterruptibles.sleepUninterruptibly;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SuppressWarnings("UnstableApiUsage")
+final class InstrumentationTest {
+
+    private final RecordingTaskListener listener = new RecordingTaskListener();
+
+    private ThreadPoolExecutor unit = ThreadPoolExecutors.builder()
+            .fixedSize(1)
+            .withoutQueue()
+            .build();
+
+    @AfterEach
+    void shutdown() {
+        unit.shutdownNow();
+    }
+
+    @Test
+    void usesPlainExecutorByDefault() {
+        unit = ThreadPoolExecutors.builder()
+                .fixedSize(1)
+                .boundedQueue(1)
+                .build();
+
+        assertThat(unit).isNotInstanceOf(InstrumentedThreadPoolExecutor.class);
+    }
+
+    @Test
+    void recordsQueueAndExecutionTime() throws InterruptedException {
+        unit = ThreadPoolExecutors.builder()
+                .fixedSize(1)
+                .boundedQueue(1)
+                .listener(listener)
+                .build();
+
+        final CountDownLatch latch = new CountDownLatch(2);
+
+        unit.execute(sleep(Duration.ofMillis(100), latch));
+        unit.execute(sleep(Duration.ZERO, latch));
+
+        assertThat(latch.await(5, SECONDS)).isTrue();
+        unit.shutdown();
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+
+        assertThat(listener.submitted).hasValue(2);
+        assertThat(listener.started).hasValue(2);
+        assertThat(listener.completed).hasValue(2);
+        assertThat(listener.queueTime.get()).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(100));
+        assertThat(listener.executionTime.get()).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void recordsCompletionOfFailedTasks() throws InterruptedException {
+        unit = ThreadPoolExecutors.builder()
+                .fixedSize(1)
+                .boundedQueue(1)
+                .listener(listener)
+                .build();
+
+        unit.submit(() -> {
+            throw new IllegalStateException();
+        });
+
+        unit.shutdown();
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+
+        assertThat(listener.completed).hasValue(1);
+    }
+
+    @Test
+    void recordsReEnqueuedTasks() {
+        unit = ThreadPoolExecutors.builder()
+                .elasticSize(1, 2)
+                .keepAlive(Duration.ofMinutes(1))
+                .scaleFirst()
+                .boundedQueue(1)
+                .listener(listener)
+                .build();
+
+        unit.execute(sleep());
+        unit.execute(sleep());
+        unit.execute(sleep());
+
+        assertThat(unit.getQueue()).hasSize(1);
+        assertThat(listener.reEnqueued).hasValue(1);
+        assertThat(listener.rejected).hasValue(0);
+
+        assertThrows(RejectedExecutionException.class, () ->
+                unit.execute(sleep()));
+
+        assertThat(listener.submitted).hasValue(4);
+        assertThat(listener.reEnqueued).hasValue(1);
+        assertThat(listener.rejected).hasValue(1);
+    }
+
+    @Test
+    void recordsRejectedTasks() {
+        unit = ThreadPoolExecutors.builder()
+                .fixedSize(1)
+                .withoutQueue()
+                .handler(new DiscardPolicy())
+                .listener(listener)
+                .build();
+
+        unit.execute(sleep());
+        unit.execute(sleep());
+
+        assertThat(listener.submitted).hasValue(2);
+        assertThat(listener.rejected).hasValue(1);
+        assertThat(((ListeningRejectedExecutionHandler) unit.getRejectedExecutionHandler()).getHandler())
+                .isInstanceOf(DiscardPolicy.class);
+    }
+
+    @Test
+    void wrapsQueuedTasks() {
+        unit = ThreadPoolExecutors.builder()
+                .fixedSize(1)
+                .boundedQueue(1)
+                .listener(listener)
+                .build();
+
+        final Runnable task = sleep();
+
+        unit.execute(sleep());
+        unit.execute(task);
+
+        assertThat(unit.getQueue()).hasSize(1);
+        assertThat(((TimedTask) unit.getQueue().peek()).getTask()).isSameAs(task);
+    }
+
+    @Test
+    void ignoresForeignTasks() {
+        final InstrumentedThreadPoolExecutor executor = (InstrumentedThreadPoolExecutor) ThreadPoolExecutors.builder()
+                .fixedSize(1)
+                .boundedQueue(1)
+                .listener(listener)
+                .build();
+
+        unit = executor;
+
+        final Runnable task = () -> {};
+        executor.beforeExecute(Thread.currentThread(), task);
+        executor.afterExecute(task, null);
+
+        assertThat(listener.started).hasValue(0);
+        assertThat(listener.completed).hasValue(0);
+    }
+
+    @Test
+    void defaultListenerIgnoresEvents() {
+        final TaskListener unit = TaskListener.DEFAULT;
+
+        unit.onSubmitted();
+        unit.onStarted(1);
+        unit.onCompleted(1);
+        unit.onReEnqueued();
+        unit.onRejected();
+    }
+
+    private Runnable sleep() {
+        return () -> sleepUninterruptibly(Duration.ofMinutes(1));
+    }
+
+    private Runnable sleep(final Duration duration, final CountDownLatch latch) {
+        return () -> {
+            sleepUninterruptibly(duration);
+            latch.countDown();
+        };
+    }
+
+}
@@ -0,0 +1,43 @@
+package org.zalando.riptide.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class RecordingTaskListener implements TaskListener {
+
+    final AtomicInteger submitted = new AtomicInteger();
+    final AtomicInteger started = new AtomicInteger();
+    final AtomicInteger completed = new AtomicInteger();
+    final AtomicInteger reEnqueued = new AtomicInteger();
+    final AtomicInteger rejected = new AtomicInteger();
+    final AtomicLong queueTime = new AtomicLong();
+    final AtomicLong executionTime = new AtomicLong();
+
+    @Override
+    public void onSubmitted() {
+        submitted.incrementAndGet();
+    }
+
+    @Override
+    public void onStarted(final long queueTimeNanos) {
+        started.incrementAndGet();
+        queueTime.addAndGet(queueTimeNanos);
+    }
+
+    @Override
+    public void onCompleted(final long executionTimeNanos) {
+        completed.incrementAndGet();
+        executionTime.addAndGet(executionTimeNanos);
+    }
+
+    @Override
+    public void onReEnqueued() {
+        reEnqueued.incrementAndGet();
+    }
+
+    @Override
+    public void onRejected() {
+        rejected.incrementAndGet();
+    }
+
+}
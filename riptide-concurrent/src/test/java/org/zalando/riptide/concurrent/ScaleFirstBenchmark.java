@@ -0,0 +1,73 @@
+package org.zalando.riptide.concurrent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.zalando.riptide.concurrent.ThreadPoolExecutors.ScaleFirstMode;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Compares both {@link ScaleFirstMode scale-first modes} under contention, i.e. with more submitting threads than
+ * the pool has workers. Run via {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class ScaleFirstBenchmark {
+
+    @Param({"RE_ENQUEUE", "TRANSFER"})
+    public ScaleFirstMode mode;
+
+    private ThreadPoolExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = ThreadPoolExecutors.builder()
+                .elasticSize(2, 8)
+                .keepAlive(Duration.ofMinutes(1))
+                .scaleFirst(mode)
+                .boundedQueue(1024)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void roundTrip(final Blackhole blackhole) throws ExecutionException, InterruptedException {
+        blackhole.consume(executor.submit(() -> Blackhole.consumeCPU(64)).get());
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ScaleFirstBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
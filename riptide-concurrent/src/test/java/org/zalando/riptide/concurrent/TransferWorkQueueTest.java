@@ -0,0 +1,74 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class TransferWorkQueueTest {
+
+    private final TransferWorkQueue<String> unit = new TransferWorkQueue<>(2);
+
+    @Test
+    void shouldEnforceCapacity() {
+        assertThat(unit.add("a")).isTrue();
+        assertThat(unit.add("b")).isTrue();
+        assertThat(unit.add("c")).isFalse();
+
+        assertThat(unit).containsExactly("a", "b");
+        assertThat(unit.remainingCapacity()).isZero();
+    }
+
+    @Test
+    void shouldReleaseCapacityOnPoll() throws InterruptedException {
+        unit.add("a");
+        unit.add("b");
+
+        assertThat(unit.poll()).isEqualTo("a");
+        assertThat(unit.remainingCapacity()).isEqualTo(1);
+
+        assertThat(unit.take()).isEqualTo("b");
+        assertThat(unit.remainingCapacity()).isEqualTo(2);
+
+        assertThat(unit.poll()).isNull();
+        assertThat(unit.remainingCapacity()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReleaseCapacityOnRemove() {
+        unit.add("a");
+        unit.add("b");
+
+        assertThat(unit.remove("a")).isTrue();
+        assertThat(unit.remove("c")).isFalse();
+        assertThat(unit.remainingCapacity()).isEqualTo(1);
+
+        final Iterator<String> iterator = unit.iterator();
+        iterator.next();
+        iterator.remove();
+
+        assertThat(unit).isEmpty();
+        assertThat(unit.remainingCapacity()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReleaseCapacityOnDrain() {
+        unit.add("a");
+        unit.add("b");
+
+        assertThat(unit.drainTo(new ArrayList<>())).isEqualTo(2);
+        assertThat(unit.remainingCapacity()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldBeUnboundedByDefault() {
+        final TransferWorkQueue<String> unit = new TransferWorkQueue<>(Integer.MAX_VALUE);
+
+        unit.add("a");
+
+        assertThat(unit.remainingCapacity()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+}
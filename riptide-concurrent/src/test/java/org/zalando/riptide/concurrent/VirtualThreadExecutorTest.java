@@ -0,0 +1,226 @@
+package org.zalando.riptide.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.condition.JRE.JAVA_20;
+import static org.junit.jupiter.api.condition.JRE.JAVA_21;
+
+final class VirtualThreadExecutorTest {
+
+    private final RecordingTaskListener listener = new RecordingTaskListener();
+
+    // platform threads behave the same, as far as the executor is concerned
+    private final VirtualThreadExecutor unit = new VirtualThreadExecutor(Thread::new, 2, listener);
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        latch.countDown();
+        unit.shutdownNow();
+    }
+
+    @Test
+    void shouldExecuteTasks() throws Exception {
+        final Future<String> future = unit.submit(() -> "done");
+
+        assertThat(future.get()).isEqualTo("done");
+        assertThat(unit.getMaxConcurrency()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldLimitConcurrency() throws Exception {
+        final Future<?> first = unit.submit(this::block);
+        final Future<?> second = unit.submit(this::block);
+        final Future<?> third = unit.submit(this::block);
+
+        awaitUntil(() -> unit.getActiveCount() == 2 && unit.getQueueSize() == 1);
+
+        latch.countDown();
+
+        first.get(5, SECONDS);
+        second.get(5, SECONDS);
+        third.get(5, SECONDS);
+
+        assertThat(unit.getActiveCount()).isZero();
+        assertThat(unit.getQueueSize()).isZero();
+    }
+
+    @Test
+    void shouldNotLimitConcurrencyByDefault() throws Exception {
+        final VirtualThreadExecutor unit =
+                new VirtualThreadExecutor(Thread::new, Integer.MAX_VALUE, TaskListener.DEFAULT);
+
+        try {
+            unit.submit(this::block);
+            unit.submit(this::block);
+            unit.submit(this::block);
+
+            awaitUntil(() -> unit.getActiveCount() == 3);
+            assertThat(unit.getQueueSize()).isZero();
+        } finally {
+            latch.countDown();
+            unit.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReportToListener() throws Exception {
+        unit.submit(() -> {}).get();
+        unit.shutdown();
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+
+        assertThat(listener.submitted).hasValue(1);
+        assertThat(listener.started).hasValue(1);
+        assertThat(listener.completed).hasValue(1);
+        assertThat(listener.queueTime.get()).isNotNegative();
+        assertThat(listener.executionTime.get()).isNotNegative();
+    }
+
+    @Test
+    void shouldRejectAfterShutdown() {
+        unit.shutdown();
+
+        assertThatThrownBy(() -> unit.execute(() -> {}))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(listener.rejected).hasValue(1);
+        assertThat(unit.isShutdown()).isTrue();
+        assertThat(unit.isTerminated()).isTrue();
+    }
+
+    @Test
+    void shouldTerminateAfterRunningTasksCompleted() throws Exception {
+        unit.submit(this::block);
+        unit.shutdown();
+
+        assertThat(unit.isShutdown()).isTrue();
+        assertThat(unit.isTerminated()).isFalse();
+
+        latch.countDown();
+
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(unit.isTerminated()).isTrue();
+    }
+
+    @Test
+    void shouldInterruptTasksOnShutdownNow() throws Exception {
+        final Future<?> first = unit.submit(this::block);
+        final Future<?> second = unit.submit(this::block);
+        unit.submit(this::block);
+
+        awaitUntil(() -> unit.getActiveCount() == 2 && unit.getQueueSize() == 1);
+
+        assertThat(unit.shutdownNow()).isEmpty();
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+
+        assertThatThrownBy(first::get).isInstanceOf(ExecutionException.class);
+        assertThatThrownBy(second::get).isInstanceOf(ExecutionException.class);
+
+        assertThat(unit.getActiveCount()).isZero();
+        assertThat(unit.getQueueSize()).isZero();
+    }
+
+    @Test
+    void shouldTerminateWhenShutDownWhileTasksAreSubmitted() throws Exception {
+        final AtomicInteger accepted = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+        final Thread[] submitters = new Thread[4];
+
+        for (int i = 0; i < submitters.length; i++) {
+            submitters[i] = new Thread(() -> {
+                try {
+                    while (true) {
+                        unit.execute(completed::incrementAndGet);
+                        accepted.incrementAndGet();
+                    }
+                } catch (final RejectedExecutionException e) {
+                    // expected once shut down
+                }
+            });
+            submitters[i].start();
+        }
+
+        awaitUntil(() -> completed.get() > 100);
+        unit.shutdown();
+
+        for (final Thread submitter : submitters) {
+            submitter.join(5_000);
+        }
+
+        assertThat(unit.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(completed).hasValue(accepted.get());
+    }
+
+    @Test
+    void shouldRejectInvalidConcurrency() {
+        assertThatThrownBy(() -> new VirtualThreadExecutor(Thread::new, 0, TaskListener.DEFAULT))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @EnabledForJreRange(min = JAVA_21)
+    void shouldUseVirtualThreads() throws Exception {
+        assertThat(VirtualThreadExecutor.isSupported()).isTrue();
+
+        final VirtualThreadExecutor unit = VirtualThreadExecutor.create("test-");
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+
+        try {
+            unit.submit(() -> thread.set(Thread.currentThread())).get();
+
+            assertThat(thread.get().getName()).startsWith("test-");
+            assertThat(thread.get().toString()).contains("VirtualThread");
+            assertThat(unit.getMaxConcurrency()).isEqualTo(Integer.MAX_VALUE);
+        } finally {
+            unit.shutdown();
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(max = JAVA_20)
+    void shouldNotSupportVirtualThreads() {
+        assertThat(VirtualThreadExecutor.isSupported()).isFalse();
+
+        assertThatThrownBy(() -> VirtualThreadExecutor.create("test-"))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private void block() {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitUntil(final Condition condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + SECONDS.toNanos(5);
+
+        while (!condition.isMet()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Condition {
+        boolean isMet();
+    }
+
+}
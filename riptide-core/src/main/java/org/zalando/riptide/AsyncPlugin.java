@@ -1,12 +1,17 @@
 package org.zalando.riptide;
 
 import lombok.AllArgsConstructor;
+import org.springframework.http.client.ClientHttpResponse;
 
+import javax.annotation.Nullable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.Executor;
 
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.function.Function.identity;
 import static org.zalando.fauxpas.FauxPas.throwingSupplier;
+import static org.zalando.riptide.Attributes.CANCELLATION;
+import static org.zalando.riptide.Attributes.DEADLINE;
 
 @AllArgsConstructor
 final class AsyncPlugin implements Plugin {
@@ -15,9 +20,24 @@ final class AsyncPlugin implements Plugin {
 
     @Override
     public RequestExecution aroundAsync(final RequestExecution execution) {
-        return arguments ->
-                supplyAsync(throwingSupplier(() -> execution.execute(arguments)), executor)
-                .thenCompose(identity());
+        return arguments -> {
+            @Nullable final Deadline deadline = arguments.getAttribute(DEADLINE).orElse(null);
+            @Nullable final Cancellation cancellation = arguments.getAttribute(CANCELLATION).orElse(null);
+
+            return supplyAsync(throwingSupplier(() -> {
+                // requests that waited in the queue beyond their deadline are not worth sending anymore
+                if (deadline != null && deadline.isExpired()) {
+                    return CompletableFutures.<ClientHttpResponse>exceptionallyCompletedFuture(
+                            new DeadlineExceededException(deadline));
+                }
+                if (cancellation != null && cancellation.isCancelled()) {
+                    return CompletableFutures.<ClientHttpResponse>exceptionallyCompletedFuture(
+                            new CancellationException("Request was cancelled before it was sent"));
+                }
+                return execution.execute(arguments);
+            }), executor)
+                    .thenCompose(identity());
+        };
     }
 
 }
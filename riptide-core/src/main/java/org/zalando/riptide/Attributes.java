@@ -24,6 +24,25 @@ public final class Attributes {
      */
     public static final Attribute<Boolean> IDEMPOTENT = Attribute.generate();
 
+    /**
+     * The {@link Deadline deadline} of a request, either set at the call site, e.g. derived from an incoming
+     * request, or by the {@link DeadlinePlugin}. Queueing, retries and backup requests respect it and fail fast
+     * once it passed.
+     */
+    public static final Attribute<Deadline> DEADLINE = Attribute.generate();
+
+    /**
+     * The {@link Cancellation cancellation} of a request, or a single attempt of it. Plugins that give up on
+     * requests, e.g. due to timeouts, cancel it in order to abort the underlying exchange.
+     */
+    public static final Attribute<Cancellation> CANCELLATION = Attribute.generate();
+
+    /**
+     * The {@link SerializedBody serialized body} of a request that is shared by all of its attempts, in order to
+     * serialize the body only once.
+     */
+    public static final Attribute<SerializedBody> SERIALIZED_BODY = Attribute.generate();
+
     private Attributes() {
 
     }
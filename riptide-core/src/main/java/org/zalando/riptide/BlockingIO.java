@@ -6,11 +6,13 @@ import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpResponse;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.net.URI;
 import java.util.concurrent.CompletableFuture;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.zalando.riptide.Attributes.CANCELLATION;
 
 @AllArgsConstructor
 final class BlockingIO implements IO {
@@ -24,6 +26,12 @@ final class BlockingIO implements IO {
 
         final ClientHttpRequest request = requestFactory.createRequest(uri, method);
 
+        if (request instanceof Closeable) {
+            // closing a request that is in flight aborts it
+            arguments.getAttribute(CANCELLATION).ifPresent(cancellation ->
+                    cancellation.register((Closeable) request));
+        }
+
         copyTo(arguments.getHeaders(), request.getHeaders());
         arguments.getEntity().writeTo(request);
 
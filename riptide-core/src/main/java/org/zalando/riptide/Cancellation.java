@@ -0,0 +1,82 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Allows to abort a request that is already in flight, e.g. once its timeout or {@link Deadline deadline} passed,
+ * without interrupting the thread that waits for it. The request is aborted by closing the
+ * {@link org.springframework.http.client.ClientHttpRequest request}, if it is {@link Closeable}, which releases
+ * the underlying connection and lets the blocked thread fail promptly.
+ *
+ * @see Attributes#CANCELLATION
+ */
+@API(status = EXPERIMENTAL)
+public final class Cancellation {
+
+    private final List<Closeable> resources = new ArrayList<>();
+    private boolean cancelled;
+
+    /**
+     * Creates a cancellation that is cancelled together with the one of the given arguments, if any, e.g. when the
+     * new one only covers a single attempt of a request.
+     *
+     * @param arguments the arguments of the surrounding request
+     * @return a new cancellation
+     */
+    public static Cancellation of(final RequestArguments arguments) {
+        final Cancellation cancellation = new Cancellation();
+        arguments.getAttribute(Attributes.CANCELLATION).ifPresent(parent -> parent.register(cancellation::cancel));
+        return cancellation;
+    }
+
+    /**
+     * Registers the given resource to be closed upon cancellation. Resources that are registered after the fact are
+     * closed immediately.
+     *
+     * @param resource the resource to close upon cancellation
+     */
+    public void register(final Closeable resource) {
+        synchronized (this) {
+            if (!cancelled) {
+                resources.add(resource);
+                return;
+            }
+        }
+        closeQuietly(resource);
+    }
+
+    public void cancel() {
+        final List<Closeable> resources;
+
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            resources = new ArrayList<>(this.resources);
+            this.resources.clear();
+        }
+
+        resources.forEach(Cancellation::closeQuietly);
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    private static void closeQuietly(final Closeable resource) {
+        try {
+            resource.close();
+        } catch (final IOException | RuntimeException e) {
+            // best effort, the request is not going to be consumed anymore
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.zalando.riptide;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * The point in time by which a request, including all of its retries, backup requests and the time it spent
+ * waiting in queues, needs to be completed. Work that would start after the deadline fails fast with a
+ * {@link DeadlineExceededException} instead.
+ *
+ * @see Attributes#DEADLINE
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Deadline {
+
+    private final Instant instant;
+    private final Clock clock;
+
+    public static Deadline at(final Instant instant) {
+        return at(instant, Clock.systemUTC());
+    }
+
+    public static Deadline at(final Instant instant, final Clock clock) {
+        return new Deadline(instant, clock);
+    }
+
+    public static Deadline in(final Duration timeout) {
+        return in(timeout, Clock.systemUTC());
+    }
+
+    public static Deadline in(final Duration timeout, final Clock clock) {
+        return new Deadline(clock.instant().plus(timeout), clock);
+    }
+
+    public Instant getInstant() {
+        return instant;
+    }
+
+    /**
+     * @return the time left until this deadline, never negative
+     */
+    public Duration remaining() {
+        final Duration remaining = Duration.between(clock.instant(), instant);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    public boolean isExpired() {
+        return !clock.instant().isBefore(instant);
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline(" + instant + ")";
+    }
+
+}
@@ -0,0 +1,21 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Thrown when a request didn't complete before its {@link Deadline deadline}, or when it would have started work
+ * after its deadline already passed.
+ */
+@API(status = EXPERIMENTAL)
+@SuppressWarnings("serial")
+public final class DeadlineExceededException extends TimeoutException {
+
+    public DeadlineExceededException(final Deadline deadline) {
+        super("Deadline exceeded: " + deadline.getInstant());
+    }
+
+}
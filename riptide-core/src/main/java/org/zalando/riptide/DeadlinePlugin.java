@@ -0,0 +1,197 @@
+package org.zalando.riptide;
+
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nullable;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.zalando.riptide.Attributes.CANCELLATION;
+import static org.zalando.riptide.Attributes.DEADLINE;
+import static org.zalando.riptide.CompletableFutures.exceptionallyCompletedFuture;
+
+/**
+ * Enforces the {@link Attributes#DEADLINE deadline} of requests end-to-end. Requests without a deadline get one
+ * based on the {@link #withDefaultTimeout(Duration) default timeout}, if configured. Once the deadline passes, the
+ * request fails with a {@link DeadlineExceededException} right away, instead of waiting for outstanding work, which
+ * is cancelled. Exchanges that are in flight are {@link Cancellation aborted}. Attempts that would be sent after the
+ * deadline fail fast. The remaining time can optionally be propagated to the server
+ * {@link #withHeader(String) as a header}.
+ *
+ * This plugin should be registered after (i.e. around) other plugins that retry or delay requests, e.g. the
+ * {@code FailsafePlugin}, in order to cancel their pending work once the deadline passed.
+ *
+ * Deadlines are enforced by a {@link #withScheduler(Scheduler) scheduler}, which defaults to a single daemon thread
+ * that is shared by all instances. Clients with many concurrent requests should pass their own one, e.g. the
+ * {@code HashedWheelScheduler} of {@code riptide-failsafe}.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class DeadlinePlugin implements Plugin {
+
+    /**
+     * Schedules the tasks that fail requests at their deadline. Most of them are cancelled before they are due.
+     * Matches the signature of {@link ScheduledExecutorService#schedule(Callable, long, TimeUnit)} and Failsafe's
+     * {@code Scheduler}.
+     */
+    @FunctionalInterface
+    public interface Scheduler {
+
+        ScheduledFuture<?> schedule(Callable<?> task, long delay, TimeUnit unit);
+
+    }
+
+    private static final class DefaultScheduler {
+
+        private static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "riptide-deadlines");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+
+    }
+
+    private final Clock clock;
+    private final Scheduler scheduler;
+
+    @Nullable
+    private final Duration defaultTimeout;
+
+    @Nullable
+    private final String header;
+
+    public DeadlinePlugin() {
+        this(Clock.systemUTC(), DefaultScheduler.INSTANCE::schedule, null, null);
+    }
+
+    public DeadlinePlugin withClock(final Clock clock) {
+        return new DeadlinePlugin(clock, scheduler, defaultTimeout, header);
+    }
+
+    /**
+     * @param scheduler the scheduler used to fail requests at their deadline, defaults to a shared daemon thread
+     * @return a copy of this plugin using the given scheduler
+     */
+    public DeadlinePlugin withScheduler(final ScheduledExecutorService scheduler) {
+        return withScheduler((Scheduler) scheduler::schedule);
+    }
+
+    /**
+     * @param scheduler the scheduler used to fail requests at their deadline, defaults to a shared daemon thread
+     * @return a copy of this plugin using the given scheduler
+     */
+    public DeadlinePlugin withScheduler(final Scheduler scheduler) {
+        return new DeadlinePlugin(clock, scheduler, defaultTimeout, header);
+    }
+
+    /**
+     * @param defaultTimeout the timeout of requests that don't specify a deadline on their own
+     * @return a copy of this plugin using the given default timeout
+     */
+    public DeadlinePlugin withDefaultTimeout(final Duration defaultTimeout) {
+        return new DeadlinePlugin(clock, scheduler, defaultTimeout, header);
+    }
+
+    /**
+     * @param header the name of the header that carries the remaining time in milliseconds to the server, e.g.
+     *               {@code X-Request-Timeout}
+     * @return a copy of this plugin propagating the deadline as the given header
+     */
+    public DeadlinePlugin withHeader(final String header) {
+        return new DeadlinePlugin(clock, scheduler, defaultTimeout, header);
+    }
+
+    @Override
+    public RequestExecution aroundAsync(final RequestExecution execution) {
+        return arguments -> {
+            @Nullable final Deadline deadline = arguments.getAttribute(DEADLINE)
+                    .orElseGet(() -> defaultTimeout == null ? null : Deadline.in(defaultTimeout, clock));
+
+            if (deadline == null) {
+                return execution.execute(arguments);
+            }
+
+            if (deadline.isExpired()) {
+                return exceptionallyCompletedFuture(new DeadlineExceededException(deadline));
+            }
+
+            final Cancellation cancellation = Cancellation.of(arguments);
+
+            return within(execution.execute(arguments
+                    .withAttribute(DEADLINE, deadline)
+                    .withAttribute(CANCELLATION, cancellation)), deadline, cancellation);
+        };
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            @Nullable final Deadline deadline = arguments.getAttribute(DEADLINE).orElse(null);
+
+            if (deadline == null) {
+                return execution.execute(arguments);
+            }
+
+            // retries and backup requests may start after the deadline passed
+            if (deadline.isExpired()) {
+                return exceptionallyCompletedFuture(new DeadlineExceededException(deadline));
+            }
+
+            if (header == null) {
+                return execution.execute(arguments);
+            }
+
+            return execution.execute(arguments.withHeader(header,
+                    String.valueOf(Math.max(1, deadline.remaining().toMillis()))));
+        };
+    }
+
+    private CompletableFuture<ClientHttpResponse> within(
+            final CompletableFuture<ClientHttpResponse> future,
+            final Deadline deadline,
+            final Cancellation cancellation) {
+
+        final CompletableFuture<ClientHttpResponse> result = new CompletableFuture<>();
+
+        final ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+            if (result.completeExceptionally(new DeadlineExceededException(deadline))) {
+                future.cancel(false);
+                cancellation.cancel();
+            }
+            return null;
+        }, deadline.remaining().toNanos(), NANOSECONDS);
+
+        future.whenComplete((response, throwable) -> {
+            timeout.cancel(false);
+
+            if (throwable == null) {
+                if (!result.complete(response)) {
+                    // too late, nobody is going to consume it
+                    response.close();
+                }
+            } else {
+                result.completeExceptionally(throwable);
+            }
+        });
+
+        return result;
+    }
+
+}
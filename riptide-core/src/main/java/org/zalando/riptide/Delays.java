@@ -0,0 +1,102 @@
+package org.zalando.riptide;
+
+import com.google.common.base.CharMatcher;
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+import static java.time.Duration.between;
+import static java.time.format.DateTimeFormatter.RFC_1123_DATE_TIME;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Parses delays announced by servers, e.g. in {@code Retry-After} or {@code X-RateLimit-Reset} headers.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc7231#section-7.1.3">RFC 7231, section 7.1.3: Retry-After</a>
+ * @see <a href="https://opensource.zalando.com/restful-api-guidelines/#153">Zalando RESTful API Guidelines, Rule #153 Use Code 429 with Headers for Rate Limits</a>
+ */
+@API(status = EXPERIMENTAL)
+public final class Delays {
+
+    private static final CharMatcher DIGIT = CharMatcher.inRange('0', '9').precomputed();
+
+    // maximum difference between timezones is 26 hours
+    private static final Duration THRESHOLD = Duration.ofHours(-26);
+
+    private Delays() {
+
+    }
+
+    /**
+     * @param value the value of a {@code Retry-After} header
+     * @param clock the clock to compare HTTP dates to
+     * @return the delay, given either in seconds or as an HTTP date, or null if the value is invalid
+     */
+    @Nullable
+    public static Duration retryAfter(final String value, final Clock clock) {
+        @Nullable final Duration seconds = seconds(value);
+        return seconds == null ? httpDate(value, clock) : seconds;
+    }
+
+    /**
+     * @param value the value of a {@code X-RateLimit-Reset} header
+     * @param clock the clock to compare epoch seconds to
+     * @return the delay, given either as epoch seconds or in seconds, or null if the value is invalid
+     */
+    @Nullable
+    public static Duration rateLimitReset(final String value, final Clock clock) {
+        @Nullable final Duration epochSeconds = epochSeconds(value, clock);
+        return epochSeconds == null ? seconds(value) : epochSeconds;
+    }
+
+    /**
+     * @param value a non-negative number of seconds
+     * @return the delay, or null if the value is not a number of seconds
+     */
+    @Nullable
+    public static Duration seconds(final String value) {
+        return isInteger(value) ? Duration.ofSeconds(Long.parseLong(value)) : null;
+    }
+
+    /**
+     * @param value a point in time, given in seconds since the epoch
+     * @param clock the clock to compare to
+     * @return the time until the given point in time, or null if the value is not a number of seconds or too far in
+     * the past to be meant as epoch seconds
+     */
+    @Nullable
+    public static Duration epochSeconds(final String value, final Clock clock) {
+        if (!isInteger(value)) {
+            return null;
+        }
+
+        final Duration duration = between(clock.instant(), Instant.ofEpochSecond(Long.parseLong(value)));
+        return duration.compareTo(THRESHOLD) > 0 ? duration : null;
+    }
+
+    /**
+     * @param value a point in time, given as an RFC 1123 date
+     * @param clock the clock to compare to
+     * @return the time until the given point in time, or null if the value is not a date
+     */
+    @Nullable
+    public static Duration httpDate(final String value, final Clock clock) {
+        try {
+            return between(clock.instant(), Instant.from(RFC_1123_DATE_TIME.parse(value)));
+        } catch (final DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Longer values may not fit into a long.
+     */
+    private static boolean isInteger(final String value) {
+        return !value.isEmpty() && value.length() < 19 && DIGIT.matchesAllOf(value);
+    }
+
+}
@@ -4,8 +4,11 @@ import lombok.AllArgsConstructor;
 import org.springframework.http.HttpOutputMessage;
 import org.zalando.riptide.RequestArguments.Entity;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 
+import static org.zalando.riptide.Attributes.SERIALIZED_BODY;
+
 @AllArgsConstructor
 final class SerializationPlugin implements Plugin {
 
@@ -25,7 +28,13 @@ final class SerializationPlugin implements Plugin {
 
         @Override
         public void writeTo(final HttpOutputMessage message) throws IOException {
-            writer.write(message, arguments);
+            @Nullable final SerializedBody body = arguments.getAttribute(SERIALIZED_BODY).orElse(null);
+
+            if (body == null || isEmpty()) {
+                writer.write(message, arguments);
+            } else {
+                body.writeTo(message, output -> writer.write(output, arguments));
+            }
         }
 
         @Override
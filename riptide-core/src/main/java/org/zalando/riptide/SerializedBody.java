@@ -0,0 +1,139 @@
+package org.zalando.riptide;
+
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.zalando.riptide.RequestArguments.Entity;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
+
+/**
+ * The body of a request, serialized once by its first attempt and replayed by all later attempts, i.e. retries and
+ * backup requests, instead of being serialized again. Replayed bodies are sent with an exact
+ * {@link HttpHeaders#CONTENT_LENGTH Content-Length}, unless they are encoded, e.g. compressed, on their way.
+ *
+ * Whoever attempts a request multiple times creates a serialized body, passes it as
+ * {@link Attributes#SERIALIZED_BODY an attribute} and {@link #release() releases} it once the request completed.
+ * Attempts that are started after that serialize their body on their own again.
+ */
+@API(status = EXPERIMENTAL)
+public final class SerializedBody {
+
+    @Nullable
+    private Snapshot snapshot;
+
+    private boolean released;
+
+    /**
+     * Releases the captured bytes.
+     */
+    public synchronized void release() {
+        released = true;
+        snapshot = null;
+    }
+
+    void writeTo(final HttpOutputMessage message, final Entity entity) throws IOException {
+        @Nullable final Snapshot snapshot = capture(message.getHeaders(), entity);
+
+        if (snapshot == null) {
+            entity.writeTo(message);
+        } else {
+            snapshot.replay(message);
+        }
+    }
+
+    @Nullable
+    private synchronized Snapshot capture(final HttpHeaders headers, final Entity entity) throws IOException {
+        if (released) {
+            return null;
+        }
+
+        if (snapshot == null) {
+            final Buffer buffer = new Buffer(headers);
+            entity.writeTo(buffer);
+            snapshot = new Snapshot(diff(headers, buffer.getHeaders()), buffer.output.toByteArray());
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Only headers that were written during serialization, e.g. {@code Content-Type}, are part of the snapshot, since
+     * others, e.g. the number of retries, may differ between attempts.
+     */
+    private static HttpHeaders diff(final HttpHeaders before, final HttpHeaders after) {
+        final HttpHeaders diff = new HttpHeaders();
+
+        for (final Map.Entry<String, List<String>> header : after.entrySet()) {
+            if (!Objects.equals(before.get(header.getKey()), header.getValue())) {
+                diff.put(header.getKey(), header.getValue());
+            }
+        }
+
+        return diff;
+    }
+
+    private static void copy(final HttpHeaders source, final HttpHeaders target) {
+        source.forEach((name, values) -> target.put(name, new ArrayList<>(values)));
+    }
+
+    private static final class Snapshot {
+
+        private final HttpHeaders headers;
+        private final byte[] bytes;
+
+        Snapshot(final HttpHeaders headers, final byte[] bytes) {
+            this.headers = headers;
+            this.bytes = bytes;
+        }
+
+        void replay(final HttpOutputMessage message) throws IOException {
+            copy(headers, message.getHeaders());
+
+            // an encoding, e.g. compression, changes the length of the bytes that are actually sent
+            if (!message.getHeaders().containsKey(CONTENT_ENCODING)) {
+                message.getHeaders().setContentLength(bytes.length);
+            }
+
+            if (message instanceof StreamingHttpOutputMessage) {
+                ((StreamingHttpOutputMessage) message).setBody(stream -> stream.write(bytes));
+            } else {
+                message.getBody().write(bytes);
+            }
+        }
+
+    }
+
+    private static final class Buffer implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        Buffer(final HttpHeaders headers) {
+            copy(headers, this.headers);
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return output;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+    }
+
+}
@@ -0,0 +1,107 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CancellationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.zalando.riptide.Attributes.CANCELLATION;
+
+final class CancellationTest {
+
+    private final Cancellation unit = new Cancellation();
+
+    @Test
+    void shouldCloseResourcesOnce() throws IOException {
+        final Closeable resource = mock(Closeable.class);
+        unit.register(resource);
+
+        verify(resource, never()).close();
+
+        unit.cancel();
+        unit.cancel();
+
+        verify(resource, times(1)).close();
+        assertThat(unit.isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldCloseLateResourcesImmediately() throws IOException {
+        final Closeable resource = mock(Closeable.class);
+
+        unit.cancel();
+        unit.register(resource);
+
+        verify(resource).close();
+    }
+
+    @Test
+    void shouldCancelTogetherWithParent() {
+        final Cancellation child = Cancellation.of(RequestArguments.create().withAttribute(CANCELLATION, unit));
+
+        unit.cancel();
+
+        assertThat(child.isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldNotCancelParent() {
+        final Cancellation child = Cancellation.of(RequestArguments.create().withAttribute(CANCELLATION, unit));
+
+        child.cancel();
+
+        assertThat(unit.isCancelled()).isFalse();
+    }
+
+    @Test
+    void shouldAbortCloseableRequests() throws IOException {
+        final ClientHttpRequest request = mock(ClientHttpRequest.class,
+                withSettings().extraInterfaces(Closeable.class));
+        when(request.getHeaders()).thenReturn(new HttpHeaders());
+        when(request.execute()).thenReturn(mock(ClientHttpResponse.class));
+
+        final ClientHttpRequestFactory factory = mock(ClientHttpRequestFactory.class);
+        when(factory.createRequest(any(), any())).thenReturn(request);
+
+        new BlockingIO(factory).execute(RequestArguments.create()
+                .withMethod(HttpMethod.GET)
+                .withUri(URI.create("http://localhost"))
+                .withEntity(message -> {
+                })
+                .withAttribute(CANCELLATION, unit));
+
+        unit.cancel();
+
+        verify((Closeable) request).close();
+    }
+
+    @Test
+    void shouldNotSendCancelledRequests() throws IOException {
+        final RequestExecution network = mock(RequestExecution.class);
+        unit.cancel();
+
+        final RequestArguments arguments = RequestArguments.create().withAttribute(CANCELLATION, unit);
+
+        assertThatThrownBy(new AsyncPlugin(Runnable::run).aroundAsync(network).execute(arguments)::join)
+                .hasCauseInstanceOf(CancellationException.class);
+
+        verify(network, never()).execute(arguments);
+    }
+
+}
@@ -0,0 +1,161 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.zalando.riptide.Attributes.DEADLINE;
+
+final class DeadlinePluginTest {
+
+    private final ClientHttpResponse response = mock(ClientHttpResponse.class);
+
+    private final DeadlinePlugin unit = new DeadlinePlugin();
+
+    @Test
+    void shouldPassResponseBeforeDeadline() throws IOException {
+        final RequestExecution execution = unit.withDefaultTimeout(Duration.ofSeconds(1))
+                .aroundAsync(arguments -> completedFuture(response));
+
+        assertThat(execution.execute(RequestArguments.create()).join()).isSameAs(response);
+        verify(response, never()).close();
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutDeadline() throws IOException {
+        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+        final RequestExecution execution = unit.aroundAsync(arguments -> future);
+
+        assertThat(execution.execute(RequestArguments.create())).isSameAs(future);
+    }
+
+    @Test
+    void shouldFailAndCancelOutstandingWorkAtDeadline() throws IOException {
+        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+        final RequestExecution execution = unit.withDefaultTimeout(Duration.ofMillis(50))
+                .aroundAsync(arguments -> future);
+
+        assertThatThrownBy(execution.execute(RequestArguments.create())::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+
+        assertThat(future).isCancelled();
+    }
+
+    @Test
+    void shouldPreferDeadlineOfCallSite() throws IOException {
+        final AtomicReference<Deadline> actual = new AtomicReference<>();
+        final Deadline deadline = Deadline.in(Duration.ofSeconds(1));
+
+        unit.withDefaultTimeout(Duration.ofMinutes(1))
+                .aroundAsync(arguments -> {
+                    actual.set(arguments.getAttribute(DEADLINE).orElse(null));
+                    return completedFuture(response);
+                })
+                .execute(RequestArguments.create().withAttribute(DEADLINE, deadline))
+                .join();
+
+        assertThat(actual).hasValue(deadline);
+    }
+
+    @Test
+    void shouldCloseResponsesAfterDeadline() throws IOException {
+        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(final boolean mayInterruptIfRunning) {
+                // not cancellable, e.g. a request that is already in flight
+                return false;
+            }
+        };
+
+        final CompletableFuture<ClientHttpResponse> result = unit.withDefaultTimeout(Duration.ofMillis(50))
+                .aroundAsync(arguments -> future)
+                .execute(RequestArguments.create());
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(DeadlineExceededException.class);
+
+        future.complete(response);
+        verify(response).close();
+    }
+
+    @Test
+    void shouldFailFastIfDeadlinePassed() throws IOException {
+        final RequestExecution network = mock(RequestExecution.class);
+        final RequestArguments arguments = RequestArguments.create()
+                .withAttribute(DEADLINE, Deadline.at(Instant.EPOCH));
+
+        assertThatThrownBy(unit.aroundAsync(network).execute(arguments)::join)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+        assertThatThrownBy(unit.aroundNetwork(network).execute(arguments)::join)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+
+        verify(network, never()).execute(arguments);
+    }
+
+    @Test
+    void shouldNotExecuteQueuedRequestsPastDeadline() throws IOException {
+        final RequestExecution network = mock(RequestExecution.class);
+        final RequestArguments arguments = RequestArguments.create()
+                .withAttribute(DEADLINE, Deadline.at(Instant.EPOCH));
+
+        assertThatThrownBy(new AsyncPlugin(Runnable::run).aroundAsync(network).execute(arguments)::join)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+
+        verify(network, never()).execute(arguments);
+    }
+
+    @Test
+    void shouldPropagateRemainingTimeAsHeader() throws IOException {
+        final AtomicReference<RequestArguments> actual = new AtomicReference<>();
+
+        unit.withHeader("X-Request-Timeout")
+                .aroundNetwork(arguments -> {
+                    actual.set(arguments);
+                    return completedFuture(response);
+                })
+                .execute(RequestArguments.create().withAttribute(DEADLINE, Deadline.in(Duration.ofSeconds(10))))
+                .join();
+
+        final long remaining = Long.parseLong(actual.get().getHeaders().get("X-Request-Timeout").get(0));
+        assertThat(remaining).isBetween(9_000L, 10_000L);
+    }
+
+    @Test
+    void shouldUseGivenScheduler() throws Exception {
+        final AtomicReference<Callable<?>> task = new AtomicReference<>();
+        final ScheduledFuture<?> timeout = mock(ScheduledFuture.class);
+        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+
+        final CompletableFuture<ClientHttpResponse> result = unit
+                .withScheduler((callable, delay, unit) -> {
+                    task.set(callable);
+                    return timeout;
+                })
+                .withDefaultTimeout(Duration.ofMinutes(1))
+                .aroundAsync(arguments -> future)
+                .execute(RequestArguments.create());
+
+        assertThat(result).isNotDone();
+
+        task.get().call();
+
+        assertThatThrownBy(result::join).hasCauseInstanceOf(DeadlineExceededException.class);
+        assertThat(future).isCancelled();
+        verify(timeout).cancel(false);
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class DelaysTest {
+
+    private final Instant now = Instant.parse("2018-06-24T01:19:37Z");
+
+    private final Clock clock = Clock.fixed(now, UTC);
+
+    @Test
+    void shouldParseRetryAfterSeconds() {
+        assertThat(Delays.retryAfter("17", clock)).isEqualTo(Duration.ofSeconds(17));
+    }
+
+    @Test
+    void shouldParseRetryAfterHttpDate() {
+        assertThat(Delays.retryAfter("Sun, 24 Jun 2018 01:20:07 GMT", clock)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldIgnoreInvalidRetryAfter() {
+        assertThat(Delays.retryAfter("soon", clock)).isNull();
+        assertThat(Delays.retryAfter("", clock)).isNull();
+    }
+
+    @Test
+    void shouldParseRateLimitResetEpochSeconds() {
+        final String epochSecond = String.valueOf(now.plusSeconds(45).getEpochSecond());
+
+        assertThat(Delays.rateLimitReset(epochSecond, clock)).isEqualTo(Duration.ofSeconds(45));
+    }
+
+    @Test
+    void shouldParseRateLimitResetSeconds() {
+        assertThat(Delays.rateLimitReset("60", clock)).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldIgnoreInvalidRateLimitReset() {
+        assertThat(Delays.rateLimitReset("tomorrow", clock)).isNull();
+    }
+
+    @Test
+    void shouldIgnoreNumbersThatDontFitIntoLong() {
+        assertThat(Delays.seconds("99999999999999999999")).isNull();
+        assertThat(Delays.epochSeconds("99999999999999999999", clock)).isNull();
+    }
+
+    @Test
+    void shouldIgnoreEpochSecondsTooFarInThePast() {
+        assertThat(Delays.epochSeconds("60", clock)).isNull();
+    }
+
+}
@@ -0,0 +1,103 @@
+package org.zalando.riptide;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.zalando.riptide.Attributes.RETRIES;
+import static org.zalando.riptide.Attributes.SERIALIZED_BODY;
+
+final class SerializedBodyTest {
+
+    private final AtomicInteger serializations = new AtomicInteger();
+
+    private final List<MockHttpOutputMessage> messages = new ArrayList<>();
+
+    private final RequestExecution unit = new SerializationPlugin((message, arguments) -> {
+        serializations.incrementAndGet();
+        message.getHeaders().setContentType(APPLICATION_JSON);
+        message.getBody().write(String.valueOf(arguments.getBody()).getBytes(UTF_8));
+    }).aroundSerialization(arguments -> {
+        final MockHttpOutputMessage message = new MockHttpOutputMessage();
+        message.getHeaders().putAll(arguments.getHeaders());
+        arguments.getAttribute(RETRIES).ifPresent(retries ->
+                message.getHeaders().set("Retries", String.valueOf(retries)));
+        arguments.getEntity().writeTo(message);
+        messages.add(message);
+        return completedFuture(mock(ClientHttpResponse.class));
+    });
+
+    @Test
+    void shouldSerializeOnceAndReplay() throws IOException {
+        final SerializedBody body = new SerializedBody();
+        final RequestArguments arguments = RequestArguments.create()
+                .withBody("{}")
+                .withAttribute(SERIALIZED_BODY, body);
+
+        unit.execute(arguments).join();
+        unit.execute(arguments.withAttribute(RETRIES, 1)).join();
+        unit.execute(arguments.withAttribute(RETRIES, 2)).join();
+
+        assertThat(serializations).hasValue(1);
+        assertThat(messages).hasSize(3).allSatisfy(message -> {
+            assertThat(message.getBodyAsString()).isEqualTo("{}");
+            assertThat(message.getHeaders().getContentType()).isEqualTo(APPLICATION_JSON);
+            assertThat(message.getHeaders().getContentLength()).isEqualTo(2);
+        });
+
+        assertThat(messages.get(2).getHeaders().getFirst("Retries")).isEqualTo("2");
+    }
+
+    @Test
+    void shouldNotReplayContentLengthOfEncodedBody() throws IOException {
+        final SerializedBody body = new SerializedBody();
+        final RequestArguments arguments = RequestArguments.create()
+                .withBody("{}")
+                .withAttribute(SERIALIZED_BODY, body);
+
+        unit.execute(arguments.withHeader("Content-Encoding", "gzip")).join();
+        unit.execute(arguments.withHeader("Content-Encoding", "gzip").withAttribute(RETRIES, 1)).join();
+
+        assertThat(serializations).hasValue(1);
+        assertThat(messages).hasSize(2).allSatisfy(message -> {
+            assertThat(message.getBodyAsString()).isEqualTo("{}");
+            assertThat(message.getHeaders().containsKey("Content-Length")).isFalse();
+        });
+    }
+
+    @Test
+    void shouldSerializeAgainAfterRelease() throws IOException {
+        final SerializedBody body = new SerializedBody();
+        final RequestArguments arguments = RequestArguments.create()
+                .withBody("{}")
+                .withAttribute(SERIALIZED_BODY, body);
+
+        unit.execute(arguments).join();
+        body.release();
+        unit.execute(arguments).join();
+
+        assertThat(serializations).hasValue(2);
+        assertThat(messages).extracting(MockHttpOutputMessage::getBodyAsString).containsExactly("{}", "{}");
+    }
+
+    @Test
+    void shouldSerializeEveryAttemptWithoutSerializedBody() throws IOException {
+        final RequestArguments arguments = RequestArguments.create().withBody("{}");
+
+        unit.execute(arguments).join();
+        unit.execute(arguments).join();
+
+        assertThat(serializations).hasValue(2);
+    }
+
+}
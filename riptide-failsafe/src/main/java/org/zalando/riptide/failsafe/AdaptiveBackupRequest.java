@@ -0,0 +1,262 @@
+package org.zalando.riptide.failsafe;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import dev.failsafe.Policy;
+import dev.failsafe.PolicyConfig;
+import dev.failsafe.spi.PolicyExecutor;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.idempotency.IdempotencyPredicate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A {@link BackupRequest backup request} policy that derives its delay from the latencies observed recently for the
+ * same endpoint, i.e. the same method, host and URI template. The backup request is sent once the original request
+ * took longer than the {@link #withPercentile(double) given percentile} of those latencies, e.g. the p95.
+ *
+ * The initial delay is used until at least 100 latencies have been observed for an endpoint. Backup requests are
+ * limited by a {@link #withBudget(double) budget}, which caps the additional load at a ratio of all requests.
+ *
+ * Latencies are kept for at most {@link #withMaximumSize(long) 1000 endpoints} and
+ * {@link #withExpireAfterAccess(Duration) dropped after 10 minutes} without requests, after which the endpoint starts
+ * over with the initial delay.
+ *
+ * In contrast to a {@link BackupRequest}, this policy needs to be {@link #prepare(RequestArguments) prepared} for
+ * every request.
+ */
+@API(status = EXPERIMENTAL)
+public final class AdaptiveBackupRequest implements RequestPolicy {
+
+    private static final String CLIENT = "client";
+
+    private static final long MIN_SAMPLES = 100;
+    private static final int RESERVE = 10;
+    private static final long REFRESH_INTERVAL = SECONDS.toNanos(1);
+
+    private final Duration initialDelay;
+    private final double percentile;
+    private final double ratio;
+    private final Duration window;
+    private final int maxAttempts;
+    private final int maxOutstanding;
+    private final Predicate<RequestArguments> predicate;
+    private final BackupRequestListener listener;
+    private final LongSupplier ticker;
+    private final long maximumSize;
+    private final Duration expireAfterAccess;
+
+    private final Budget budget;
+    private final LoadingCache<String, Endpoint> endpoints;
+
+    /**
+     * @param initialDelay the delay to use until enough latencies have been observed
+     */
+    public AdaptiveBackupRequest(final Duration initialDelay) {
+        this(initialDelay, 0.95, 0.1, Duration.ofSeconds(30), 2, Integer.MAX_VALUE,
+                new IdempotencyPredicate(), BackupRequestListener.DEFAULT, System::nanoTime,
+                1000, Duration.ofMinutes(10));
+    }
+
+    private AdaptiveBackupRequest(
+            final Duration initialDelay,
+            final double percentile,
+            final double ratio,
+            final Duration window,
+            final int maxAttempts,
+            final int maxOutstanding,
+            final Predicate<RequestArguments> predicate,
+            final BackupRequestListener listener,
+            final LongSupplier ticker,
+            final long maximumSize,
+            final Duration expireAfterAccess) {
+
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be in (0, 1), but was: " + percentile);
+        }
+
+        this.initialDelay = initialDelay;
+        this.percentile = percentile;
+        this.ratio = ratio;
+        this.window = window;
+        this.maxAttempts = BackupRequest.requirePositive(maxAttempts, "Max attempts");
+        this.maxOutstanding = BackupRequest.requirePositive(maxOutstanding, "Max outstanding");
+        this.predicate = predicate;
+        this.listener = listener;
+        this.ticker = ticker;
+        this.maximumSize = maximumSize;
+        this.expireAfterAccess = expireAfterAccess;
+        this.budget = new Budget(ratio, RESERVE);
+        this.endpoints = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build(CacheLoader.from(Endpoint::new));
+    }
+
+    /**
+     * @param percentile the percentile of observed latencies after which to send a backup request, defaults to 0.95
+     * @return a copy of this policy using the given percentile
+     */
+    public AdaptiveBackupRequest withPercentile(final double percentile) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, ratio, window, maxAttempts, maxOutstanding,
+                predicate, listener, ticker, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param ratio the maximum ratio of backup requests to requests, defaults to 0.1, i.e. 10%
+     * @return a copy of this policy using the given budget
+     */
+    public AdaptiveBackupRequest withBudget(final double ratio) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, ratio, window, maxAttempts, maxOutstanding,
+                predicate, listener, ticker, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param window how long latencies are taken into account, between one and two times the given duration
+     * @return a copy of this policy using the given window
+     */
+    public AdaptiveBackupRequest withWindow(final Duration window) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, ratio, window, maxAttempts, maxOutstanding,
+                predicate, listener, ticker, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param maxAttempts the maximum number of attempts, including the original request, defaults to 2
+     * @return a copy of this policy using the given maximum number of attempts
+     * @see BackupRequest#withMaxAttempts(int)
+     */
+    public AdaptiveBackupRequest withMaxAttempts(final int maxAttempts) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, ratio, window, maxAttempts, maxOutstanding,
+                predicate, listener, ticker, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param maxOutstanding the maximum number of attempts in flight at the same time, unlimited by default
+     * @return a copy of this policy using the given maximum number of outstanding attempts
+     */
+    public AdaptiveBackupRequest withMaxOutstanding(final int maxOutstanding) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, ratio, window, maxAttempts, maxOutstanding,
+                predicate, listener, ticker, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param predicate decides which requests may be backed up, defaults to idempotent ones
+     * @return a copy of this policy using the given predicate
+     */
+    public AdaptiveBackupRequest withPredicate(final Predicate<RequestArguments> predicate) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, ratio, window, maxAttempts, maxOutstanding,
+                predicate, listener, ticker, maximumSize, expireAfterAccess);
+    }
+
+    public AdaptiveBackupRequest withListener(final BackupRequestListener listener) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, ratio, window, maxAttempts, maxOutstanding,
+                predicate, listener, ticker, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param maximumSize the maximum number of endpoints to observe, defaults to 1000
+     * @return a copy of this policy using the given maximum size
+     */
+    public AdaptiveBackupRequest withMaximumSize(final long maximumSize) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, ratio, window, maxAttempts, maxOutstanding,
+                predicate, listener, ticker, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param expireAfterAccess how long to keep the latencies of unused endpoints, defaults to 10 minutes
+     * @return a copy of this policy using the given expiration
+     */
+    public AdaptiveBackupRequest withExpireAfterAccess(final Duration expireAfterAccess) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, ratio, window, maxAttempts, maxOutstanding,
+                predicate, listener, ticker, maximumSize, expireAfterAccess);
+    }
+
+    AdaptiveBackupRequest withTicker(final LongSupplier ticker) {
+        return new AdaptiveBackupRequest(initialDelay, percentile, ratio, window, maxAttempts, maxOutstanding,
+                predicate, listener, ticker, maximumSize, expireAfterAccess);
+    }
+
+    @Override
+    public boolean applies(final RequestArguments arguments) {
+        return predicate.test(arguments);
+    }
+
+    @Override
+    public Policy<ClientHttpResponse> prepare(final RequestArguments arguments) {
+        return endpoints.getUnchecked(key(arguments));
+    }
+
+    private static String key(final RequestArguments arguments) {
+        final String host = Optional.ofNullable(arguments.getRequestUri().getHost()).orElse(CLIENT);
+        return Optional.ofNullable(arguments.getUriTemplate())
+                .map(template -> arguments.getMethod() + " " + host + template)
+                .orElse(host);
+    }
+
+    private final class Endpoint implements Policy<ClientHttpResponse>, BackupRequestStrategy {
+
+        private final PolicyConfig<ClientHttpResponse> config = new PolicyConfig<ClientHttpResponse>() {
+        };
+
+        private final LatencySketch sketch = new LatencySketch(window.toNanos(), ticker);
+
+        private volatile long delay = initialDelay.toNanos();
+        private volatile long refreshedAt = ticker.getAsLong();
+
+        @Override
+        public PolicyConfig<ClientHttpResponse> getConfig() {
+            return config;
+        }
+
+        @Override
+        public PolicyExecutor<ClientHttpResponse> toExecutor(final int policyIndex) {
+            return new BackupRequestExecutor<>(this, policyIndex, this, maxAttempts, maxOutstanding);
+        }
+
+        @Override
+        public long getDelay() {
+            budget.deposit();
+
+            final long now = ticker.getAsLong();
+
+            if (now - refreshedAt >= REFRESH_INTERVAL) {
+                refreshedAt = now;
+                final long latency = sketch.percentile(percentile, MIN_SAMPLES);
+                delay = latency < 0 ? initialDelay.toNanos() : latency;
+            }
+
+            return delay;
+        }
+
+        @Override
+        public boolean tryBackup() {
+            if (budget.tryWithdraw()) {
+                listener.onBackupRequest();
+                return true;
+            }
+
+            listener.onBackupRequestRejected();
+            return false;
+        }
+
+        @Override
+        public void onCompleted(final long latency, final boolean backup) {
+            sketch.record(latency);
+
+            if (backup) {
+                listener.onBackupRequestWon();
+            }
+        }
+
+    }
+
+}
@@ -10,18 +10,49 @@ import java.util.concurrent.TimeUnit;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
+/**
+ * Sends a backup request if the original request didn't complete within the given delay. The first successful
+ * response wins, responses of all other attempts are closed.
+ *
+ * By default, a single backup request is sent. Using {@link #withMaxAttempts(int)} turns this into a hedging policy
+ * that sends further attempts after every delay, optionally limited by {@link #withMaxOutstanding(int)}.
+ */
 @API(status = EXPERIMENTAL)
 @Getter
 public final class BackupRequest<R> implements Policy<R> {
 
     private final long delay;
     private final TimeUnit unit;
+    private final int maxAttempts;
+    private final int maxOutstanding;
     private final PolicyConfig<R> config = new PolicyConfig<R>() {
     };
 
     public BackupRequest(long delay, TimeUnit unit) {
+        this(delay, unit, 2, Integer.MAX_VALUE);
+    }
+
+    private BackupRequest(final long delay, final TimeUnit unit, final int maxAttempts, final int maxOutstanding) {
         this.delay = delay;
         this.unit = unit;
+        this.maxAttempts = requirePositive(maxAttempts, "Max attempts");
+        this.maxOutstanding = requirePositive(maxOutstanding, "Max outstanding");
+    }
+
+    /**
+     * @param maxAttempts the maximum number of attempts, including the original request, defaults to 2
+     * @return a copy of this policy using the given maximum number of attempts
+     */
+    public BackupRequest<R> withMaxAttempts(final int maxAttempts) {
+        return new BackupRequest<>(delay, unit, maxAttempts, maxOutstanding);
+    }
+
+    /**
+     * @param maxOutstanding the maximum number of attempts in flight at the same time, unlimited by default
+     * @return a copy of this policy using the given maximum number of outstanding attempts
+     */
+    public BackupRequest<R> withMaxOutstanding(final int maxOutstanding) {
+        return new BackupRequest<>(delay, unit, maxAttempts, maxOutstanding);
     }
 
     @Override
@@ -30,7 +61,14 @@ public final class BackupRequest<R> implements Policy<R> {
     }
 
     private PolicyExecutor<R> create(int policyIndex) {
-        return new BackupRequestExecutor<>(this, policyIndex);
+        return new BackupRequestExecutor<>(this, policyIndex, () -> unit.toNanos(delay), maxAttempts, maxOutstanding);
+    }
+
+    static int requirePositive(final int value, final String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(name + " must be positive, but was: " + value);
+        }
+        return value;
     }
 
 }
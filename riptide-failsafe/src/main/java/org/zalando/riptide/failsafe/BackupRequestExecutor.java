@@ -1,80 +1,254 @@
 package org.zalando.riptide.failsafe;
 
+import com.google.common.collect.MapMaker;
+import dev.failsafe.ExecutionContext;
+import dev.failsafe.Policy;
 import dev.failsafe.spi.AsyncExecutionInternal;
 import dev.failsafe.spi.ExecutionResult;
 import dev.failsafe.spi.FailsafeFuture;
 import dev.failsafe.spi.PolicyExecutor;
 import dev.failsafe.spi.Scheduler;
+import lombok.extern.slf4j.Slf4j;
 
-import java.util.concurrent.Callable;
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.function.BiConsumer;
 import java.util.function.Function;
 
-import static org.zalando.riptide.CompletableFutures.forwardTo;
-
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Sends up to {@code maxAttempts} staggered attempts, each one delayed by the {@link BackupRequestStrategy#getDelay()
+ * strategy's delay} after the previous one, while at most {@code maxOutstanding} attempts are in flight. The first
+ * successful attempt wins. Losing attempts that are still in flight are cancelled, which aborts their exchange, and
+ * responses of losing attempts that arrived nonetheless are closed, which returns their connections to the pool.
+ *
+ * A backup request that the strategy {@link BackupRequestStrategy#tryBackup() denies} is not attempted again, i.e.
+ * no further attempts are sent for that execution. The strategy observes the latency of the whole execution, from
+ * the start of the original request until the first successful response, regardless of which attempt won.
+ */
+@Slf4j
 final class BackupRequestExecutor<R> extends PolicyExecutor<R> {
 
-    private final BackupRequest<R> policy;
+    /**
+     * Attempts by the execution they belong to. Failsafe doesn't expose the stage of an attempt to policies, which is
+     * why the {@link FailsafePlugin} {@link #register(ExecutionContext, Future) registers} every attempt with the
+     * execution it was started for. Keys are weak, i.e. executions are not kept alive by this map.
+     */
+    private static final ConcurrentMap<ExecutionContext<?>, Attempts> ATTEMPTS = new MapMaker().weakKeys().makeMap();
+
+    private final BackupRequestStrategy strategy;
+    private final int maxAttempts;
+    private final int maxOutstanding;
+
+    BackupRequestExecutor(
+            final Policy<R> policy,
+            final int policyIndex,
+            final BackupRequestStrategy strategy,
+            final int maxAttempts,
+            final int maxOutstanding) {
 
-    BackupRequestExecutor(final BackupRequest<R> policy, int policyIndex) {
         super(policy, policyIndex);
-        this.policy = policy;
+        this.strategy = strategy;
+        this.maxAttempts = maxAttempts;
+        this.maxOutstanding = maxOutstanding;
     }
 
     @Override
     public Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> applyAsync(
-            Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn,
+            final Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn,
             final Scheduler scheduler,
             final FailsafeFuture<R> future) {
 
-        return (asyncExecutionInternal) -> {
-            final CompletableFuture<ExecutionResult<R>> original = innerFn.apply(asyncExecutionInternal);
-            final CompletableFuture<ExecutionResult<R>> backup = new CompletableFuture<>();
-
-            final Future<?> scheduledBackup = delay(scheduler, backup(innerFn, asyncExecutionInternal, backup));
+        return execution -> new Hedge(innerFn, execution, scheduler).start();
+    }
 
-            original.whenComplete(cancel(scheduledBackup));
-            backup.whenComplete(cancel(original));
+    /**
+     * @param context the execution the given attempt was started for
+     * @param attempt the attempt, which is cancelled once it lost, if the execution is hedged
+     */
+    static void register(final ExecutionContext<?> context, final Future<?> attempt) {
+        @Nullable final Attempts attempts = ATTEMPTS.get(context);
 
-            return anyOf(original, backup);
-        };
+        if (attempts != null) {
+            attempts.register(attempt);
+        }
     }
 
-    private Callable<CompletableFuture<ExecutionResult<R>>> backup(
-            final Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn,
-            final AsyncExecutionInternal<R> asyncExecutionInternal,
-            final CompletableFuture<ExecutionResult<R>> target) {
+    private final class Hedge {
 
-        return () -> innerFn.apply(asyncExecutionInternal).whenComplete(forwardTo(target));
-    }
+        private final Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn;
+        private final AsyncExecutionInternal<R> execution;
+        private final Scheduler scheduler;
 
-    @SuppressWarnings("unchecked")
-    private <T> ScheduledFuture<T> delay(
-            final Scheduler scheduler,
-            final Callable<T> callable) {
+        private final CompletableFuture<ExecutionResult<R>> any = new CompletableFuture<>();
+        private final Attempts attempts = new Attempts();
+        private final long delay = strategy.getDelay();
 
-        final long delay = policy.getDelay();
-        final TimeUnit unit = policy.getUnit();
-        return (ScheduledFuture<T>) scheduler.schedule(callable, delay, unit);
-    }
+        private long started;
+        private int sent;
+        private int outstanding;
+        private boolean done;
+
+        @Nullable
+        private Future<?> scheduled;
+
+        private Hedge(
+                final Function<AsyncExecutionInternal<R>, CompletableFuture<ExecutionResult<R>>> innerFn,
+                final AsyncExecutionInternal<R> execution,
+                final Scheduler scheduler) {
+
+            this.innerFn = innerFn;
+            this.execution = execution;
+            this.scheduler = scheduler;
+        }
+
+        CompletableFuture<ExecutionResult<R>> start() {
+            ATTEMPTS.put(execution, attempts);
+
+            synchronized (this) {
+                started = nanoTime();
+                sent++;
+                outstanding++;
+                scheduleNext();
+            }
+
+            send(false);
+            return any;
+        }
+
+        private void scheduleNext() {
+            if (sent < maxAttempts) {
+                scheduled = scheduler.schedule(() -> {
+                    onDelayElapsed();
+                    return null;
+                }, delay, NANOSECONDS);
+            }
+        }
+
+        private void onDelayElapsed() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+
+                if (outstanding >= maxOutstanding) {
+                    scheduleNext();
+                    return;
+                }
+
+                if (!strategy.tryBackup()) {
+                    // asking again after every delay would fire late hedges and count the same denial repeatedly
+                    return;
+                }
+
+                sent++;
+                outstanding++;
+                scheduleNext();
+            }
+
+            send(true);
+        }
+
+        private void send(final boolean backup) {
+            innerFn.apply(execution).whenComplete((result, throwable) ->
+                    onCompleted(result, throwable, backup));
+        }
+
+        private void onCompleted(
+                @Nullable final ExecutionResult<R> result,
+                @Nullable final Throwable throwable,
+                final boolean backup) {
+
+            final boolean successful = throwable == null && result.getException() == null;
+            final boolean completes;
+
+            synchronized (this) {
+                outstanding--;
+                completes = !done && (successful || outstanding == 0);
+
+                if (completes) {
+                    done = true;
+
+                    if (scheduled != null) {
+                        scheduled.cancel(false);
+                    }
+                }
+            }
+
+            if (!completes) {
+                if (result != null) {
+                    discard(result);
+                }
+                return;
+            }
+
+            attempts.cancel();
+
+            if (throwable == null) {
+                any.complete(result);
+
+                if (successful) {
+                    // losing originals would otherwise be missing from the samples, biasing the delay downwards
+                    strategy.onCompleted(nanoTime() - started, backup);
+                }
+            } else {
+                any.completeExceptionally(throwable);
+            }
+        }
 
-    private <T> BiConsumer<T, Throwable> cancel(final Future<?> future) {
-        return (result, throwable) -> future.cancel(true);
     }
 
-    @SafeVarargs
-    private final <T> CompletableFuture<T> anyOf(final CompletableFuture<? extends T>... futures) {
-        final CompletableFuture<T> any = new CompletableFuture<>();
+    private static final class Attempts {
+
+        private final List<Future<?>> pending = new ArrayList<>();
+        private boolean cancelled;
+
+        void register(final Future<?> attempt) {
+            synchronized (this) {
+                if (!cancelled) {
+                    pending.add(attempt);
+                    return;
+                }
+            }
+            attempt.cancel(true);
+        }
 
-        for (final CompletableFuture<? extends T> future : futures) {
-            future.whenComplete(forwardTo(any));
+        /**
+         * Cancels all attempts that are still in flight, i.e. all but the one that completed the execution.
+         */
+        void cancel() {
+            final List<Future<?>> attempts;
+
+            synchronized (this) {
+                cancelled = true;
+                attempts = new ArrayList<>(pending);
+                pending.clear();
+            }
+
+            attempts.stream()
+                    .filter(attempt -> !attempt.isDone())
+                    .forEach(attempt -> attempt.cancel(true));
         }
 
-        return any;
+    }
+
+    private static void discard(final ExecutionResult<?> result) {
+        @Nullable final Object value = result.getResult();
+
+        if (value instanceof Closeable) {
+            try {
+                ((Closeable) value).close();
+            } catch (final IOException e) {
+                log.warn("Failed to close response of losing attempt", e);
+            }
+        }
     }
 
 }
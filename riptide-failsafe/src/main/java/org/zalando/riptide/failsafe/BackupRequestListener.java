@@ -0,0 +1,35 @@
+package org.zalando.riptide.failsafe;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+public interface BackupRequestListener {
+
+    BackupRequestListener DEFAULT = new BackupRequestListener() {
+        // nothing to implement, since default methods are sufficient
+    };
+
+    /**
+     * Called when a backup request is sent.
+     */
+    default void onBackupRequest() {
+        // nothing to do
+    }
+
+    /**
+     * Called when a backup request returned a response before the original request.
+     */
+    default void onBackupRequestWon() {
+        // nothing to do
+    }
+
+    /**
+     * Called when a backup request would have been sent, but the budget was exhausted.
+     */
+    default void onBackupRequestRejected() {
+        // nothing to do
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.zalando.riptide.failsafe;
+
+/**
+ * Decides when and whether a {@link BackupRequestExecutor} sends a backup request and observes the outcome.
+ */
+interface BackupRequestStrategy {
+
+    /**
+     * @return the delay in nanoseconds after which a backup request should be sent
+     */
+    long getDelay();
+
+    /**
+     * Called once the delay elapsed without a response to the original request. Not called again for the same
+     * execution once it returned false.
+     *
+     * @return whether the backup request should actually be sent
+     */
+    default boolean tryBackup() {
+        return true;
+    }
+
+    /**
+     * Called with the successful result that completed the execution.
+     *
+     * @param latency the time from the start of the original request until the winning response, in nanoseconds
+     * @param backup whether the backup request won
+     */
+    default void onCompleted(final long latency, final boolean backup) {
+        // nothing to do
+    }
+
+}
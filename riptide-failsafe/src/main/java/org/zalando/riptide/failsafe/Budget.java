@@ -0,0 +1,67 @@
+package org.zalando.riptide.failsafe;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits additional load, e.g. backup requests or retries, to a ratio of the regular load. Every regular request
+ * {@link #deposit() deposits} a fraction of a token, every additional request needs to
+ * {@link #tryWithdraw() withdraw} a whole one. The balance starts and is capped at a small reserve, which allows
+ * for short bursts, e.g. right after startup.
+ */
+final class Budget {
+
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    Budget(final double ratio, final int reserve) {
+        validate(ratio, reserve);
+
+        this.deposit = Math.max(1, Math.round(ratio * TOKEN));
+        this.capacity = reserve * TOKEN;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    static void validate(final double ratio, final int reserve) {
+        if (ratio <= 0 || ratio > 1) {
+            throw new IllegalArgumentException("Ratio must be in (0, 1], but was: " + ratio);
+        }
+        if (reserve < 1) {
+            throw new IllegalArgumentException("Reserve must be positive, but was: " + reserve);
+        }
+    }
+
+    void deposit() {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(capacity, current + deposit)));
+    }
+
+    /**
+     * Returns a token that was {@link #tryWithdraw() withdrawn} but not used.
+     */
+    void refund() {
+        long current;
+        do {
+            current = balance.get();
+        } while (!balance.compareAndSet(current, Math.min(capacity, current + TOKEN)));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+}
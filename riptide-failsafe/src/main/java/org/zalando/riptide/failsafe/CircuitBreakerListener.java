@@ -23,4 +23,15 @@ public interface CircuitBreakerListener {
         // nothing to do
     }
 
+    /**
+     * Provides the listener of the circuit breaker that is responsible for the given key, e.g. a host, when circuit
+     * breakers are {@link CircuitBreakerRequestPolicy resolved per key}.
+     *
+     * @param key the key of the circuit breaker
+     * @return a listener for the circuit breaker of the given key, this listener by default
+     */
+    default CircuitBreakerListener forKey(final String key) {
+        return this;
+    }
+
 }
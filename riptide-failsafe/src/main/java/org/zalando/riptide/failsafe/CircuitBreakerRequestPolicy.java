@@ -0,0 +1,97 @@
+package org.zalando.riptide.failsafe;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import dev.failsafe.CircuitBreaker;
+import dev.failsafe.Policy;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Resolves a dedicated {@link CircuitBreaker circuit breaker} per key, the host of a request by default. One bad
+ * replica behind a dynamic base URL or a load balancer therefore doesn't open the circuit for all other replicas.
+ *
+ * Circuit breakers are created lazily and kept in a bounded registry that evicts the ones that weren't used for a
+ * while, i.e. an evicted circuit breaker starts over in its closed state.
+ */
+@API(status = EXPERIMENTAL)
+public final class CircuitBreakerRequestPolicy implements RequestPolicy {
+
+    private final Function<String, CircuitBreaker<ClientHttpResponse>> factory;
+    private final Function<RequestArguments, String> keyFunction;
+    private final long maximumSize;
+    private final Duration expireAfterAccess;
+
+    private final LoadingCache<String, CircuitBreaker<ClientHttpResponse>> breakers;
+
+    /**
+     * @param factory creates the circuit breaker for a key
+     */
+    public CircuitBreakerRequestPolicy(final Function<String, CircuitBreaker<ClientHttpResponse>> factory) {
+        this(factory, CircuitBreakerRequestPolicy::host, 1000, Duration.ofMinutes(10));
+    }
+
+    private CircuitBreakerRequestPolicy(
+            final Function<String, CircuitBreaker<ClientHttpResponse>> factory,
+            final Function<RequestArguments, String> keyFunction,
+            final long maximumSize,
+            final Duration expireAfterAccess) {
+
+        this.factory = factory;
+        this.keyFunction = keyFunction;
+        this.maximumSize = maximumSize;
+        this.expireAfterAccess = expireAfterAccess;
+
+        this.breakers = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build(new CacheLoader<String, CircuitBreaker<ClientHttpResponse>>() {
+                    @Override
+                    public CircuitBreaker<ClientHttpResponse> load(final String key) {
+                        return factory.apply(key);
+                    }
+                });
+    }
+
+    /**
+     * @param keyFunction derives the key of the circuit breaker that is responsible for a request
+     * @return a copy of this policy using the given key function
+     */
+    public CircuitBreakerRequestPolicy withKeyFunction(final Function<RequestArguments, String> keyFunction) {
+        return new CircuitBreakerRequestPolicy(factory, keyFunction, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param maximumSize the maximum number of circuit breakers to keep, defaults to 1000
+     * @return a copy of this policy using the given maximum size
+     */
+    public CircuitBreakerRequestPolicy withMaximumSize(final long maximumSize) {
+        return new CircuitBreakerRequestPolicy(factory, keyFunction, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param expireAfterAccess how long to keep unused circuit breakers, defaults to 10 minutes
+     * @return a copy of this policy using the given expiration
+     */
+    public CircuitBreakerRequestPolicy withExpireAfterAccess(final Duration expireAfterAccess) {
+        return new CircuitBreakerRequestPolicy(factory, keyFunction, maximumSize, expireAfterAccess);
+    }
+
+    @Override
+    public Policy<ClientHttpResponse> prepare(final RequestArguments arguments) {
+        return breakers.getUnchecked(keyFunction.apply(arguments));
+    }
+
+    private static String host(final RequestArguments arguments) {
+        return Objects.toString(arguments.getRequestUri().getHost(), "");
+    }
+
+}
@@ -1,6 +1,7 @@
 package org.zalando.riptide.failsafe;
 
 import dev.failsafe.Policy;
+import dev.failsafe.event.ExecutionAttemptedEvent;
 import lombok.AllArgsConstructor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.riptide.RequestArguments;
@@ -24,4 +25,16 @@ final class ConditionalRequestPolicy implements RequestPolicy {
         return policy.prepare(arguments);
     }
 
+    @Override
+    public boolean isReusable() {
+        return policy.isReusable();
+    }
+
+    @Override
+    public void onAttempted(
+            final RequestArguments arguments,
+            final ExecutionAttemptedEvent<ClientHttpResponse> event) {
+        policy.onAttempted(arguments, event);
+    }
+
 }
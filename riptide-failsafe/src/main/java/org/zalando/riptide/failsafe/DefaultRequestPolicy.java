@@ -16,4 +16,9 @@ final class DefaultRequestPolicy implements RequestPolicy {
         return policy;
     }
 
+    @Override
+    public boolean isReusable() {
+        return true;
+    }
+
 }
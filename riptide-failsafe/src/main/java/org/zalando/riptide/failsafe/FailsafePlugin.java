@@ -1,41 +1,111 @@
 package org.zalando.riptide.failsafe;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import dev.failsafe.ExecutionContext;
 import dev.failsafe.Failsafe;
+import dev.failsafe.FailsafeExecutor;
 import dev.failsafe.Policy;
+import dev.failsafe.RetryPolicy;
+import dev.failsafe.RetryPolicyBuilder;
+import dev.failsafe.event.ExecutionAttemptedEvent;
 import dev.failsafe.function.ContextualSupplier;
-import lombok.AllArgsConstructor;
+import dev.failsafe.spi.Scheduler;
 import lombok.extern.slf4j.Slf4j;
 import org.apiguardian.api.API;
 import org.organicdesign.fp.collections.ImList;
 import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Attributes;
+import org.zalando.riptide.Cancellation;
+import org.zalando.riptide.Deadline;
+import org.zalando.riptide.DeadlineExceededException;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.RequestArguments;
 import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.SerializedBody;
 
 import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Predicate;
 
-import static java.util.stream.Collectors.toList;
-import static lombok.AccessLevel.PRIVATE;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.apiguardian.api.API.Status.MAINTAINED;
 import static org.organicdesign.fp.StaticImports.vec;
+import static org.zalando.riptide.Attributes.CANCELLATION;
+import static org.zalando.riptide.Attributes.DEADLINE;
 import static org.zalando.riptide.Attributes.RETRIES;
+import static org.zalando.riptide.Attributes.SERIALIZED_BODY;
+import static org.zalando.riptide.idempotency.IdempotencyPredicate.memoize;
 
 @Slf4j
 @API(status = MAINTAINED)
-@AllArgsConstructor(access = PRIVATE)
 public final class FailsafePlugin implements Plugin {
 
     private final ImList<RequestPolicy> policies;
     private final ImList<TaskDecorator> decorators;
     private final ExecutorService executorService;
 
+    @Nullable
+    private final Scheduler scheduler;
+
+    @Nullable
+    private final RetryBudget budget;
+
+    private final boolean bodyReplay;
+
+    @Nullable
+    private final LastKnownGoodFallback fallback;
+
+    private final TaskDecorator decorator;
+
+    /**
+     * Failsafe executors of {@link RequestPolicy#isReusable() reusable} policies, keyed by the set of applicable
+     * policies, i.e. a bit mask of their indices.
+     */
+    private final ConcurrentMap<Long, FailsafeExecutor<ClientHttpResponse>> executors = new ConcurrentHashMap<>();
+
+    /**
+     * Failsafe executors of reusable policies per {@link RetryBudget retry budget} account, since those contain
+     * policies that are guarded by the account. Bounded like the accounts of {@link RetryBudget#perHost() per host}
+     * budgets, evicted executors are simply prepared again.
+     */
+    private final LoadingCache<RetryBudget.Account, ConcurrentMap<Long, FailsafeExecutor<ClientHttpResponse>>>
+            budgeted = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build(CacheLoader.from(() -> new ConcurrentHashMap<>()));
+
     public FailsafePlugin() {
-        this(vec(), vec(), null);
+        this(vec(), vec(), null, null, null, false, null);
+    }
+
+    private FailsafePlugin(
+            final ImList<RequestPolicy> policies,
+            final ImList<TaskDecorator> decorators,
+            @Nullable final ExecutorService executorService,
+            @Nullable final Scheduler scheduler,
+            @Nullable final RetryBudget budget,
+            final boolean bodyReplay,
+            @Nullable final LastKnownGoodFallback fallback) {
+
+        this.policies = policies;
+        this.decorators = decorators;
+        this.executorService = executorService;
+        this.scheduler = scheduler;
+        this.budget = budget;
+        this.bodyReplay = bodyReplay;
+        this.fallback = fallback;
+        this.decorator = TaskDecorator.composite(decorators);
     }
 
     public FailsafePlugin withPolicy(final Policy<ClientHttpResponse> policy) {
@@ -49,7 +119,11 @@ public final class FailsafePlugin implements Plugin {
     }
 
     public FailsafePlugin withPolicy(final RequestPolicy policy) {
-        return new FailsafePlugin(policies.append(policy), decorators, executorService);
+        if (policies.size() == Long.SIZE) {
+            throw new IllegalStateException("Only up to " + Long.SIZE + " policies are supported");
+        }
+        return new FailsafePlugin(policies.append(policy), decorators, executorService, scheduler, budget, bodyReplay,
+                fallback);
     }
 
     public FailsafePlugin withExecutor(@Nullable final ExecutorService executorService) {
@@ -58,44 +132,259 @@ public final class FailsafePlugin implements Plugin {
             log.warn("The custom executorService should have a core pool size or parallelism of at least 2 in order for timeouts to work, " +
                     "see dev.failsafe.Failsafe documentation for more details");
         }
-        return new FailsafePlugin(policies, decorators, executorService);
+        return new FailsafePlugin(policies, decorators, executorService, scheduler, budget, bodyReplay, fallback);
+    }
+
+    /**
+     * Schedules delayed work, i.e. timeouts, retry delays and backup requests, as well as asynchronous executions on
+     * the given scheduler, e.g. a {@link HashedWheelScheduler}, instead of the {@link #withExecutor(ExecutorService)
+     * executor}.
+     *
+     * @param scheduler the scheduler to use, takes precedence over the executor
+     * @return a copy of this plugin using the given scheduler
+     */
+    public FailsafePlugin withScheduler(@Nullable final Scheduler scheduler) {
+        return new FailsafePlugin(policies, decorators, executorService, scheduler, budget, bodyReplay, fallback);
     }
 
     public FailsafePlugin withDecorator(final TaskDecorator decorator) {
-        return new FailsafePlugin(policies, decorators.append(decorator), executorService);
+        return new FailsafePlugin(policies, decorators.append(decorator), executorService, scheduler, budget,
+                bodyReplay, fallback);
+    }
+
+    /**
+     * @param budget caps the retries of all {@link dev.failsafe.RetryPolicy retry policies} of this plugin
+     * @return a copy of this plugin using the given retry budget
+     */
+    public FailsafePlugin withRetryBudget(@Nullable final RetryBudget budget) {
+        return new FailsafePlugin(policies, decorators, executorService, scheduler, budget, bodyReplay, fallback);
+    }
+
+    /**
+     * Serializes request bodies only once per request and replays the serialized bytes on retries and backup
+     * requests, instead of serializing them on every attempt. Bodies are buffered in memory until the request
+     * completes, which makes this unsuitable for large or streaming bodies.
+     *
+     * @return a copy of this plugin that replays serialized bodies
+     * @see SerializedBody
+     */
+    public FailsafePlugin withBodyReplay() {
+        return new FailsafePlugin(policies, decorators, executorService, scheduler, budget, true, fallback);
+    }
+
+    /**
+     * <strong>Beware</strong> that the fallback reads successful responses of {@code GET} requests into memory, up
+     * to its {@link LastKnownGoodFallback#withMaxBytes(long) maximum size}, before routes see them. Requests that
+     * stream their responses should {@link LastKnownGoodFallback#BYPASS bypass} it.
+     *
+     * @param fallback the fallback that serves stale responses while the upstream is unavailable
+     * @return a copy of this plugin using the given fallback
+     */
+    public FailsafePlugin withFallback(@Nullable final LastKnownGoodFallback fallback) {
+        return new FailsafePlugin(policies, decorators, executorService, scheduler, budget, bodyReplay, fallback);
     }
 
     @Override
     public RequestExecution aroundAsync(final RequestExecution execution) {
+        if (fallback == null) {
+            return failsafe(execution);
+        }
+
+        final RequestExecution failsafe = failsafe(execution);
+
+        // the fallback executes the request once more, bypassing all policies, so that routes see the stale response
+        return arguments -> fallback.fallback(execution, arguments, failsafe.execute(arguments));
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return fallback == null ? execution : fallback.aroundNetwork(execution);
+    }
+
+    private RequestExecution failsafe(final RequestExecution execution) {
         return arguments -> {
-            final List<Policy<ClientHttpResponse>> policies = select(arguments);
-
-            if (policies.isEmpty()) {
-                return execution.execute(arguments);
-            } else if (executorService != null) {
-              return Failsafe.with(select(arguments))
-                        .with(executorService)
-                        .getStageAsync(decorate(execution, arguments));
-            } else {
-                return Failsafe.with(select(arguments))
-                        .getStageAsync(decorate(execution, arguments));
+            // all policies, attempts and plugins further down share the idempotency decision of this request
+            final RequestArguments memoized = memoize(arguments);
+            final long selection = select(memoized);
+
+            if (selection == 0) {
+                return execution.execute(memoized);
             }
+
+            if (bodyReplay && arguments.getBody() != null && arguments.getAttribute(SERIALIZED_BODY).isEmpty()) {
+                final SerializedBody body = new SerializedBody();
+                final CompletableFuture<ClientHttpResponse> future = execute(execution,
+                        arguments.withAttribute(SERIALIZED_BODY, body), memoized.withAttribute(SERIALIZED_BODY, body),
+                        selection);
+                future.whenComplete((response, throwable) -> body.release());
+                return future;
+            }
+
+            return execute(execution, arguments, memoized, selection);
         };
     }
 
+    private CompletableFuture<ClientHttpResponse> execute(
+            final RequestExecution execution,
+            final RequestArguments arguments,
+            final RequestArguments memoized,
+            final long selection) {
+
+        @Nullable final RetryBudget.Account account = budget == null ? null : budget.account(arguments);
+
+        if (account != null) {
+            account.deposit();
+        }
+
+        return executor(selection, arguments, account)
+                .getStageAsync(decorate(execution, arguments, memoized, selection, account));
+    }
+
     private ContextualSupplier<ClientHttpResponse, CompletionStage<ClientHttpResponse>> decorate(
-            final RequestExecution execution, final RequestArguments arguments) {
+            final RequestExecution execution,
+            final RequestArguments arguments,
+            final RequestArguments memoized,
+            final long selection,
+            @Nullable final RetryBudget.Account account) {
+
+        @Nullable final Deadline deadline = arguments.getAttribute(DEADLINE).orElse(null);
+
+        return decorator.decorate(context -> {
+            if (deadline != null && deadline.isExpired()) {
+                return failedFuture(new DeadlineExceededException(deadline));
+            }
+
+            final int attempts = context.getAttemptCount();
+
+            // timeouts give up on attempts by cancelling them, which aborts their exchange instead of interrupting
+            final Cancellation cancellation = Cancellation.of(arguments);
+            final CompletableFuture<ClientHttpResponse> future =
+                    execution.execute(withAttempts(memoized, attempts).withAttribute(CANCELLATION, cancellation));
+
+            future.whenComplete((response, throwable) -> {
+                if (future.isCancelled()) {
+                    cancellation.cancel();
+                } else {
+                    // attempts that lost a race or timed out were cancelled, they didn't fail on their own
+                    onAttempted(selection, arguments, context, response, unpack(throwable));
+                }
+            });
+
+            // hedged executions cancel attempts that lost the race
+            BackupRequestExecutor.register(context, future);
+
+            return future;
+        });
+    }
+
+    private long select(final RequestArguments arguments) {
+        long selection = 0;
+        for (int index = 0; index < policies.size(); index++) {
+            if (policies.get(index).applies(arguments)) {
+                selection |= 1L << index;
+            }
+        }
+        return selection;
+    }
+
+    private FailsafeExecutor<ClientHttpResponse> executor(
+            final long selection,
+            final RequestArguments arguments,
+            @Nullable final RetryBudget.Account account) {
+
+        final ConcurrentMap<Long, FailsafeExecutor<ClientHttpResponse>> executors = account == null ?
+                this.executors :
+                budgeted.getUnchecked(account);
+
+        @Nullable final FailsafeExecutor<ClientHttpResponse> cached = executors.get(selection);
+
+        if (cached != null) {
+            return cached;
+        } else if (isReusable(selection)) {
+            return executors.computeIfAbsent(selection, key -> prepare(selection, arguments, account));
+        } else {
+            return prepare(selection, arguments, account);
+        }
+    }
+
+    private boolean isReusable(final long selection) {
+        for (int index = 0; index < policies.size(); index++) {
+            if (isSelected(selection, index) && !policies.get(index).isReusable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private FailsafeExecutor<ClientHttpResponse> prepare(
+            final long selection,
+            final RequestArguments arguments,
+            @Nullable final RetryBudget.Account account) {
+
+        final List<Policy<ClientHttpResponse>> prepared = new ArrayList<>(Long.bitCount(selection));
+
+        for (int index = 0; index < policies.size(); index++) {
+            if (isSelected(selection, index)) {
+                final Policy<ClientHttpResponse> policy = policies.get(index).prepare(arguments);
+
+                if (policy instanceof RetryPolicy) {
+                    prepared.add(guard((RetryPolicy<ClientHttpResponse>) policy, account));
+                } else {
+                    prepared.add(policy);
+                }
+            }
+        }
+
+        final FailsafeExecutor<ClientHttpResponse> executor = Failsafe.with(prepared);
+
+        if (scheduler != null) {
+            return executor.with(scheduler);
+        }
+
+        return executorService == null ? executor : executor.with(executorService);
+    }
+
+    /**
+     * Retrying after the {@link Attributes#DEADLINE deadline} passed is pointless. Exhausted
+     * {@link RetryBudget retry budgets} deny retries as well.
+     */
+    private static RetryPolicy<ClientHttpResponse> guard(
+            final RetryPolicy<ClientHttpResponse> policy,
+            @Nullable final RetryBudget.Account account) {
+
+        final RetryPolicyBuilder<ClientHttpResponse> builder = RetryPolicy.builder(policy.getConfig())
+                .abortOn(DeadlineExceededException.class);
+
+        return (account == null ? builder :
+                account.guard(builder, policy.getConfig().getRetriesExceededListener())).build();
+    }
+
+    private void onAttempted(
+            final long selection,
+            final RequestArguments arguments,
+            final ExecutionContext<ClientHttpResponse> context,
+            @Nullable final ClientHttpResponse response,
+            @Nullable final Throwable throwable) {
+
+        final ExecutionAttemptedEvent<ClientHttpResponse> event =
+                new ExecutionAttemptedEvent<>(response, throwable, context);
+
+        for (int index = 0; index < policies.size(); index++) {
+            if (isSelected(selection, index)) {
+                policies.get(index).onAttempted(arguments, event);
+            }
+        }
+    }
 
-        final TaskDecorator decorator = TaskDecorator.composite(decorators);
-        return decorator.decorate(context -> execution
-                .execute(withAttempts(arguments, context.getAttemptCount())));
+    @Nullable
+    private static Throwable unpack(@Nullable final Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ?
+                throwable.getCause() : throwable;
     }
 
-    private List<Policy<ClientHttpResponse>> select(final RequestArguments arguments) {
-        return policies.stream()
-                .filter(policy -> policy.applies(arguments))
-                .map(policy -> policy.prepare(arguments))
-                .collect(toList());
+    private static boolean isSelected(final long selection, final int index) {
+        return (selection & (1L << index)) != 0;
     }
 
     private RequestArguments withAttempts(
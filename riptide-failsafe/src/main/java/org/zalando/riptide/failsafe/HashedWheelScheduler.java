@@ -0,0 +1,404 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.spi.Scheduler;
+import org.apiguardian.api.API;
+import org.zalando.riptide.DeadlinePlugin;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A {@link Scheduler} for {@link FailsafePlugin#withScheduler(Scheduler) Failsafe} that keeps delayed tasks, i.e.
+ * timeouts, retry delays and backup requests, in a hashed timing wheel instead of the heap of a
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor}. Scheduling and cancelling are O(1) and don't contend on
+ * a shared lock, which matters once hundreds of thousands of tasks are pending, most of which are cancelled before
+ * they are due.
+ *
+ * A single daemon thread advances the wheel every {@link #HashedWheelScheduler(Duration, int) tick} and hands due
+ * tasks over to an {@link #withExecutor(ExecutorService) executor}. Tasks run up to one tick late, but never early.
+ * Tasks without a delay are passed to the executor right away.
+ *
+ * Instances can be shared per client or {@link #shared() per JVM}. Copies created by
+ * {@link #withExecutor(ExecutorService)} share the same wheel. It can also
+ * {@link DeadlinePlugin#withScheduler(DeadlinePlugin.Scheduler) enforce deadlines}.
+ */
+@API(status = EXPERIMENTAL)
+public final class HashedWheelScheduler implements Scheduler, DeadlinePlugin.Scheduler, AutoCloseable {
+
+    private static final class Shared {
+        private static final HashedWheelScheduler INSTANCE = new HashedWheelScheduler(
+                new Wheel(Duration.ofMillis(10), 512, false), ForkJoinPool.commonPool());
+    }
+
+    private final Wheel wheel;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a scheduler with a tick of 10 milliseconds and 512 ticks per wheel that runs its tasks on the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     */
+    public HashedWheelScheduler() {
+        this(Duration.ofMillis(10), 512);
+    }
+
+    /**
+     * @param tickDuration  the resolution of the wheel
+     * @param ticksPerWheel the number of buckets of the wheel, rounded up to the next power of two
+     */
+    public HashedWheelScheduler(final Duration tickDuration, final int ticksPerWheel) {
+        this(new Wheel(tickDuration, ticksPerWheel, true), ForkJoinPool.commonPool());
+    }
+
+    private HashedWheelScheduler(final Wheel wheel, final ExecutorService executor) {
+        this.wheel = wheel;
+        this.executor = executor;
+    }
+
+    /**
+     * @return a scheduler that is shared by all clients of this JVM, {@link #close() closing} it has no effect
+     */
+    public static HashedWheelScheduler shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * @param executor the executor that runs due tasks
+     * @return a copy of this scheduler that shares its wheel, but runs tasks on the given executor
+     */
+    public HashedWheelScheduler withExecutor(final ExecutorService executor) {
+        return new HashedWheelScheduler(wheel, executor);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(final Callable<?> callable, final long delay, final TimeUnit unit) {
+        final long nanos = unit.toNanos(delay);
+        final Task task = new Task(callable, System.nanoTime() + Math.max(0, nanos), executor);
+
+        if (nanos <= 0) {
+            task.submit();
+        } else {
+            wheel.schedule(task);
+        }
+
+        return task;
+    }
+
+    /**
+     * Stops the wheel, cancelling all pending tasks. Affects all copies that share the same wheel.
+     */
+    @Override
+    public void close() {
+        wheel.close();
+    }
+
+    private static final class Task extends CompletableFuture<Object> implements ScheduledFuture<Object>, Runnable {
+
+        private final Callable<?> callable;
+        private final long deadline;
+        private final ExecutorService executor;
+
+        @Nullable
+        private Wheel wheel;
+
+        @Nullable
+        private Thread runner;
+
+        // the following fields are only accessed by the thread of the wheel
+        private long rounds;
+
+        @Nullable
+        private Bucket bucket;
+
+        @Nullable
+        private Task previous;
+
+        @Nullable
+        private Task next;
+
+        Task(final Callable<?> callable, final long deadline, final ExecutorService executor) {
+            this.callable = callable;
+            this.deadline = deadline;
+            this.executor = executor;
+        }
+
+        void submit() {
+            try {
+                executor.execute(this);
+            } catch (final RejectedExecutionException e) {
+                completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (isDone()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+
+            try {
+                complete(callable.call());
+            } catch (final Throwable e) {
+                completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                }
+                if (isCancelled()) {
+                    // don't leak a late interrupt into the next task of this thread
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            if (!super.cancel(mayInterruptIfRunning)) {
+                return false;
+            }
+
+            @Nullable final Wheel wheel;
+
+            synchronized (this) {
+                wheel = this.wheel;
+
+                if (mayInterruptIfRunning && runner != null) {
+                    runner.interrupt();
+                }
+            }
+
+            if (wheel != null) {
+                wheel.cancelled.add(this);
+            }
+
+            return true;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed that) {
+            return Long.compare(getDelay(NANOSECONDS), that.getDelay(NANOSECONDS));
+        }
+
+    }
+
+    private static final class Bucket {
+
+        @Nullable
+        private Task head;
+
+        @Nullable
+        private Task tail;
+
+        void add(final Task task) {
+            task.bucket = this;
+
+            if (head == null) {
+                head = tail = task;
+            } else {
+                tail.next = task;
+                task.previous = tail;
+                tail = task;
+            }
+        }
+
+        void remove(final Task task) {
+            if (task.previous == null) {
+                head = task.next;
+            } else {
+                task.previous.next = task.next;
+            }
+
+            if (task.next == null) {
+                tail = task.previous;
+            } else {
+                task.next.previous = task.previous;
+            }
+
+            task.bucket = null;
+            task.previous = null;
+            task.next = null;
+        }
+
+        void expire() {
+            @Nullable Task task = head;
+
+            while (task != null) {
+                final Task next = task.next;
+
+                if (task.isDone()) {
+                    remove(task);
+                } else if (task.rounds <= 0) {
+                    remove(task);
+                    task.submit();
+                } else {
+                    task.rounds--;
+                }
+
+                task = next;
+            }
+        }
+
+        void cancelAll() {
+            while (head != null) {
+                final Task task = head;
+                remove(task);
+                task.cancel(false);
+            }
+        }
+
+    }
+
+    private static final class Wheel implements Runnable {
+
+        private final long tick;
+        private final Bucket[] buckets;
+        private final int mask;
+
+        private final Queue<Task> pending = new ConcurrentLinkedQueue<>();
+        private final Queue<Task> cancelled = new ConcurrentLinkedQueue<>();
+
+        private final boolean closeable;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final Thread worker;
+        private volatile boolean closed;
+
+        private long start;
+        private long ticks;
+
+        Wheel(final Duration tickDuration, final int ticksPerWheel, final boolean closeable) {
+            if (tickDuration.isNegative() || tickDuration.isZero()) {
+                throw new IllegalArgumentException("Tick duration must be positive, but was " + tickDuration);
+            }
+            if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+                throw new IllegalArgumentException("Ticks per wheel must be within (0, 2^30], but was " + ticksPerWheel);
+            }
+
+            this.tick = tickDuration.toNanos();
+            this.buckets = new Bucket[ticksPerWheel == 1 ? 1 : Integer.highestOneBit(ticksPerWheel - 1) << 1];
+            this.mask = buckets.length - 1;
+            this.closeable = closeable;
+
+            for (int index = 0; index < buckets.length; index++) {
+                buckets[index] = new Bucket();
+            }
+
+            this.worker = new Thread(this, "riptide-hashed-wheel-scheduler");
+            worker.setDaemon(true);
+        }
+
+        void schedule(final Task task) {
+            if (closed) {
+                task.completeExceptionally(new RejectedExecutionException("Scheduler was closed"));
+                return;
+            }
+
+            if (started.compareAndSet(false, true)) {
+                start = System.nanoTime();
+                worker.start();
+            }
+
+            synchronized (task) {
+                task.wheel = this;
+            }
+
+            pending.add(task);
+
+            if (closed) {
+                // raced with close, which might have drained the queue already
+                task.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!closed) {
+                awaitNextTick();
+                removeCancelled();
+                transferPending();
+                buckets[(int) (ticks & mask)].expire();
+                ticks++;
+            }
+
+            for (final Bucket bucket : buckets) {
+                bucket.cancelAll();
+            }
+
+            @Nullable Task task;
+            while ((task = pending.poll()) != null) {
+                task.cancel(false);
+            }
+        }
+
+        private void awaitNextTick() {
+            final long deadline = start + tick * (ticks + 1);
+
+            long remaining;
+            while (!closed && (remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+
+        private void removeCancelled() {
+            @Nullable Task task;
+            while ((task = cancelled.poll()) != null) {
+                if (task.bucket != null) {
+                    task.bucket.remove(task);
+                }
+            }
+        }
+
+        private void transferPending() {
+            // bounded, in order to not starve the current tick in case of a flood of new tasks
+            for (int count = 0; count < 100_000; count++) {
+                @Nullable final Task task = pending.poll();
+
+                if (task == null) {
+                    return;
+                }
+
+                if (task.isDone()) {
+                    continue;
+                }
+
+                // a task is due once the tick it falls into has fully elapsed
+                final long due = (task.deadline - start + tick - 1) / tick - 1;
+                final long index = Math.max(due, ticks);
+
+                task.rounds = (index - ticks) / buckets.length;
+                buckets[(int) (index & mask)].add(task);
+            }
+        }
+
+        void close() {
+            if (!closeable) {
+                return;
+            }
+            closed = true;
+            LockSupport.unpark(worker);
+        }
+
+    }
+
+}
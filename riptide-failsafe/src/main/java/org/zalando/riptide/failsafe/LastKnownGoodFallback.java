@@ -0,0 +1,344 @@
+package org.zalando.riptide.failsafe;
+
+import com.google.common.hash.Hashing;
+import dev.failsafe.CircuitBreakerOpenException;
+import dev.failsafe.TimeoutExceededException;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Attribute;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.zalando.fauxpas.FauxPas.throwingFunction;
+
+/**
+ * Serves the last known good response of a request while its upstream is unavailable, i.e. while the
+ * {@link dev.failsafe.CircuitBreaker circuit breaker} is open or the request timed out. Successful responses of
+ * {@code GET} requests are buffered and kept in a bounded, in-memory cache, keyed by the request URI,
+ * {@link #withKeyHeaders(List) selected request headers} and a hash of the {@code Authorization} header, i.e. responses
+ * are never served to a different principal. Responses marked as {@code Cache-Control: no-store} or {@code private}
+ * are not cached.
+ *
+ * <strong>Beware</strong> that successful responses of {@code GET} requests are read into memory, up to the
+ * {@link #withMaxBytes(long) maximum size}, before routes see them. Requests that stream their responses should
+ * {@link #BYPASS bypass} the fallback.
+ *
+ * Stale responses are dispatched to the routes of the request like any other response. They are
+ * {@link #isStale(ClientHttpResponse) marked} with a {@code Warning: 110} and an {@code Age} header and the
+ * {@link #STALENESS staleness} attribute is set on their request.
+ *
+ * @see FailsafePlugin#withFallback(LastKnownGoodFallback)
+ */
+@API(status = EXPERIMENTAL)
+public final class LastKnownGoodFallback {
+
+    /**
+     * The age of the stale response that is served for a request, absent for fresh responses.
+     */
+    public static final Attribute<Duration> STALENESS = Attribute.generate();
+
+    /**
+     * Requests with this attribute set to {@code true} are neither cached nor answered with stale responses, e.g.
+     * ones that stream their responses.
+     */
+    public static final Attribute<Boolean> BYPASS = Attribute.generate();
+
+    /**
+     * The {@link HttpHeaders#WARNING warning} of stale responses.
+     */
+    public static final String WARNING = "110 - \"Response is Stale\"";
+
+    private static final Attribute<ResponseCache.Entry> ENTRY = Attribute.generate();
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Duration maxStaleness;
+    private final List<String> keyHeaders;
+    private final Predicate<Throwable> predicate;
+
+    private final ResponseCache cache;
+
+    public LastKnownGoodFallback() {
+        this(1000, 10 * 1024 * 1024, Duration.ofHours(1), singletonList(HttpHeaders.ACCEPT),
+                LastKnownGoodFallback::isUnavailable);
+    }
+
+    private LastKnownGoodFallback(
+            final int maxEntries,
+            final long maxBytes,
+            final Duration maxStaleness,
+            final List<String> keyHeaders,
+            final Predicate<Throwable> predicate) {
+
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxStaleness = maxStaleness;
+        this.keyHeaders = keyHeaders;
+        this.predicate = predicate;
+        this.cache = new ResponseCache(maxEntries, maxBytes, maxStaleness);
+    }
+
+    /**
+     * @param maxEntries the maximum number of cached responses, defaults to 1000
+     * @return a copy of this fallback using the given maximum number of entries
+     */
+    public LastKnownGoodFallback withMaxEntries(final int maxEntries) {
+        return new LastKnownGoodFallback(maxEntries, maxBytes, maxStaleness, keyHeaders, predicate);
+    }
+
+    /**
+     * @param maxBytes the maximum total size of all cached bodies, defaults to 10 MiB. Larger bodies aren't cached.
+     * @return a copy of this fallback using the given maximum size
+     */
+    public LastKnownGoodFallback withMaxBytes(final long maxBytes) {
+        return new LastKnownGoodFallback(maxEntries, maxBytes, maxStaleness, keyHeaders, predicate);
+    }
+
+    /**
+     * @param maxStaleness the maximum age of a response to be served as a fallback, defaults to 1 hour
+     * @return a copy of this fallback using the given maximum staleness
+     */
+    public LastKnownGoodFallback withMaxStaleness(final Duration maxStaleness) {
+        return new LastKnownGoodFallback(maxEntries, maxBytes, maxStaleness, keyHeaders, predicate);
+    }
+
+    /**
+     * @param keyHeaders the request headers that, in addition to the request URI, identify a response, defaults to
+     *                   {@code Accept}
+     * @return a copy of this fallback using the given key headers
+     */
+    public LastKnownGoodFallback withKeyHeaders(final List<String> keyHeaders) {
+        return new LastKnownGoodFallback(maxEntries, maxBytes, maxStaleness, keyHeaders, predicate);
+    }
+
+    /**
+     * @param predicate decides which failures are answered with a stale response, defaults to open circuit
+     *                  breakers and timeouts
+     * @return a copy of this fallback using the given predicate
+     */
+    public LastKnownGoodFallback withFallbackIf(final Predicate<Throwable> predicate) {
+        return new LastKnownGoodFallback(maxEntries, maxBytes, maxStaleness, keyHeaders, predicate);
+    }
+
+    /**
+     * @param response the response in question
+     * @return whether the given response is stale, e.g. served by a {@link LastKnownGoodFallback fallback}
+     */
+    public static boolean isStale(final ClientHttpResponse response) {
+        @Nullable final List<String> warnings = response.getHeaders().get(HttpHeaders.WARNING);
+        return warnings != null && warnings.stream().anyMatch(warning -> warning.startsWith("110 "));
+    }
+
+    /**
+     * Captures successful responses or, for requests that fell back, replaces the network with the stale response.
+     */
+    RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> {
+            if (!applies(arguments)) {
+                return execution.execute(arguments);
+            }
+
+            @Nullable final ResponseCache.Entry entry = arguments.getAttribute(ENTRY).orElse(null);
+
+            if (entry != null) {
+                final HttpHeaders headers = new HttpHeaders();
+                headers.set(HttpHeaders.AGE, String.valueOf(entry.getAge().toSeconds()));
+                headers.add(HttpHeaders.WARNING, WARNING);
+                return completedFuture(entry.toResponse(headers));
+            }
+
+            if (isNoStore(arguments.getHeaders())) {
+                return execution.execute(arguments);
+            }
+
+            final String key = key(arguments);
+            return execution.execute(arguments).thenApply(throwingFunction(response -> capture(key, response)));
+        };
+    }
+
+    /**
+     * Executes the given request once more with its stale response, if the given future failed due to the
+     * unavailability of the upstream.
+     */
+    CompletableFuture<ClientHttpResponse> fallback(
+            final RequestExecution execution,
+            final RequestArguments arguments,
+            final CompletableFuture<ClientHttpResponse> future) {
+
+        if (!applies(arguments)) {
+            return future;
+        }
+
+        return future.exceptionallyCompose(failure -> {
+            if (!causes(failure, predicate)) {
+                return failedFuture(failure);
+            }
+
+            @Nullable final ResponseCache.Entry entry = cache.get(key(arguments));
+
+            if (entry == null) {
+                return failedFuture(failure);
+            }
+
+            try {
+                return execution.execute(arguments
+                        .withAttribute(ENTRY, entry)
+                        .withAttribute(STALENESS, entry.getAge()));
+            } catch (final IOException e) {
+                return failedFuture(e);
+            }
+        });
+    }
+
+    private boolean applies(final RequestArguments arguments) {
+        return HttpMethod.GET.equals(arguments.getMethod()) && !arguments.getAttribute(BYPASS).orElse(false);
+    }
+
+    private String key(final RequestArguments arguments) {
+        final StringBuilder key = new StringBuilder(arguments.getRequestUri().toString());
+
+        for (final String name : keyHeaders) {
+            key.append('\n').append(name).append(": ").append(arguments.getHeaders().getOrDefault(name, List.of()));
+        }
+
+        @Nullable final List<String> authorization = arguments.getHeaders().get(HttpHeaders.AUTHORIZATION);
+
+        if (authorization != null) {
+            // responses are specific to their principal, but credentials don't belong into memory for longer
+            key.append('\n').append(HttpHeaders.AUTHORIZATION).append(": ")
+                    .append(Hashing.sha256().hashString(authorization.toString(), UTF_8));
+        }
+
+        return key.toString();
+    }
+
+    private ClientHttpResponse capture(final String key, final ClientHttpResponse response) throws IOException {
+        if (!response.getStatusCode().is2xxSuccessful() || isNoStore(response.getHeaders())
+                || hasDirective(response.getHeaders(), "private")) {
+            return response;
+        }
+
+        final byte[] body;
+
+        try {
+            body = response.getBody().readNBytes((int) Math.min(maxBytes + 1, Integer.MAX_VALUE - 8));
+        } catch (final IOException e) {
+            response.close();
+            throw e;
+        }
+
+        if (body.length > maxBytes) {
+            return new PartiallyBufferedResponse(response, body);
+        }
+
+        try (response) {
+            final ResponseCache.Entry entry = new ResponseCache.Entry(
+                    response.getStatusCode(), response.getStatusText(), response.getHeaders(), body);
+            cache.put(key, entry);
+            return entry.toResponse();
+        }
+    }
+
+    private static boolean isNoStore(final Map<String, List<String>> headers) {
+        return hasDirective(headers, "no-store");
+    }
+
+    private static boolean hasDirective(final Map<String, List<String>> headers, final String directive) {
+        for (final String value : headers.getOrDefault(HttpHeaders.CACHE_CONTROL, List.of())) {
+            for (final String element : value.split(",")) {
+                final String name = element.trim().split("=", 2)[0].trim();
+
+                if (name.equalsIgnoreCase(directive)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isUnavailable(final Throwable failure) {
+        return failure instanceof CircuitBreakerOpenException ||
+                failure instanceof TimeoutExceededException ||
+                failure instanceof SocketTimeoutException;
+    }
+
+    private static boolean causes(final Throwable failure, final Predicate<Throwable> predicate) {
+        @Nullable Throwable cause = failure;
+
+        while (cause != null) {
+            if (predicate.test(cause)) {
+                return true;
+            }
+            cause = cause.getCause() == cause ? null : cause.getCause();
+        }
+
+        return false;
+    }
+
+    /**
+     * A response that was too large to be cached, but whose beginning was read already.
+     */
+    private static final class PartiallyBufferedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final InputStream body;
+
+        PartiallyBufferedResponse(final ClientHttpResponse response, final byte[] prefix) throws IOException {
+            this.response = response;
+            this.body = new SequenceInputStream(new ByteArrayInputStream(prefix), response.getBody());
+        }
+
+        @Nonnull
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Nonnull
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Nonnull
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Nonnull
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,133 @@
+package org.zalando.riptide.failsafe;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * A lock-free, log-linear latency histogram with microsecond resolution and a relative error of about 6%. Only the
+ * recent past is taken into account: observations are kept in two windows of the given size, the older one is
+ * discarded whenever the current one expires.
+ */
+final class LatencySketch {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // 2^36 µs is about 19 hours, anything larger is clamped
+    private static final int MAX_EXPONENT = 35;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKETS = index(MAX_VALUE) + 1;
+
+    private final long window;
+    private final LongSupplier ticker;
+
+    private volatile Window current;
+    private volatile Window previous;
+
+    LatencySketch(final long window, final LongSupplier ticker) {
+        this.window = window;
+        this.ticker = ticker;
+        this.current = new Window(ticker.getAsLong());
+        this.previous = new Window(current.start - window);
+    }
+
+    /**
+     * @param latency the observed latency in nanoseconds
+     */
+    void record(final long latency) {
+        final long micros = Math.min(MAX_VALUE, Math.max(0, NANOSECONDS.toMicros(latency)));
+        current(ticker.getAsLong()).counts.incrementAndGet(index(micros));
+    }
+
+    /**
+     * @param percentile the percentile, between 0 (exclusive) and 1 (inclusive)
+     * @param minSamples the minimum number of observations required
+     * @return the latency at the given percentile in nanoseconds, or -1 if there are less observations than required
+     */
+    long percentile(final double percentile, final long minSamples) {
+        final Window current = current(ticker.getAsLong());
+        final Window previous = this.previous;
+
+        long total = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            total += count(current, previous, index);
+        }
+
+        if (total < minSamples || total == 0) {
+            return -1;
+        }
+
+        final long rank = (long) Math.ceil(percentile * total);
+
+        long seen = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            seen += count(current, previous, index);
+            if (seen >= rank) {
+                return MICROSECONDS.toNanos(upperBound(index));
+            }
+        }
+
+        return MICROSECONDS.toNanos(MAX_VALUE);
+    }
+
+    private static long count(final Window current, final Window previous, final int index) {
+        return current.counts.get(index) + previous.counts.get(index);
+    }
+
+    private Window current(final long now) {
+        final Window window = current;
+
+        if (now - window.start < this.window) {
+            return window;
+        }
+
+        synchronized (this) {
+            final Window latest = current;
+
+            if (now - latest.start >= this.window) {
+                // a window that expired long ago is as good as an empty one
+                previous = now - latest.start < 2 * this.window ? latest : new Window(now - this.window);
+                current = new Window(now);
+            }
+
+            return current;
+        }
+    }
+
+    static int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = Long.SIZE - 1 - numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final int subBucket = index % SUB_BUCKETS;
+        final long lowerBound = (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static final class Window {
+
+        private final long start;
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        private Window(final long start) {
+            this.start = start;
+        }
+
+    }
+
+}
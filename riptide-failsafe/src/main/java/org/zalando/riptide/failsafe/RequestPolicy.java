@@ -1,6 +1,7 @@
 package org.zalando.riptide.failsafe;
 
 import dev.failsafe.Policy;
+import dev.failsafe.event.ExecutionAttemptedEvent;
 import org.apiguardian.api.API;
 import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.riptide.RequestArguments;
@@ -16,4 +17,29 @@ public interface RequestPolicy {
 
     Policy<ClientHttpResponse> prepare(final RequestArguments arguments);
 
+    /**
+     * Whether {@link #prepare(RequestArguments) prepared} policies are independent of the request they were
+     * prepared for. The {@link FailsafePlugin} prepares reusable policies only once and shares them, including
+     * the {@link dev.failsafe.FailsafeExecutor} that executes them, across all requests.
+     *
+     * @return true if the prepared policy can be reused for any request, false otherwise
+     */
+    default boolean isReusable() {
+        return false;
+    }
+
+    /**
+     * Called after every attempt of the given request, successful or not, including the last one, if this policy
+     * applies to it. Allows to observe attempts in the context of a request without preparing a dedicated policy
+     * per request.
+     *
+     * @param arguments the request that was attempted
+     * @param event the outcome of the attempt
+     */
+    default void onAttempted(
+            final RequestArguments arguments,
+            final ExecutionAttemptedEvent<ClientHttpResponse> event) {
+        // nothing to do
+    }
+
 }
@@ -0,0 +1,158 @@
+package org.zalando.riptide.failsafe;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * A least recently used cache of buffered responses, bounded by the number of entries and the total size of their
+ * bodies. Entries older than the maximum staleness are never returned.
+ */
+final class ResponseCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long maxStaleness;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    ResponseCache(final int maxEntries, final long maxBytes, final Duration maxStaleness) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.maxStaleness = maxStaleness.toNanos();
+    }
+
+    synchronized void put(final String key, final Entry entry) {
+        if (entry.body.length > maxBytes) {
+            return;
+        }
+
+        @Nullable final Entry previous = entries.put(key, entry);
+
+        if (previous != null) {
+            bytes -= previous.body.length;
+        }
+
+        bytes += entry.body.length;
+
+        final Iterator<Entry> iterator = entries.values().iterator();
+
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            bytes -= iterator.next().body.length;
+            iterator.remove();
+        }
+    }
+
+    @Nullable
+    synchronized Entry get(final String key) {
+        @Nullable final Entry entry = entries.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.getAge().toNanos() > maxStaleness) {
+            entries.remove(key);
+            bytes -= entry.body.length;
+            return null;
+        }
+
+        return entry;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    static final class Entry {
+
+        private final HttpStatusCode status;
+        private final String statusText;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final long created = System.nanoTime();
+
+        Entry(final HttpStatusCode status, final String statusText, final HttpHeaders headers, final byte[] body) {
+            this.status = status;
+            this.statusText = statusText;
+            this.headers = copy(headers);
+            this.body = body;
+        }
+
+        Duration getAge() {
+            return Duration.ofNanos(System.nanoTime() - created);
+        }
+
+        ClientHttpResponse toResponse() {
+            return new Response(copy(headers));
+        }
+
+        ClientHttpResponse toResponse(final HttpHeaders additional) {
+            final HttpHeaders headers = copy(this.headers);
+            headers.putAll(additional);
+            return new Response(headers);
+        }
+
+        private static HttpHeaders copy(final HttpHeaders source) {
+            final HttpHeaders target = new HttpHeaders();
+            source.forEach((name, values) -> target.put(name, new ArrayList<>(values)));
+            return target;
+        }
+
+        private final class Response implements ClientHttpResponse {
+
+            private final HttpHeaders headers;
+            private final InputStream stream = new ByteArrayInputStream(body);
+
+            Response(final HttpHeaders headers) {
+                this.headers = headers;
+            }
+
+            @Nonnull
+            @Override
+            public HttpStatusCode getStatusCode() {
+                return status;
+            }
+
+            @Nonnull
+            @Override
+            public String getStatusText() {
+                return statusText;
+            }
+
+            @Nonnull
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Nonnull
+            @Override
+            public InputStream getBody() {
+                return stream;
+            }
+
+            @Override
+            public void close() {
+                // nothing to close
+            }
+
+        }
+
+    }
+
+}
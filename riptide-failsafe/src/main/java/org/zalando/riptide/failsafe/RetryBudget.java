@@ -0,0 +1,164 @@
+package org.zalando.riptide.failsafe;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import dev.failsafe.RetryPolicyBuilder;
+import dev.failsafe.event.EventListener;
+import dev.failsafe.event.ExecutionCompletedEvent;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Caps retries of a {@link FailsafePlugin#withRetryBudget(RetryBudget) plugin} at a ratio of its requests, in order
+ * to prevent retry storms when an upstream degrades. Every request deposits a fraction of a token, every retry
+ * withdraws a whole one. Once the budget is exhausted, failed requests are no longer retried, but fail with their
+ * last result instead.
+ *
+ * A budget is shared by all requests of a plugin by default and can be tracked {@link #perHost() per host} instead.
+ * Per host budgets are kept in a bounded registry that evicts the least recently used ones and those that weren't
+ * used for a while.
+ */
+@API(status = EXPERIMENTAL)
+public final class RetryBudget {
+
+    private static final String CLIENT = "client";
+
+    private final double ratio;
+    private final int reserve;
+    private final boolean perHost;
+    private final RetryBudgetListener listener;
+    private final long maximumSize;
+    private final Duration expireAfterAccess;
+
+    private final LoadingCache<String, Account> accounts;
+
+    /**
+     * @param ratio the maximum ratio of retries to requests, e.g. 0.2 for 20%
+     */
+    public RetryBudget(final double ratio) {
+        this(ratio, 10, false, RetryBudgetListener.DEFAULT, 1000, Duration.ofMinutes(10));
+    }
+
+    private RetryBudget(
+            final double ratio,
+            final int reserve,
+            final boolean perHost,
+            final RetryBudgetListener listener,
+            final long maximumSize,
+            final Duration expireAfterAccess) {
+
+        Budget.validate(ratio, reserve);
+
+        this.ratio = ratio;
+        this.reserve = reserve;
+        this.perHost = perHost;
+        this.listener = listener;
+        this.maximumSize = maximumSize;
+        this.expireAfterAccess = expireAfterAccess;
+        this.accounts = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build(new CacheLoader<String, Account>() {
+                    @Override
+                    public Account load(@Nonnull final String key) {
+                        return new Account();
+                    }
+                });
+    }
+
+    /**
+     * @param reserve the number of retries that are allowed without prior requests, defaults to 10
+     * @return a copy of this budget using the given reserve
+     */
+    public RetryBudget withReserve(final int reserve) {
+        return new RetryBudget(ratio, reserve, perHost, listener, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @return a copy of this budget that tracks every host separately
+     */
+    public RetryBudget perHost() {
+        return new RetryBudget(ratio, reserve, true, listener, maximumSize, expireAfterAccess);
+    }
+
+    public RetryBudget withListener(final RetryBudgetListener listener) {
+        return new RetryBudget(ratio, reserve, perHost, listener, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param maximumSize the maximum number of per host budgets to keep, defaults to 1000
+     * @return a copy of this budget using the given maximum size
+     */
+    public RetryBudget withMaximumSize(final long maximumSize) {
+        return new RetryBudget(ratio, reserve, perHost, listener, maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param expireAfterAccess how long to keep unused per host budgets, defaults to 10 minutes
+     * @return a copy of this budget using the given expiration
+     */
+    public RetryBudget withExpireAfterAccess(final Duration expireAfterAccess) {
+        return new RetryBudget(ratio, reserve, perHost, listener, maximumSize, expireAfterAccess);
+    }
+
+    Account account(final RequestArguments arguments) {
+        final String key = perHost ?
+                Optional.ofNullable(arguments.getRequestUri().getHost()).orElse(CLIENT) :
+                CLIENT;
+
+        return accounts.getUnchecked(key);
+    }
+
+    final class Account {
+
+        private final Budget budget = new Budget(ratio, reserve);
+
+        void deposit() {
+            budget.deposit();
+        }
+
+        /**
+         * Withdraws a token for every retry as part of the abort condition, i.e. atomically with the decision to
+         * retry. Failsafe evaluates abort conditions before it checks whether retries are exceeded, which is why the
+         * token is refunded in that case.
+         *
+         * @param policy the builder of the policy to guard
+         * @param retriesExceeded the policy's own listener, if any, since Failsafe only supports a single one
+         * @return the given policy builder, aborting instead of retrying once this account is exhausted
+         */
+        RetryPolicyBuilder<ClientHttpResponse> guard(
+                final RetryPolicyBuilder<ClientHttpResponse> policy,
+                @Nullable final EventListener<ExecutionCompletedEvent<ClientHttpResponse>> retriesExceeded) {
+
+            return policy
+                    .abortIf((result, exception) -> isDenied())
+                    .onRetriesExceeded(event -> {
+                        budget.refund();
+
+                        if (retriesExceeded != null) {
+                            retriesExceeded.accept(event);
+                        }
+                    });
+        }
+
+        private boolean isDenied() {
+            if (budget.tryWithdraw()) {
+                return false;
+            }
+
+            listener.onRetryDenied();
+            return true;
+        }
+
+    }
+
+}
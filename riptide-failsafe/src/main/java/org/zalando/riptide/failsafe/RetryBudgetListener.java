@@ -0,0 +1,21 @@
+package org.zalando.riptide.failsafe;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+@API(status = EXPERIMENTAL)
+public interface RetryBudgetListener {
+
+    RetryBudgetListener DEFAULT = new RetryBudgetListener() {
+        // nothing to implement, since default methods are sufficient
+    };
+
+    /**
+     * Called when a failed request would have been retried, but the retry budget was exhausted.
+     */
+    default void onRetryDenied() {
+        // nothing to do
+    }
+
+}
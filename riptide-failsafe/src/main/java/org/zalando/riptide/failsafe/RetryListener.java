@@ -14,6 +14,12 @@ public interface RetryListener {
         // nothing to implement, since default methods are sufficient
     };
 
+    /**
+     * Called after every failed attempt of a request, including the last one that won't be retried anymore.
+     *
+     * @param arguments the request that failed
+     * @param event the outcome of the failed attempt
+     */
     default void onRetry(final RequestArguments arguments,
             final ExecutionAttemptedEvent<ClientHttpResponse> event) {
         // nothing to do
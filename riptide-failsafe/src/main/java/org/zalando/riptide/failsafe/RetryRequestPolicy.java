@@ -5,6 +5,7 @@ import dev.failsafe.Policy;
 import dev.failsafe.RetryPolicy;
 import dev.failsafe.event.EventListener;
 import dev.failsafe.event.ExecutionAttemptedEvent;
+import dev.failsafe.spi.FailurePolicy;
 import lombok.AllArgsConstructor;
 import org.apiguardian.api.API;
 import org.springframework.http.client.ClientHttpResponse;
@@ -16,6 +17,10 @@ import java.util.function.Predicate;
 import static lombok.AccessLevel.PRIVATE;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
+/**
+ * Retries requests that match the given predicate, idempotent ones by default. The {@link RetryListener listener}
+ * is notified about every failed attempt that this policy handles, including the last one.
+ */
 @API(status = EXPERIMENTAL)
 @AllArgsConstructor(access = PRIVATE)
 public final class RetryRequestPolicy implements RequestPolicy {
@@ -45,10 +50,31 @@ public final class RetryRequestPolicy implements RequestPolicy {
     @Override
     public Policy<ClientHttpResponse> prepare(
             final RequestArguments arguments) {
+        return policy;
+    }
+
+    @Override
+    public boolean isReusable() {
+        return true;
+    }
+
+    @Override
+    public void onAttempted(
+            final RequestArguments arguments,
+            final ExecutionAttemptedEvent<ClientHttpResponse> event) {
 
-        return RetryPolicy.builder(policy.getConfig())
-                .onFailedAttempt(new RetryListenerAdapter(listener, arguments))
-                .build();
+        if (isFailure(event)) {
+            listener.onRetry(arguments, event);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean isFailure(final ExecutionAttemptedEvent<ClientHttpResponse> event) {
+        if (policy instanceof FailurePolicy) {
+            return ((FailurePolicy<ClientHttpResponse>) policy)
+                    .isFailure(event.getLastResult(), event.getLastException());
+        }
+        return event.getLastException() != null;
     }
 
     @VisibleForTesting
@@ -0,0 +1,80 @@
+package org.zalando.riptide.failsafe.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.apiguardian.api.API;
+import org.zalando.riptide.failsafe.BackupRequestListener;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Counts backup requests that were sent, that won, i.e. responded before the original request, and that were
+ * rejected because the budget was exhausted.
+ */
+@API(status = EXPERIMENTAL)
+public final class MetricsBackupRequestListener implements BackupRequestListener {
+
+    private final MeterRegistry registry;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    private final Counter sent;
+    private final Counter won;
+    private final Counter rejected;
+
+    public MetricsBackupRequestListener(final MeterRegistry registry) {
+        this(registry, "http.client.backup-requests", ImmutableList.of());
+    }
+
+    private MetricsBackupRequestListener(
+            final MeterRegistry registry,
+            final String metricName,
+            final ImmutableList<Tag> defaultTags) {
+
+        this.registry = registry;
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+
+        this.sent = counter("sent", "The number of backup requests sent");
+        this.won = counter("won", "The number of backup requests that responded before the original request");
+        this.rejected = counter("rejected", "The number of backup requests not sent due to an exhausted budget");
+    }
+
+    public MetricsBackupRequestListener withMetricName(final String metricName) {
+        return new MetricsBackupRequestListener(registry, metricName, defaultTags);
+    }
+
+    public MetricsBackupRequestListener withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public MetricsBackupRequestListener withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new MetricsBackupRequestListener(registry, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void onBackupRequest() {
+        sent.increment();
+    }
+
+    @Override
+    public void onBackupRequestWon() {
+        won.increment();
+    }
+
+    @Override
+    public void onBackupRequestRejected() {
+        rejected.increment();
+    }
+
+    private Counter counter(final String name, final String description) {
+        return Counter.builder(metricName + "." + name)
+                .description(description)
+                .tags(defaultTags)
+                .register(registry);
+    }
+
+}
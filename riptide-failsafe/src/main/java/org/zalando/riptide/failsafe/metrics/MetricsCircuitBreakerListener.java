@@ -59,6 +59,18 @@ public final class MetricsCircuitBreakerListener implements CircuitBreakerListen
         return new MetricsCircuitBreakerListener(registry, metricName, copyOf(defaultTags));
     }
 
+    /**
+     * Every circuit breaker needs its own listener, since the listener keeps track of the state of its breaker.
+     *
+     * @param key the key of the circuit breaker
+     * @return a new listener using the default tags of this listener and an additional {@code key} tag
+     */
+    @Override
+    public MetricsCircuitBreakerListener forKey(final String key) {
+        return new MetricsCircuitBreakerListener(registry, metricName,
+                ImmutableList.<Tag>builder().addAll(defaultTags).add(Tag.of("key", key)).build());
+    }
+
     @Override
     public void onOpen() {
         on(OPEN);
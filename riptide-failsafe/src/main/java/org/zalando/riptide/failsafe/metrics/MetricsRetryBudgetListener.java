@@ -0,0 +1,61 @@
+package org.zalando.riptide.failsafe.metrics;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.apiguardian.api.API;
+import org.zalando.riptide.failsafe.RetryBudgetListener;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Counts retries that were denied because the retry budget was exhausted.
+ */
+@API(status = EXPERIMENTAL)
+public final class MetricsRetryBudgetListener implements RetryBudgetListener {
+
+    private final MeterRegistry registry;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    private final Counter denied;
+
+    public MetricsRetryBudgetListener(final MeterRegistry registry) {
+        this(registry, "http.client.retries.denied", ImmutableList.of());
+    }
+
+    private MetricsRetryBudgetListener(
+            final MeterRegistry registry,
+            final String metricName,
+            final ImmutableList<Tag> defaultTags) {
+
+        this.registry = registry;
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+
+        this.denied = Counter.builder(metricName)
+                .description("The number of retries not attempted due to an exhausted retry budget")
+                .tags(defaultTags)
+                .register(registry);
+    }
+
+    public MetricsRetryBudgetListener withMetricName(final String metricName) {
+        return new MetricsRetryBudgetListener(registry, metricName, defaultTags);
+    }
+
+    public MetricsRetryBudgetListener withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public MetricsRetryBudgetListener withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new MetricsRetryBudgetListener(registry, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void onRetryDenied() {
+        denied.increment();
+    }
+
+}
@@ -0,0 +1,169 @@
+package org.zalando.riptide.failsafe;
+
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.getBaseUrl;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.verify;
+
+final class AdaptiveBackupRequestTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final BackupRequestListener listener = mock(BackupRequestListener.class);
+
+    private final AdaptiveBackupRequest unit = new AdaptiveBackupRequest(Duration.ofMillis(500))
+            .withListener(listener)
+            .withTicker(clock::get);
+
+    private final MockWebServer server = new MockWebServer();
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldUseInitialDelayWithoutObservations() {
+        assertThat(strategy(GET, "/users/{id}").getDelay()).isEqualTo(MILLISECONDS.toNanos(500));
+    }
+
+    @Test
+    void shouldAdaptDelayToPercentile() {
+        final BackupRequestStrategy strategy = strategy(GET, "/users/{id}");
+
+        for (int millis = 1; millis <= 100; millis++) {
+            strategy.onCompleted(MILLISECONDS.toNanos(millis), false);
+        }
+
+        assertThat(strategy.getDelay()).isEqualTo(MILLISECONDS.toNanos(500));
+
+        clock.addAndGet(SECONDS.toNanos(1));
+
+        assertThat(strategy.getDelay())
+                .isBetween(MILLISECONDS.toNanos(95), MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void shouldTrackEndpointsSeparately() {
+        final BackupRequestStrategy users = strategy(GET, "/users/{id}");
+
+        assertThat(strategy(GET, "/users/{id}")).isSameAs(users);
+        assertThat(strategy(GET, "/orders/{id}")).isNotSameAs(users);
+        assertThat(strategy(POST, "/users/{id}")).isNotSameAs(users);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEndpoints() {
+        final AdaptiveBackupRequest unit = this.unit.withMaximumSize(1);
+
+        final Object users = unit.prepare(arguments(GET, "/users/{id}"));
+        unit.prepare(arguments(GET, "/orders/{id}"));
+
+        assertThat(unit.prepare(arguments(GET, "/users/{id}"))).isNotSameAs(users);
+    }
+
+    @Test
+    void shouldLimitBackupRequestsByBudget() {
+        final BackupRequestStrategy strategy = strategy(GET, "/users/{id}");
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(strategy.tryBackup()).isTrue();
+        }
+
+        assertThat(strategy.tryBackup()).isFalse();
+        verify(listener).onBackupRequestRejected();
+
+        for (int i = 0; i < 10; i++) {
+            strategy.getDelay();
+        }
+
+        assertThat(strategy.tryBackup()).isTrue();
+    }
+
+    @Test
+    void shouldNotifyAboutWonBackupRequests() {
+        final BackupRequestStrategy strategy = strategy(GET, "/users/{id}");
+
+        strategy.onCompleted(1, false);
+        verify(listener, never()).onBackupRequestWon();
+
+        strategy.onCompleted(1, true);
+        verify(listener).onBackupRequestWon();
+    }
+
+    @Test
+    void shouldOnlyApplyToIdempotentRequestsByDefault() {
+        assertThat(unit.applies(arguments(GET, "/users/{id}"))).isTrue();
+        assertThat(unit.applies(arguments(POST, "/users/{id}"))).isFalse();
+        assertThat(unit.withPredicate(arguments -> true).applies(arguments(POST, "/users/{id}"))).isTrue();
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> unit.withPercentile(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> unit.withPercentile(1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> unit.withBudget(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldSendBackupRequest() throws Exception {
+        final Http http = Http.builder()
+                .executor(newFixedThreadPool(2))
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(getBaseUrl(server))
+                .plugin(new FailsafePlugin()
+                        .withPolicy(new AdaptiveBackupRequest(Duration.ofMillis(500))
+                                .withListener(listener)))
+                .build();
+
+        server.enqueue(emptyMockResponse().setHeadersDelay(2, SECONDS));
+        server.enqueue(emptyMockResponse());
+
+        http.get("/foo")
+                .call(pass())
+                .get(1500, MILLISECONDS);
+
+        verify(server, 2, "/foo");
+        verify(listener).onBackupRequest();
+        verify(listener, timeout(1000)).onBackupRequestWon();
+    }
+
+    private BackupRequestStrategy strategy(final HttpMethod method, final String uriTemplate) {
+        return (BackupRequestStrategy) unit.prepare(arguments(method, uriTemplate));
+    }
+
+    private static RequestArguments arguments(final HttpMethod method, final String uriTemplate) {
+        return RequestArguments.create()
+                .withMethod(method)
+                .withUriTemplate(uriTemplate)
+                .withUri(URI.create("http://localhost/users/1"));
+    }
+
+}
@@ -0,0 +1,245 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.Policy;
+import dev.failsafe.PolicyConfig;
+import dev.failsafe.spi.PolicyExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Cancellation;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.zalando.riptide.Attributes.CANCELLATION;
+
+final class BackupRequestHedgingTest {
+
+    private final BlockingQueue<CompletableFuture<ClientHttpResponse>> attempts = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Cancellation> cancellations = new LinkedBlockingQueue<>();
+
+    private boolean uncancellable;
+
+    @Test
+    void shouldSendStaggeredAttempts() throws Exception {
+        final CompletableFuture<ClientHttpResponse> future = execute(new BackupRequest<ClientHttpResponse>(
+                50, MILLISECONDS).withMaxAttempts(3));
+
+        final CompletableFuture<ClientHttpResponse> original = nextAttempt();
+        final CompletableFuture<ClientHttpResponse> first = nextAttempt();
+        final CompletableFuture<ClientHttpResponse> second = nextAttempt();
+
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        second.complete(response);
+
+        assertThat(future.get(1, SECONDS)).isSameAs(response);
+        assertThat(original).isCancelled();
+        assertThat(first).isCancelled();
+        assertThat(attempts.poll(200, MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldLimitOutstandingAttempts() throws Exception {
+        final CompletableFuture<ClientHttpResponse> future = execute(new BackupRequest<ClientHttpResponse>(
+                50, MILLISECONDS).withMaxAttempts(3).withMaxOutstanding(2));
+
+        final CompletableFuture<ClientHttpResponse> original = nextAttempt();
+        nextAttempt();
+
+        assertThat(attempts.poll(200, MILLISECONDS)).isNull();
+
+        original.completeExceptionally(new IOException());
+
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        nextAttempt().complete(response);
+
+        assertThat(future.get(1, SECONDS)).isSameAs(response);
+    }
+
+    @Test
+    void shouldAbortLosingAttempts() throws Exception {
+        final CompletableFuture<ClientHttpResponse> future = execute(new BackupRequest<>(50, MILLISECONDS));
+
+        final CompletableFuture<ClientHttpResponse> original = nextAttempt();
+        final Cancellation cancellation = cancellations.poll(1, SECONDS);
+        final Closeable request = mock(Closeable.class);
+        cancellation.register(request);
+
+        final ClientHttpResponse winner = mock(ClientHttpResponse.class);
+        nextAttempt().complete(winner);
+
+        assertThat(future.get(1, SECONDS)).isSameAs(winner);
+        assertThat(original).isCancelled();
+        verify(request).close();
+        verify(winner, never()).close();
+    }
+
+    @Test
+    void shouldCloseResponsesOfLosingAttempts() throws Exception {
+        uncancellable = true;
+        final CompletableFuture<ClientHttpResponse> future = execute(new BackupRequest<>(50, MILLISECONDS));
+
+        final CompletableFuture<ClientHttpResponse> original = nextAttempt();
+        final CompletableFuture<ClientHttpResponse> backup = nextAttempt();
+
+        final ClientHttpResponse winner = mock(ClientHttpResponse.class);
+        final ClientHttpResponse loser = mock(ClientHttpResponse.class);
+
+        backup.complete(winner);
+        assertThat(future.get(1, SECONDS)).isSameAs(winner);
+
+        original.complete(loser);
+        verify(loser, timeout(1000)).close();
+        verify(winner, never()).close();
+    }
+
+    @Test
+    void shouldWaitForOutstandingAttemptsOnFailure() throws Exception {
+        final CompletableFuture<ClientHttpResponse> future = execute(new BackupRequest<>(50, MILLISECONDS));
+
+        final CompletableFuture<ClientHttpResponse> original = nextAttempt();
+        final CompletableFuture<ClientHttpResponse> backup = nextAttempt();
+
+        original.completeExceptionally(new IOException());
+        assertThat(future).isNotDone();
+
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        backup.complete(response);
+
+        assertThat(future.get(1, SECONDS)).isSameAs(response);
+    }
+
+    @Test
+    void shouldFailWithoutOutstandingAttempts() throws Exception {
+        final CompletableFuture<ClientHttpResponse> future = execute(new BackupRequest<>(1, SECONDS));
+
+        nextAttempt().completeExceptionally(new IOException());
+
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IOException.class);
+
+        assertThat(attempts.poll(1500, MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void shouldStopHedgingAfterDeniedBackupRequest() throws Exception {
+        final AtomicInteger tries = new AtomicInteger();
+        final CompletableFuture<ClientHttpResponse> future = execute(hedging(new BackupRequestStrategy() {
+            @Override
+            public long getDelay() {
+                return MILLISECONDS.toNanos(20);
+            }
+
+            @Override
+            public boolean tryBackup() {
+                tries.incrementAndGet();
+                return false;
+            }
+        }));
+
+        final CompletableFuture<ClientHttpResponse> original = nextAttempt();
+
+        assertThat(attempts.poll(200, MILLISECONDS)).isNull();
+        assertThat(tries).hasValue(1);
+
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        original.complete(response);
+
+        assertThat(future.get(1, SECONDS)).isSameAs(response);
+    }
+
+    @Test
+    void shouldObserveLatencySinceOriginalRequest() throws Exception {
+        final long delay = MILLISECONDS.toNanos(50);
+        final AtomicLong latency = new AtomicLong();
+        final CompletableFuture<ClientHttpResponse> future = execute(hedging(new BackupRequestStrategy() {
+            @Override
+            public long getDelay() {
+                return delay;
+            }
+
+            @Override
+            public void onCompleted(final long nanos, final boolean backup) {
+                latency.set(nanos);
+            }
+        }));
+
+        nextAttempt();
+        nextAttempt().complete(mock(ClientHttpResponse.class));
+
+        future.get(1, SECONDS);
+
+        assertThat(latency.get()).isGreaterThanOrEqualTo(delay);
+    }
+
+    @Test
+    void shouldRejectInvalidMaxAttempts() {
+        final BackupRequest<ClientHttpResponse> policy = new BackupRequest<>(1, SECONDS);
+
+        assertThatThrownBy(() -> policy.withMaxAttempts(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policy.withMaxOutstanding(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Policy<ClientHttpResponse> hedging(final BackupRequestStrategy strategy) {
+        return new Policy<>() {
+            @Override
+            public PolicyConfig<ClientHttpResponse> getConfig() {
+                return new PolicyConfig<>() {
+                };
+            }
+
+            @Override
+            public PolicyExecutor<ClientHttpResponse> toExecutor(final int policyIndex) {
+                return new BackupRequestExecutor<>(this, policyIndex, strategy, 3, 3);
+            }
+        };
+    }
+
+    private CompletableFuture<ClientHttpResponse> execute(final Policy<ClientHttpResponse> policy)
+            throws IOException {
+
+        final RequestExecution execution = new FailsafePlugin()
+                .withPolicy(RequestPolicies.of(policy, arguments -> true))
+                .aroundAsync(arguments -> {
+                    // uncancellable attempts model responses that arrive while the attempt is being cancelled
+                    final CompletableFuture<ClientHttpResponse> attempt = uncancellable ?
+                            new CompletableFuture<>() {
+                                @Override
+                                public boolean cancel(final boolean mayInterruptIfRunning) {
+                                    return false;
+                                }
+                            } :
+                            new CompletableFuture<>();
+                    arguments.getAttribute(CANCELLATION).ifPresent(cancellations::add);
+                    attempts.add(attempt);
+                    return attempt;
+                });
+
+        return execution.execute(RequestArguments.create());
+    }
+
+    private CompletableFuture<ClientHttpResponse> nextAttempt() throws InterruptedException {
+        final CompletableFuture<ClientHttpResponse> attempt = attempts.poll(1, SECONDS);
+        assertThat(attempt).isNotNull();
+        return attempt;
+    }
+
+}
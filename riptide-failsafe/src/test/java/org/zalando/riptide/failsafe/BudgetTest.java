@@ -0,0 +1,63 @@
+package org.zalando.riptide.failsafe;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+final class BudgetTest {
+
+    @Test
+    void shouldAllowReserveInitially() {
+        final Budget unit = new Budget(0.1, 2);
+
+        assertThat(unit.tryWithdraw()).isTrue();
+        assertThat(unit.tryWithdraw()).isTrue();
+        assertThat(unit.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void shouldReplenishByRatio() {
+        final Budget unit = new Budget(0.1, 1);
+        unit.tryWithdraw();
+
+        for (int i = 0; i < 9; i++) {
+            unit.deposit();
+            assertThat(unit.tryWithdraw()).isFalse();
+        }
+
+        unit.deposit();
+        assertThat(unit.tryWithdraw()).isTrue();
+    }
+
+    @Test
+    void shouldCapBalanceAtReserve() {
+        final Budget unit = new Budget(1.0, 1);
+
+        unit.deposit();
+        unit.deposit();
+
+        assertThat(unit.tryWithdraw()).isTrue();
+        assertThat(unit.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void shouldRefundUpToReserve() {
+        final Budget unit = new Budget(0.1, 1);
+
+        assertThat(unit.tryWithdraw()).isTrue();
+        unit.refund();
+        unit.refund();
+
+        assertThat(unit.tryWithdraw()).isTrue();
+        assertThat(unit.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new Budget(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Budget(1.5, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Budget(0.1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,88 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.CircuitBreaker;
+import dev.failsafe.CircuitBreakerOpenException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+final class CircuitBreakerRequestPolicyTest {
+
+    private final ClientHttpResponse response = mock(ClientHttpResponse.class);
+
+    private final List<String> keys = new ArrayList<>();
+
+    private final CircuitBreakerRequestPolicy unit = new CircuitBreakerRequestPolicy(key -> {
+        keys.add(key);
+        return CircuitBreaker.<ClientHttpResponse>builder()
+                .withFailureThreshold(1)
+                .build();
+    });
+
+    @Test
+    void shouldOpenCircuitPerHost() throws IOException {
+        final RequestExecution execution = new FailsafePlugin()
+                .withPolicy(unit)
+                .aroundAsync(arguments -> "alpha".equals(arguments.getRequestUri().getHost()) ?
+                        failedFuture(new IOException()) :
+                        completedFuture(response));
+
+        assertThatThrownBy(() -> execution.execute(forHost("alpha")).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IOException.class);
+
+        assertThatThrownBy(() -> execution.execute(forHost("alpha")).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+
+        assertThat(execution.execute(forHost("beta")).join()).isSameAs(response);
+        assertThat(keys).containsExactly("alpha", "beta");
+    }
+
+    @Test
+    void shouldReuseCircuitBreakerPerKey() {
+        assertThat(unit.prepare(forHost("alpha"))).isSameAs(unit.prepare(forHost("alpha")));
+        assertThat(unit.prepare(forHost("alpha"))).isNotSameAs(unit.prepare(forHost("beta")));
+        assertThat(keys).containsExactly("alpha", "beta");
+    }
+
+    @Test
+    void shouldEvictCircuitBreakersBeyondMaximumSize() {
+        final CircuitBreakerRequestPolicy policy = unit.withMaximumSize(1);
+
+        policy.prepare(forHost("alpha"));
+        policy.prepare(forHost("beta"));
+        policy.prepare(forHost("alpha"));
+
+        assertThat(keys).containsExactly("alpha", "beta", "alpha");
+    }
+
+    @Test
+    void shouldUseCustomKeyFunction() {
+        final CircuitBreakerRequestPolicy policy = unit
+                .withKeyFunction(arguments -> arguments.getRequestUri().getAuthority());
+
+        policy.prepare(RequestArguments.create().withUri(URI.create("http://alpha:8080/")));
+        policy.prepare(RequestArguments.create().withUri(URI.create("http://alpha:8081/")));
+
+        assertThat(keys).containsExactly("alpha:8080", "alpha:8081");
+    }
+
+    private static RequestArguments forHost(final String host) {
+        return RequestArguments.create().withUri(URI.create("http://" + host + "/"));
+    }
+
+}
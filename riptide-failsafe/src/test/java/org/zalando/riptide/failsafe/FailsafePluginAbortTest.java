@@ -0,0 +1,74 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.Timeout;
+import dev.failsafe.TimeoutExceededException;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory.Mode;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.getBaseUrl;
+
+final class FailsafePluginAbortTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+
+    private final ExecutorService executor = newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdownNow();
+        client.close();
+        server.shutdown();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Mode.class)
+    void shouldAbortExchangeWithoutInterruptingOnTimeout(final Mode mode) throws Exception {
+        final Http unit = Http.builder()
+                .executor(executor)
+                .requestFactory(new ApacheClientHttpRequestFactory(client, mode))
+                .baseUrl(getBaseUrl(server))
+                .plugin(new FailsafePlugin()
+                        .withPolicy(Timeout.of(Duration.ofMillis(500))))
+                .build();
+
+        server.enqueue(emptyMockResponse().setHeadersDelay(2, SECONDS));
+        server.enqueue(emptyMockResponse());
+
+        final long start = System.nanoTime();
+
+        assertThatThrownBy(unit.get("/foo").call(pass())::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TimeoutExceededException.class);
+
+        // the only thread of the executor is not blocked by the aborted exchange anymore
+        unit.get("/bar").call(pass()).get(5, SECONDS);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+
+        final AtomicBoolean interrupted = new AtomicBoolean(true);
+        executor.submit(() -> interrupted.set(Thread.currentThread().isInterrupted())).get();
+        assertThat(interrupted).isFalse();
+    }
+
+}
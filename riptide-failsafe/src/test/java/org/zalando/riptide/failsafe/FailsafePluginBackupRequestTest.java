@@ -88,10 +88,26 @@ final class FailsafePluginBackupRequestTest {
     }
 
     @Test
-    void shouldUseFailedBackupRequest() {
+    void shouldIgnoreFailedBackupRequest() throws Throwable {
         server.enqueue(emptyMockResponse().setHeadersDelay(2, SECONDS));
         server.enqueue(new MockResponse().setResponseCode(INTERNAL_SERVER_ERROR.value()));
 
+        unit.get("/bar")
+                .dispatch(series(),
+                        on(SUCCESSFUL).call(pass()),
+                        on(SERVER_ERROR).call(() -> {
+                            throw new IllegalStateException();
+                        }))
+                .get(3, SECONDS);
+
+        verify(server, 2, "/bar");
+    }
+
+    @Test
+    void shouldFailIfAllRequestsFailed() {
+        server.enqueue(new MockResponse().setResponseCode(INTERNAL_SERVER_ERROR.value()).setHeadersDelay(2, SECONDS));
+        server.enqueue(new MockResponse().setResponseCode(INTERNAL_SERVER_ERROR.value()));
+
         final CompletionException exception = assertThrows(CompletionException.class, () ->
                 unit.get("/bar")
                         .dispatch(series(),
@@ -0,0 +1,109 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.CircuitBreaker;
+import dev.failsafe.Policy;
+import dev.failsafe.RetryPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures the overhead of the {@link FailsafePlugin} per request, with reusable policies compared to policies that
+ * are prepared for every request. Run via {@link #main(String[])}, the {@link GCProfiler} reports the allocation
+ * rate per operation as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FailsafePluginBenchmark {
+
+    @Param({"true", "false"})
+    public boolean reusable;
+
+    private final RequestArguments arguments = RequestArguments.create()
+            .withMethod(HttpMethod.GET);
+
+    private RequestExecution execution;
+
+    @Setup
+    public void setUp() {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+
+        execution = new FailsafePlugin()
+                .withPolicy(policy(new RetryRequestPolicy(RetryPolicy.<ClientHttpResponse>builder()
+                        .handle(IOException.class)
+                        .withMaxRetries(3)
+                        .build())))
+                .withPolicy(policy(RequestPolicies.of(CircuitBreaker.<ClientHttpResponse>builder()
+                        .withFailureThreshold(3, 10)
+                        .withDelay(Duration.ofMinutes(1))
+                        .build())))
+                .aroundAsync(arguments -> completedFuture(response));
+    }
+
+    private RequestPolicy policy(final RequestPolicy policy) {
+        if (reusable) {
+            return policy;
+        }
+
+        // prepares a policy per request, like RetryRequestPolicy used to
+        return new RequestPolicy() {
+            @Override
+            public boolean applies(final RequestArguments arguments) {
+                return policy.applies(arguments);
+            }
+
+            @Override
+            public Policy<ClientHttpResponse> prepare(final RequestArguments arguments) {
+                final Policy<ClientHttpResponse> prepared = policy.prepare(arguments);
+
+                if (prepared instanceof RetryPolicy) {
+                    return RetryPolicy.builder(((RetryPolicy<ClientHttpResponse>) prepared).getConfig())
+                            .onFailedAttempt(event -> policy.onAttempted(arguments, event))
+                            .build();
+                }
+
+                return prepared;
+            }
+        };
+    }
+
+    @Benchmark
+    public ClientHttpResponse execute() throws IOException {
+        return execution.execute(arguments).join();
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FailsafePluginBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
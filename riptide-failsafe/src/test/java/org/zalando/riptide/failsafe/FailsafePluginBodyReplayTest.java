@@ -0,0 +1,148 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.RetryPolicy;
+import lombok.SneakyThrows;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.BufferingClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.compression.RequestCompressionPlugin;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+import static org.zalando.riptide.PassRoute.pass;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.emptyMockResponse;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.getBaseUrl;
+
+final class FailsafePluginBodyReplayTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+
+    private final AtomicInteger serializations = new AtomicInteger();
+
+    private final Http unit = Http.builder()
+            .executor(newFixedThreadPool(2))
+            .requestFactory(new ApacheClientHttpRequestFactory(client))
+            .baseUrl(getBaseUrl(server))
+            .converter(new StringHttpMessageConverter() {
+                @Override
+                protected void writeInternal(final String body, final HttpOutputMessage message) throws IOException {
+                    serializations.incrementAndGet();
+                    super.writeInternal(body, message);
+                }
+            })
+            .plugin(new FailsafePlugin()
+                    .withBodyReplay()
+                    .withPolicy(RetryPolicy.<ClientHttpResponse>builder()
+                            .handleResultIf(this::isServiceUnavailable)
+                            .withMaxRetries(2)
+                            .build()))
+            .build();
+
+    @SneakyThrows
+    private boolean isServiceUnavailable(@Nullable final ClientHttpResponse response) {
+        return response != null && response.getStatusCode() == SERVICE_UNAVAILABLE;
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldSerializeBodyOnceAcrossRetries() throws InterruptedException {
+        server.enqueue(new MockResponse().setResponseCode(SERVICE_UNAVAILABLE.value()));
+        server.enqueue(new MockResponse().setResponseCode(SERVICE_UNAVAILABLE.value()));
+        server.enqueue(emptyMockResponse());
+
+        unit.put("/foo")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("Hello, world!")
+                .call(pass())
+                .join();
+
+        assertThat(serializations).hasValue(1);
+        assertThat(server.getRequestCount()).isEqualTo(3);
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            final RecordedRequest request = server.takeRequest(1, SECONDS);
+            assertThat(request.getBody().readUtf8()).isEqualTo("Hello, world!");
+            assertThat(request.getHeader("Content-Length")).isEqualTo("13");
+            assertThat(request.getHeader("Content-Type")).startsWith("text/plain");
+        }
+    }
+
+    @Test
+    void shouldReplayCompressedBodyWithItsActualLength() throws InterruptedException, IOException {
+        final Http unit = Http.builder()
+                .executor(newFixedThreadPool(2))
+                // sends buffered bodies with the Content-Length that was set while writing them
+                .requestFactory(new BufferingClientHttpRequestFactory(new SimpleClientHttpRequestFactory()))
+                .baseUrl(getBaseUrl(server))
+                .converter(new StringHttpMessageConverter())
+                .plugin(new FailsafePlugin()
+                        .withBodyReplay()
+                        .withPolicy(RetryPolicy.<ClientHttpResponse>builder()
+                                .handleResultIf(this::isServiceUnavailable)
+                                .withMaxRetries(1)
+                                .build()))
+                .plugin(new RequestCompressionPlugin())
+                .build();
+
+        server.enqueue(new MockResponse().setResponseCode(SERVICE_UNAVAILABLE.value()));
+        server.enqueue(emptyMockResponse());
+
+        unit.put("/foo")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("Hello, world!")
+                .call(pass())
+                .join();
+
+        assertThat(server.getRequestCount()).isEqualTo(2);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            final RecordedRequest request = server.takeRequest(1, SECONDS);
+            assertThat(request.getHeader("Content-Encoding")).isEqualTo("gzip");
+            assertThat(request.getHeader("Content-Length")).isEqualTo(String.valueOf(request.getBodySize()));
+
+            try (final InputStream stream = new GZIPInputStream(request.getBody().inputStream())) {
+                assertThat(new String(stream.readAllBytes(), UTF_8)).isEqualTo("Hello, world!");
+            }
+        }
+    }
+
+    @Test
+    void shouldSerializeBodyOfEveryRequest() {
+        server.enqueue(emptyMockResponse());
+        server.enqueue(emptyMockResponse());
+
+        unit.put("/foo").body("foo").call(pass()).join();
+        unit.put("/foo").body("bar").call(pass()).join();
+
+        assertThat(serializations).hasValue(2);
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.RetryPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Deadline;
+import org.zalando.riptide.DeadlineExceededException;
+import org.zalando.riptide.DeadlinePlugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.zalando.riptide.Attributes.DEADLINE;
+
+final class FailsafePluginDeadlineTest {
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void shouldNotRetryAfterDeadline() throws IOException {
+        final RequestExecution unit = new FailsafePlugin()
+                .withPolicy(new RetryRequestPolicy(retries(Duration.ofMillis(100))).withPredicate(arguments -> true))
+                .aroundAsync(this::fail);
+
+        assertThatThrownBy(() -> unit.execute(withDeadline(Duration.ofMillis(150))).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void shouldNotSendBackupRequestsAfterDeadline() throws Exception {
+        final CompletableFuture<ClientHttpResponse> original = new CompletableFuture<>();
+
+        final RequestExecution unit = new FailsafePlugin()
+                .withPolicy(new BackupRequest<>(100, MILLISECONDS), arguments -> true)
+                .aroundAsync(arguments -> {
+                    attempts.incrementAndGet();
+                    return original;
+                });
+
+        final CompletableFuture<ClientHttpResponse> future = unit.execute(withDeadline(Duration.ofMillis(50)));
+
+        Thread.sleep(200);
+
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        original.complete(response);
+
+        assertThat(future.get(1, SECONDS)).isSameAs(response);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void shouldCancelRetryDelaysAtDeadline() throws IOException {
+        final FailsafePlugin failsafe = new FailsafePlugin()
+                .withPolicy(new RetryRequestPolicy(retries(Duration.ofSeconds(5))).withPredicate(arguments -> true));
+
+        final RequestExecution unit = new DeadlinePlugin().withDefaultTimeout(Duration.ofMillis(100))
+                .aroundAsync(failsafe.aroundAsync(this::fail));
+
+        final long start = System.nanoTime();
+
+        assertThatThrownBy(() -> unit.execute(RequestArguments.create()).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(attempts).hasValue(1);
+    }
+
+    private RetryPolicy<ClientHttpResponse> retries(final Duration delay) {
+        return RetryPolicy.<ClientHttpResponse>builder()
+                .withDelay(delay)
+                .withMaxRetries(5)
+                .build();
+    }
+
+    private CompletableFuture<ClientHttpResponse> fail(final RequestArguments arguments) {
+        attempts.incrementAndGet();
+        return failedFuture(new IOException());
+    }
+
+    private static RequestArguments withDeadline(final Duration timeout) {
+        return RequestArguments.create().withAttribute(DEADLINE, Deadline.in(timeout));
+    }
+
+}
@@ -0,0 +1,241 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.Policy;
+import dev.failsafe.RetryPolicy;
+import dev.failsafe.event.ExecutionAttemptedEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.idempotency.Decision;
+import org.zalando.riptide.idempotency.IdempotencyPredicate;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.http.HttpMethod.POST;
+import static org.zalando.riptide.Attributes.RETRIES;
+
+final class FailsafePluginPolicyReuseTest {
+
+    private final ClientHttpResponse response = mock(ClientHttpResponse.class);
+
+    private final RetryPolicy<ClientHttpResponse> retries = RetryPolicy.<ClientHttpResponse>builder()
+            .handle(IOException.class)
+            .withMaxRetries(2)
+            .build();
+
+    @Test
+    void shouldPrepareReusablePoliciesOnce() throws IOException {
+        final CountingRequestPolicy policy = new CountingRequestPolicy(true);
+        final RequestExecution execution = new FailsafePlugin()
+                .withPolicy(policy)
+                .aroundAsync(arguments -> completedFuture(response));
+
+        execution.execute(RequestArguments.create()).join();
+        execution.execute(RequestArguments.create()).join();
+        execution.execute(RequestArguments.create()).join();
+
+        assertThat(policy.applies).hasValue(3);
+        assertThat(policy.prepares).hasValue(1);
+    }
+
+    @Test
+    void shouldPrepareOtherPoliciesPerRequest() throws IOException {
+        final CountingRequestPolicy reusable = new CountingRequestPolicy(true);
+        final CountingRequestPolicy policy = new CountingRequestPolicy(false);
+        final RequestExecution execution = new FailsafePlugin()
+                .withPolicy(reusable)
+                .withPolicy(policy)
+                .aroundAsync(arguments -> completedFuture(response));
+
+        execution.execute(RequestArguments.create()).join();
+        execution.execute(RequestArguments.create()).join();
+
+        assertThat(policy.applies).hasValue(2);
+        assertThat(policy.prepares).hasValue(2);
+        assertThat(reusable.prepares).hasValue(2);
+    }
+
+    @Test
+    void shouldPrepareEveryCombinationSeparately() throws IOException {
+        final CountingRequestPolicy always = new CountingRequestPolicy(true);
+        final CountingRequestPolicy sometimes = new CountingRequestPolicy(true);
+
+        final RequestExecution execution = new FailsafePlugin()
+                .withPolicy(always)
+                .withPolicy(RequestPolicies.of(sometimes, arguments -> arguments.getHeaders().containsKey("X-Retry")))
+                .aroundAsync(arguments -> completedFuture(response));
+
+        execution.execute(RequestArguments.create()).join();
+        execution.execute(RequestArguments.create().withHeader("X-Retry", "true")).join();
+        execution.execute(RequestArguments.create()).join();
+        execution.execute(RequestArguments.create().withHeader("X-Retry", "true")).join();
+
+        assertThat(always.prepares).hasValue(2);
+        assertThat(sometimes.prepares).hasValue(1);
+    }
+
+    @Test
+    void shouldNotifyRetryListenerWithRequest() throws IOException {
+        final RetryListener listener = mock(RetryListener.class);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final RequestArguments arguments = RequestArguments.create();
+        final RequestExecution execution = new FailsafePlugin()
+                .withPolicy(new RetryRequestPolicy(retries)
+                        .withPredicate(any -> true)
+                        .withListener(listener))
+                .aroundAsync(actual -> attempts.getAndIncrement() == 0 ?
+                        failedFuture(new IOException()) :
+                        completedFuture(response));
+
+        assertThat(execution.execute(arguments).join()).isSameAs(response);
+
+        verify(listener).onRetry(eq(arguments), any());
+    }
+
+    @Test
+    void shouldDecideIdempotencyOncePerRequest() throws IOException {
+        final AtomicInteger decisions = new AtomicInteger();
+        final IdempotencyPredicate predicate = new IdempotencyPredicate(singletonList((arguments, root) -> {
+            decisions.incrementAndGet();
+            return Decision.ACCEPT;
+        }));
+
+        final AtomicInteger attempts = new AtomicInteger();
+        final FailsafePlugin inner = new FailsafePlugin()
+                .withPolicy(RequestPolicies.of(new CountingRequestPolicy(true), predicate));
+        final RequestExecution execution = new FailsafePlugin()
+                .withPolicy(new RetryRequestPolicy(retries).withPredicate(predicate))
+                .withPolicy(RequestPolicies.of(new CountingRequestPolicy(true), predicate))
+                .aroundAsync(inner.aroundAsync(arguments -> attempts.getAndIncrement() == 0 ?
+                        failedFuture(new IOException()) :
+                        completedFuture(response)));
+
+        assertThat(execution.execute(RequestArguments.create().withMethod(POST)).join()).isSameAs(response);
+
+        assertThat(attempts).hasValue(2);
+        assertThat(decisions).hasValue(1);
+    }
+
+    @Test
+    void shouldNotifyRetryListenerAboutLastFailedAttempt() throws IOException {
+        final RetryListener listener = mock(RetryListener.class);
+
+        final RequestArguments arguments = RequestArguments.create();
+        final RequestExecution execution = new FailsafePlugin()
+                .withPolicy(new RetryRequestPolicy(retries)
+                        .withPredicate(any -> true)
+                        .withListener(listener))
+                .aroundAsync(actual -> failedFuture(new IOException()));
+
+        assertThatThrownBy(execution.execute(arguments)::join)
+                .hasCauseInstanceOf(IOException.class);
+
+        // one initial attempt and two retries
+        verify(listener, times(3)).onRetry(eq(arguments), any());
+    }
+
+    @Test
+    void shouldPassRetriesAsAttribute() throws IOException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final CompletableFuture<Integer> retried = new CompletableFuture<>();
+
+        final RequestExecution execution = new FailsafePlugin()
+                .withPolicy(new RetryRequestPolicy(retries).withPredicate(any -> true))
+                .aroundAsync(arguments -> {
+                    if (attempts.getAndIncrement() == 0) {
+                        return failedFuture(new IOException());
+                    }
+                    arguments.getAttribute(RETRIES).ifPresent(retried::complete);
+                    return completedFuture(response);
+                });
+
+        execution.execute(RequestArguments.create()).join();
+
+        assertThat(retried).isCompletedWithValue(1);
+    }
+
+    @Test
+    void shouldOnlyNotifyRetryListenersOfHandlingPolicies() throws IOException {
+        final RetryListener handling = mock(RetryListener.class);
+        final RetryListener other = mock(RetryListener.class);
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final RequestExecution execution = new FailsafePlugin()
+                .withPolicy(new RetryRequestPolicy(retries)
+                        .withPredicate(any -> true)
+                        .withListener(handling))
+                .withPolicy(new RetryRequestPolicy(RetryPolicy.<ClientHttpResponse>builder()
+                        .handle(RetryException.class)
+                        .build())
+                        .withPredicate(any -> true)
+                        .withListener(other))
+                .aroundAsync(arguments -> attempts.getAndIncrement() == 0 ?
+                        failedFuture(new IOException()) :
+                        completedFuture(response));
+
+        execution.execute(RequestArguments.create()).join();
+
+        verify(handling).onRetry(any(), ArgumentMatchers.<ExecutionAttemptedEvent<ClientHttpResponse>>any());
+        verify(other, never()).onRetry(any(), any());
+    }
+
+    @Test
+    void shouldRejectTooManyPolicies() {
+        FailsafePlugin plugin = new FailsafePlugin();
+
+        for (int i = 0; i < Long.SIZE; i++) {
+            plugin = plugin.withPolicy(new CountingRequestPolicy(true));
+        }
+
+        final FailsafePlugin full = plugin;
+
+        assertThatThrownBy(() -> full.withPolicy(new CountingRequestPolicy(true)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private final class CountingRequestPolicy implements RequestPolicy {
+
+        private final boolean reusable;
+        private final AtomicInteger applies = new AtomicInteger();
+        private final AtomicInteger prepares = new AtomicInteger();
+
+        private CountingRequestPolicy(final boolean reusable) {
+            this.reusable = reusable;
+        }
+
+        @Override
+        public boolean applies(final RequestArguments arguments) {
+            applies.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public Policy<ClientHttpResponse> prepare(final RequestArguments arguments) {
+            prepares.incrementAndGet();
+            return retries;
+        }
+
+        @Override
+        public boolean isReusable() {
+            return reusable;
+        }
+
+    }
+
+}
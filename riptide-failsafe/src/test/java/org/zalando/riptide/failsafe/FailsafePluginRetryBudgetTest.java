@@ -0,0 +1,207 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.RetryPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Attributes;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+final class FailsafePluginRetryBudgetTest {
+
+    private final ClientHttpResponse response = mock(ClientHttpResponse.class);
+    private final RetryBudgetListener listener = mock(RetryBudgetListener.class);
+
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private final RetryPolicy<ClientHttpResponse> retries = RetryPolicy.<ClientHttpResponse>builder()
+            .handle(IOException.class)
+            .withMaxRetries(3)
+            .build();
+
+    @Test
+    void shouldRetryWithoutBudget() throws IOException {
+        final RequestExecution unit = plugin(new FailsafePlugin());
+
+        failures.set(4);
+        assertThatThrownBy(() -> unit.execute(RequestArguments.create()).join())
+                .hasCauseInstanceOf(IOException.class);
+
+        assertThat(attempts).hasValue(4);
+    }
+
+    @Test
+    void shouldStopRetryingOnceBudgetIsExhausted() throws IOException {
+        final RequestExecution unit = plugin(new FailsafePlugin()
+                .withRetryBudget(new RetryBudget(0.5).withReserve(1).withListener(listener)));
+
+        failures.set(4);
+        assertThatThrownBy(() -> unit.execute(RequestArguments.create()).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IOException.class);
+
+        assertThat(attempts).hasValue(2);
+        verify(listener).onRetryDenied();
+    }
+
+    @Test
+    void shouldRefillBudgetWithRequests() throws IOException {
+        final RequestExecution unit = plugin(new FailsafePlugin()
+                .withRetryBudget(new RetryBudget(0.5).withReserve(1).withListener(listener)));
+
+        failures.set(1);
+        assertThat(unit.execute(RequestArguments.create()).join()).isSameAs(response);
+
+        failures.set(1);
+        assertThatThrownBy(() -> unit.execute(RequestArguments.create()).join())
+                .hasCauseInstanceOf(IOException.class);
+
+        unit.execute(RequestArguments.create()).join();
+
+        failures.set(1);
+        attempts.set(0);
+        assertThat(unit.execute(RequestArguments.create()).join()).isSameAs(response);
+        assertThat(attempts).hasValue(2);
+
+        verify(listener).onRetryDenied();
+    }
+
+    @Test
+    void shouldTrackBudgetPerHost() throws IOException {
+        final RequestExecution unit = plugin(new FailsafePlugin()
+                .withRetryBudget(new RetryBudget(0.5).withReserve(1).perHost().withListener(listener)));
+
+        failures.set(1);
+        unit.execute(forHost("alpha")).join();
+
+        failures.set(1);
+        assertThatThrownBy(() -> unit.execute(forHost("alpha")).join())
+                .hasCauseInstanceOf(IOException.class);
+
+        failures.set(1);
+        assertThat(unit.execute(forHost("beta")).join()).isSameAs(response);
+
+        verify(listener, times(1)).onRetryDenied();
+    }
+
+    @Test
+    void shouldNotOvershootBudgetUnderConcurrency() throws Exception {
+        final List<CompletableFuture<ClientHttpResponse>> pending = new CopyOnWriteArrayList<>();
+
+        final RequestExecution unit = new FailsafePlugin()
+                .withRetryBudget(new RetryBudget(0.1).withReserve(1).withListener(listener))
+                .withPolicy(new RetryRequestPolicy(retries).withPredicate(arguments -> true))
+                .aroundAsync(arguments -> {
+                    attempts.incrementAndGet();
+
+                    if (arguments.getAttribute(Attributes.RETRIES).isPresent()) {
+                        return completedFuture(response);
+                    }
+
+                    final CompletableFuture<ClientHttpResponse> attempt = new CompletableFuture<>();
+                    pending.add(attempt);
+                    return attempt;
+                });
+
+        final List<CompletableFuture<ClientHttpResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(unit.execute(RequestArguments.create()));
+        }
+
+        // first attempts are started asynchronously
+        final long deadline = System.nanoTime() + SECONDS.toNanos(5);
+        while (pending.size() < 8 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(pending).hasSize(8);
+
+        // all first attempts fail at the same time, each one on its own thread
+        final ExecutorService executor = newFixedThreadPool(8);
+        final CyclicBarrier barrier = new CyclicBarrier(8);
+
+        try {
+            for (final CompletableFuture<ClientHttpResponse> attempt : pending) {
+                executor.execute(() -> {
+                    try {
+                        barrier.await();
+                    } catch (final Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    attempt.completeExceptionally(new IOException());
+                });
+            }
+
+            futures.forEach(future -> future.handle((result, throwable) -> null).orTimeout(5, SECONDS).join());
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(attempts).hasValue(9);
+        verify(listener, times(7)).onRetryDenied();
+    }
+
+    @Test
+    void shouldRefundWithdrawalOnceRetriesAreExceeded() throws IOException {
+        final RequestExecution unit = new FailsafePlugin()
+                .withRetryBudget(new RetryBudget(0.1).withReserve(1).withListener(listener))
+                .withPolicy(new RetryRequestPolicy(RetryPolicy.<ClientHttpResponse>builder()
+                        .handle(IOException.class)
+                        .withMaxRetries(0)
+                        .build()).withPredicate(arguments -> true))
+                .aroundAsync(arguments -> failedFuture(new IOException()));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> unit.execute(RequestArguments.create()).join())
+                    .hasCauseInstanceOf(IOException.class);
+        }
+
+        verify(listener, never()).onRetryDenied();
+    }
+
+    @Test
+    void shouldRejectInvalidRatio() {
+        assertThatThrownBy(() -> new RetryBudget(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RetryBudget(0.1).withReserve(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RequestExecution plugin(final FailsafePlugin plugin) {
+        return plugin
+                .withPolicy(new RetryRequestPolicy(retries).withPredicate(arguments -> true))
+                .aroundAsync(arguments -> {
+                    attempts.incrementAndGet();
+                    return failures.getAndUpdate(count -> Math.max(0, count - 1)) > 0 ?
+                            failedFuture(new IOException()) :
+                            completedFuture(response);
+                });
+    }
+
+    private static RequestArguments forHost(final String host) {
+        return RequestArguments.create().withUri(URI.create("http://" + host + "/"));
+    }
+
+}
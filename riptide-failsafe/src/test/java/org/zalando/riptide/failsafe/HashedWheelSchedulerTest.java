@@ -0,0 +1,166 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.RetryPolicy;
+import dev.failsafe.Timeout;
+import dev.failsafe.TimeoutExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.DeadlineExceededException;
+import org.zalando.riptide.DeadlinePlugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+final class HashedWheelSchedulerTest {
+
+    private final ExecutorService executor = newFixedThreadPool(2);
+
+    private final HashedWheelScheduler unit = new HashedWheelScheduler(Duration.ofMillis(1), 8)
+            .withExecutor(executor);
+
+    @AfterEach
+    void tearDown() {
+        unit.close();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunTasksWithoutDelayImmediately() throws Exception {
+        final ScheduledFuture<?> future = unit.schedule(() -> "done", 0, MILLISECONDS);
+
+        assertThat(future.get(1, SECONDS)).isEqualTo("done");
+    }
+
+    @Test
+    void shouldNeverRunTasksEarly() throws Exception {
+        final List<ScheduledFuture<?>> futures = new ArrayList<>();
+
+        // spans multiple rounds of the wheel
+        for (int delay = 1; delay <= 50; delay += 7) {
+            final long start = System.nanoTime();
+            final long expected = MILLISECONDS.toNanos(delay);
+            futures.add(unit.schedule(() -> System.nanoTime() - start >= expected, delay, MILLISECONDS));
+        }
+
+        for (final ScheduledFuture<?> future : futures) {
+            assertThat(future.get(1, SECONDS)).isEqualTo(true);
+        }
+    }
+
+    @Test
+    void shouldNotRunCancelledTasks() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final ScheduledFuture<?> future = unit.schedule(runs::incrementAndGet, 20, MILLISECONDS);
+
+        assertThat(future.cancel(false)).isTrue();
+        assertThat(future.isCancelled()).isTrue();
+
+        unit.schedule(() -> null, 50, MILLISECONDS).get(1, SECONDS);
+
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void shouldReportRemainingDelay() {
+        final ScheduledFuture<?> future = unit.schedule(() -> null, 1, SECONDS);
+
+        assertThat(future.getDelay(MILLISECONDS)).isBetween(1L, 1000L);
+        assertThat(future.compareTo(unit.schedule(() -> null, 2, SECONDS))).isNegative();
+    }
+
+    @Test
+    void shouldCancelPendingTasksOnClose() {
+        final ScheduledFuture<?> future = unit.schedule(() -> null, 1, SECONDS);
+
+        unit.close();
+
+        assertThatThrownBy(() -> future.get(1, SECONDS)).isInstanceOf(CancellationException.class);
+        assertThatThrownBy(() -> unit.schedule(() -> null, 1, SECONDS).get(1, SECONDS))
+                .hasMessageContaining("closed");
+    }
+
+    @Test
+    void shouldIgnoreCloseOfSharedScheduler() throws Exception {
+        HashedWheelScheduler.shared().close();
+
+        assertThat(HashedWheelScheduler.shared().schedule(() -> "done", 1, MILLISECONDS).get(1, SECONDS))
+                .isEqualTo("done");
+    }
+
+    @Test
+    void shouldDelayRetries() throws IOException {
+        final AtomicInteger attempts = new AtomicInteger();
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+
+        final RequestExecution execution = new FailsafePlugin()
+                .withScheduler(unit)
+                .withPolicy(RetryPolicy.<ClientHttpResponse>builder()
+                        .withDelay(Duration.ofMillis(20))
+                        .withMaxRetries(2)
+                        .build())
+                .aroundAsync(arguments -> attempts.incrementAndGet() < 3 ?
+                        failedFuture(new IOException()) :
+                        completedFuture(response));
+
+        final long start = System.nanoTime();
+
+        assertThat(execution.execute(RequestArguments.create().withMethod(HttpMethod.GET)).join()).isSameAs(response);
+        assertThat(attempts).hasValue(3);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    void shouldTimeout() throws IOException {
+        final RequestExecution execution = new FailsafePlugin()
+                .withScheduler(unit)
+                .withPolicy(Timeout.of(Duration.ofMillis(50)))
+                .aroundAsync(arguments -> new CompletableFuture<>());
+
+        final long start = System.nanoTime();
+
+        assertThatThrownBy(execution.execute(RequestArguments.create())::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TimeoutExceededException.class);
+
+        assertThat(NANOSECONDS.toMillis(System.nanoTime() - start)).isBetween(50L, 1000L);
+    }
+
+    @Test
+    void shouldEnforceDeadlines() throws IOException {
+        final RequestExecution execution = new DeadlinePlugin()
+                .withScheduler(unit)
+                .withDefaultTimeout(Duration.ofMillis(50))
+                .aroundAsync(arguments -> new CompletableFuture<>());
+
+        final long start = System.nanoTime();
+
+        assertThatThrownBy(execution.execute(RequestArguments.create())::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(DeadlineExceededException.class);
+
+        assertThat(NANOSECONDS.toMillis(System.nanoTime() - start)).isBetween(40L, 1000L);
+    }
+
+}
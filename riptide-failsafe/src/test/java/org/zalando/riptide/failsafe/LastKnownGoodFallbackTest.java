@@ -0,0 +1,291 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.CircuitBreaker;
+import dev.failsafe.CircuitBreakerOpenException;
+import dev.failsafe.Timeout;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpHeaders.WARNING;
+import static org.zalando.riptide.Route.call;
+import static org.zalando.riptide.failsafe.LastKnownGoodFallback.STALENESS;
+import static org.zalando.riptide.failsafe.MockWebServerUtil.getBaseUrl;
+
+final class LastKnownGoodFallbackTest {
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final CloseableHttpClient client = HttpClientBuilder.create().build();
+
+    private final CircuitBreaker<ClientHttpResponse> breaker = CircuitBreaker.<ClientHttpResponse>builder()
+            .withDelay(Duration.ofMinutes(1))
+            .build();
+
+    private final List<String> bodies = new ArrayList<>();
+    private final List<HttpHeaders> headers = new ArrayList<>();
+    private final List<Boolean> stale = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    void shouldDispatchLastKnownGoodResponseWhileCircuitBreakerIsOpen() {
+        final Http unit = create(new FailsafePlugin()
+                .withFallback(new LastKnownGoodFallback())
+                .withPolicy(breaker));
+
+        server.enqueue(new MockResponse().setBody("Hello").setHeader("ETag", "\"1\""));
+
+        get(unit, "/foo");
+
+        breaker.open();
+
+        get(unit, "/foo");
+
+        assertThat(bodies).containsExactly("Hello", "Hello");
+        assertThat(stale).containsExactly(false, true);
+        assertThat(headers.get(0).getFirst(WARNING)).isNull();
+        assertThat(headers.get(1).getFirst(WARNING)).isEqualTo(LastKnownGoodFallback.WARNING);
+        assertThat(headers.get(1).getFirst(HttpHeaders.AGE)).isEqualTo("0");
+        assertThat(headers.get(1).getETag()).isEqualTo("\"1\"");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailWithoutLastKnownGoodResponse() {
+        final Http unit = create(new FailsafePlugin()
+                .withFallback(new LastKnownGoodFallback())
+                .withPolicy(breaker));
+
+        server.enqueue(new MockResponse().setBody("Hello"));
+        get(unit, "/foo");
+
+        breaker.open();
+
+        assertThatThrownBy(() -> get(unit, "/bar"))
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+        assertThatThrownBy(unit.get("/foo").header("Accept", "text/plain").call(call(() -> {}))::join)
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    void shouldNotServeResponsesBeyondMaxStaleness() throws InterruptedException {
+        final Http unit = create(new FailsafePlugin()
+                .withFallback(new LastKnownGoodFallback().withMaxStaleness(Duration.ofMillis(50)))
+                .withPolicy(breaker));
+
+        server.enqueue(new MockResponse().setBody("Hello"));
+        get(unit, "/foo");
+
+        breaker.open();
+        Thread.sleep(100);
+
+        assertThatThrownBy(() -> get(unit, "/foo"))
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    void shouldDispatchLastKnownGoodResponseOnTimeout() {
+        final Http unit = create(new FailsafePlugin()
+                .withFallback(new LastKnownGoodFallback())
+                .withPolicy(Timeout.of(Duration.ofMillis(200))));
+
+        server.enqueue(new MockResponse().setBody("Hello"));
+        server.enqueue(new MockResponse().setBody("World").setHeadersDelay(1, SECONDS));
+
+        get(unit, "/foo");
+        get(unit, "/foo");
+
+        assertThat(bodies).containsExactly("Hello", "Hello");
+        assertThat(stale).containsExactly(false, true);
+    }
+
+    @Test
+    void shouldPassLargeResponsesWithoutCaching() {
+        final Http unit = create(new FailsafePlugin()
+                .withFallback(new LastKnownGoodFallback().withMaxBytes(3))
+                .withPolicy(breaker));
+
+        server.enqueue(new MockResponse().setBody("Hello"));
+
+        get(unit, "/foo");
+        assertThat(bodies).containsExactly("Hello");
+
+        breaker.open();
+
+        assertThatThrownBy(() -> get(unit, "/foo"))
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    void shouldNotApplyToUnsafeRequests() {
+        final Http unit = create(new FailsafePlugin()
+                .withFallback(new LastKnownGoodFallback())
+                .withPolicy(breaker));
+
+        server.enqueue(new MockResponse().setBody("Hello"));
+        unit.post("/foo").call(call(() -> {})).join();
+
+        breaker.open();
+
+        assertThatThrownBy(unit.post("/foo").call(call(() -> {}))::join)
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    void shouldNotServeResponsesToOtherPrincipals() {
+        final Http unit = create(new FailsafePlugin()
+                .withFallback(new LastKnownGoodFallback())
+                .withPolicy(breaker));
+
+        server.enqueue(new MockResponse().setBody("Alice's"));
+        get(unit, "/foo", "Bearer alice");
+
+        breaker.open();
+
+        assertThatThrownBy(() -> get(unit, "/foo", "Bearer bob"))
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+        assertThatThrownBy(() -> get(unit, "/foo"))
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+
+        get(unit, "/foo", "Bearer alice");
+        assertThat(bodies).containsExactly("Alice's", "Alice's");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"no-store", "private", "max-age=60, private=\"Set-Cookie\"", "No-Store"})
+    void shouldNotCacheResponsesThatMustNotBeStored(final String cacheControl) {
+        final Http unit = create(new FailsafePlugin()
+                .withFallback(new LastKnownGoodFallback())
+                .withPolicy(breaker));
+
+        server.enqueue(new MockResponse().setBody("Hello").setHeader("Cache-Control", cacheControl));
+        get(unit, "/foo");
+        assertThat(bodies).containsExactly("Hello");
+
+        breaker.open();
+
+        assertThatThrownBy(() -> get(unit, "/foo"))
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    void shouldNotCacheResponsesOfRequestsThatMustNotBeStored() {
+        final Http unit = create(new FailsafePlugin()
+                .withFallback(new LastKnownGoodFallback())
+                .withPolicy(breaker));
+
+        server.enqueue(new MockResponse().setBody("Hello"));
+        unit.get("/foo").header("Cache-Control", "no-store").call(call(() -> {})).join();
+
+        breaker.open();
+
+        assertThatThrownBy(() -> get(unit, "/foo"))
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    void shouldBypassFallback() {
+        final Http unit = create(new FailsafePlugin()
+                .withFallback(new LastKnownGoodFallback())
+                .withPolicy(breaker));
+
+        server.enqueue(new MockResponse().setBody("Hello"));
+        unit.get("/foo").attribute(LastKnownGoodFallback.BYPASS, true).call(call(() -> {})).join();
+
+        server.enqueue(new MockResponse().setBody("World"));
+        get(unit, "/bar");
+
+        breaker.open();
+
+        assertThatThrownBy(() -> get(unit, "/foo"))
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+        assertThatThrownBy(unit.get("/bar").attribute(LastKnownGoodFallback.BYPASS, true).call(call(() -> {}))::join)
+                .hasCauseInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    void shouldMarkRequestsOfStaleResponses() {
+        final List<Duration> staleness = new ArrayList<>();
+
+        final Http unit = Http.builder()
+                .executor(newFixedThreadPool(2))
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(getBaseUrl(server))
+                .plugin(new FailsafePlugin()
+                        .withFallback(new LastKnownGoodFallback())
+                        .withPolicy(breaker))
+                .plugin(new Plugin() {
+                    @Override
+                    public RequestExecution aroundDispatch(final RequestExecution execution) {
+                        return arguments -> {
+                            arguments.getAttribute(STALENESS).ifPresent(staleness::add);
+                            return execution.execute(arguments);
+                        };
+                    }
+                })
+                .build();
+
+        server.enqueue(new MockResponse().setBody("Hello"));
+
+        get(unit, "/foo");
+        assertThat(staleness).isEmpty();
+
+        breaker.open();
+
+        get(unit, "/foo");
+        assertThat(staleness).hasSize(1);
+    }
+
+    private Http create(final FailsafePlugin plugin) {
+        return Http.builder()
+                .executor(newFixedThreadPool(2))
+                .requestFactory(new ApacheClientHttpRequestFactory(client))
+                .baseUrl(getBaseUrl(server))
+                .plugin(plugin)
+                .build();
+    }
+
+    private void get(final Http unit, final String path) {
+        get(unit, path, null);
+    }
+
+    private void get(final Http unit, final String path, @Nullable final String authorization) {
+        (authorization == null ? unit.get(path) : unit.get(path).header("Authorization", authorization))
+                .call(call(response -> {
+                    bodies.add(new String(response.getBody().readAllBytes(), UTF_8));
+                    headers.add(response.getHeaders());
+                    stale.add(LastKnownGoodFallback.isStale(response));
+                }))
+                .join();
+    }
+
+}
@@ -0,0 +1,75 @@
+package org.zalando.riptide.failsafe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+final class LatencySketchTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LatencySketch unit = new LatencySketch(SECONDS.toNanos(10), clock::get);
+
+    @Test
+    void shouldMapValuesToContinuousBuckets() {
+        for (long value = 0; value < 100_000; value++) {
+            final int index = LatencySketch.index(value);
+            assertThat(LatencySketch.upperBound(index)).isGreaterThanOrEqualTo(value);
+
+            if (index > 0) {
+                assertThat(LatencySketch.upperBound(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    void shouldEstimatePercentiles() {
+        for (int millis = 1; millis <= 1000; millis++) {
+            unit.record(MILLISECONDS.toNanos(millis));
+        }
+
+        assertThat(unit.percentile(0.5, 1)).isCloseTo(MILLISECONDS.toNanos(500), within(MILLISECONDS.toNanos(32)));
+        assertThat(unit.percentile(0.95, 1)).isCloseTo(MILLISECONDS.toNanos(950), within(MILLISECONDS.toNanos(64)));
+        assertThat(unit.percentile(0.95, 1)).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(950));
+    }
+
+    @Test
+    void shouldRequireMinimumNumberOfSamples() {
+        unit.record(MILLISECONDS.toNanos(10));
+
+        assertThat(unit.percentile(0.95, 2)).isEqualTo(-1);
+        assertThat(unit.percentile(0.95, 1)).isPositive();
+    }
+
+    @Test
+    void shouldForgetOldObservations() {
+        unit.record(MILLISECONDS.toNanos(10));
+
+        clock.addAndGet(SECONDS.toNanos(10));
+        unit.record(MILLISECONDS.toNanos(20));
+
+        assertThat(unit.percentile(0.5, 2)).isCloseTo(MILLISECONDS.toNanos(10), within(MILLISECONDS.toNanos(1)));
+
+        clock.addAndGet(SECONDS.toNanos(10));
+
+        assertThat(unit.percentile(0.5, 1)).isCloseTo(MILLISECONDS.toNanos(20), within(MILLISECONDS.toNanos(2)));
+
+        clock.addAndGet(SECONDS.toNanos(20));
+
+        assertThat(unit.percentile(0.5, 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldClampValues() {
+        unit.record(-1);
+        unit.record(Long.MAX_VALUE);
+
+        assertThat(unit.percentile(0.1, 1)).isZero();
+        assertThat(unit.percentile(1.0, 1)).isPositive();
+    }
+
+}
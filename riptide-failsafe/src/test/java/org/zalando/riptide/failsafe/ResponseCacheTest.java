@@ -0,0 +1,74 @@
+package org.zalando.riptide.failsafe;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class ResponseCacheTest {
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntries() {
+        final ResponseCache unit = new ResponseCache(2, 1024, Duration.ofMinutes(1));
+
+        unit.put("a", entry(1));
+        unit.put("b", entry(1));
+        unit.get("a");
+        unit.put("c", entry(1));
+
+        assertThat(unit.get("a")).isNotNull();
+        assertThat(unit.get("b")).isNull();
+        assertThat(unit.get("c")).isNotNull();
+        assertThat(unit.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictEntriesBeyondMaxBytes() {
+        final ResponseCache unit = new ResponseCache(10, 10, Duration.ofMinutes(1));
+
+        unit.put("a", entry(4));
+        unit.put("b", entry(4));
+        unit.put("c", entry(4));
+
+        assertThat(unit.get("a")).isNull();
+        assertThat(unit.bytes()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldReplaceEntries() {
+        final ResponseCache unit = new ResponseCache(10, 10, Duration.ofMinutes(1));
+
+        unit.put("a", entry(4));
+        unit.put("a", entry(6));
+
+        assertThat(unit.size()).isEqualTo(1);
+        assertThat(unit.bytes()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldIgnoreEntriesLargerThanMaxBytes() {
+        final ResponseCache unit = new ResponseCache(10, 10, Duration.ofMinutes(1));
+
+        unit.put("a", entry(11));
+
+        assertThat(unit.size()).isZero();
+    }
+
+    @Test
+    void shouldExpireStaleEntries() {
+        final ResponseCache unit = new ResponseCache(10, 10, Duration.ZERO);
+
+        unit.put("a", entry(1));
+
+        assertThat(unit.get("a")).isNull();
+        assertThat(unit.bytes()).isZero();
+    }
+
+    private static ResponseCache.Entry entry(final int size) {
+        return new ResponseCache.Entry(HttpStatus.OK, "OK", new HttpHeaders(), new byte[size]);
+    }
+
+}
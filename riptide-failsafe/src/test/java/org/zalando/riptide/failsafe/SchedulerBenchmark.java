@@ -0,0 +1,88 @@
+package org.zalando.riptide.failsafe;
+
+import dev.failsafe.spi.Scheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Compares Failsafe's {@link Scheduler#DEFAULT default scheduler} to the {@link HashedWheelScheduler} for the
+ * typical life cycle of a timeout or backup request: scheduled, then cancelled before it's due, since the response
+ * arrived in time. Both are measured with and without a backlog of pending tasks and with concurrent callers. Run via
+ * {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    private static final Callable<Object> TASK = () -> null;
+
+    @Param({"default", "hashed-wheel"})
+    public String type;
+
+    @Param({"0", "100000"})
+    public int pending;
+
+    private HashedWheelScheduler wheel;
+    private Scheduler scheduler;
+
+    private final List<ScheduledFuture<?>> backlog = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        wheel = new HashedWheelScheduler();
+        scheduler = type.equals("default") ? Scheduler.DEFAULT : wheel;
+
+        for (int index = 0; index < pending; index++) {
+            backlog.add(scheduler.schedule(TASK, 1, HOURS));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        backlog.forEach(future -> future.cancel(false));
+        backlog.clear();
+        wheel.close();
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        return scheduler.schedule(TASK, 500, MILLISECONDS).cancel(false);
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SchedulerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
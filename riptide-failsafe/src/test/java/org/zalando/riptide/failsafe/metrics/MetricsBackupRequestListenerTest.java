@@ -0,0 +1,41 @@
+package org.zalando.riptide.failsafe.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.failsafe.BackupRequestListener;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+final class MetricsBackupRequestListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BackupRequestListener unit = new MetricsBackupRequestListener(registry)
+            .withMetricName("backup-requests")
+            .withDefaultTags(Tag.of("test", "true"));
+
+    @Test
+    void shouldCountBackupRequests() {
+        unit.onBackupRequest();
+        unit.onBackupRequest();
+        unit.onBackupRequestWon();
+        unit.onBackupRequestRejected();
+
+        assertThat(count("backup-requests.sent"), is(2.0));
+        assertThat(count("backup-requests.won"), is(1.0));
+        assertThat(count("backup-requests.rejected"), is(1.0));
+    }
+
+    @Test
+    void shouldRegisterCountersEagerly() {
+        assertThat(count("backup-requests.sent"), is(0.0));
+        assertThat(count("backup-requests.won"), is(0.0));
+        assertThat(count("backup-requests.rejected"), is(0.0));
+    }
+
+    private double count(final String name) {
+        return registry.get(name).tag("test", "true").counter().count();
+    }
+
+}
@@ -71,6 +71,19 @@ final class MetricsCircuitBreakerListenerTest {
         assertEquals(2, halfOpen.count());
     }
 
+    @Test
+    void shouldTagListenersPerKey() {
+        final CircuitBreakerListener listener = unit.forKey("alpha");
+
+        listener.onOpen();
+        listener.onClose();
+
+        final Timer timer = getOnlyElement(timers());
+
+        assertEquals("alpha", timer.getId().getTag("key"));
+        assertEquals("true", timer.getId().getTag("test"));
+    }
+
     private List<Timer> timers() {
         return new ArrayList<>(registry.find("circuit-breakers").timers());
     }
@@ -0,0 +1,35 @@
+package org.zalando.riptide.failsafe.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.failsafe.RetryBudgetListener;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+final class MetricsRetryBudgetListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RetryBudgetListener unit = new MetricsRetryBudgetListener(registry)
+            .withMetricName("retries.denied")
+            .withDefaultTags(Tag.of("test", "true"));
+
+    @Test
+    void shouldRegisterCounterEagerly() {
+        assertThat(count(), is(0.0));
+    }
+
+    @Test
+    void shouldCountDeniedRetries() {
+        unit.onRetryDenied();
+        unit.onRetryDenied();
+
+        assertThat(count(), is(2.0));
+    }
+
+    private double count() {
+        return registry.get("retries.denied").tag("test", "true").counter().count();
+    }
+
+}
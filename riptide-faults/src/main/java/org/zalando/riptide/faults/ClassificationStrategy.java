@@ -1,9 +1,8 @@
 package org.zalando.riptide.faults;
 
-import java.util.List;
+import javax.annotation.Nullable;
 import java.util.function.Predicate;
 
-import static com.google.common.base.Throwables.getCausalChain;
 import static com.google.common.base.Throwables.getRootCause;
 
 public interface ClassificationStrategy {
@@ -17,9 +16,30 @@ public interface ClassificationStrategy {
 
     static ClassificationStrategy causalChain() {
         return (throwable, predicate) -> {
-            @SuppressWarnings("UnstableApiUsage")
-            final List<Throwable> chain = getCausalChain(throwable);
-            return chain.stream().anyMatch(predicate);
+            // walks the chain like Throwables.getCausalChain does, including its loop detection, but without a list
+            @Nullable Throwable cause = throwable;
+            Throwable slow = throwable;
+            boolean advance = false;
+
+            while (cause != null) {
+                if (predicate.test(cause)) {
+                    return true;
+                }
+
+                cause = cause.getCause();
+
+                if (cause == slow) {
+                    throw new IllegalArgumentException("Loop in causal chain detected.", cause);
+                }
+
+                if (advance) {
+                    slow = slow.getCause();
+                }
+
+                advance = !advance;
+            }
+
+            return false;
         };
     }
 
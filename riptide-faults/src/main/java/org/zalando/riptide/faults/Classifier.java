@@ -0,0 +1,105 @@
+package org.zalando.riptide.faults;
+
+import org.zalando.riptide.faults.Predicates.AllOf;
+import org.zalando.riptide.faults.Predicates.AnyOf;
+import org.zalando.riptide.faults.Predicates.InstanceOf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.zalando.riptide.faults.Predicates.alwaysFalse;
+import static org.zalando.riptide.faults.Predicates.alwaysTrue;
+
+/**
+ * A predicate that is compiled once per class of throwable: Everything that only depends on the class, i.e.
+ * {@link Predicates#instanceOf(Class, Class[]) instanceOf} checks and their combinations via {@link Rule rules},
+ * {@link Predicates#or(Predicate, Predicate[]) or} and {@link Predicates#and(Predicate, Predicate[]) and}, is
+ * decided upfront. What's left, e.g. a check of the message, is evaluated for every throwable.
+ */
+final class Classifier implements Predicate<Throwable> {
+
+    private static final Predicate<Throwable> TRUE = alwaysTrue();
+    private static final Predicate<Throwable> FALSE = alwaysFalse();
+
+    private final ClassValue<Predicate<Throwable>> residuals;
+
+    private Classifier(final Predicate<Throwable> predicate) {
+        this.residuals = new ClassValue<>() {
+            @Override
+            protected Predicate<Throwable> computeValue(final Class<?> type) {
+                return reduce(predicate, type);
+            }
+        };
+    }
+
+    static Predicate<Throwable> compile(final Predicate<Throwable> predicate) {
+        return predicate instanceof Classifier ? predicate : new Classifier(predicate);
+    }
+
+    @Override
+    public boolean test(final Throwable throwable) {
+        return residuals.get(throwable.getClass()).test(throwable);
+    }
+
+    /**
+     * @return {@link Predicates#alwaysTrue()} or {@link Predicates#alwaysFalse()} if the given predicate is decided
+     * by the given type alone, or the part of the predicate that needs to be evaluated for every instance otherwise
+     */
+    @SuppressWarnings("unchecked")
+    static Predicate<Throwable> reduce(final Predicate<Throwable> predicate, final Class<?> type) {
+        if (predicate instanceof InstanceOf) {
+            return ((InstanceOf) predicate).matches(type) ? TRUE : FALSE;
+        } else if (predicate instanceof Rule) {
+            final Rule<Throwable> rule = (Rule<Throwable>) predicate;
+            final Predicate<Throwable> include = reduce(rule.getInclude(), type);
+
+            if (include == FALSE) {
+                return include;
+            }
+
+            final Predicate<Throwable> exclude = reduce(rule.getExclude(), type);
+
+            if (exclude == TRUE) {
+                return FALSE;
+            } else if (exclude == FALSE) {
+                return include;
+            }
+
+            return Rule.of(include, exclude);
+        } else if (predicate instanceof AnyOf) {
+            final List<Predicate<Throwable>> predicates = new ArrayList<>();
+
+            for (final Predicate<Throwable> current : ((AnyOf<Throwable>) predicate).getPredicates()) {
+                final Predicate<Throwable> reduced = reduce(current, type);
+
+                if (reduced == TRUE) {
+                    return reduced;
+                } else if (reduced != FALSE) {
+                    predicates.add(reduced);
+                }
+            }
+
+            return predicates.isEmpty() ? FALSE :
+                    predicates.size() == 1 ? predicates.get(0) : new AnyOf<>(predicates);
+        } else if (predicate instanceof AllOf) {
+            final List<Predicate<Throwable>> predicates = new ArrayList<>();
+
+            for (final Predicate<Throwable> current : ((AllOf<Throwable>) predicate).getPredicates()) {
+                final Predicate<Throwable> reduced = reduce(current, type);
+
+                if (reduced == FALSE) {
+                    return reduced;
+                } else if (reduced != TRUE) {
+                    predicates.add(reduced);
+                }
+            }
+
+            return predicates.isEmpty() ? TRUE :
+                    predicates.size() == 1 ? predicates.get(0) : new AllOf<>(predicates);
+        }
+
+        return predicate;
+    }
+
+}
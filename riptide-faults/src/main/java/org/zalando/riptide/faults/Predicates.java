@@ -2,14 +2,20 @@ package org.zalando.riptide.faults;
 
 import org.apiguardian.api.API;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 
 @API(status = EXPERIMENTAL)
 public final class Predicates {
 
+    private static final Predicate<Object> ALWAYS_TRUE = ignored -> true;
+    private static final Predicate<Object> ALWAYS_FALSE = ignored -> false;
+
     private Predicates() {
         // nothing to do
     }
@@ -18,15 +24,119 @@ public final class Predicates {
     public static <T> Predicate<T> or(
             final Predicate<T> predicate,
             final Predicate<T>... predicates) {
-        return Stream.of(predicates).reduce(predicate, Predicate::or);
+        return new AnyOf<>(concat(predicate, predicates));
+    }
+
+    @SafeVarargs
+    public static <T> Predicate<T> and(
+            final Predicate<T> predicate,
+            final Predicate<T>... predicates) {
+        return new AllOf<>(concat(predicate, predicates));
+    }
+
+    /**
+     * Unlike {@code SomeException.class::isInstance}, this predicate is decided by the class of a throwable alone.
+     * {@link TransientFaults#combine(ClassificationStrategy, Predicate) Combined} predicates cache those decisions
+     * per class.
+     *
+     * @param type the type to match
+     * @param types further types to match
+     * @return a predicate that matches instances of any of the given types
+     */
+    @SafeVarargs
+    public static Predicate<Throwable> instanceOf(
+            final Class<? extends Throwable> type,
+            final Class<? extends Throwable>... types) {
+        return new InstanceOf(concat(type, types));
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> Predicate<T> alwaysTrue() {
-        return ignored -> true;
+        return (Predicate<T>) ALWAYS_TRUE;
     }
 
+    @SuppressWarnings("unchecked")
     public static <T> Predicate<T> alwaysFalse() {
-        return ignored -> false;
+        return (Predicate<T>) ALWAYS_FALSE;
+    }
+
+    private static <T> List<T> concat(final T first, final T[] rest) {
+        final List<T> list = new ArrayList<>(rest.length + 1);
+        list.add(first);
+        list.addAll(Arrays.asList(rest));
+        return Collections.unmodifiableList(list);
+    }
+
+    static final class AnyOf<T> implements Predicate<T> {
+
+        private final List<Predicate<T>> predicates;
+
+        AnyOf(final List<Predicate<T>> predicates) {
+            this.predicates = predicates;
+        }
+
+        List<Predicate<T>> getPredicates() {
+            return predicates;
+        }
+
+        @Override
+        public boolean test(final T input) {
+            for (final Predicate<T> predicate : predicates) {
+                if (predicate.test(input)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    static final class AllOf<T> implements Predicate<T> {
+
+        private final List<Predicate<T>> predicates;
+
+        AllOf(final List<Predicate<T>> predicates) {
+            this.predicates = predicates;
+        }
+
+        List<Predicate<T>> getPredicates() {
+            return predicates;
+        }
+
+        @Override
+        public boolean test(final T input) {
+            for (final Predicate<T> predicate : predicates) {
+                if (!predicate.test(input)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    static final class InstanceOf implements Predicate<Throwable> {
+
+        private final List<Class<? extends Throwable>> types;
+
+        InstanceOf(final List<Class<? extends Throwable>> types) {
+            this.types = types;
+        }
+
+        boolean matches(final Class<?> type) {
+            for (final Class<? extends Throwable> candidate : types) {
+                if (candidate.isAssignableFrom(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean test(final Throwable throwable) {
+            return matches(throwable.getClass());
+        }
+
     }
 
 }
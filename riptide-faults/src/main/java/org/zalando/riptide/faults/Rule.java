@@ -1,11 +1,13 @@
 package org.zalando.riptide.faults;
 
 import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.With;
 import org.apiguardian.api.API;
 
 import java.util.function.Predicate;
 
+import static lombok.AccessLevel.PACKAGE;
 import static lombok.AccessLevel.PRIVATE;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.zalando.riptide.faults.Predicates.alwaysFalse;
@@ -15,9 +17,11 @@ import static org.zalando.riptide.faults.Predicates.alwaysTrue;
 @AllArgsConstructor(staticName = "of")
 public final class Rule<T> implements Predicate<T> {
 
+    @Getter(PACKAGE)
     @With(PRIVATE)
     private final Predicate<T> include;
 
+    @Getter(PACKAGE)
     @With(PRIVATE)
     private final Predicate<T> exclude;
 
@@ -35,11 +39,11 @@ public final class Rule<T> implements Predicate<T> {
     }
 
     public Rule<T> include(final Predicate<T> predicate) {
-        return withInclude(include.and(predicate));
+        return withInclude(Predicates.and(include, predicate));
     }
 
     public Rule<T> exclude(final Predicate<T> predicate) {
-        return withExclude(exclude.or(predicate));
+        return withExclude(Predicates.or(exclude, predicate));
     }
 
 }
@@ -13,6 +13,7 @@ import java.util.function.Predicate;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.zalando.riptide.faults.ClassificationStrategy.causalChain;
+import static org.zalando.riptide.faults.Predicates.instanceOf;
 import static org.zalando.riptide.faults.TransientFaults.Rules.transientConnectionFaultRules;
 import static org.zalando.riptide.faults.TransientFaults.Rules.transientFaultRules;
 import static org.zalando.riptide.faults.TransientFaults.Rules.transientSocketFaultRules;
@@ -47,7 +48,8 @@ public final class TransientFaults {
     public static Predicate<Throwable> combine(
             final ClassificationStrategy strategy,
             final Predicate<Throwable> predicate) {
-        return throwable -> strategy.test(throwable, predicate);
+        final Predicate<Throwable> compiled = Classifier.compile(predicate);
+        return throwable -> strategy.test(throwable, compiled);
     }
 
     public static Predicate<Throwable> transientFaults() {
@@ -72,19 +74,21 @@ public final class TransientFaults {
         }
 
         public static Rule<Throwable> transientConnectionFaultRules() {
-            return Rule.of(Predicates.or(
-                    ConnectException.class::isInstance,
-                    MalformedURLException.class::isInstance,
-                    NoRouteToHostException.class::isInstance,
-                    UnknownHostException.class::isInstance
+            return Rule.of(instanceOf(
+                    ConnectException.class,
+                    MalformedURLException.class,
+                    NoRouteToHostException.class,
+                    UnknownHostException.class
             ));
         }
 
         public static Rule<Throwable> transientFaultRules() {
             return Rule.of(
-                    IOException.class::isInstance,
-                    throwable -> throwable instanceof SSLException
-                            && !(throwable instanceof SSLHandshakeException && "Remote host closed connection during handshake".equals(throwable.getMessage()))
+                    instanceOf(IOException.class),
+                    Rule.of(instanceOf(SSLException.class), Predicates.and(
+                            instanceOf(SSLHandshakeException.class),
+                            throwable -> "Remote host closed connection during handshake".equals(throwable.getMessage())
+                    ))
             );
         }
 
@@ -0,0 +1,67 @@
+package org.zalando.riptide.faults;
+
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLHandshakeException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.zalando.riptide.faults.ClassificationStrategy.causalChain;
+import static org.zalando.riptide.faults.Predicates.alwaysFalse;
+import static org.zalando.riptide.faults.Predicates.alwaysTrue;
+import static org.zalando.riptide.faults.Predicates.instanceOf;
+import static org.zalando.riptide.faults.TransientFaults.Rules.transientFaultRules;
+import static org.zalando.riptide.faults.TransientFaults.Rules.transientSocketFaultRules;
+
+final class ClassifierTest {
+
+    @Test
+    void shouldDecideByClassAlone() {
+        assertSame(alwaysTrue(), Classifier.reduce(transientFaultRules(), SocketTimeoutException.class));
+        assertSame(alwaysFalse(), Classifier.reduce(transientFaultRules(), IllegalStateException.class));
+        assertSame(alwaysFalse(), Classifier.reduce(transientFaultRules(), SSLException.class));
+        assertSame(alwaysFalse(), Classifier.reduce(transientSocketFaultRules(), ConnectException.class));
+    }
+
+    @Test
+    void shouldDecideMessageDependentRulesDynamically() {
+        final Predicate<Throwable> residual = Classifier.reduce(transientFaultRules(), SSLHandshakeException.class);
+
+        assertTrue(residual.test(new SSLHandshakeException("Remote host closed connection during handshake")));
+        assertFalse(residual.test(new SSLHandshakeException("No hands, no cookies")));
+    }
+
+    @Test
+    void shouldEvaluateOpaquePredicatesEveryTime() {
+        final AtomicInteger tests = new AtomicInteger();
+        final Predicate<Throwable> unit = Classifier.compile(Rule.of(instanceOf(IOException.class))
+                .exclude(throwable -> tests.incrementAndGet() < 0));
+
+        assertTrue(unit.test(new IOException()));
+        assertTrue(unit.test(new IOException()));
+        assertFalse(unit.test(new IllegalStateException()));
+
+        assertEquals(2, tests.get());
+    }
+
+    @Test
+    void shouldDetectLoopsInCausalChain() {
+        final Exception first = new IllegalStateException();
+        final Exception second = new IllegalArgumentException(first);
+        first.initCause(second);
+
+        final Predicate<Throwable> unit = TransientFaults.combine(causalChain(), transientFaultRules());
+
+        assertThrows(IllegalArgumentException.class, () -> unit.test(first));
+    }
+
+}
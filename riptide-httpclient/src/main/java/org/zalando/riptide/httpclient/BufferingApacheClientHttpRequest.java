@@ -15,6 +15,7 @@ import org.springframework.http.client.ClientHttpResponse;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
@@ -22,7 +23,7 @@ import java.net.URISyntaxException;
 import java.util.Optional;
 
 @AllArgsConstructor
-final class BufferingApacheClientHttpRequest implements ClientHttpRequest {
+final class BufferingApacheClientHttpRequest implements ClientHttpRequest, Closeable {
 
     private final HttpHeaders headers = new HttpHeaders();
     private final ByteArrayOutputStream output = new ByteArrayOutputStream(1024);
@@ -68,6 +69,15 @@ final class BufferingApacheClientHttpRequest implements ClientHttpRequest {
         return new ApacheClientHttpResponse(response);
     }
 
+    /**
+     * Aborts the exchange, if it's still in flight, e.g. after a timeout. Aborting releases the connection and lets
+     * a thread that is blocked in {@link #execute()} fail right away.
+     */
+    @Override
+    public void close() {
+        request.abort();
+    }
+
     @Nullable
     private ContentType toContentType(@Nullable MediaType mediaType) {
         return Optional.ofNullable(mediaType)
@@ -15,6 +15,7 @@ import org.springframework.http.client.ClientHttpResponse;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -27,7 +28,7 @@ import java.util.Set;
 import static org.springframework.http.HttpHeaders.CONTENT_ENCODING;
 
 @AllArgsConstructor
-final class StreamingApacheClientHttpRequest implements ClientHttpRequest, StreamingHttpOutputMessage {
+final class StreamingApacheClientHttpRequest implements ClientHttpRequest, StreamingHttpOutputMessage, Closeable {
 
     private final HttpHeaders headers = new HttpHeaders();
 
@@ -77,6 +78,15 @@ final class StreamingApacheClientHttpRequest implements ClientHttpRequest, Strea
         return new ApacheClientHttpResponse(response);
     }
 
+    /**
+     * Aborts the exchange, if it's still in flight, e.g. after a timeout. Aborting releases the connection and lets
+     * a thread that is blocked in {@link #execute()} fail right away.
+     */
+    @Override
+    public void close() {
+        request.abort();
+    }
+
     @AllArgsConstructor
     private class StreamingHttpEntity implements HttpEntity {
 
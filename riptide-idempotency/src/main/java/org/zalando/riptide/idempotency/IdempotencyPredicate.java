@@ -3,36 +3,91 @@ package org.zalando.riptide.idempotency;
 import com.google.common.collect.Ordering;
 import lombok.AllArgsConstructor;
 import org.apiguardian.api.API;
+import org.springframework.http.HttpMethod;
+import org.zalando.riptide.Attribute;
 import org.zalando.riptide.RequestArguments;
 import org.zalando.riptide.idempotency.IdempotencyDetector.Test;
 
+import javax.annotation.Nullable;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Predicate;
 
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.zalando.riptide.Attributes.IDEMPOTENT;
 import static org.zalando.riptide.idempotency.Decision.DENY;
 import static org.zalando.riptide.idempotency.Decision.NEUTRAL;
 
+/**
+ * Decides whether a request is idempotent by consulting all of its {@link IdempotencyDetector detectors}.
+ *
+ * Requests that were {@link #memoize(RequestArguments) memoized} carry their decision with them, i.e. it's computed
+ * at most once per request and shared by all plugins and policies that test it, until the method, the headers or the
+ * {@link org.zalando.riptide.Attributes#IDEMPOTENT idempotent} attribute of the request change.
+ */
 @API(status = EXPERIMENTAL)
 @AllArgsConstructor
 public final class IdempotencyPredicate implements Predicate<RequestArguments> {
 
+    private static final Collection<IdempotencyDetector> DEFAULT_DETECTORS = Arrays.asList(
+            new ConditionalIdempotencyDetector(),
+            new DefaultIdempotencyDetector(),
+            new ExplicitIdempotencyDetector(),
+            new IdempotencyKeyIdempotencyDetector(),
+            new MethodOverrideIdempotencyDetector()
+    );
+
+    private static final IdempotencyPredicate DEFAULT = new IdempotencyPredicate();
+
+    private static final Attribute<Memo> MEMO = Attribute.generate();
+
     private final Collection<IdempotencyDetector> detectors;
 
     public IdempotencyPredicate() {
-        this(Arrays.asList(
-                new ConditionalIdempotencyDetector(),
-                new DefaultIdempotencyDetector(),
-                new ExplicitIdempotencyDetector(),
-                new IdempotencyKeyIdempotencyDetector(),
-                new MethodOverrideIdempotencyDetector()
-        ));
+        this(DEFAULT_DETECTORS);
+    }
+
+    /**
+     * @param arguments the request in question
+     * @return whether the given request is idempotent, according to the default detectors
+     */
+    public static boolean isIdempotent(final RequestArguments arguments) {
+        return DEFAULT.test(arguments);
+    }
+
+    /**
+     * Prepares the given request to remember its decision, once it's tested for the first time.
+     *
+     * @param arguments the request to memoize
+     * @return the given request, carrying a memo for its decision
+     */
+    public static RequestArguments memoize(final RequestArguments arguments) {
+        if (arguments.getAttribute(MEMO).isPresent()) {
+            return arguments;
+        }
+        return arguments.withAttribute(MEMO, new Memo());
     }
 
     @Override
     public boolean test(final RequestArguments arguments) {
-        return decide(arguments) == Decision.ACCEPT;
+        @Nullable final Memo memo = arguments.getAttribute(MEMO).orElse(null);
+
+        if (memo == null) {
+            return decide(arguments) == Decision.ACCEPT;
+        }
+
+        @Nullable final Snapshot previous = memo.snapshot;
+
+        if (previous != null && previous.matches(detectors, arguments)) {
+            return previous.decision == Decision.ACCEPT;
+        }
+
+        final Snapshot current = new Snapshot(detectors, arguments, decide(arguments));
+        memo.snapshot = current;
+        return current.decision == Decision.ACCEPT;
     }
 
     private Decision decide(final RequestArguments arguments) {
@@ -58,4 +113,48 @@ public final class IdempotencyPredicate implements Predicate<RequestArguments> {
         return Ordering.natural().max(left, right);
     }
 
+    /**
+     * Shared by all copies of a request, i.e. by all plugins and attempts that see it.
+     */
+    private static final class Memo {
+
+        @Nullable
+        private volatile Snapshot snapshot;
+
+    }
+
+    /**
+     * A decision and everything it depends on. Headers are compared by identity, since requests only replace them
+     * when they're being modified.
+     */
+    private static final class Snapshot {
+
+        private final Collection<IdempotencyDetector> detectors;
+        private final HttpMethod method;
+        private final Map<String, List<String>> headers;
+        @Nullable
+        private final Boolean idempotent;
+        private final Decision decision;
+
+        Snapshot(
+                final Collection<IdempotencyDetector> detectors,
+                final RequestArguments arguments,
+                final Decision decision) {
+
+            this.detectors = detectors;
+            this.method = arguments.getMethod();
+            this.headers = arguments.getHeaders();
+            this.idempotent = arguments.getAttribute(IDEMPOTENT).orElse(null);
+            this.decision = decision;
+        }
+
+        boolean matches(final Collection<IdempotencyDetector> detectors, final RequestArguments arguments) {
+            return this.detectors == detectors &&
+                    Objects.equals(method, arguments.getMethod()) &&
+                    headers == arguments.getHeaders() &&
+                    Objects.equals(idempotent, arguments.getAttribute(IDEMPOTENT).orElse(null));
+        }
+
+    }
+
 }
@@ -8,9 +8,12 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.http.HttpMethod;
 import org.zalando.riptide.RequestArguments;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.http.HttpMethod.DELETE;
@@ -22,6 +25,7 @@ import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpMethod.PUT;
 import static org.springframework.http.HttpMethod.TRACE;
 import static org.zalando.riptide.Attributes.IDEMPOTENT;
+import static org.zalando.riptide.Attributes.RETRIES;
 
 final class IdempotencyPredicateTest {
 
@@ -166,4 +170,53 @@ final class IdempotencyPredicateTest {
                 .withAttribute(IDEMPOTENT, false)));
     }
 
+    @Test
+    void shouldDecideMemoizedRequestsOnce() {
+        final AtomicInteger tests = new AtomicInteger();
+        final Predicate<RequestArguments> unit = new IdempotencyPredicate(singletonList(counting(tests)));
+
+        final RequestArguments arguments = IdempotencyPredicate.memoize(RequestArguments.create()
+                .withMethod(PUT));
+
+        assertTrue(unit.test(arguments));
+        assertTrue(unit.test(arguments.withAttribute(RETRIES, 1)));
+        assertTrue(unit.test(IdempotencyPredicate.memoize(arguments)));
+
+        assertEquals(1, tests.get());
+    }
+
+    @Test
+    void shouldDecideAgainIfMemoizedRequestChanged() {
+        final AtomicInteger tests = new AtomicInteger();
+        final Predicate<RequestArguments> unit = new IdempotencyPredicate(singletonList(counting(tests)));
+
+        final RequestArguments arguments = IdempotencyPredicate.memoize(RequestArguments.create()
+                .withMethod(POST));
+
+        assertFalse(unit.test(arguments));
+        assertTrue(unit.test(arguments.withMethod(PUT)));
+        assertFalse(unit.test(arguments.withHeader("If-Match", "\"xyz\"")));
+        assertFalse(unit.test(arguments.withAttribute(IDEMPOTENT, false)));
+
+        assertEquals(4, tests.get());
+    }
+
+    @Test
+    void shouldNotShareMemoizedDecisionsBetweenDetectors() {
+        final RequestArguments arguments = IdempotencyPredicate.memoize(RequestArguments.create()
+                .withMethod(POST));
+
+        assertFalse(IdempotencyPredicate.isIdempotent(arguments));
+        assertTrue(new IdempotencyPredicate(singletonList((request, root) -> Decision.ACCEPT)).test(arguments));
+        assertFalse(IdempotencyPredicate.isIdempotent(arguments));
+    }
+
+    private static IdempotencyDetector counting(final AtomicInteger tests) {
+        final IdempotencyDetector detector = new DefaultIdempotencyDetector();
+        return (arguments, root) -> {
+            tests.incrementAndGet();
+            return detector.test(arguments, root);
+        };
+    }
+
 }
@@ -0,0 +1,64 @@
+package org.zalando.riptide.limits;
+
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Additive increase, multiplicative decrease: the limit grows by one for every successful request that used at least
+ * half of the limit and is multiplied with the {@link #withBackoffRatio(double) backoff ratio} for every drop.
+ *
+ * Doesn't take round trip times into account, unless a {@link #withTimeout(long) timeout} is configured, above which
+ * requests count as dropped.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class AimdLimit implements Limit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long timeoutNanos;
+
+    private volatile int limit;
+
+    public AimdLimit(final int initialLimit) {
+        this(1, 200, 0.9, Long.MAX_VALUE, initialLimit);
+    }
+
+    public AimdLimit withMinLimit(final int minLimit) {
+        return new AimdLimit(minLimit, maxLimit, backoffRatio, timeoutNanos, limit);
+    }
+
+    public AimdLimit withMaxLimit(final int maxLimit) {
+        return new AimdLimit(minLimit, maxLimit, backoffRatio, timeoutNanos, limit);
+    }
+
+    public AimdLimit withBackoffRatio(final double backoffRatio) {
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be in (0, 1), but was: " + backoffRatio);
+        }
+        return new AimdLimit(minLimit, maxLimit, backoffRatio, timeoutNanos, limit);
+    }
+
+    public AimdLimit withTimeout(final long timeoutNanos) {
+        return new AimdLimit(minLimit, maxLimit, backoffRatio, timeoutNanos, limit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(final long rttNanos, final int inflight, final boolean dropped) {
+        if (dropped || rttNanos > timeoutNanos) {
+            limit = Math.max(minLimit, Math.min(maxLimit, (int) (limit * backoffRatio)));
+        } else if (inflight * 2 >= limit) {
+            limit = Math.max(minLimit, Math.min(maxLimit, limit + 1));
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+package org.zalando.riptide.limits;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalNotification;
+import org.apiguardian.api.API;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.zalando.riptide.faults.TransientFaults.transientFaults;
+
+/**
+ * Limits the number of concurrent requests using an adaptive {@link Limit}, either per client or
+ * {@link #withPerHostLimits() per host}.
+ *
+ * Successful requests feed their round trip time into the limit. Requests that failed due to a
+ * {@link org.zalando.riptide.faults.TransientFaults transient fault} count as dropped. Other failures, e.g. unexpected
+ * responses, don't say anything about the upstream's capacity and are ignored.
+ *
+ * Requests above the limit are rejected with a {@link LimitExceededException}, unless a
+ * {@link #withQueue(int, Duration) queue} is configured.
+ *
+ * Limiters are kept for at most {@link #withMaximumSize(long) 1000 keys} and
+ * {@link #withExpireAfterAccess(Duration) dropped after 10 minutes} without requests, after which they start over
+ * with a new limit.
+ */
+@API(status = EXPERIMENTAL)
+public final class ConcurrencyLimitPlugin implements Plugin {
+
+    private static final String CLIENT = "client";
+
+    private final Supplier<Limit> limits;
+    private final Function<RequestArguments, String> keys;
+    private final Predicate<Throwable> drops;
+    private final int maxQueueSize;
+    private final Duration maxWait;
+    private final LimiterListener listener;
+    private final LongSupplier clock;
+    private final long maximumSize;
+    private final Duration expireAfterAccess;
+
+    private final LoadingCache<String, Limiter> limiters;
+
+    /**
+     * @param limits creates a new limit for every {@link Limiter}
+     */
+    public ConcurrencyLimitPlugin(final Supplier<Limit> limits) {
+        this(limits, arguments -> CLIENT, transientFaults(), 0, Duration.ZERO,
+                LimiterListener.DEFAULT, System::nanoTime, 1000, Duration.ofMinutes(10));
+    }
+
+    private ConcurrencyLimitPlugin(
+            final Supplier<Limit> limits,
+            final Function<RequestArguments, String> keys,
+            final Predicate<Throwable> drops,
+            final int maxQueueSize,
+            final Duration maxWait,
+            final LimiterListener listener,
+            final LongSupplier clock,
+            final long maximumSize,
+            final Duration expireAfterAccess) {
+
+        this.limits = limits;
+        this.keys = keys;
+        this.drops = drops;
+        this.maxQueueSize = maxQueueSize;
+        this.maxWait = maxWait;
+        this.listener = listener;
+        this.clock = clock;
+        this.maximumSize = maximumSize;
+        this.expireAfterAccess = expireAfterAccess;
+
+        this.limiters = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .removalListener((RemovalNotification<String, Limiter> notification) ->
+                        listener.onRemoved(notification.getKey(), notification.getValue()))
+                .build(CacheLoader.from(this::create));
+    }
+
+    /**
+     * @return a copy of this plugin that limits every host separately
+     */
+    public ConcurrencyLimitPlugin withPerHostLimits() {
+        return withKeys(arguments ->
+                Optional.ofNullable(arguments.getRequestUri().getHost()).orElse(CLIENT));
+    }
+
+    /**
+     * @param keys derives the key of the {@link Limiter} to use for a request
+     * @return a copy of this plugin that uses the given keys
+     */
+    public ConcurrencyLimitPlugin withKeys(final Function<RequestArguments, String> keys) {
+        return new ConcurrencyLimitPlugin(limits, keys, drops, maxQueueSize, maxWait, listener, clock,
+                maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param drops decides whether a failure indicates overload, defaults to
+     *              {@link org.zalando.riptide.faults.TransientFaults#transientFaults() transient faults}
+     * @return a copy of this plugin that uses the given predicate
+     */
+    public ConcurrencyLimitPlugin withDrops(final Predicate<Throwable> drops) {
+        return new ConcurrencyLimitPlugin(limits, keys, drops, maxQueueSize, maxWait, listener, clock,
+                maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param maxQueueSize the maximum number of requests that wait for a permit
+     * @param maxWait the maximum time a request waits for a permit
+     * @return a copy of this plugin that queues requests above the limit
+     */
+    public ConcurrencyLimitPlugin withQueue(final int maxQueueSize, final Duration maxWait) {
+        return new ConcurrencyLimitPlugin(limits, keys, drops, maxQueueSize, maxWait, listener, clock,
+                maximumSize, expireAfterAccess);
+    }
+
+    public ConcurrencyLimitPlugin withListener(final LimiterListener listener) {
+        return new ConcurrencyLimitPlugin(limits, keys, drops, maxQueueSize, maxWait, listener, clock,
+                maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param maximumSize the maximum number of limiters to keep, defaults to 1000
+     * @return a copy of this plugin using the given maximum size
+     */
+    public ConcurrencyLimitPlugin withMaximumSize(final long maximumSize) {
+        return new ConcurrencyLimitPlugin(limits, keys, drops, maxQueueSize, maxWait, listener, clock,
+                maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param expireAfterAccess how long to keep unused limiters, defaults to 10 minutes
+     * @return a copy of this plugin using the given expiration
+     */
+    public ConcurrencyLimitPlugin withExpireAfterAccess(final Duration expireAfterAccess) {
+        return new ConcurrencyLimitPlugin(limits, keys, drops, maxQueueSize, maxWait, listener, clock,
+                maximumSize, expireAfterAccess);
+    }
+
+    ConcurrencyLimitPlugin withClock(final LongSupplier clock) {
+        return new ConcurrencyLimitPlugin(limits, keys, drops, maxQueueSize, maxWait, listener, clock,
+                maximumSize, expireAfterAccess);
+    }
+
+    @Override
+    public RequestExecution aroundAsync(final RequestExecution execution) {
+        return arguments -> {
+            final Limiter limiter = limiters.getUnchecked(keys.apply(arguments));
+
+            return limiter.acquire().thenCompose(permit -> {
+                final CompletableFuture<ClientHttpResponse> future;
+
+                try {
+                    future = execution.execute(arguments);
+                } catch (final IOException | RuntimeException e) {
+                    release(permit, e);
+                    return failedFuture(e);
+                }
+
+                return future.whenComplete((response, throwable) -> {
+                    if (throwable == null) {
+                        permit.release(false);
+                    } else {
+                        release(permit, throwable);
+                    }
+                });
+            });
+        };
+    }
+
+    private void release(final Limiter.Permit permit, final Throwable throwable) {
+        if (drops.test(throwable)) {
+            permit.release(true);
+        } else {
+            permit.ignore();
+        }
+    }
+
+    private Limiter create(final String key) {
+        final Limiter limiter = new Limiter(key, limits.get(), maxQueueSize, maxWait, listener, clock);
+        listener.onCreated(key, limiter);
+        return limiter;
+    }
+
+}
@@ -0,0 +1,132 @@
+package org.zalando.riptide.limits;
+
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Adjusts the limit based on the gradient between a long-term, exponentially smoothed round trip time and the latest
+ * one. A gradient below {@code 1} means that latencies are rising, i.e. requests start queueing up somewhere, and the
+ * limit is reduced proportionally. A small {@link #withQueueSize(int) queue size} is always added to probe for
+ * additional capacity.
+ *
+ * Drops reduce the limit as if latencies had doubled. Samples of requests that didn't use at least half of the limit
+ * don't change the limit, since they carry no information about capacity.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class GradientLimit implements Limit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int longWindow;
+    private final int queueSize;
+
+    private double estimatedLimit;
+    private double longRtt;
+    private volatile int limit;
+
+    public GradientLimit(final int initialLimit) {
+        this(1, 200, 1.5, 0.2, 600, 4, initialLimit, Double.NaN, initialLimit);
+    }
+
+    public GradientLimit withMinLimit(final int minLimit) {
+        return new GradientLimit(minLimit, maxLimit, tolerance, smoothing, longWindow, queueSize, limit);
+    }
+
+    public GradientLimit withMaxLimit(final int maxLimit) {
+        return new GradientLimit(minLimit, maxLimit, tolerance, smoothing, longWindow, queueSize, limit);
+    }
+
+    /**
+     * @param tolerance how much the latest round trip time may exceed the long-term one before the limit is reduced,
+     *                  e.g. {@code 1.5}
+     * @return a copy of this limit with the given tolerance
+     */
+    public GradientLimit withTolerance(final double tolerance) {
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("Tolerance must be at least 1, but was: " + tolerance);
+        }
+        return new GradientLimit(minLimit, maxLimit, tolerance, smoothing, longWindow, queueSize, limit);
+    }
+
+    /**
+     * @param smoothing the weight of a new estimate, {@code 1.0} disables smoothing
+     * @return a copy of this limit with the given smoothing
+     */
+    public GradientLimit withSmoothing(final double smoothing) {
+        if (smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Smoothing must be in (0, 1], but was: " + smoothing);
+        }
+        return new GradientLimit(minLimit, maxLimit, tolerance, smoothing, longWindow, queueSize, limit);
+    }
+
+    /**
+     * @param longWindow the number of samples the long-term round trip time averages over
+     * @return a copy of this limit with the given window
+     */
+    public GradientLimit withLongWindow(final int longWindow) {
+        return new GradientLimit(minLimit, maxLimit, tolerance, smoothing, longWindow, queueSize, limit);
+    }
+
+    /**
+     * @param queueSize the number of requests that are allowed on top of the estimated limit
+     * @return a copy of this limit with the given queue size
+     */
+    public GradientLimit withQueueSize(final int queueSize) {
+        return new GradientLimit(minLimit, maxLimit, tolerance, smoothing, longWindow, queueSize, limit);
+    }
+
+    private GradientLimit(
+            final int minLimit,
+            final int maxLimit,
+            final double tolerance,
+            final double smoothing,
+            final int longWindow,
+            final int queueSize,
+            final int initialLimit) {
+
+        this(minLimit, maxLimit, tolerance, smoothing, longWindow, queueSize,
+                initialLimit, Double.NaN, initialLimit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(final long rttNanos, final int inflight, final boolean dropped) {
+        final double shortRtt = rttNanos;
+
+        if (Double.isNaN(longRtt)) {
+            longRtt = shortRtt;
+        } else {
+            longRtt += (shortRtt - longRtt) / longWindow;
+        }
+
+        // the long-term average adapts slowly, so let it recover quickly after a period of high latencies
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        if (!dropped && inflight * 2 < estimatedLimit) {
+            return;
+        }
+
+        final double gradient = dropped ?
+                0.5 :
+                Math.max(0.5, Math.min(1.0, tolerance * longRtt / Math.max(1, shortRtt)));
+
+        final double newLimit = estimatedLimit * gradient + queueSize;
+        final double smoothed = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+        limit = (int) estimatedLimit;
+    }
+
+}
@@ -0,0 +1,32 @@
+package org.zalando.riptide.limits;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A concurrency limit that adapts to observed round trip times and drops, i.e. requests that failed because the
+ * upstream is overloaded.
+ *
+ * Implementations are stateful and must be thread-safe. Every {@link Limiter} needs its own instance.
+ *
+ * @see AimdLimit
+ * @see GradientLimit
+ * @see VegasLimit
+ */
+@API(status = EXPERIMENTAL)
+public interface Limit {
+
+    /**
+     * @return the current number of requests that are allowed to be in flight concurrently
+     */
+    int getLimit();
+
+    /**
+     * @param rttNanos the round trip time of a request
+     * @param inflight the number of requests that were in flight when the request was started, including itself
+     * @param dropped whether the request failed due to overload
+     */
+    void onSample(long rttNanos, int inflight, boolean dropped);
+
+}
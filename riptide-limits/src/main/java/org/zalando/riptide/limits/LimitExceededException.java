@@ -0,0 +1,20 @@
+package org.zalando.riptide.limits;
+
+import org.apiguardian.api.API;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Signals that a request was rejected, because its {@link Limiter} was at its limit and the request couldn't be
+ * queued or waited too long, or because its {@link RateLimiter} would have delayed it for too long.
+ */
+@API(status = EXPERIMENTAL)
+public final class LimitExceededException extends RejectedExecutionException {
+
+    public LimitExceededException(final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,156 @@
+package org.zalando.riptide.limits;
+
+import org.apiguardian.api.API;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Enforces a {@link Limit} on the number of requests in flight. Requests above the limit are either rejected right
+ * away or wait in a bounded queue for a limited time.
+ *
+ * Waiting requests don't block any thread.
+ */
+@API(status = EXPERIMENTAL)
+public final class Limiter {
+
+    private final String key;
+    private final Limit limit;
+    private final int maxQueueSize;
+    private final Duration maxWait;
+    private final LimiterListener listener;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<CompletableFuture<Permit>> waiting = new ConcurrentLinkedQueue<>();
+
+    Limiter(
+            final String key,
+            final Limit limit,
+            final int maxQueueSize,
+            final Duration maxWait,
+            final LimiterListener listener,
+            final LongSupplier clock) {
+
+        this.key = key;
+        this.limit = limit;
+        this.maxQueueSize = maxQueueSize;
+        this.maxWait = maxWait;
+        this.listener = listener;
+        this.clock = clock;
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    CompletableFuture<Permit> acquire() {
+        if (tryAcquire()) {
+            return completedFuture(new Permit());
+        }
+
+        if (queued.incrementAndGet() > maxQueueSize) {
+            queued.decrementAndGet();
+            return reject();
+        }
+
+        final CompletableFuture<Permit> future = new CompletableFuture<>();
+        waiting.add(future);
+
+        // bookkeeping happens in the same stage that callers observe, i.e. before they see the rejection
+        final CompletableFuture<Permit> result = future.orTimeout(maxWait.toNanos(), TimeUnit.NANOSECONDS)
+                .exceptionallyCompose(throwable -> {
+                    if (waiting.remove(future)) {
+                        queued.decrementAndGet();
+                    }
+                    return reject();
+                });
+
+        // a permit might have been released in the meantime
+        drain();
+
+        return result;
+    }
+
+    private CompletableFuture<Permit> reject() {
+        listener.onRejected(key);
+        return failedFuture(exceeded());
+    }
+
+    private LimitExceededException exceeded() {
+        return new LimitExceededException(
+                "Concurrency limit of " + limit.getLimit() + " exceeded for [" + key + "]");
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            final int current = inflight.get();
+
+            if (current >= limit.getLimit()) {
+                return false;
+            }
+
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty() && tryAcquire()) {
+            final CompletableFuture<Permit> next = waiting.poll();
+
+            if (next == null) {
+                inflight.decrementAndGet();
+                return;
+            }
+
+            queued.decrementAndGet();
+
+            if (!next.complete(new Permit())) {
+                // timed out concurrently
+                inflight.decrementAndGet();
+            }
+        }
+    }
+
+    final class Permit {
+
+        private final long startedAt = clock.getAsLong();
+        private final int inflight = Limiter.this.inflight.get();
+
+        void release(final boolean dropped) {
+            limit.onSample(clock.getAsLong() - startedAt, inflight, dropped);
+            release();
+        }
+
+        void ignore() {
+            release();
+        }
+
+        private void release() {
+            Limiter.this.inflight.decrementAndGet();
+            drain();
+        }
+
+    }
+
+}
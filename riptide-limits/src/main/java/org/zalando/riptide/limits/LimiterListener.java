@@ -0,0 +1,47 @@
+package org.zalando.riptide.limits;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Receives events of the {@link Limiter limiters} of a {@link ConcurrencyLimitPlugin}.
+ */
+@API(status = EXPERIMENTAL)
+public interface LimiterListener {
+
+    LimiterListener DEFAULT = new LimiterListener() {
+        // nothing to implement
+    };
+
+    /**
+     * Invoked once for every limiter, when it's used for the first time.
+     *
+     * @param key the key of the limiter, e.g. the host
+     * @param limiter the limiter that was created
+     */
+    default void onCreated(final String key, final Limiter limiter) {
+        // nothing to do
+    }
+
+    /**
+     * Invoked once for every limiter that was evicted, either because it wasn't used for a while or because there
+     * were too many. Requests with the same key will use a new limiter afterwards.
+     *
+     * @param key the key of the limiter, e.g. the host
+     * @param limiter the limiter that was removed
+     */
+    default void onRemoved(final String key, final Limiter limiter) {
+        // nothing to do
+    }
+
+    /**
+     * Invoked whenever a request was rejected.
+     *
+     * @param key the key of the limiter, e.g. the host
+     */
+    default void onRejected(final String key) {
+        // nothing to do
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.zalando.riptide.limits;
+
+import com.google.common.base.CharMatcher;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.zalando.riptide.Delays;
+
+import javax.annotation.Nullable;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Parses the rate limit headers of a response, using the same {@link Delays delay parsing} as the retry delay
+ * functions of Riptide: Failsafe.
+ *
+ * @see <a href="https://opensource.zalando.com/restful-api-guidelines/#153">Zalando RESTful API Guidelines, Rule #153 Use Code 429 with Headers for Rate Limits</a>
+ * @see <a href="https://tools.ietf.org/html/rfc7231#section-7.1.3">RFC 7231, section 7.1.3: Retry-After</a>
+ */
+@AllArgsConstructor
+final class RateLimitHeaders {
+
+    private static final CharMatcher DIGIT = CharMatcher.inRange('0', '9').precomputed();
+
+    private final Clock clock;
+
+    /**
+     * @return the delay of a {@code Retry-After} header, given either in seconds or as an HTTP date
+     */
+    @Nullable
+    Duration retryAfter(final HttpHeaders headers) {
+        @Nullable final String value = headers.getFirst("Retry-After");
+        return value == null ? null : Delays.retryAfter(value, clock);
+    }
+
+    /**
+     * @return the value of the {@code X-RateLimit-Remaining} header, or {@code -1} if absent or invalid
+     */
+    long remaining(final HttpHeaders headers) {
+        @Nullable final String value = headers.getFirst("X-RateLimit-Remaining");
+        return value != null && isInteger(value) ? Long.parseLong(value) : -1;
+    }
+
+    /**
+     * @return the time until the quota resets according to the {@code X-RateLimit-Reset} header, given either as
+     * epoch seconds or in seconds
+     */
+    @Nullable
+    Duration reset(final HttpHeaders headers) {
+        @Nullable final String value = headers.getFirst("X-RateLimit-Reset");
+        return value == null ? null : Delays.rateLimitReset(value, clock);
+    }
+
+    private static boolean isInteger(final String value) {
+        return DIGIT.matchesAllOf(value) && !value.isEmpty() && value.length() < 19;
+    }
+
+}
@@ -0,0 +1,269 @@
+package org.zalando.riptide.limits;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.function.Function.identity;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+import static org.zalando.fauxpas.FauxPas.throwingFunction;
+import static org.zalando.fauxpas.FauxPas.throwingSupplier;
+
+/**
+ * Paces or sheds requests before they hit the wire, rather than discovering the server's rate limit by being
+ * rejected with {@code 429 Too Many Requests}:
+ *
+ * <ul>
+ *     <li>an optional {@link #withRate(int, Duration, int) token bucket} per client, {@link #withPerHostLimits() host}
+ *     or {@link #withPerRouteLimits() route}</li>
+ *     <li>the quota announced by {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset}, for the same key</li>
+ *     <li>{@code Retry-After} of {@code 429} and {@code 503} responses, which blocks all requests to that host</li>
+ * </ul>
+ *
+ * Requests that would have to wait longer than the {@link #withMaxWait(Duration) maximum wait time} are rejected
+ * with a {@link LimitExceededException}, all others are delayed without blocking a thread.
+ *
+ * Rate limiters and pushbacks are kept for at most {@link #withMaximumSize(long) 1000 keys or hosts} and
+ * {@link #withExpireAfterAccess(Duration) dropped after 10 minutes} without requests.
+ */
+@API(status = EXPERIMENTAL)
+public final class RateLimitPlugin implements Plugin {
+
+    private static final String CLIENT = "client";
+
+    @Nullable
+    private final RateSpec rate;
+    private final Function<RequestArguments, String> keys;
+    private final Duration maxWait;
+    private final Executor executor;
+    private final RateLimitHeaders headers;
+    private final LongSupplier ticker;
+    private final long maximumSize;
+    private final Duration expireAfterAccess;
+
+    private final LoadingCache<String, RateLimiter> limiters;
+    private final LoadingCache<String, AtomicLong> pushbacks;
+
+    /**
+     * Creates a plugin without a token bucket, that only honours the rate limit headers of responses.
+     */
+    public RateLimitPlugin() {
+        this(null, arguments -> CLIENT, Duration.ZERO, ForkJoinPool.commonPool(),
+                new RateLimitHeaders(Clock.systemUTC()), System::nanoTime, 1000, Duration.ofMinutes(10));
+    }
+
+    private RateLimitPlugin(
+            @Nullable final RateSpec rate,
+            final Function<RequestArguments, String> keys,
+            final Duration maxWait,
+            final Executor executor,
+            final RateLimitHeaders headers,
+            final LongSupplier ticker,
+            final long maximumSize,
+            final Duration expireAfterAccess) {
+
+        this.rate = rate;
+        this.keys = keys;
+        this.maxWait = maxWait;
+        this.executor = executor;
+        this.headers = headers;
+        this.ticker = ticker;
+        this.maximumSize = maximumSize;
+        this.expireAfterAccess = expireAfterAccess;
+
+        this.limiters = cache().build(CacheLoader.from(this::create));
+        this.pushbacks = cache().build(CacheLoader.from(host -> new AtomicLong(ticker.getAsLong())));
+    }
+
+    private CacheBuilder<Object, Object> cache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess);
+    }
+
+    /**
+     * @param permits the number of requests per period
+     * @param period the period
+     * @param burst the number of requests that may be sent at once, after a period of inactivity
+     * @return a copy of this plugin that paces requests using a token bucket
+     */
+    public RateLimitPlugin withRate(final int permits, final Duration period, final int burst) {
+        final RateSpec rate = new RateSpec(permits, period, burst);
+        // fail fast on invalid arguments
+        rate.create(0);
+        return new RateLimitPlugin(rate, keys, maxWait, executor, headers, ticker,
+                maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @return a copy of this plugin that limits every host separately
+     */
+    public RateLimitPlugin withPerHostLimits() {
+        return withKeys(RateLimitPlugin::host);
+    }
+
+    /**
+     * @return a copy of this plugin that limits every combination of method and URI template separately, falling
+     * back to the host if requests don't use a URI template
+     */
+    public RateLimitPlugin withPerRouteLimits() {
+        return withKeys(arguments -> Optional.ofNullable(arguments.getUriTemplate())
+                .map(template -> arguments.getMethod() + " " + host(arguments) + template)
+                .orElseGet(() -> host(arguments)));
+    }
+
+    /**
+     * @param keys derives the key of the {@link RateLimiter} to use for a request
+     * @return a copy of this plugin that uses the given keys
+     */
+    public RateLimitPlugin withKeys(final Function<RequestArguments, String> keys) {
+        return new RateLimitPlugin(rate, keys, maxWait, executor, headers, ticker,
+                maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param maxWait the maximum time a request may be delayed, defaults to zero, i.e. no pacing
+     * @return a copy of this plugin that delays requests up to the given time
+     */
+    public RateLimitPlugin withMaxWait(final Duration maxWait) {
+        return new RateLimitPlugin(rate, keys, maxWait, executor, headers, ticker,
+                maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param executor the executor to continue delayed requests on, defaults to the common pool
+     * @return a copy of this plugin that uses the given executor
+     */
+    public RateLimitPlugin withExecutor(final Executor executor) {
+        return new RateLimitPlugin(rate, keys, maxWait, executor, headers, ticker,
+                maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param maximumSize the maximum number of rate limiters and hosts to keep, defaults to 1000
+     * @return a copy of this plugin using the given maximum size
+     */
+    public RateLimitPlugin withMaximumSize(final long maximumSize) {
+        return new RateLimitPlugin(rate, keys, maxWait, executor, headers, ticker,
+                maximumSize, expireAfterAccess);
+    }
+
+    /**
+     * @param expireAfterAccess how long to keep unused rate limiters and hosts, defaults to 10 minutes
+     * @return a copy of this plugin using the given expiration
+     */
+    public RateLimitPlugin withExpireAfterAccess(final Duration expireAfterAccess) {
+        return new RateLimitPlugin(rate, keys, maxWait, executor, headers, ticker,
+                maximumSize, expireAfterAccess);
+    }
+
+    RateLimitPlugin withClock(final Clock clock, final LongSupplier ticker) {
+        return new RateLimitPlugin(rate, keys, maxWait, executor, new RateLimitHeaders(clock), ticker,
+                maximumSize, expireAfterAccess);
+    }
+
+    @Override
+    public RequestExecution aroundAsync(final RequestExecution execution) {
+        return arguments -> {
+            final String key = keys.apply(arguments);
+            final RateLimiter limiter = limiters.getUnchecked(key);
+            final long delay = limiter.reserve(pushback(host(arguments)).get(), maxWait.toNanos());
+
+            if (delay < 0) {
+                return failedFuture(new LimitExceededException("Rate limit exceeded for [" + key + "]"));
+            }
+
+            if (delay == 0) {
+                return execution.execute(arguments);
+            }
+
+            return supplyAsync(throwingSupplier(() -> execution.execute(arguments)),
+                    delayedExecutor(delay, NANOSECONDS, executor))
+                    .thenCompose(identity());
+        };
+    }
+
+    @Override
+    public RequestExecution aroundNetwork(final RequestExecution execution) {
+        return arguments -> execution.execute(arguments)
+                .thenApply(throwingFunction(response -> {
+                    observe(arguments, response);
+                    return response;
+                }));
+    }
+
+    private void observe(final RequestArguments arguments, final ClientHttpResponse response) throws IOException {
+        final HttpHeaders responseHeaders = response.getHeaders();
+
+        final long remaining = headers.remaining(responseHeaders);
+        @Nullable final Duration reset = headers.reset(responseHeaders);
+
+        if (remaining >= 0 && reset != null) {
+            @Nullable final RateLimiter limiter = limiters.getIfPresent(keys.apply(arguments));
+
+            if (limiter != null) {
+                limiter.update(remaining, reset.toNanos());
+            }
+        }
+
+        final int status = response.getStatusCode().value();
+
+        if (status == 429 || status == 503) {
+            @Nullable final Duration retryAfter = headers.retryAfter(responseHeaders);
+
+            if (retryAfter != null && !retryAfter.isNegative()) {
+                final long until = ticker.getAsLong() + retryAfter.toNanos();
+                pushback(host(arguments)).accumulateAndGet(until, Math::max);
+            }
+        }
+    }
+
+    private AtomicLong pushback(final String host) {
+        return pushbacks.getUnchecked(host);
+    }
+
+    private RateLimiter create(final String key) {
+        return new RateLimiter(key, rate == null ? null : rate.create(ticker.getAsLong()), ticker);
+    }
+
+    private static String host(final RequestArguments arguments) {
+        return Optional.ofNullable(arguments.getRequestUri().getHost()).orElse(CLIENT);
+    }
+
+    @AllArgsConstructor
+    private static final class RateSpec {
+
+        private final int permits;
+        private final Duration period;
+        private final int burst;
+
+        TokenBucket create(final long now) {
+            return new TokenBucket(permits, period, burst, now);
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.zalando.riptide.limits;
+
+import org.apiguardian.api.API;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Paces requests using an optional {@link TokenBucket token bucket} and the quota that the server announced using
+ * {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset}. Once the quota is exhausted, requests have to wait until
+ * it resets.
+ *
+ * The quota is tracked optimistically: concurrent requests may slightly overdraw it until the next response
+ * updates it.
+ */
+@API(status = EXPERIMENTAL)
+public final class RateLimiter {
+
+    private final String key;
+    @Nullable
+    private final TokenBucket bucket;
+    private final LongSupplier ticker;
+
+    private final AtomicReference<Quota> quota = new AtomicReference<>();
+
+    RateLimiter(final String key, @Nullable final TokenBucket bucket, final LongSupplier ticker) {
+        this.key = key;
+        this.bucket = bucket;
+        this.ticker = ticker;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return the remaining quota as announced by the server, {@code -1} if unknown or already reset
+     */
+    public long getRemaining() {
+        @Nullable final Quota current = active(ticker.getAsLong());
+        return current == null ? -1 : Math.max(0, current.remaining.get());
+    }
+
+    /**
+     * @param blockedUntil the time (in nanoseconds) until no request must be sent, e.g. due to {@code Retry-After}
+     * @param maxDelay the maximum time in nanoseconds the caller is willing to wait
+     * @return the time in nanoseconds the caller has to wait before sending its request, or {@code -1} if that
+     * would exceed the given maximum delay
+     */
+    long reserve(final long blockedUntil, final long maxDelay) {
+        final long now = ticker.getAsLong();
+
+        @Nullable final Quota current = active(now);
+        final boolean exhausted = current != null && current.remaining.get() <= 0;
+
+        final long base = Math.max(
+                Math.max(0, blockedUntil - now),
+                exhausted ? current.resetAt - now : 0);
+
+        if (base > maxDelay) {
+            return -1;
+        }
+
+        final long delay = bucket == null ? 0 : bucket.reserve(now + base, maxDelay - base);
+
+        if (delay < 0) {
+            return -1;
+        }
+
+        if (current != null && !exhausted) {
+            current.remaining.decrementAndGet();
+        }
+
+        return base + delay;
+    }
+
+    /**
+     * @param remaining the number of requests left until the quota resets
+     * @param resetIn the time in nanoseconds until the quota resets
+     */
+    void update(final long remaining, final long resetIn) {
+        quota.set(new Quota(remaining, ticker.getAsLong() + resetIn));
+    }
+
+    @Nullable
+    private Quota active(final long now) {
+        @Nullable final Quota current = quota.get();
+
+        if (current == null || now - current.resetAt < 0) {
+            return current;
+        }
+
+        quota.compareAndSet(current, null);
+        return null;
+    }
+
+    private static final class Quota {
+
+        private final AtomicLong remaining;
+        private final long resetAt;
+
+        private Quota(final long remaining, final long resetAt) {
+            this.remaining = new AtomicLong(remaining);
+            this.resetAt = resetAt;
+        }
+
+    }
+
+}
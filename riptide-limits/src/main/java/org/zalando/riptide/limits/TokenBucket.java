@@ -0,0 +1,52 @@
+package org.zalando.riptide.limits;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token bucket, implemented as a generic cell rate algorithm: instead of counting tokens, it tracks the
+ * theoretical arrival time of the next request, i.e. the time when the bucket would be empty. Requests conform as long
+ * as that time doesn't exceed the current time by more than the burst allows.
+ */
+final class TokenBucket {
+
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(final int permits, final Duration period, final int burst, final long now) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Permits must be positive, but was: " + permits);
+        }
+
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be positive, but was: " + burst);
+        }
+
+        this.interval = Math.max(1, period.toNanos() / permits);
+        this.tolerance = interval * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * @param now the current time in nanoseconds
+     * @param maxDelay the maximum time in nanoseconds the caller is willing to wait
+     * @return the time in nanoseconds the caller has to wait before using its reserved permit, or {@code -1} if that
+     * would exceed the given maximum delay, in which case nothing was reserved
+     */
+    long reserve(final long now, final long maxDelay) {
+        while (true) {
+            final long current = theoreticalArrival.get();
+            final long delay = Math.max(0, current - tolerance - now);
+
+            if (delay > maxDelay) {
+                return -1;
+            }
+
+            if (theoreticalArrival.compareAndSet(current, Math.max(current, now) + interval)) {
+                return delay;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package org.zalando.riptide.limits;
+
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Inspired by TCP Vegas: estimates the number of queued requests as {@code limit × (1 - minimum RTT / RTT)}, where
+ * the minimum round trip time approximates the latency without load. The limit grows while the estimated queue is
+ * small and shrinks once it gets too long. Both thresholds scale logarithmically with the limit.
+ *
+ * Drops reduce the limit, samples of requests that didn't use at least half of the limit are ignored.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class VegasLimit implements Limit {
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private long minRtt;
+    private volatile int limit;
+
+    public VegasLimit(final int initialLimit) {
+        this(1, 200, Long.MAX_VALUE, initialLimit);
+    }
+
+    public VegasLimit withMinLimit(final int minLimit) {
+        return new VegasLimit(minLimit, maxLimit, Long.MAX_VALUE, limit);
+    }
+
+    public VegasLimit withMaxLimit(final int maxLimit) {
+        return new VegasLimit(minLimit, maxLimit, Long.MAX_VALUE, limit);
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onSample(final long rttNanos, final int inflight, final boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+
+        minRtt = Math.min(minRtt, rttNanos);
+
+        final int current = limit;
+        final int log = Math.max(1, (int) Math.log10(current));
+
+        final int next;
+
+        if (dropped) {
+            next = current - log;
+        } else if (inflight * 2 < current) {
+            return;
+        } else {
+            final int queue = (int) Math.ceil(current * (1 - (double) minRtt / rttNanos));
+
+            final int alpha = 3 * log;
+            final int beta = 6 * log;
+
+            if (queue <= log) {
+                next = current + beta;
+            } else if (queue < alpha) {
+                next = current + log;
+            } else if (queue > beta) {
+                next = current - log;
+            } else {
+                return;
+            }
+        }
+
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+}
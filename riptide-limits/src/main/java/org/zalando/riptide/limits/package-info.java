@@ -0,0 +1,4 @@
+@ParametersAreNonnullByDefault
+package org.zalando.riptide.limits;
+
+import javax.annotation.ParametersAreNonnullByDefault;
@@ -0,0 +1,69 @@
+package org.zalando.riptide.limits;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+final class AimdLimitTest {
+
+    @Test
+    void shouldIncreaseAdditively() {
+        final Limit unit = new AimdLimit(10);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 5, false);
+        unit.onSample(MILLISECONDS.toNanos(10), 6, false);
+
+        assertThat(unit.getLimit()).isEqualTo(12);
+    }
+
+    @Test
+    void shouldNotIncreaseIfUnderutilized() {
+        final Limit unit = new AimdLimit(10);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 4, false);
+
+        assertThat(unit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldDecreaseMultiplicatively() {
+        final Limit unit = new AimdLimit(20).withBackoffRatio(0.5);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 20, true);
+
+        assertThat(unit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldTreatSlowRequestsAsDropped() {
+        final Limit unit = new AimdLimit(20).withTimeout(MILLISECONDS.toNanos(100));
+
+        unit.onSample(MILLISECONDS.toNanos(200), 20, false);
+
+        assertThat(unit.getLimit()).isEqualTo(18);
+    }
+
+    @Test
+    void shouldRespectBounds() {
+        final Limit unit = new AimdLimit(5).withMinLimit(4).withMaxLimit(6);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 5, false);
+        unit.onSample(MILLISECONDS.toNanos(10), 6, false);
+        assertThat(unit.getLimit()).isEqualTo(6);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 6, true);
+        unit.onSample(MILLISECONDS.toNanos(10), 6, true);
+        assertThat(unit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRejectInvalidBackoffRatio() {
+        assertThatThrownBy(() -> new AimdLimit(10).withBackoffRatio(1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AimdLimit(10).withBackoffRatio(0.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
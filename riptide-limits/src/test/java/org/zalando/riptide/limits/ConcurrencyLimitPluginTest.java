@@ -0,0 +1,205 @@
+package org.zalando.riptide.limits;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class ConcurrencyLimitPluginTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LimiterListener listener = mock(LimiterListener.class);
+    private final List<CompletableFuture<ClientHttpResponse>> responses = new ArrayList<>();
+
+    private final RequestExecution execution = arguments -> {
+        final CompletableFuture<ClientHttpResponse> future = new CompletableFuture<>();
+        responses.add(future);
+        return future;
+    };
+
+    private final AimdLimit limit = new AimdLimit(2).withBackoffRatio(0.5);
+
+    private final ConcurrencyLimitPlugin unit = new ConcurrencyLimitPlugin(() -> limit)
+            .withListener(listener)
+            .withClock(clock::get);
+
+    @Test
+    void shouldRejectRequestsAboveLimit() throws IOException {
+        final RequestExecution limited = unit.aroundAsync(execution);
+
+        limited.execute(arguments("http://localhost/"));
+        limited.execute(arguments("http://localhost/"));
+        final CompletableFuture<ClientHttpResponse> rejected = limited.execute(arguments("http://localhost/"));
+
+        assertThatThrownBy(rejected::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(LimitExceededException.class);
+
+        assertThat(responses).hasSize(2);
+        verify(listener).onCreated(eq("client"), any());
+        verify(listener).onRejected("client");
+    }
+
+    @Test
+    void shouldIncreaseLimitOnSuccess() throws IOException {
+        final RequestExecution limited = unit.aroundAsync(execution);
+
+        limited.execute(arguments("http://localhost/"));
+        limited.execute(arguments("http://localhost/"));
+
+        responses.get(0).complete(mock(ClientHttpResponse.class));
+
+        assertThat(limit.getLimit()).isEqualTo(3);
+        assertThat(limited.execute(arguments("http://localhost/"))).isNotDone();
+        assertThat(responses).hasSize(3);
+    }
+
+    @Test
+    void shouldDecreaseLimitOnTransientFault() throws IOException {
+        final RequestExecution limited = unit.aroundAsync(execution);
+
+        limited.execute(arguments("http://localhost/"));
+        limited.execute(arguments("http://localhost/"));
+
+        responses.get(0).completeExceptionally(new SocketTimeoutException());
+
+        assertThat(limit.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIgnoreOtherFailures() throws IOException {
+        final RequestExecution limited = unit.aroundAsync(execution);
+
+        final CompletableFuture<ClientHttpResponse> future = limited.execute(arguments("http://localhost/"));
+        responses.get(0).completeExceptionally(new IllegalStateException());
+
+        assertThat(future).isCompletedExceptionally();
+        assertThat(limit.getLimit()).isEqualTo(2);
+
+        limited.execute(arguments("http://localhost/"));
+        limited.execute(arguments("http://localhost/"));
+        assertThat(responses).hasSize(3);
+    }
+
+    @Test
+    void shouldReleasePermitIfExecutionFails() throws IOException {
+        final RequestExecution failing = arguments -> {
+            throw new SocketTimeoutException();
+        };
+
+        final RequestExecution limited = unit.aroundAsync(failing);
+
+        final CompletableFuture<ClientHttpResponse> future = limited.execute(arguments("http://localhost/"));
+
+        assertThatThrownBy(future::join).hasCauseInstanceOf(SocketTimeoutException.class);
+        assertThat(limit.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLimitHostsSeparately() throws IOException {
+        final RequestExecution limited = unit
+                .withPerHostLimits()
+                .withListener(listener)
+                .aroundAsync(execution);
+
+        limited.execute(arguments("http://alpha/"));
+        limited.execute(arguments("http://alpha/"));
+        final CompletableFuture<ClientHttpResponse> beta = limited.execute(arguments("http://beta/"));
+
+        assertThat(beta).isNotDone();
+        assertThat(responses).hasSize(3);
+        verify(listener).onCreated(eq("alpha"), any());
+        verify(listener).onCreated(eq("beta"), any());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedLimiters() throws IOException {
+        final RequestExecution limited = unit
+                .withPerHostLimits()
+                .withMaximumSize(1)
+                .aroundAsync(execution);
+
+        limited.execute(arguments("http://alpha/"));
+        limited.execute(arguments("http://beta/"));
+
+        verify(listener).onRemoved(eq("alpha"), any());
+
+        limited.execute(arguments("http://alpha/"));
+
+        verify(listener, times(2)).onCreated(eq("alpha"), any());
+        verify(listener).onRemoved(eq("beta"), any());
+    }
+
+    @Test
+    void shouldQueueRequestsAboveLimit() throws IOException {
+        final RequestExecution limited = unit
+                .withQueue(1, Duration.ofSeconds(5))
+                .aroundAsync(execution);
+
+        limited.execute(arguments("http://localhost/"));
+        limited.execute(arguments("http://localhost/"));
+        limited.execute(arguments("http://localhost/"));
+
+        assertThat(responses).hasSize(2);
+
+        responses.get(0).completeExceptionally(new IllegalStateException());
+
+        assertThat(responses).hasSize(3);
+    }
+
+    @Test
+    void shouldLimitRealRequests() throws IOException {
+        final MockWebServer server = new MockWebServer();
+        final CloseableHttpClient client = HttpClients.createDefault();
+
+        try {
+            server.enqueue(new MockResponse().setResponseCode(204));
+
+            final Http http = Http.builder()
+                    .executor(Executors.newSingleThreadExecutor())
+                    .requestFactory(new HttpComponentsClientHttpRequestFactory(client))
+                    .baseUrl(server.url("/").uri())
+                    .plugin(new ConcurrencyLimitPlugin(() -> new VegasLimit(10)).withPerHostLimits())
+                    .build();
+
+            http.get("/foo").call(pass()).join();
+
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        } finally {
+            client.close();
+            server.shutdown();
+        }
+    }
+
+    private static RequestArguments arguments(final String uri) {
+        return RequestArguments.create().withUri(URI.create(uri));
+    }
+
+}
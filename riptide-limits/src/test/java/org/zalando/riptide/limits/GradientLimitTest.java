@@ -0,0 +1,97 @@
+package org.zalando.riptide.limits;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+final class GradientLimitTest {
+
+    @Test
+    void shouldGrowWhileLatencyIsStable() {
+        final Limit unit = new GradientLimit(10).withSmoothing(1.0);
+
+        for (int i = 0; i < 10; i++) {
+            unit.onSample(MILLISECONDS.toNanos(10), unit.getLimit(), false);
+        }
+
+        assertThat(unit.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void shouldShrinkWhenLatencyRises() {
+        final Limit unit = new GradientLimit(100)
+                .withSmoothing(1.0)
+                .withQueueSize(0)
+                .withLongWindow(100);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 100, false);
+        unit.onSample(MILLISECONDS.toNanos(100), 100, false);
+
+        assertThat(unit.getLimit()).isLessThan(100);
+    }
+
+    @Test
+    void shouldHalveOnDrop() {
+        final Limit unit = new GradientLimit(100).withSmoothing(1.0).withQueueSize(0);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 1, true);
+
+        assertThat(unit.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void shouldIgnoreUnderutilizedSamples() {
+        final Limit unit = new GradientLimit(100).withSmoothing(1.0);
+
+        unit.onSample(MILLISECONDS.toNanos(500), 10, false);
+
+        assertThat(unit.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldRecoverLongTermLatency() {
+        final Limit unit = new GradientLimit(10)
+                .withSmoothing(1.0)
+                .withQueueSize(0)
+                .withLongWindow(1000);
+
+        unit.onSample(MILLISECONDS.toNanos(1000), 10, false);
+
+        for (int i = 0; i < 100; i++) {
+            unit.onSample(MILLISECONDS.toNanos(10), unit.getLimit(), false);
+        }
+
+        // would go unnoticed if the long-term latency was still close to the initial outlier
+        unit.onSample(MILLISECONDS.toNanos(100), unit.getLimit(), false);
+
+        assertThat(unit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldRespectBounds() {
+        final Limit unit = new GradientLimit(10).withMinLimit(8).withMaxLimit(12).withSmoothing(1.0);
+
+        for (int i = 0; i < 10; i++) {
+            unit.onSample(MILLISECONDS.toNanos(10), unit.getLimit(), false);
+        }
+        assertThat(unit.getLimit()).isEqualTo(12);
+
+        for (int i = 0; i < 10; i++) {
+            unit.onSample(MILLISECONDS.toNanos(10), unit.getLimit(), true);
+        }
+        assertThat(unit.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new GradientLimit(10).withTolerance(0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GradientLimit(10).withSmoothing(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GradientLimit(10).withSmoothing(1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
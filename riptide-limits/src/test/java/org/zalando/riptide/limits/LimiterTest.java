@@ -0,0 +1,175 @@
+package org.zalando.riptide.limits;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+final class LimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final LimiterListener listener = mock(LimiterListener.class);
+    private final RecordingLimit limit = new RecordingLimit(2);
+
+    @Test
+    void shouldAcquireUpToLimit() {
+        final Limiter unit = limiter(0, Duration.ZERO);
+
+        assertThat(unit.acquire()).isCompleted();
+        assertThat(unit.acquire()).isCompleted();
+        assertThat(unit.getInflight()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectAboveLimitWithoutQueue() {
+        final Limiter unit = limiter(0, Duration.ZERO);
+
+        unit.acquire();
+        unit.acquire();
+
+        final CompletableFuture<Limiter.Permit> future = unit.acquire();
+
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(LimitExceededException.class)
+                .hasMessageContaining("Concurrency limit of 2 exceeded for [test]");
+
+        verify(listener).onRejected("test");
+        assertThat(unit.getInflight()).isEqualTo(2);
+        assertThat(unit.getQueued()).isZero();
+    }
+
+    @Test
+    void shouldSampleRoundTripTimeOnRelease() {
+        final Limiter unit = limiter(0, Duration.ZERO);
+
+        final Limiter.Permit first = unit.acquire().join();
+        final Limiter.Permit second = unit.acquire().join();
+        clock.addAndGet(100);
+
+        first.release(false);
+        second.release(true);
+
+        assertThat(limit.rtt).isEqualTo(100);
+        assertThat(limit.inflight).isEqualTo(2);
+        assertThat(limit.dropped).isTrue();
+        assertThat(limit.samples).isEqualTo(2);
+        assertThat(unit.getInflight()).isZero();
+    }
+
+    @Test
+    void shouldNotSampleIgnoredPermits() {
+        final Limiter unit = limiter(0, Duration.ZERO);
+
+        unit.acquire().join().ignore();
+
+        assertThat(limit.samples).isZero();
+        assertThat(unit.getInflight()).isZero();
+    }
+
+    @Test
+    void shouldHandOverPermitToQueuedRequest() {
+        final Limiter unit = limiter(1, Duration.ofSeconds(5));
+
+        final Limiter.Permit first = unit.acquire().join();
+        unit.acquire().join();
+
+        final CompletableFuture<Limiter.Permit> queued = unit.acquire();
+
+        assertThat(queued).isNotDone();
+        assertThat(unit.getQueued()).isEqualTo(1);
+
+        first.release(false);
+
+        assertThat(queued).isCompleted();
+        assertThat(unit.getQueued()).isZero();
+        assertThat(unit.getInflight()).isEqualTo(2);
+        verify(listener, never()).onRejected("test");
+    }
+
+    @Test
+    void shouldRejectIfQueueIsFull() {
+        final Limiter unit = limiter(1, Duration.ofSeconds(5));
+
+        unit.acquire();
+        unit.acquire();
+        unit.acquire();
+
+        final CompletableFuture<Limiter.Permit> future = unit.acquire();
+
+        assertThatThrownBy(future::join)
+                .hasCauseInstanceOf(LimitExceededException.class);
+        assertThat(unit.getQueued()).isEqualTo(1);
+        verify(listener, times(1)).onRejected("test");
+    }
+
+    @Test
+    void shouldRejectAfterMaxWait() {
+        final Limiter unit = limiter(1, Duration.ofMillis(10));
+
+        unit.acquire();
+        unit.acquire();
+
+        final CompletableFuture<Limiter.Permit> future = unit.acquire();
+
+        assertThatThrownBy(future::join)
+                .hasCauseInstanceOf(LimitExceededException.class);
+        assertThat(unit.getQueued()).isZero();
+        assertThat(unit.getInflight()).isEqualTo(2);
+        verify(listener, times(1)).onRejected("test");
+    }
+
+    @Test
+    void shouldFollowLimit() {
+        final Limiter unit = limiter(0, Duration.ZERO);
+
+        limit.limit = 1;
+        unit.acquire();
+        assertThat(unit.acquire()).isCompletedExceptionally();
+
+        limit.limit = 3;
+        assertThat(unit.acquire()).isCompleted();
+        assertThat(unit.getLimit()).isEqualTo(3);
+    }
+
+    private Limiter limiter(final int maxQueueSize, final Duration maxWait) {
+        return new Limiter("test", limit, maxQueueSize, maxWait, listener, clock::get);
+    }
+
+    private static final class RecordingLimit implements Limit {
+
+        private volatile int limit;
+        private long rtt;
+        private int inflight;
+        private boolean dropped;
+        private int samples;
+
+        RecordingLimit(final int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public int getLimit() {
+            return limit;
+        }
+
+        @Override
+        public void onSample(final long rttNanos, final int inflight, final boolean dropped) {
+            this.rtt = rttNanos;
+            this.inflight = inflight;
+            this.dropped = dropped;
+            this.samples++;
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.zalando.riptide.limits;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static java.time.ZoneOffset.UTC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class RateLimitHeadersTest {
+
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final RateLimitHeaders unit = new RateLimitHeaders(Clock.fixed(now, UTC));
+
+    @Test
+    void shouldParseRetryAfterSeconds() {
+        assertThat(unit.retryAfter(headers("Retry-After", "120"))).isEqualTo(Duration.ofMinutes(2));
+    }
+
+    @Test
+    void shouldParseRetryAfterHttpDate() {
+        assertThat(unit.retryAfter(headers("Retry-After", "Mon, 1 Jan 2024 00:00:30 GMT")))
+                .isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldIgnoreInvalidRetryAfter() {
+        assertThat(unit.retryAfter(headers("Retry-After", "soon"))).isNull();
+        assertThat(unit.retryAfter(new HttpHeaders())).isNull();
+    }
+
+    @Test
+    void shouldParseRemaining() {
+        assertThat(unit.remaining(headers("X-RateLimit-Remaining", "17"))).isEqualTo(17);
+        assertThat(unit.remaining(headers("X-RateLimit-Remaining", "-1"))).isEqualTo(-1);
+        assertThat(unit.remaining(new HttpHeaders())).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldParseResetSeconds() {
+        assertThat(unit.reset(headers("X-RateLimit-Reset", "60"))).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldParseResetEpochSeconds() {
+        final long epochSecond = now.plusSeconds(45).getEpochSecond();
+
+        assertThat(unit.reset(headers("X-RateLimit-Reset", String.valueOf(epochSecond))))
+                .isEqualTo(Duration.ofSeconds(45));
+    }
+
+    @Test
+    void shouldIgnoreInvalidReset() {
+        assertThat(unit.reset(headers("X-RateLimit-Reset", "tomorrow"))).isNull();
+        assertThat(unit.reset(headers("X-RateLimit-Reset", "99999999999999999999"))).isNull();
+    }
+
+    private static HttpHeaders headers(final String name, final String value) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add(name, value);
+        return headers;
+    }
+
+}
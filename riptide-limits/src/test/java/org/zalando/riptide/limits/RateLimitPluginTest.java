@@ -0,0 +1,245 @@
+package org.zalando.riptide.limits;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.zalando.riptide.Http;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.zalando.riptide.PassRoute.pass;
+
+final class RateLimitPluginTest {
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final RateLimitPlugin unit = new RateLimitPlugin()
+            .withClock(Clock.systemUTC(), ticker::get);
+
+    @Test
+    void shouldPassRequestsWithoutLimits() throws IOException {
+        final RequestExecution execution = limit(unit, response(200, new HttpHeaders()));
+
+        for (int i = 0; i < 10; i++) {
+            execution.execute(arguments("http://localhost/")).join();
+        }
+
+        assertThat(requests).hasValue(10);
+    }
+
+    @Test
+    void shouldShedRequestsAboveRate() throws IOException {
+        final RequestExecution execution = limit(
+                unit.withRate(1, Duration.ofSeconds(1), 2),
+                response(200, new HttpHeaders()));
+
+        execution.execute(arguments("http://localhost/")).join();
+        execution.execute(arguments("http://localhost/")).join();
+
+        assertRejected(execution.execute(arguments("http://localhost/")));
+        assertThat(requests).hasValue(2);
+
+        ticker.addAndGet(SECONDS.toNanos(1));
+
+        execution.execute(arguments("http://localhost/")).join();
+        assertThat(requests).hasValue(3);
+    }
+
+    @Test
+    void shouldPaceRequestsAboveRate() throws IOException {
+        final RequestExecution execution = limit(
+                new RateLimitPlugin()
+                        .withRate(1, Duration.ofMillis(50), 1)
+                        .withMaxWait(Duration.ofSeconds(1)),
+                response(200, new HttpHeaders()));
+
+        execution.execute(arguments("http://localhost/")).join();
+
+        final long start = System.nanoTime();
+        execution.execute(arguments("http://localhost/")).join();
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(40).toNanos());
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void shouldLimitKeysSeparately() throws IOException {
+        final RequestExecution execution = limit(
+                unit.withRate(1, Duration.ofSeconds(1), 1).withPerHostLimits(),
+                response(200, new HttpHeaders()));
+
+        execution.execute(arguments("http://alpha/")).join();
+        execution.execute(arguments("http://beta/")).join();
+        assertRejected(execution.execute(arguments("http://alpha/")));
+
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void shouldStartOverOnceLimiterWasEvicted() throws IOException {
+        final RequestExecution execution = limit(
+                unit.withRate(1, Duration.ofSeconds(1), 1).withPerHostLimits().withMaximumSize(1),
+                response(200, new HttpHeaders()));
+
+        execution.execute(arguments("http://alpha/")).join();
+        execution.execute(arguments("http://beta/")).join();
+        execution.execute(arguments("http://alpha/")).join();
+
+        assertThat(requests).hasValue(3);
+    }
+
+    @Test
+    void shouldLimitRoutesSeparately() throws IOException {
+        final RequestExecution execution = limit(
+                unit.withRate(1, Duration.ofSeconds(1), 1).withPerRouteLimits(),
+                response(200, new HttpHeaders()));
+
+        final RequestArguments users = arguments("http://alpha/")
+                .withMethod(HttpMethod.GET)
+                .withUriTemplate("/users/{id}");
+
+        final RequestArguments orders = arguments("http://alpha/")
+                .withMethod(HttpMethod.GET)
+                .withUriTemplate("/orders/{id}");
+
+        execution.execute(users).join();
+        execution.execute(orders).join();
+        assertRejected(execution.execute(users));
+
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void shouldHonourAnnouncedQuota() throws IOException {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add("X-RateLimit-Remaining", "1");
+        headers.add("X-RateLimit-Reset", "10");
+
+        final RequestExecution execution = limit(unit.withMaxWait(Duration.ofSeconds(5)), response(200, headers));
+
+        execution.execute(arguments("http://localhost/")).join();
+        execution.execute(arguments("http://localhost/")).join();
+
+        // quota was refreshed to 1 by the previous response, and is now used up
+        headers.set("X-RateLimit-Remaining", "0");
+        execution.execute(arguments("http://localhost/")).join();
+
+        assertRejected(execution.execute(arguments("http://localhost/")));
+        assertThat(requests).hasValue(3);
+
+        ticker.addAndGet(SECONDS.toNanos(10));
+
+        execution.execute(arguments("http://localhost/")).join();
+        assertThat(requests).hasValue(4);
+    }
+
+    @Test
+    void shouldApplyRetryAfterToAllRequestsOfHost() throws IOException {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add("Retry-After", "30");
+
+        final RequestExecution execution = limit(unit.withPerRouteLimits(), response(429, headers));
+
+        execution.execute(arguments("http://alpha/foo").withUriTemplate("/foo")).join();
+
+        assertRejected(execution.execute(arguments("http://alpha/bar").withUriTemplate("/bar")));
+        assertThat(execution.execute(arguments("http://beta/bar").withUriTemplate("/bar"))).isCompleted();
+
+        ticker.addAndGet(SECONDS.toNanos(30));
+
+        assertThat(execution.execute(arguments("http://alpha/bar").withUriTemplate("/bar"))).isCompleted();
+        assertThat(requests).hasValue(3);
+    }
+
+    @Test
+    void shouldIgnoreRetryAfterOfSuccessfulResponses() throws IOException {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add("Retry-After", "30");
+
+        final RequestExecution execution = limit(unit, response(200, headers));
+
+        execution.execute(arguments("http://localhost/")).join();
+        execution.execute(arguments("http://localhost/")).join();
+
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void shouldLimitRealRequests() throws IOException {
+        final MockWebServer server = new MockWebServer();
+        // the client's own retry strategy would honour Retry-After as well
+        final CloseableHttpClient client = HttpClients.custom().disableAutomaticRetries().build();
+
+        try {
+            server.enqueue(new MockResponse().setResponseCode(503).setHeader("Retry-After", "60"));
+
+            final Http http = Http.builder()
+                    .executor(Executors.newSingleThreadExecutor())
+                    .requestFactory(new HttpComponentsClientHttpRequestFactory(client))
+                    .baseUrl(server.url("/").uri())
+                    .plugin(new RateLimitPlugin())
+                    .build();
+
+            http.get("/foo").call(pass()).join();
+
+            assertThatThrownBy(() -> http.get("/foo").call(pass()).join())
+                    .hasCauseInstanceOf(LimitExceededException.class);
+
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        } finally {
+            client.close();
+            server.shutdown();
+        }
+    }
+
+    private RequestExecution limit(final RateLimitPlugin plugin, final ClientHttpResponse response) {
+        final RequestExecution network = arguments -> {
+            requests.incrementAndGet();
+            return completedFuture(response);
+        };
+
+        return plugin.aroundAsync(plugin.aroundNetwork(network));
+    }
+
+    private static ClientHttpResponse response(final int status, final HttpHeaders headers) throws IOException {
+        final ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(HttpStatus.valueOf(status));
+        when(response.getHeaders()).thenReturn(headers);
+        return response;
+    }
+
+    private static void assertRejected(final CompletableFuture<ClientHttpResponse> future) {
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(LimitExceededException.class);
+    }
+
+    private static RequestArguments arguments(final String uri) {
+        return RequestArguments.create().withUri(URI.create(uri));
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.zalando.riptide.limits;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+final class TokenBucketTest {
+
+    private static final long MS = MILLISECONDS.toNanos(1);
+
+    // 10 requests per second, i.e. one every 100ms, up to 3 at once
+    private final TokenBucket unit = new TokenBucket(10, Duration.ofSeconds(1), 3, 0);
+
+    @Test
+    void shouldAllowBurst() {
+        assertThat(unit.reserve(0, 0)).isZero();
+        assertThat(unit.reserve(0, 0)).isZero();
+        assertThat(unit.reserve(0, 0)).isZero();
+        assertThat(unit.reserve(0, 0)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldPaceRequestsAboveBurst() {
+        unit.reserve(0, 0);
+        unit.reserve(0, 0);
+        unit.reserve(0, 0);
+
+        assertThat(unit.reserve(0, Long.MAX_VALUE)).isEqualTo(100 * MS);
+        assertThat(unit.reserve(0, Long.MAX_VALUE)).isEqualTo(200 * MS);
+    }
+
+    @Test
+    void shouldNotReserveIfDelayExceedsMaximum() {
+        unit.reserve(0, 0);
+        unit.reserve(0, 0);
+        unit.reserve(0, 0);
+
+        assertThat(unit.reserve(0, 50 * MS)).isEqualTo(-1);
+        assertThat(unit.reserve(0, 100 * MS)).isEqualTo(100 * MS);
+    }
+
+    @Test
+    void shouldRefillOverTime() {
+        unit.reserve(0, 0);
+        unit.reserve(0, 0);
+        unit.reserve(0, 0);
+
+        assertThat(unit.reserve(100 * MS, 0)).isZero();
+        assertThat(unit.reserve(100 * MS, 0)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldNotAccumulateMoreThanBurst() {
+        final long later = 10_000 * MS;
+
+        assertThat(unit.reserve(later, 0)).isZero();
+        assertThat(unit.reserve(later, 0)).isZero();
+        assertThat(unit.reserve(later, 0)).isZero();
+        assertThat(unit.reserve(later, 0)).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new TokenBucket(0, Duration.ofSeconds(1), 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, Duration.ofSeconds(1), 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
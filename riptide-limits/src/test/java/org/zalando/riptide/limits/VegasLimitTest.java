@@ -0,0 +1,85 @@
+package org.zalando.riptide.limits;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class VegasLimitTest {
+
+    @Test
+    void shouldGrowQuicklyWithoutQueueing() {
+        final Limit unit = new VegasLimit(10);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 10, false);
+
+        // log10(10) = 1, beta = 6
+        assertThat(unit.getLimit()).isEqualTo(16);
+    }
+
+    @Test
+    void shouldGrowSlowlyWithShortQueue() {
+        final Limit unit = new VegasLimit(10);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 10, false);
+        // queue = ceil(16 × (1 - 10/11)) = 2, i.e. between log and alpha
+        unit.onSample(MILLISECONDS.toNanos(11), 16, false);
+
+        assertThat(unit.getLimit()).isEqualTo(17);
+    }
+
+    @Test
+    void shouldKeepLimitWithModerateQueue() {
+        final Limit unit = new VegasLimit(10);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 10, false);
+        // queue = ceil(16 × (1 - 10/15)) = 6, i.e. between alpha and beta
+        unit.onSample(MILLISECONDS.toNanos(15), 16, false);
+
+        assertThat(unit.getLimit()).isEqualTo(16);
+    }
+
+    @Test
+    void shouldShrinkWithLongQueue() {
+        final Limit unit = new VegasLimit(10);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 10, false);
+        // queue = ceil(16 × (1 - 10/100)) = 15, i.e. above beta
+        unit.onSample(MILLISECONDS.toNanos(100), 16, false);
+
+        assertThat(unit.getLimit()).isEqualTo(15);
+    }
+
+    @Test
+    void shouldShrinkOnDrop() {
+        final Limit unit = new VegasLimit(100);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 1, true);
+
+        assertThat(unit.getLimit()).isEqualTo(98);
+    }
+
+    @Test
+    void shouldIgnoreUnderutilizedAndInvalidSamples() {
+        final Limit unit = new VegasLimit(10);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 4, false);
+        unit.onSample(0, 10, true);
+
+        assertThat(unit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldRespectBounds() {
+        final Limit unit = new VegasLimit(10).withMinLimit(9).withMaxLimit(12);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 10, false);
+        assertThat(unit.getLimit()).isEqualTo(12);
+
+        unit.onSample(MILLISECONDS.toNanos(10), 12, true);
+        unit.onSample(MILLISECONDS.toNanos(10), 12, true);
+        unit.onSample(MILLISECONDS.toNanos(10), 12, true);
+        assertThat(unit.getLimit()).isEqualTo(9);
+    }
+
+}
@@ -0,0 +1,173 @@
+package org.zalando.riptide.logbook;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apiguardian.api.API;
+import org.zalando.fauxpas.ThrowingRunnable;
+
+import javax.annotation.Nullable;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Writes logs of a {@link LogbookPlugin#withAsyncWriter(AsyncLogWriter) LogbookPlugin} on a background thread, off
+ * the request path. Pending logs are kept in a bounded queue. Once it's full, logs are dropped according to the
+ * {@link DropPolicy drop policy} instead of blocking the caller.
+ *
+ * The writer should be closed when it's no longer needed. Closing it writes the logs that are still queued, waiting
+ * for at most the close timeout, 5 seconds by default, and stops its background thread afterwards. Logs that weren't
+ * written by then, as well as logs that arrive after closing, are counted as dropped.
+ */
+@API(status = EXPERIMENTAL)
+@Slf4j
+public final class AsyncLogWriter implements Closeable {
+
+    public enum DropPolicy {
+
+        /**
+         * Drops the log that is about to be queued.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Drops the oldest queued log in favor of the one that is about to be queued.
+         */
+        DROP_OLDEST
+
+    }
+
+    private final int capacity;
+    private final DropPolicy policy;
+    private final Duration closeTimeout;
+    private final BlockingQueue<ThrowingRunnable<?>> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread thread;
+
+    private volatile boolean closed;
+    private volatile boolean stopped;
+
+    public AsyncLogWriter(final int capacity) {
+        this(capacity, DropPolicy.DROP_NEWEST);
+    }
+
+    public AsyncLogWriter(final int capacity, final DropPolicy policy) {
+        this(capacity, policy, Duration.ofSeconds(5));
+    }
+
+    public AsyncLogWriter(final int capacity, final DropPolicy policy, final Duration closeTimeout) {
+        checkArgument(capacity > 0, "Capacity must be positive, but was: %s", capacity);
+        checkArgument(!closeTimeout.isNegative(), "Close timeout must not be negative, but was: %s", closeTimeout);
+        this.capacity = capacity;
+        this.policy = policy;
+        this.closeTimeout = closeTimeout;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.thread = new Thread(this::run, "riptide-logbook-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @return the number of logs that are waiting to be written
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of logs that were dropped since this writer was created
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    void write(final ThrowingRunnable<?> task) {
+        if (closed) {
+            dropped.increment();
+            return;
+        }
+
+        enqueue(task);
+
+        // the background thread may have stopped in the meantime, in which case nobody takes the task anymore
+        if (closed && queue.remove(task)) {
+            dropped.increment();
+        }
+    }
+
+    private void enqueue(final ThrowingRunnable<?> task) {
+        switch (policy) {
+            case DROP_NEWEST:
+                if (!queue.offer(task)) {
+                    dropped.increment();
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(task)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+                break;
+        }
+    }
+
+    void drop() {
+        dropped.increment();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        try {
+            thread.join(Math.max(closeTimeout.toMillis(), 1));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (thread.isAlive()) {
+            stopped = true;
+            thread.interrupt();
+        }
+
+        final List<ThrowingRunnable<?>> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        dropped.add(remaining.size());
+    }
+
+    private void run() {
+        while (!stopped && (!closed || !queue.isEmpty())) {
+            @Nullable final ThrowingRunnable<?> task;
+
+            try {
+                task = queue.poll(100, MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (task == null) {
+                continue;
+            }
+
+            try {
+                task.tryRun();
+            } catch (final Throwable e) {
+                log.warn("Failed to write log", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package org.zalando.riptide.logbook;
+
+import com.google.common.primitives.Bytes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Captures at most {@code limit} bytes and silently drops the rest. A body that exceeded the limit is marked as
+ * truncated by appending {@code ...} to the captured bytes, the same way Logbook's own truncating body filter does.
+ */
+final class BoundedOutputStream extends OutputStream {
+
+    private static final byte[] TRUNCATED = "...".getBytes(UTF_8);
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    private final int limit;
+
+    private boolean truncated;
+
+    BoundedOutputStream(final int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public void write(final int b) {
+        if (buffer.size() < limit) {
+            buffer.write(b);
+        } else {
+            truncated = true;
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        final int length = Math.min(len, limit - buffer.size());
+        buffer.write(b, off, length);
+
+        if (length < len) {
+            truncated = true;
+        }
+    }
+
+    byte[] toByteArray() {
+        final byte[] body = buffer.toByteArray();
+        return truncated ? Bytes.concat(body, TRUNCATED) : body;
+    }
+
+}
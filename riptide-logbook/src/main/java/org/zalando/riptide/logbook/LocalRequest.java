@@ -12,7 +12,6 @@ import org.zalando.riptide.RequestArguments;
 import org.zalando.riptide.RequestArguments.Entity;
 
 import javax.annotation.Nullable;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
@@ -32,6 +31,8 @@ final class LocalRequest implements HttpRequest {
 
     private final RequestArguments arguments;
 
+    private final int maxBodySize;
+
     private interface State {
 
         default State with() {
@@ -52,7 +53,7 @@ final class LocalRequest implements HttpRequest {
 
     }
 
-    private static final class Unbuffered implements State {
+    private final class Unbuffered implements State {
 
         @Override
         public State with() {
@@ -67,7 +68,7 @@ final class LocalRequest implements HttpRequest {
 
     }
 
-    private static final class Offering implements State {
+    private final class Offering implements State {
 
         @Override
         public State without() {
@@ -79,7 +80,7 @@ final class LocalRequest implements HttpRequest {
                 final Entity entity,
                 final HttpOutputMessage message) throws IOException {
 
-            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final BoundedOutputStream buffer = new BoundedOutputStream(maxBodySize);
             entity.writeTo(new SimpleHttpOutputMessage(
                     message.getHeaders(),
                     new TeeOutputStream(message.getBody(), buffer)));
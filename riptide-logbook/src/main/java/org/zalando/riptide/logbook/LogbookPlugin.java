@@ -5,14 +5,17 @@ import org.apiguardian.api.API;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.logbook.Logbook;
 import org.zalando.logbook.Logbook.RequestWritingStage;
 import org.zalando.logbook.Logbook.ResponseProcessingStage;
+import org.zalando.fauxpas.ThrowingRunnable;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.RequestArguments;
 import org.zalando.riptide.RequestArguments.Entity;
 import org.zalando.riptide.RequestExecution;
 
+import javax.annotation.Nullable;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -20,14 +23,61 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static lombok.AccessLevel.PRIVATE;
 import static org.apiguardian.api.API.Status.EXPERIMENTAL;
 import static org.zalando.fauxpas.FauxPas.throwingConsumer;
 
 @API(status = EXPERIMENTAL)
-@AllArgsConstructor
+@AllArgsConstructor(access = PRIVATE)
 public final class LogbookPlugin implements Plugin {
 
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * Response bodies are captured while the route reads them in asynchronous mode, before the strategy decides
+     * whether to log them, i.e. they need to be bounded.
+     */
+    static final int DEFAULT_ASYNC_MAX_BODY_SIZE = 64 * 1024;
+
     private final Logbook logbook;
+    private final int maxBodySize;
+
+    @Nullable
+    private final AsyncLogWriter writer;
+
+    public LogbookPlugin(final Logbook logbook) {
+        this(logbook, UNLIMITED, null);
+    }
+
+    /**
+     * Limits the number of bytes of request and response bodies that are captured for logging. Bodies are still
+     * streamed in full, but only the first {@code maxBodySize} bytes are held in memory and logged. Truncated bodies
+     * are marked with a trailing {@code ...}.
+     *
+     * @param maxBodySize the maximum number of body bytes to capture, unlimited by default, unless logs are
+     *                    {@link #withAsyncWriter(AsyncLogWriter) written asynchronously}
+     * @return a copy of this plugin that captures at most the given number of body bytes
+     */
+    public LogbookPlugin withMaxBodySize(final int maxBodySize) {
+        checkArgument(maxBodySize >= 0, "Max body size must not be negative, but was: %s", maxBodySize);
+        return new LogbookPlugin(logbook, maxBodySize, writer);
+    }
+
+    /**
+     * Formats and writes logs on the background thread of the given writer instead of the thread that sends the
+     * request and receives the response. Response bodies, up to the {@link #withMaxBodySize(int) max body size}, are
+     * captured while the route reads them, regardless of whether they will be logged, and the response is logged
+     * once its body was read in full or closed. Bodies are therefore never captured in full in this mode, but only
+     * up to 64 KiB unless a smaller or bigger, but finite, max body size was set. Durations are measured once the
+     * response is written and therefore include the time it spent in the writer's queue.
+     *
+     * @param writer the writer to hand logs over to
+     * @return a copy of this plugin that writes logs asynchronously
+     */
+    public LogbookPlugin withAsyncWriter(final AsyncLogWriter writer) {
+        return new LogbookPlugin(logbook, maxBodySize, writer);
+    }
 
     @Override
     public RequestExecution aroundNetwork(final RequestExecution execution) {
@@ -37,15 +87,43 @@ public final class LogbookPlugin implements Plugin {
 
             final CompletableFuture<RemoteResponse> future = execution
                     .execute(arguments.withEntity(new LogbookEntity(arguments, stage::set)))
-                    .thenApply(RemoteResponse::new);
+                    .thenApply(response -> new RemoteResponse(response, getMaxBodySize()));
 
-            future.thenAccept(throwingConsumer(response ->
-                    stage.get().process(response).write()));
+            if (writer == null) {
+                future.thenAccept(throwingConsumer(response -> write(stage.get(), response)));
+                return future.thenApply(RemoteResponse::asClientHttpResponse);
+            }
 
-            return future.thenApply(RemoteResponse::asClientHttpResponse);
+            // the strategy decides about the body on the writer's thread, i.e. only after the route read it
+            return future.thenApply(response ->
+                    response.capture(() -> writer.write(() -> write(stage.get(), response))));
         };
     }
 
+    private int getMaxBodySize() {
+        return writer != null && maxBodySize == UNLIMITED ? DEFAULT_ASYNC_MAX_BODY_SIZE : maxBodySize;
+    }
+
+    private void write(@Nullable final ResponseProcessingStage stage, final RemoteResponse response)
+            throws IOException {
+
+        if (stage == null && writer != null) {
+            // the request was dropped, hence the response can't be correlated
+            writer.drop();
+            return;
+        }
+
+        stage.process(response).write();
+    }
+
+    private void write(final ThrowingRunnable<IOException> task) throws IOException {
+        if (writer == null) {
+            task.tryRun();
+        } else {
+            writer.write(task);
+        }
+    }
+
     @AllArgsConstructor
     private final class LogbookEntity implements Entity {
 
@@ -78,7 +156,7 @@ public final class LogbookPlugin implements Plugin {
         }
 
         private Process process(final HttpOutputMessage message) throws IOException {
-            final LocalRequest request = new LocalRequest(arguments);
+            final LocalRequest request = new LocalRequest(arguments, getMaxBodySize());
             final HttpHeaders headers = message.getHeaders();
             final RequestWritingStage writing = logbook.process(request);
             return new Process(request, headers, writing);
@@ -105,7 +183,7 @@ public final class LogbookPlugin implements Plugin {
 
             @Override
             public void close() throws IOException {
-                next.accept(writing.write());
+                write(() -> next.accept(writing.write()));
             }
 
         }
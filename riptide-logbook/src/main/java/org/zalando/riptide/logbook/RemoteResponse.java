@@ -1,7 +1,7 @@
 package org.zalando.riptide.logbook;
 
-import com.google.common.io.ByteStreams;
 import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpResponse;
@@ -14,12 +14,16 @@ import javax.annotation.Nullable;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static com.google.common.io.ByteStreams.limit;
+import static com.google.common.io.ByteStreams.toByteArray;
 import static org.zalando.fauxpas.FauxPas.throwingFunction;
 import static org.zalando.fauxpas.FauxPas.throwingUnaryOperator;
 
@@ -32,6 +36,8 @@ final class RemoteResponse implements HttpResponse {
 
     private final ClientHttpResponse response;
 
+    private final int maxBodySize;
+
     private interface State {
 
         default State with() {
@@ -54,6 +60,10 @@ final class RemoteResponse implements HttpResponse {
             return new byte[0];
         }
 
+        default void close() {
+            // nothing to do
+        }
+
     }
 
     private final class Unbuffered implements State {
@@ -84,23 +94,31 @@ final class RemoteResponse implements HttpResponse {
 
     }
 
+    /**
+     * Holds the captured, possibly truncated, body for logging and replays the bytes that were read in order to
+     * capture it in front of the remaining, still unread, original body.
+     */
     @AllArgsConstructor
     private final class Buffering implements State {
 
-        private byte[] body;
+        private final byte[] body;
+        private final InputStream stream;
 
         private Buffering() throws IOException {
-            this(ByteStreams.toByteArray(response.getBody()));
+            final InputStream original = response.getBody();
+            final byte[] prefix = toByteArray(limit(original, maxBodySize + 1L));
+            this.body = capture(prefix);
+            this.stream = new SequenceInputStream(new ByteArrayInputStream(prefix), original);
         }
 
         @Override
         public State without() {
-            return new Ignoring(body);
+            return new Ignoring(body, stream);
         }
 
         @Override
         public InputStream getBody(final InputStream original) {
-            return new ByteArrayInputStream(body);
+            return stream;
         }
 
         @Override
@@ -114,10 +132,16 @@ final class RemoteResponse implements HttpResponse {
     private final class Ignoring implements State {
 
         private final byte[] body;
+        private final InputStream stream;
 
         @Override
         public State with() {
-            return new Buffering(body);
+            return new Buffering(body, stream);
+        }
+
+        @Override
+        public InputStream getBody(final InputStream original) {
+            return stream;
         }
 
     }
@@ -126,6 +150,69 @@ final class RemoteResponse implements HttpResponse {
 
     }
 
+    /**
+     * Captures the body, possibly truncated, while it's being read and notifies the callback once it was read in
+     * full, or either the body or the response was closed.
+     */
+    @RequiredArgsConstructor
+    private final class Capturing implements State {
+
+        private final BoundedOutputStream capture = new BoundedOutputStream(maxBodySize);
+        private final AtomicBoolean captured = new AtomicBoolean();
+        private final Runnable callback;
+
+        @Nullable
+        private InputStream stream;
+
+        @Override
+        public State without() {
+            return new Discarding(this);
+        }
+
+        @Override
+        public synchronized InputStream getBody(final InputStream original) {
+            if (stream == null) {
+                stream = new TeeInputStream(original, capture, this::close);
+            }
+            return stream;
+        }
+
+        @Override
+        public byte[] getBufferedBody() {
+            return capture.toByteArray();
+        }
+
+        @Override
+        public void close() {
+            if (captured.compareAndSet(false, true)) {
+                callback.run();
+            }
+        }
+
+    }
+
+    @AllArgsConstructor
+    private static final class Discarding implements State {
+
+        private final Capturing capturing;
+
+        @Override
+        public State with() {
+            return capturing;
+        }
+
+        @Override
+        public InputStream getBody(final InputStream original) {
+            return capturing.getBody(original);
+        }
+
+        @Override
+        public void close() {
+            capturing.close();
+        }
+
+    }
+
     @Override
     public HttpResponse withBody() {
         state.updateAndGet(throwingUnaryOperator(State::with));
@@ -179,6 +266,24 @@ final class RemoteResponse implements HttpResponse {
                 .getBufferedBody();
     }
 
+    /**
+     * Captures the body while it's being read through the returned response instead of buffering it upfront.
+     *
+     * @param callback called once the body was captured, i.e. read in full, or either the body or the response was
+     *                 closed
+     * @return the response to hand to the route
+     */
+    ClientHttpResponse capture(final Runnable callback) {
+        state.set(new Capturing(callback));
+        return asClientHttpResponse();
+    }
+
+    private byte[] capture(final byte[] prefix) {
+        final BoundedOutputStream capture = new BoundedOutputStream(maxBodySize);
+        capture.write(prefix, 0, prefix.length);
+        return capture.toByteArray();
+    }
+
     ClientHttpResponse asClientHttpResponse() {
         return new ClientHttpResponseAdapter();
     }
@@ -204,7 +309,11 @@ final class RemoteResponse implements HttpResponse {
 
         @Override
         public void close() {
-            response.close();
+            try {
+                response.close();
+            } finally {
+                state.get().close();
+            }
         }
 
         @Nonnull
@@ -0,0 +1,96 @@
+package org.zalando.riptide.logbook;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Copies every byte that is read from the original stream to the branch and notifies the given callback once the
+ * original stream is either exhausted or closed, whatever happens first.
+ */
+final class TeeInputStream extends FilterInputStream {
+
+    private final OutputStream branch;
+    private final Runnable callback;
+
+    private boolean ended;
+
+    TeeInputStream(final InputStream original, final OutputStream branch, final Runnable callback) {
+        super(original);
+        this.branch = branch;
+        this.callback = callback;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = super.read();
+
+        if (b == -1) {
+            end();
+        } else {
+            branch.write(b);
+        }
+
+        return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        final int read = super.read(b, off, len);
+
+        if (read == -1) {
+            end();
+        } else {
+            branch.write(b, off, read);
+        }
+
+        return read;
+    }
+
+    /**
+     * Skipped bytes are read instead, since they would be missing from the branch otherwise.
+     */
+    @Override
+    public long skip(final long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+
+        final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        final int read = read(buffer, 0, buffer.length);
+        return Math.max(read, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(final int limit) {
+        // not supported
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("Mark/reset not supported");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            end();
+        }
+    }
+
+    private void end() {
+        if (!ended) {
+            ended = true;
+            callback.run();
+        }
+    }
+
+}
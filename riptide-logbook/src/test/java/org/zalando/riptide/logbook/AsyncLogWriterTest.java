@@ -0,0 +1,140 @@
+package org.zalando.riptide.logbook;
+
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.logbook.AsyncLogWriter.DropPolicy;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class AsyncLogWriterTest {
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void shouldDropNewest() throws InterruptedException {
+        try (final AsyncLogWriter unit = new AsyncLogWriter(2, DropPolicy.DROP_NEWEST)) {
+            block(unit);
+
+            unit.write(() -> written.add("first"));
+            unit.write(() -> written.add("second"));
+            unit.write(() -> written.add("third"));
+
+            assertThat(unit.getQueueDepth(), is(2));
+            assertThat(unit.getDropped(), is(1L));
+
+            release.countDown();
+            await(3);
+        }
+
+        assertThat(written, contains("blocking", "first", "second"));
+    }
+
+    @Test
+    void shouldDropOldest() throws InterruptedException {
+        try (final AsyncLogWriter unit = new AsyncLogWriter(2, DropPolicy.DROP_OLDEST)) {
+            block(unit);
+
+            unit.write(() -> written.add("first"));
+            unit.write(() -> written.add("second"));
+            unit.write(() -> written.add("third"));
+
+            assertThat(unit.getQueueDepth(), is(2));
+            assertThat(unit.getDropped(), is(1L));
+
+            release.countDown();
+            await(3);
+        }
+
+        assertThat(written, contains("blocking", "second", "third"));
+    }
+
+    @Test
+    void shouldSurviveFailingWrites() throws InterruptedException {
+        try (final AsyncLogWriter unit = new AsyncLogWriter(2)) {
+            unit.write(() -> {
+                throw new IOException();
+            });
+            unit.write(() -> written.add("first"));
+
+            await(1);
+        }
+
+        assertThat(written, contains("first"));
+    }
+
+    @Test
+    void shouldDropAfterClose() {
+        final AsyncLogWriter unit = new AsyncLogWriter(2);
+        unit.close();
+
+        unit.write(() -> written.add("first"));
+
+        assertThat(unit.getDropped(), is(1L));
+        assertThat(unit.getQueueCapacity(), is(2));
+    }
+
+    @Test
+    void shouldWriteQueuedLogsOnClose() {
+        final AsyncLogWriter unit = new AsyncLogWriter(10);
+
+        unit.write(() -> written.add("first"));
+        unit.write(() -> written.add("second"));
+        unit.close();
+
+        assertThat(written, contains("first", "second"));
+        assertThat(unit.getDropped(), is(0L));
+    }
+
+    @Test
+    void shouldDropQueuedLogsAfterCloseTimeout() throws InterruptedException {
+        final AsyncLogWriter unit = new AsyncLogWriter(10, DropPolicy.DROP_NEWEST, Duration.ofMillis(100));
+        block(unit);
+
+        unit.write(() -> written.add("first"));
+        unit.write(() -> written.add("second"));
+        unit.close();
+
+        assertThat(unit.getQueueDepth(), is(0));
+        assertThat(unit.getDropped(), is(2L));
+
+        release.countDown();
+    }
+
+    @Test
+    void shouldRejectNegativeCloseTimeout() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new AsyncLogWriter(1, DropPolicy.DROP_NEWEST, Duration.ofSeconds(-1)));
+    }
+
+    private void block(final AsyncLogWriter unit) throws InterruptedException {
+        unit.write(() -> {
+            started.countDown();
+            release.await();
+            written.add("blocking");
+        });
+
+        assertTrue(started.await(5, SECONDS));
+    }
+
+    private void await(final int expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + SECONDS.toNanos(5);
+
+        while (written.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+package org.zalando.riptide.logbook;
+
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class BoundedOutputStreamTest {
+
+    private final BoundedOutputStream unit = new BoundedOutputStream(5);
+
+    @Test
+    void shouldCaptureBodyWithinLimit() {
+        unit.write(bytes("Hello"), 0, 5);
+
+        assertEquals("Hello", string(unit.toByteArray()));
+    }
+
+    @Test
+    void shouldTruncateArray() {
+        unit.write(bytes("Hello, world!"), 0, 13);
+
+        assertEquals("Hello...", string(unit.toByteArray()));
+    }
+
+    @Test
+    void shouldTruncateArrayWithOffset() {
+        unit.write(bytes("Hello"), 1, 4);
+        unit.write(bytes("Hello"), 0, 5);
+
+        assertEquals("elloH...", string(unit.toByteArray()));
+    }
+
+    @Test
+    void shouldTruncateInt() {
+        for (final byte b : bytes("Hello!")) {
+            unit.write(b);
+        }
+
+        assertEquals("Hello...", string(unit.toByteArray()));
+    }
+
+    private static byte[] bytes(final String s) {
+        return s.getBytes(UTF_8);
+    }
+
+    private static String string(final byte[] bytes) {
+        return new String(bytes, UTF_8);
+    }
+
+}
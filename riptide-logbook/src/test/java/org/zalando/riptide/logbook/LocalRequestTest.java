@@ -11,7 +11,7 @@ import static org.mockito.Mockito.mock;
 class LocalRequestTest {
 
     private final LocalRequest unit = new LocalRequest(RequestArguments.create()
-        .withEntity(message -> {}));
+        .withEntity(message -> {}), Integer.MAX_VALUE);
 
     @Test
     void writeTo() {
@@ -1,5 +1,6 @@
 package org.zalando.riptide.logbook;
 
+import com.google.common.base.Strings;
 import lombok.SneakyThrows;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -23,13 +24,19 @@ import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static com.google.common.io.ByteStreams.toByteArray;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpMethod.POST;
@@ -123,6 +130,143 @@ final class LogbookPluginTest {
         MockWebServerUtil.verify(server, 1, "/greet", POST.toString());
     }
 
+    @Test
+    void shouldTruncateBodiesWhileStreamingThemInFull() throws IOException, InterruptedException {
+        server.enqueue(textMockResponse("Hello, client!"));
+
+        final Http http = Http.builder()
+                .executor(executor)
+                .requestFactory(new SimpleClientHttpRequestFactory())
+                .plugin(new LogbookPlugin(logbook).withMaxBodySize(5))
+                .baseUrl(getBaseUrl(server))
+                .build();
+
+        final AtomicReference<String> body = new AtomicReference<>();
+
+        http.post("/greet")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body("Hello, server!")
+                .call((response, reader) ->
+                        body.set(new String(toByteArray(response.getBody()), UTF_8)))
+                .join();
+
+        assertThat(body.get(), is("Hello, client!"));
+        assertThat(server.takeRequest().getBody().readUtf8(), is("Hello, server!"));
+        assertThat(request(), containsString("\"body\":\"Hello...\""));
+        assertThat(response(), containsString("\"body\":\"Hello...\""));
+    }
+
+    @Test
+    void shouldWriteLogsAsynchronously() throws IOException {
+        server.enqueue(textMockResponse("World!"));
+
+        try (final AsyncLogWriter writer = new AsyncLogWriter(10)) {
+            final Http http = Http.builder()
+                    .executor(executor)
+                    .requestFactory(new SimpleClientHttpRequestFactory())
+                    .plugin(new LogbookPlugin(logbook).withAsyncWriter(writer))
+                    .baseUrl(getBaseUrl(server))
+                    .build();
+
+            final AtomicReference<String> body = new AtomicReference<>();
+
+            http.post("/greet")
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body("Hello?")
+                    .call((response, reader) ->
+                            body.set(new String(toByteArray(response.getBody()), UTF_8)))
+                    .join();
+
+            assertThat(body.get(), is("World!"));
+        }
+
+        final ArgumentCaptor<String> request = ArgumentCaptor.forClass(String.class);
+        verify(this.writer, timeout(5000)).write(any(Precorrelation.class), request.capture());
+        assertThat(request.getValue(), containsString("\"body\":\"Hello?\""));
+
+        final ArgumentCaptor<String> response = ArgumentCaptor.forClass(String.class);
+        verify(this.writer, timeout(5000)).write(any(Correlation.class), response.capture());
+        assertThat(response.getValue(), containsString("\"body\":\"World!\""));
+    }
+
+    @Test
+    void shouldLimitBodySizeWhenWritingLogsAsynchronously() throws IOException {
+        final String body = Strings.repeat("x", LogbookPlugin.DEFAULT_ASYNC_MAX_BODY_SIZE + 1);
+        server.enqueue(textMockResponse(body));
+
+        try (final AsyncLogWriter writer = new AsyncLogWriter(10)) {
+            final Http http = Http.builder()
+                    .executor(executor)
+                    .requestFactory(new SimpleClientHttpRequestFactory())
+                    .plugin(new LogbookPlugin(logbook).withAsyncWriter(writer))
+                    .baseUrl(getBaseUrl(server))
+                    .build();
+
+            final AtomicReference<String> received = new AtomicReference<>();
+
+            http.get("/greet")
+                    .call((response, reader) ->
+                            received.set(new String(toByteArray(response.getBody()), UTF_8)))
+                    .join();
+
+            assertThat(received.get(), is(body));
+        }
+
+        final ArgumentCaptor<String> response = ArgumentCaptor.forClass(String.class);
+        verify(this.writer, timeout(5000)).write(any(Correlation.class), response.capture());
+        assertThat(response.getValue(), containsString(
+                "\"body\":\"" + body.substring(1) + "...\""));
+    }
+
+    @Test
+    void shouldWriteResponseLogOnceRouteReadBodyAsynchronously() throws IOException {
+        server.enqueue(textMockResponse("World!"));
+
+        try (final AsyncLogWriter writer = new AsyncLogWriter(10)) {
+            final Http http = Http.builder()
+                    .executor(executor)
+                    .requestFactory(new SimpleClientHttpRequestFactory())
+                    .plugin(new LogbookPlugin(logbook).withAsyncWriter(writer))
+                    .baseUrl(getBaseUrl(server))
+                    .build();
+
+            final AtomicReference<String> body = new AtomicReference<>();
+
+            http.get("/greet")
+                    .call((response, reader) -> {
+                        verify(this.writer, after(500).never()).write(any(Correlation.class), any());
+                        body.set(new String(toByteArray(response.getBody()), UTF_8));
+                    })
+                    .join();
+
+            assertThat(body.get(), is("World!"));
+        }
+
+        final ArgumentCaptor<String> response = ArgumentCaptor.forClass(String.class);
+        verify(this.writer, timeout(5000)).write(any(Correlation.class), response.capture());
+        assertThat(response.getValue(), containsString("\"body\":\"World!\""));
+    }
+
+    @Test
+    void shouldWriteResponseLogOnceResponseWasClosedAsynchronously() throws IOException {
+        server.enqueue(textMockResponse("World!"));
+
+        try (final AsyncLogWriter writer = new AsyncLogWriter(10)) {
+            final Http http = Http.builder()
+                    .executor(executor)
+                    .requestFactory(new SimpleClientHttpRequestFactory())
+                    .plugin(new LogbookPlugin(logbook).withAsyncWriter(writer))
+                    .baseUrl(getBaseUrl(server))
+                    .build();
+
+            http.get("/greet")
+                    .call((response, reader) -> response.close())
+                    .join();
+        }
+
+        verify(this.writer, timeout(5000)).write(any(Correlation.class), any());
+    }
+
     /**
      * Tests that port 80 is supported:
      */
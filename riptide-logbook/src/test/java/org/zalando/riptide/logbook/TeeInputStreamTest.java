@@ -0,0 +1,64 @@
+package org.zalando.riptide.logbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+final class TeeInputStreamTest {
+
+    private final ByteArrayOutputStream branch = new ByteArrayOutputStream();
+    private final Runnable callback = mock(Runnable.class);
+    private final InputStream unit =
+            new TeeInputStream(new ByteArrayInputStream("Hello".getBytes(UTF_8)), branch, callback);
+
+    @Test
+    void shouldCopyReadBytes() throws IOException {
+        assertThat(unit.read(), is((int) 'H'));
+        assertThat(unit.read(new byte[2], 0, 2), is(2));
+
+        assertThat(branch.toString(UTF_8), is("Hel"));
+        verify(callback, never()).run();
+    }
+
+    @Test
+    void shouldCopySkippedBytes() throws IOException {
+        assertThat(unit.skip(2), is(2L));
+
+        assertThat(branch.toString(UTF_8), is("He"));
+    }
+
+    @Test
+    void shouldNotifyOnceExhausted() throws IOException {
+        assertThat(new String(unit.readAllBytes(), UTF_8), is("Hello"));
+        assertThat(unit.read(), is(-1));
+        unit.close();
+
+        assertThat(branch.toString(UTF_8), is("Hello"));
+        verify(callback).run();
+    }
+
+    @Test
+    void shouldNotifyOnClose() throws IOException {
+        unit.close();
+
+        verify(callback).run();
+    }
+
+    @Test
+    void shouldNotSupportMark() {
+        assertThat(unit.markSupported(), is(false));
+        assertThrows(IOException.class, unit::reset);
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.concurrent.AdaptivePoolSizer;
+import org.zalando.riptide.concurrent.AdaptivePoolSizer.Decision;
+
+import javax.annotation.Nullable;
+import java.util.function.ToDoubleFunction;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static io.micrometer.core.instrument.binder.BaseUnits.TASKS;
+import static io.micrometer.core.instrument.binder.BaseUnits.THREADS;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Exposes the observations behind the most recent {@link AdaptivePoolSizer#getDecision() decision} of an
+ * {@link AdaptivePoolSizer}. The resulting pool sizes are already covered by {@link ThreadPoolMetrics}.
+ *
+ * @see ThreadPoolMetrics
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class AdaptivePoolSizerMetrics implements MeterBinder {
+
+    private final AdaptivePoolSizer sizer;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public AdaptivePoolSizerMetrics(final AdaptivePoolSizer sizer) {
+        this(sizer, "http.client.threads.sizing", ImmutableList.of());
+    }
+
+    public AdaptivePoolSizerMetrics withMetricName(final String metricName) {
+        return new AdaptivePoolSizerMetrics(sizer, metricName, defaultTags);
+    }
+
+    public AdaptivePoolSizerMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public AdaptivePoolSizerMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new AdaptivePoolSizerMetrics(sizer, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        gauge("arrival-rate", Decision::getArrivalRate)
+                .description("The smoothed number of tasks submitted per second")
+                .baseUnit(TASKS)
+                .register(registry);
+
+        gauge("service-time", Decision::getServiceTime)
+                .description("The smoothed time tasks spent executing")
+                .baseUnit("seconds")
+                .register(registry);
+
+        gauge("queue-wait", Decision::getQueueWait)
+                .description("The average time tasks spent waiting in the queue")
+                .baseUnit("seconds")
+                .register(registry);
+
+        gauge("concurrency", Decision::getConcurrency)
+                .description("The estimated number of busy threads")
+                .baseUnit(THREADS)
+                .register(registry);
+
+        FunctionCounter.builder(metricName + ".resizes", sizer, AdaptivePoolSizer::getResizes)
+                .description("The number of times the pool was resized")
+                .tags(defaultTags)
+                .register(registry);
+    }
+
+    private Gauge.Builder<AdaptivePoolSizer> gauge(
+            final String name,
+            final ToDoubleFunction<Decision> function) {
+        return Gauge.builder(metricName + "." + name, sizer, sizer -> {
+                    @Nullable final Decision decision = sizer.getDecision();
+                    return decision == null ? Double.NaN : function.applyAsDouble(decision);
+                })
+                .tags(defaultTags);
+    }
+
+}
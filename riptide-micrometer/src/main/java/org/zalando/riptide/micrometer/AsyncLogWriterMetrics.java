@@ -0,0 +1,67 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.logbook.AsyncLogWriter;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Exposes the queue depth, capacity and the number of dropped logs of an {@link AsyncLogWriter}.
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class AsyncLogWriterMetrics implements MeterBinder {
+
+    private static final String LOGS = "logs";
+
+    private final AsyncLogWriter writer;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public AsyncLogWriterMetrics(final AsyncLogWriter writer) {
+        this(writer, "http.client.logs", ImmutableList.of());
+    }
+
+    public AsyncLogWriterMetrics withMetricName(final String metricName) {
+        return new AsyncLogWriterMetrics(writer, metricName, defaultTags);
+    }
+
+    public AsyncLogWriterMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public AsyncLogWriterMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new AsyncLogWriterMetrics(writer, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(metricName + ".queued", writer, AsyncLogWriter::getQueueDepth)
+                .description("The number of logs waiting to be written")
+                .baseUnit(LOGS)
+                .tags(defaultTags)
+                .register(registry);
+
+        Gauge.builder(metricName + ".capacity", writer, AsyncLogWriter::getQueueCapacity)
+                .description("The maximum number of logs waiting to be written")
+                .baseUnit(LOGS)
+                .tags(defaultTags)
+                .register(registry);
+
+        FunctionCounter.builder(metricName + ".dropped", writer, AsyncLogWriter::getDropped)
+                .description("The number of logs dropped because the queue was full")
+                .baseUnit(LOGS)
+                .tags(defaultTags)
+                .register(registry);
+    }
+
+}
@@ -0,0 +1,159 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apiguardian.api.API;
+import org.zalando.riptide.limits.ConcurrencyLimitPlugin;
+import org.zalando.riptide.limits.Limiter;
+import org.zalando.riptide.limits.LimiterListener;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Exposes the limit, the number of in-flight and queued requests, as well as rejections of every {@link Limiter}
+ * of a {@link ConcurrencyLimitPlugin}, tagged with the limiter's key, e.g. the host.
+ *
+ * <pre>{@code
+ * ConcurrencyLimitMetrics metrics = new ConcurrencyLimitMetrics();
+ * metrics.bindTo(registry);
+ *
+ * new ConcurrencyLimitPlugin(() -> new GradientLimit(20)).withListener(metrics);
+ * }</pre>
+ *
+ * Limiters that are created before the metrics are bound to a registry, are registered once they are bound. Gauges of
+ * limiters that were evicted by the plugin are removed, rejections are kept.
+ */
+@API(status = EXPERIMENTAL)
+public final class ConcurrencyLimitMetrics implements LimiterListener, MeterBinder {
+
+    private static final String REQUESTS = "requests";
+    private static final ImmutableList<String> GAUGES = ImmutableList.of("limit", "inflight", "queued");
+
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+
+    @Nullable
+    private volatile MeterRegistry registry;
+
+    public ConcurrencyLimitMetrics() {
+        this("http.client.limits", ImmutableList.of());
+    }
+
+    private ConcurrencyLimitMetrics(final String metricName, final ImmutableList<Tag> defaultTags) {
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+    }
+
+    public ConcurrencyLimitMetrics withMetricName(final String metricName) {
+        return new ConcurrencyLimitMetrics(metricName, defaultTags);
+    }
+
+    public ConcurrencyLimitMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public ConcurrencyLimitMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new ConcurrencyLimitMetrics(metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public synchronized void onCreated(final String key, final Limiter limiter) {
+        limiters.put(key, limiter);
+
+        @Nullable final MeterRegistry registry = this.registry;
+
+        if (registry != null) {
+            register(registry, key, limiter);
+        }
+    }
+
+    @Override
+    public synchronized void onRemoved(final String key, final Limiter limiter) {
+        limiters.remove(key, limiter);
+
+        @Nullable final MeterRegistry registry = this.registry;
+
+        if (registry != null) {
+            deregister(registry, key);
+
+            // evictions may be reported after a new limiter for the same key was created
+            @Nullable final Limiter current = limiters.get(key);
+
+            if (current != null) {
+                register(registry, key, current);
+            }
+        }
+    }
+
+    @Override
+    public void onRejected(final String key) {
+        rejections(key).increment();
+    }
+
+    @Override
+    public synchronized void bindTo(final MeterRegistry registry) {
+        this.registry = registry;
+        limiters.forEach((key, limiter) -> register(registry, key, limiter));
+    }
+
+    private void register(final MeterRegistry registry, final String key, final Limiter limiter) {
+        final Tags tags = Tags.of(defaultTags).and("key", key);
+
+        gauge("limit", limiter, Limiter::getLimit)
+                .description("The current concurrency limit")
+                .tags(tags)
+                .register(registry);
+
+        gauge("inflight", limiter, Limiter::getInflight)
+                .description("The number of requests in flight")
+                .tags(tags)
+                .register(registry);
+
+        gauge("queued", limiter, Limiter::getQueued)
+                .description("The number of requests waiting for a permit")
+                .tags(tags)
+                .register(registry);
+
+        FunctionCounter.builder(metricName + ".rejected", rejections(key), LongAdder::sum)
+                .description("The number of requests rejected due to the concurrency limit")
+                .baseUnit(REQUESTS)
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void deregister(final MeterRegistry registry, final String key) {
+        final Tags tags = Tags.of(defaultTags).and("key", key);
+
+        for (final String name : GAUGES) {
+            registry.find(metricName + "." + name).tags(tags).meters().forEach(registry::remove);
+        }
+    }
+
+    private Gauge.Builder<Limiter> gauge(
+            final String name,
+            final Limiter limiter,
+            final ToDoubleFunction<Limiter> function) {
+        return Gauge.builder(metricName + "." + name, limiter, function)
+                .baseUnit(REQUESTS);
+    }
+
+    private LongAdder rejections(final String key) {
+        return rejections.computeIfAbsent(key, ignored -> new LongAdder());
+    }
+
+}
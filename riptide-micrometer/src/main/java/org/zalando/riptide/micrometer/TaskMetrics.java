@@ -0,0 +1,143 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.concurrent.TaskListener;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static io.micrometer.core.instrument.binder.BaseUnits.TASKS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Records queue and execution time distributions as well as rejections of an executor that was built using
+ * {@link org.zalando.riptide.concurrent.ThreadPoolExecutors.Instrumentation#listener(TaskListener)}.
+ *
+ * Events that occur before this binder was {@link #bindTo(MeterRegistry) bound} are not recorded.
+ *
+ * @see ThreadPoolMetrics
+ */
+@API(status = EXPERIMENTAL)
+public final class TaskMetrics implements TaskListener, MeterBinder {
+
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    @Nullable
+    private volatile Meters meters;
+
+    public TaskMetrics() {
+        this("http.client.tasks", ImmutableList.of());
+    }
+
+    private TaskMetrics(final String metricName, final ImmutableList<Tag> defaultTags) {
+        this.metricName = metricName;
+        this.defaultTags = defaultTags;
+    }
+
+    public TaskMetrics withMetricName(final String metricName) {
+        return new TaskMetrics(metricName, defaultTags);
+    }
+
+    public TaskMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public TaskMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new TaskMetrics(metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        this.meters = new Meters(
+                Counter.builder(metricName + ".submitted")
+                        .description("The number of tasks submitted to the executor")
+                        .baseUnit(TASKS)
+                        .tags(defaultTags)
+                        .register(registry),
+                Timer.builder(metricName + ".queue")
+                        .description("The time tasks spent waiting in the queue")
+                        .tags(defaultTags)
+                        .register(registry),
+                Timer.builder(metricName + ".execution")
+                        .description("The time tasks spent executing")
+                        .tags(defaultTags)
+                        .register(registry),
+                rejections("re-enqueue", registry),
+                rejections("fallback", registry)
+        );
+    }
+
+    private Counter rejections(final String handler, final MeterRegistry registry) {
+        return Counter.builder(metricName + ".rejected")
+                .description("The number of tasks rejected by the executor")
+                .baseUnit(TASKS)
+                .tags(defaultTags)
+                .tag("handler", handler)
+                .register(registry);
+    }
+
+    @Override
+    public void onSubmitted() {
+        @Nullable final Meters meters = this.meters;
+
+        if (meters != null) {
+            meters.submitted.increment();
+        }
+    }
+
+    @Override
+    public void onStarted(final long queueTimeNanos) {
+        @Nullable final Meters meters = this.meters;
+
+        if (meters != null) {
+            meters.queue.record(queueTimeNanos, NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onCompleted(final long executionTimeNanos) {
+        @Nullable final Meters meters = this.meters;
+
+        if (meters != null) {
+            meters.execution.record(executionTimeNanos, NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onReEnqueued() {
+        @Nullable final Meters meters = this.meters;
+
+        if (meters != null) {
+            meters.reEnqueued.increment();
+        }
+    }
+
+    @Override
+    public void onRejected() {
+        @Nullable final Meters meters = this.meters;
+
+        if (meters != null) {
+            meters.rejected.increment();
+        }
+    }
+
+    @AllArgsConstructor(access = PRIVATE)
+    private static final class Meters {
+        private final Counter submitted;
+        private final Timer queue;
+        private final Timer execution;
+        private final Counter reEnqueued;
+        private final Counter rejected;
+    }
+
+}
@@ -0,0 +1,79 @@
+package org.zalando.riptide.micrometer;
+
+import com.google.common.collect.ImmutableList;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import org.apiguardian.api.API;
+import org.zalando.riptide.concurrent.VirtualThreadExecutor;
+
+import java.util.function.Supplier;
+
+import static com.google.common.collect.ImmutableList.copyOf;
+import static io.micrometer.core.instrument.binder.BaseUnits.TASKS;
+import static io.micrometer.core.instrument.binder.BaseUnits.THREADS;
+import static lombok.AccessLevel.PRIVATE;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * The {@link VirtualThreadExecutor} counterpart of {@link ThreadPoolMetrics}, using the same metric names.
+ *
+ * @see ThreadPoolMetrics
+ */
+@API(status = EXPERIMENTAL)
+@AllArgsConstructor(access = PRIVATE)
+public final class VirtualThreadMetrics implements MeterBinder {
+
+    private final VirtualThreadExecutor executor;
+    private final String metricName;
+    private final ImmutableList<Tag> defaultTags;
+
+    public VirtualThreadMetrics(final VirtualThreadExecutor executor) {
+        this(executor, "http.client.threads", ImmutableList.of());
+    }
+
+    public VirtualThreadMetrics withMetricName(final String metricName) {
+        return new VirtualThreadMetrics(executor, metricName, defaultTags);
+    }
+
+    public VirtualThreadMetrics withDefaultTags(final Tag... defaultTags) {
+        return withDefaultTags(copyOf(defaultTags));
+    }
+
+    public VirtualThreadMetrics withDefaultTags(final Iterable<Tag> defaultTags) {
+        return new VirtualThreadMetrics(executor, metricName, copyOf(defaultTags));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        gauge("leased", executor::getActiveCount)
+                .description("The number of threads that are actively executing tasks")
+                .baseUnit(THREADS)
+                .register(registry);
+
+        gauge("total", () -> executor.getActiveCount() + executor.getQueueSize())
+                .description("The number of threads that are currently alive")
+                .baseUnit(THREADS)
+                .register(registry);
+
+        gauge("max", executor::getMaxConcurrency)
+                .description("The maximum number of concurrently executing tasks")
+                .baseUnit(THREADS)
+                .register(registry);
+
+        gauge("queued", executor::getQueueSize)
+                .description("The number of tasks waiting for a permit to execute")
+                .baseUnit(TASKS)
+                .register(registry);
+    }
+
+    private Gauge.Builder<Supplier<Number>> gauge(
+            final String name,
+            final Supplier<Number> supplier) {
+        return Gauge.builder(metricName + "." + name, supplier)
+                .tags(defaultTags);
+    }
+
+}
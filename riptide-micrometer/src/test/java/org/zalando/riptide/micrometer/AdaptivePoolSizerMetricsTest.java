@@ -0,0 +1,80 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.concurrent.AdaptivePoolSizer;
+import org.zalando.riptide.concurrent.ThreadPoolExecutors;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notANumber;
+
+final class AdaptivePoolSizerMetricsTest {
+
+    private final AdaptivePoolSizer sizer = new AdaptivePoolSizer(1, 4);
+
+    private final ThreadPoolExecutor executor = (ThreadPoolExecutor) ThreadPoolExecutors.builder()
+            .fixedSize(8)
+            .boundedQueue(10)
+            .listener(sizer)
+            .build();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        new AdaptivePoolSizerMetrics(sizer)
+                .withMetricName("http.client.threads.sizing")
+                .withDefaultTags(Tag.of("application", "test"))
+                .bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldMeasureInitial() {
+        assertThat(gauge("arrival-rate").value(), is(notANumber()));
+        assertThat(gauge("service-time").value(), is(notANumber()));
+        assertThat(gauge("queue-wait").value(), is(notANumber()));
+        assertThat(gauge("concurrency").value(), is(notANumber()));
+        assertThat(counter().count(), is(0.0));
+    }
+
+    @Test
+    void shouldMeasureDecision() throws Exception {
+        executor.submit(() -> {}).get();
+        Thread.sleep(10);
+
+        sizer.adjust(executor);
+
+        assertThat(gauge("arrival-rate").value(), is(greaterThan(0.0)));
+        assertThat(gauge("service-time").value(), is(greaterThan(0.0)));
+        assertThat(gauge("queue-wait").value(), is(greaterThan(0.0)));
+        assertThat(gauge("concurrency").value(), is(greaterThan(0.0)));
+        assertThat(counter().count(), is(1.0));
+    }
+
+    private Gauge gauge(final String name) {
+        return registry.find("http.client.threads.sizing." + name)
+                .tag("application", "test")
+                .gauge();
+    }
+
+    private FunctionCounter counter() {
+        return registry.find("http.client.threads.sizing.resizes")
+                .tag("application", "test")
+                .functionCounter();
+    }
+
+}
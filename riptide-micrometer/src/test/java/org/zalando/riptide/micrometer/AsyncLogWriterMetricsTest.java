@@ -0,0 +1,36 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.zalando.riptide.logbook.AsyncLogWriter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+final class AsyncLogWriterMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AsyncLogWriter writer = new AsyncLogWriter(10);
+
+    @AfterEach
+    void close() {
+        writer.close();
+    }
+
+    @Test
+    void shouldMeasureWriter() {
+        new AsyncLogWriterMetrics(writer)
+                .withMetricName("http.client.logs")
+                .withDefaultTags(Tag.of("clientId", "example"))
+                .bindTo(registry);
+
+        assertThat(registry.get("http.client.logs.queued").tag("clientId", "example").gauge().value(), is(0.0));
+        assertThat(registry.get("http.client.logs.capacity").tag("clientId", "example").gauge().value(), is(10.0));
+        assertThat(registry.get("http.client.logs.dropped").tag("clientId", "example")
+                .functionCounter().count(), is(0.0));
+    }
+
+}
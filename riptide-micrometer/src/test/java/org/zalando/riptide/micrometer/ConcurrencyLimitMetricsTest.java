@@ -0,0 +1,105 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+import org.zalando.riptide.RequestArguments;
+import org.zalando.riptide.RequestExecution;
+import org.zalando.riptide.limits.AimdLimit;
+import org.zalando.riptide.limits.ConcurrencyLimitPlugin;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class ConcurrencyLimitMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ConcurrencyLimitMetrics metrics = new ConcurrencyLimitMetrics()
+            .withMetricName("http.client.limits")
+            .withDefaultTags(Tag.of("clientId", "example"));
+
+    private final RequestExecution execution = new ConcurrencyLimitPlugin(() -> new AimdLimit(1))
+            .withPerHostLimits()
+            .withListener(metrics)
+            .aroundAsync(arguments -> new CompletableFuture<ClientHttpResponse>());
+
+    @Test
+    void shouldMeasureLimiters() throws IOException {
+        metrics.bindTo(registry);
+
+        execute("http://alpha/");
+        execute("http://alpha/");
+
+        assertThat(gauge("limit", "alpha").value(), is(1.0));
+        assertThat(gauge("inflight", "alpha").value(), is(1.0));
+        assertThat(gauge("queued", "alpha").value(), is(0.0));
+        assertThat(counter("alpha").count(), is(1.0));
+    }
+
+    @Test
+    void shouldRegisterLimitersCreatedBeforeBinding() throws IOException {
+        execute("http://alpha/");
+        execute("http://beta/");
+        execute("http://beta/");
+
+        metrics.bindTo(registry);
+
+        assertThat(gauge("inflight", "alpha").value(), is(1.0));
+        assertThat(gauge("inflight", "beta").value(), is(1.0));
+        assertThat(counter("alpha").count(), is(0.0));
+        assertThat(counter("beta").count(), is(1.0));
+    }
+
+    @Test
+    void shouldRemoveGaugesOfEvictedLimiters() throws IOException {
+        final RequestExecution execution = new ConcurrencyLimitPlugin(() -> new AimdLimit(1))
+                .withPerHostLimits()
+                .withMaximumSize(1)
+                .withListener(metrics)
+                .aroundAsync(arguments -> new CompletableFuture<ClientHttpResponse>());
+
+        metrics.bindTo(registry);
+
+        execution.execute(RequestArguments.create().withUri(URI.create("http://alpha/")));
+        execution.execute(RequestArguments.create().withUri(URI.create("http://beta/")));
+        execution.execute(RequestArguments.create().withUri(URI.create("http://alpha/")));
+
+        assertThat(gauge("inflight", "alpha").value(), is(1.0));
+        assertThat(gauge("inflight", "beta"), is(nullValue()));
+    }
+
+    @Test
+    void shouldNotRegisterUnknownLimiters() {
+        metrics.bindTo(registry);
+
+        assertThat(registry.find("http.client.limits.limit").gauge(), is(nullValue()));
+    }
+
+    private void execute(final String uri) throws IOException {
+        execution.execute(RequestArguments.create().withUri(URI.create(uri)));
+    }
+
+    private Gauge gauge(final String name, final String key) {
+        return registry.find("http.client.limits." + name)
+                .tag("clientId", "example")
+                .tag("key", key)
+                .gauge();
+    }
+
+    private FunctionCounter counter(final String key) {
+        return registry.find("http.client.limits.rejected")
+                .tag("clientId", "example")
+                .tag("key", key)
+                .functionCounter();
+    }
+
+}
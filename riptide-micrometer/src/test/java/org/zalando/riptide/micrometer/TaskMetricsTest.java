@@ -0,0 +1,80 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+final class TaskMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final TaskMetrics unit = new TaskMetrics()
+            .withMetricName("http.client.tasks")
+            .withDefaultTags(Tag.of("application", "test"));
+
+    @Test
+    void shouldIgnoreEventsBeforeBinding() {
+        unit.onSubmitted();
+        unit.onStarted(1);
+        unit.onCompleted(1);
+        unit.onReEnqueued();
+        unit.onRejected();
+
+        assertThat(registry.find("http.client.tasks.submitted").counter(), is(nullValue()));
+    }
+
+    @Test
+    void shouldMeasureInitial() {
+        unit.bindTo(registry);
+
+        assertThat(counter("http.client.tasks.submitted").count(), is(0.0));
+        assertThat(timer("http.client.tasks.queue").count(), is(0L));
+        assertThat(timer("http.client.tasks.execution").count(), is(0L));
+        assertThat(rejections("re-enqueue").count(), is(0.0));
+        assertThat(rejections("fallback").count(), is(0.0));
+    }
+
+    @Test
+    void shouldMeasureTasks() {
+        unit.bindTo(registry);
+
+        unit.onSubmitted();
+        unit.onSubmitted();
+        unit.onStarted(MILLISECONDS.toNanos(10));
+        unit.onCompleted(MILLISECONDS.toNanos(20));
+        unit.onReEnqueued();
+        unit.onRejected();
+
+        assertThat(counter("http.client.tasks.submitted").count(), is(2.0));
+        assertThat(timer("http.client.tasks.queue").count(), is(1L));
+        assertThat(timer("http.client.tasks.queue").totalTime(MILLISECONDS), closeTo(10, 0.001));
+        assertThat(timer("http.client.tasks.execution").count(), is(1L));
+        assertThat(timer("http.client.tasks.execution").totalTime(MILLISECONDS), closeTo(20, 0.001));
+        assertThat(rejections("re-enqueue").count(), is(1.0));
+        assertThat(rejections("fallback").count(), is(1.0));
+    }
+
+    private Counter rejections(final String handler) {
+        return registry.find("http.client.tasks.rejected")
+                .tag("application", "test")
+                .tag("handler", handler)
+                .counter();
+    }
+
+    private Counter counter(final String name) {
+        return registry.find(name).tag("application", "test").counter();
+    }
+
+    private Timer timer(final String name) {
+        return registry.find(name).tag("application", "test").timer();
+    }
+
+}
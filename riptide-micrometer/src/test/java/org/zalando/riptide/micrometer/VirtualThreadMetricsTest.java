@@ -0,0 +1,70 @@
+package org.zalando.riptide.micrometer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.zalando.riptide.concurrent.VirtualThreadExecutor;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.condition.JRE.JAVA_21;
+import static org.zalando.fauxpas.FauxPas.throwingRunnable;
+
+@EnabledForJreRange(min = JAVA_21)
+final class VirtualThreadMetricsTest {
+
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    private VirtualThreadExecutor executor;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        executor = VirtualThreadExecutor.create("test-", 2);
+
+        new VirtualThreadMetrics(executor)
+                .withMetricName("http.client.threads")
+                .withDefaultTags(Tag.of("application", "test"))
+                .bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        latch.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldMeasureInitial() {
+        assertThat(gauge("http.client.threads.leased").value(), is(0.0));
+        assertThat(gauge("http.client.threads.total").value(), is(0.0));
+        assertThat(gauge("http.client.threads.max").value(), is(2.0));
+        assertThat(gauge("http.client.threads.queued").value(), is(0.0));
+    }
+
+    @Test
+    void shouldMeasureFull() throws InterruptedException {
+        executor.execute(throwingRunnable(latch::await));
+        executor.execute(throwingRunnable(latch::await));
+        executor.execute(throwingRunnable(latch::await));
+
+        Thread.sleep(500);
+
+        assertThat(gauge("http.client.threads.leased").value(), is(2.0));
+        assertThat(gauge("http.client.threads.total").value(), is(3.0));
+        assertThat(gauge("http.client.threads.max").value(), is(2.0));
+        assertThat(gauge("http.client.threads.queued").value(), is(1.0));
+    }
+
+    private Gauge gauge(final String name) {
+        return registry.find(name).tag("application", "test").gauge();
+    }
+
+}
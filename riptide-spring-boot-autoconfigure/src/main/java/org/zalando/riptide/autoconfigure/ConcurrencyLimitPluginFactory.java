@@ -0,0 +1,44 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.autoconfigure.RiptideProperties.ConcurrencyLimit;
+import org.zalando.riptide.limits.AimdLimit;
+import org.zalando.riptide.limits.ConcurrencyLimitPlugin;
+import org.zalando.riptide.limits.GradientLimit;
+import org.zalando.riptide.limits.Limit;
+import org.zalando.riptide.limits.LimiterListener;
+import org.zalando.riptide.limits.VegasLimit;
+
+import java.util.function.Supplier;
+
+@SuppressWarnings("unused")
+final class ConcurrencyLimitPluginFactory {
+
+    private ConcurrencyLimitPluginFactory() {
+
+    }
+
+    public static Plugin create(final ConcurrencyLimit config, final LimiterListener listener) {
+        final ConcurrencyLimitPlugin plugin = new ConcurrencyLimitPlugin(limits(config))
+                .withQueue(config.getQueueSize(), config.getMaxWait().toDuration())
+                .withListener(listener);
+
+        return config.getPerHost() ? plugin.withPerHostLimits() : plugin;
+    }
+
+    private static Supplier<Limit> limits(final ConcurrencyLimit config) {
+        final int initialLimit = config.getInitialLimit();
+        final int minLimit = config.getMinLimit();
+        final int maxLimit = config.getMaxLimit();
+
+        switch (config.getAlgorithm()) {
+            case AIMD:
+                return () -> new AimdLimit(initialLimit).withMinLimit(minLimit).withMaxLimit(maxLimit);
+            case VEGAS:
+                return () -> new VegasLimit(initialLimit).withMinLimit(minLimit).withMaxLimit(maxLimit);
+            default:
+                return () -> new GradientLimit(initialLimit).withMinLimit(minLimit).withMaxLimit(maxLimit);
+        }
+    }
+
+}
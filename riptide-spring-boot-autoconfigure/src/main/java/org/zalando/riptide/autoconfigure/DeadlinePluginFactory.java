@@ -0,0 +1,31 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.zalando.riptide.DeadlinePlugin;
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Timeouts;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+@SuppressWarnings("unused")
+final class DeadlinePluginFactory {
+
+    private DeadlinePluginFactory() {
+
+    }
+
+    public static Plugin create(final Timeouts config, @Nullable final DeadlinePlugin.Scheduler scheduler) {
+        final DeadlinePlugin base = scheduler == null ?
+                new DeadlinePlugin() :
+                new DeadlinePlugin().withScheduler(scheduler);
+
+        final DeadlinePlugin plugin = Optional.ofNullable(config.getGlobal())
+                .map(global -> base.withDefaultTimeout(global.toDuration()))
+                .orElse(base);
+
+        return Optional.ofNullable(config.getDeadline().getHeader())
+                .map(plugin::withHeader)
+                .orElse(plugin);
+    }
+
+}
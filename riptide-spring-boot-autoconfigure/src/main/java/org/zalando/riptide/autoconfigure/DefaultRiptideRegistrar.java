@@ -17,19 +17,22 @@ import org.apache.hc.client5.http.io.HttpClientConnectionManager;
 import org.springframework.beans.BeanMetadataElement;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanReference;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestOperations;
+import org.zalando.riptide.DeadlinePlugin;
 import org.zalando.riptide.Http;
 import org.zalando.riptide.OriginalStackTracePlugin;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.auth.AuthorizationPlugin;
 import org.zalando.riptide.auth.AuthorizationProvider;
-import org.zalando.riptide.auth.PlatformCredentialsAuthorizationProvider;
+import org.zalando.riptide.auth.CachingPlatformCredentialsAuthorizationProvider;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Threads;
 import org.zalando.riptide.chaos.ChaosPlugin;
 import org.zalando.riptide.chaos.ErrorResponseInjection;
 import org.zalando.riptide.chaos.ExceptionInjection;
@@ -37,14 +40,26 @@ import org.zalando.riptide.chaos.LatencyInjection;
 import org.zalando.riptide.chaos.Probability;
 import org.zalando.riptide.compatibility.HttpOperations;
 import org.zalando.riptide.compression.RequestCompressionPlugin;
+import org.zalando.riptide.concurrent.AdaptivePoolSizer;
+import org.zalando.riptide.concurrent.TaskListener;
+import org.zalando.riptide.concurrent.VirtualThreadExecutor;
 import org.zalando.riptide.failsafe.BackupRequest;
+import org.zalando.riptide.failsafe.BackupRequestListener;
 import org.zalando.riptide.failsafe.CircuitBreakerListener;
 import org.zalando.riptide.failsafe.FailsafePlugin;
+import org.zalando.riptide.failsafe.HashedWheelScheduler;
+import org.zalando.riptide.failsafe.RetryBudgetListener;
 import org.zalando.riptide.httpclient.ApacheClientHttpRequestFactory;
 import org.zalando.riptide.httpclient.metrics.HttpConnectionPoolMetrics;
+import org.zalando.riptide.limits.ConcurrencyLimitPlugin;
+import org.zalando.riptide.limits.LimiterListener;
 import org.zalando.riptide.logbook.LogbookPlugin;
+import org.zalando.riptide.micrometer.AdaptivePoolSizerMetrics;
+import org.zalando.riptide.micrometer.ConcurrencyLimitMetrics;
 import org.zalando.riptide.micrometer.MicrometerPlugin;
+import org.zalando.riptide.micrometer.TaskMetrics;
 import org.zalando.riptide.micrometer.ThreadPoolMetrics;
+import org.zalando.riptide.micrometer.VirtualThreadMetrics;
 import org.zalando.riptide.micrometer.tag.RetryTagGenerator;
 import org.zalando.riptide.opentelemetry.OpenTelemetryPlugin;
 import org.zalando.riptide.opentracing.OpenTracingPlugin;
@@ -55,6 +70,7 @@ import org.zalando.riptide.soap.SOAPFaultHttpMessageConverter;
 import org.zalando.riptide.soap.SOAPHttpMessageConverter;
 import org.zalando.riptide.stream.Streams;
 
+import javax.annotation.Nullable;
 import java.net.SocketTimeoutException;
 import java.net.URI;
 import java.time.Clock;
@@ -146,31 +162,110 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
     }
 
     private String registerExecutor(final String id, final Client client) {
+        final String executorId = useVirtualThreads(id, client.getThreads()) ?
+                registerVirtualThreadExecutor(id, client) :
+                registerThreadPoolExecutor(id, client);
+
+        if (client.getTracing().getEnabled()) {
+            return registry.registerIfAbsent(id, TracedExecutorService.class, () ->
+                    genericBeanDefinition(TracedExecutorService.class)
+                            .addConstructorArgReference(executorId)
+                            .addConstructorArgValue(TRACER_REF));
+        }
+
+        return executorId;
+    }
+
+    private static boolean useVirtualThreads(final String id, final Threads threads) {
+        if (!threads.getVirtual()) {
+            return false;
+        }
+
+        if (VirtualThreadExecutor.isSupported()) {
+            return true;
+        }
+
+        log.warn("Client [{}]: Virtual threads require Java 21 or later, falling back to a thread pool", id);
+        return false;
+    }
+
+    private String registerVirtualThreadExecutor(final String id, final Client client) {
+        log.debug("Client [{}]: Registering VirtualThreadExecutor", id);
+
         final String executorId = registry.registerIfAbsent(id, ExecutorService.class, () ->
                 genericBeanDefinition(ThreadPoolFactory.class)
                         .addConstructorArgValue(id)
                         .addConstructorArgValue(client.getThreads())
-                        .setFactoryMethod("create")
+                        .addConstructorArgValue(createTaskListener(id, client))
+                        .setFactoryMethod("createVirtual")
                         .setDestroyMethodName("shutdown"));
 
         if (client.getMetrics().getEnabled()) {
-            registry.registerIfAbsent(id, ThreadPoolMetrics.class, () ->
-                    genericBeanDefinition(ThreadPoolMetrics.class)
+            registry.registerIfAbsent(id, VirtualThreadMetrics.class, () ->
+                    genericBeanDefinition(VirtualThreadMetrics.class)
                             .addConstructorArgReference(executorId)
                             .addConstructorArgValue("http.client.threads")
                             .addConstructorArgValue(ImmutableList.of(clientId(id))));
         }
 
-        if (client.getTracing().getEnabled()) {
-            return registry.registerIfAbsent(id, TracedExecutorService.class, () ->
-                    genericBeanDefinition(TracedExecutorService.class)
+        return executorId;
+    }
+
+    private String registerThreadPoolExecutor(final String id, final Client client) {
+        final Threads threads = client.getThreads();
+
+        @Nullable final String sizerId = threads.getAdaptive().getEnabled() ?
+                registry.registerIfAbsent(id, AdaptivePoolSizer.class, () ->
+                        genericBeanDefinition(AdaptivePoolSizer.class)
+                                .addConstructorArgValue(threads.getMinSize())
+                                .addConstructorArgValue(threads.getMaxSize())) :
+                null;
+
+        final String executorId = registry.registerIfAbsent(id, ExecutorService.class, () -> {
+            final BeanDefinitionBuilder executor = genericBeanDefinition(ThreadPoolFactory.class)
+                    .addConstructorArgValue(id)
+                    .addConstructorArgValue(threads)
+                    .addConstructorArgValue(createTaskListener(id, client));
+
+            if (sizerId != null) {
+                executor.addConstructorArgReference(sizerId);
+            }
+
+            return executor
+                    .setFactoryMethod("create")
+                    .setDestroyMethodName("shutdown");
+        });
+
+        if (client.getMetrics().getEnabled()) {
+            registry.registerIfAbsent(id, ThreadPoolMetrics.class, () ->
+                    genericBeanDefinition(ThreadPoolMetrics.class)
                             .addConstructorArgReference(executorId)
-                            .addConstructorArgValue(TRACER_REF));
+                            .addConstructorArgValue("http.client.threads")
+                            .addConstructorArgValue(ImmutableList.of(clientId(id))));
+
+            if (sizerId != null) {
+                registry.registerIfAbsent(id, AdaptivePoolSizerMetrics.class, () ->
+                        genericBeanDefinition(AdaptivePoolSizerMetrics.class)
+                                .addConstructorArgReference(sizerId)
+                                .addConstructorArgValue("http.client.threads.sizing")
+                                .addConstructorArgValue(ImmutableList.of(clientId(id))));
+            }
         }
 
         return executorId;
     }
 
+    private Object createTaskListener(final String id, final Client client) {
+        if (client.getMetrics().getEnabled()) {
+            return ref(registry.registerIfAbsent(id, TaskMetrics.class, () ->
+                    genericBeanDefinition(TaskMetrics.class)
+                            .addConstructorArgValue("http.client.tasks")
+                            .addConstructorArgValue(ImmutableList.of(clientId(id)))));
+        }
+
+        return TaskListener.DEFAULT;
+    }
+
     private static final class HttpMessageConverters {
 
 
@@ -245,11 +340,13 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                 registerLogbookPlugin(id, client),
                 registerOpenTracingPlugin(id, client),
                 registerOpenTelemetryPlugin(id, client),
+                registerConcurrencyLimitPlugin(id, client),
                 registerCircuitBreakerFailsafePlugin(id, client),
                 registerRetryPolicyFailsafePlugin(id, client),
                 registerAuthorizationPlugin(id, client),
                 registerBackupRequestFailsafePlugin(id, client),
                 registerTimeoutFailsafePlugin(id, client),
+                registerDeadlinePlugin(id, client),
                 registerOriginalStackTracePlugin(id, client),
                 registerCustomPlugin(id));
 
@@ -367,7 +464,9 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         if (client.getRequestCompression().getEnabled()) {
             final String pluginId = registry.registerIfAbsent(id, RequestCompressionPlugin.class, () -> {
                 log.debug("Client [{}]: Registering [{}]", id, RequestCompressionPlugin.class);
-                return genericBeanDefinition(RequestCompressionPlugin.class);
+                return genericBeanDefinition(RequestCompressionPluginFactory.class)
+                        .setFactoryMethod("create")
+                        .addConstructorArgValue(client.getRequestCompression());
             });
 
             return Optional.of(pluginId);
@@ -411,11 +510,24 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                         var executorServiceRef = executorService.map(Registry::ref).orElse(null);
 
                         log.debug("Client [{}]: Registering [CircuitBreakerFailsafePlugin]", id);
+
+                        if (client.getCircuitBreaker().getPerHost().getEnabled()) {
+                            return genericBeanDefinition(FailsafePluginFactory.class)
+                                    .setFactoryMethod("createPerHostCircuitBreakerPlugin")
+                                    .addConstructorArgValue(client)
+                                    .addConstructorArgReference(registerCircuitBreakerListener(id, client))
+                                    .addConstructorArgValue(createTaskDecorators(id, client))
+                                    .addConstructorArgValue(executorServiceRef)
+                                    .addConstructorArgValue(createScheduler(id, client));
+                        }
+
                         return genericBeanDefinition(FailsafePluginFactory.class)
                                 .setFactoryMethod("createCircuitBreakerPlugin")
                                 .addConstructorArgValue(registerCircuitBreaker(id, client))
                                 .addConstructorArgValue(createTaskDecorators(id, client))
-                                .addConstructorArgValue(executorServiceRef);
+                                .addConstructorArgValue(executorServiceRef)
+                                .addConstructorArgValue(createScheduler(id, client))
+                                .addConstructorArgValue(client.getCircuitBreaker().getFallback());
                     });
             return Optional.of(pluginId);
         }
@@ -432,8 +544,10 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                 return genericBeanDefinition(FailsafePluginFactory.class)
                         .setFactoryMethod("createRetryFailsafePlugin")
                         .addConstructorArgValue(client)
+                        .addConstructorArgReference(registerRetryBudgetListener(id, client))
                         .addConstructorArgValue(createTaskDecorators(id, client))
-                        .addConstructorArgValue(executorServiceRef);
+                        .addConstructorArgValue(executorServiceRef)
+                        .addConstructorArgValue(createScheduler(id, client));
             });
             return Optional.of(pluginId);
         }
@@ -463,14 +577,41 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                         return genericBeanDefinition(FailsafePluginFactory.class)
                                 .setFactoryMethod("createBackupRequestPlugin")
                                 .addConstructorArgValue(client)
+                                .addConstructorArgReference(registerBackupRequestListener(id, client))
                                 .addConstructorArgValue(createTaskDecorators(id, client))
-                                .addConstructorArgValue(executorServiceRef);
+                                .addConstructorArgValue(executorServiceRef)
+                                .addConstructorArgValue(createScheduler(id, client));
                     });
             return Optional.of(pluginId);
         }
         return Optional.empty();
     }
 
+    private Optional<String> registerConcurrencyLimitPlugin(final String id, final Client client) {
+        if (client.getConcurrencyLimit().getEnabled()) {
+            final String pluginId = registry.registerIfAbsent(id, ConcurrencyLimitPlugin.class, () -> {
+                log.debug("Client [{}]: Registering [{}]", id, ConcurrencyLimitPlugin.class.getSimpleName());
+                return genericBeanDefinition(ConcurrencyLimitPluginFactory.class)
+                        .setFactoryMethod("create")
+                        .addConstructorArgValue(client.getConcurrencyLimit())
+                        .addConstructorArgValue(createLimiterListener(id, client));
+            });
+            return Optional.of(pluginId);
+        }
+        return Optional.empty();
+    }
+
+    private Object createLimiterListener(final String id, final Client client) {
+        if (client.getMetrics().getEnabled()) {
+            return ref(registry.registerIfAbsent(id, ConcurrencyLimitMetrics.class, () ->
+                    genericBeanDefinition(ConcurrencyLimitMetrics.class)
+                            .addConstructorArgValue("http.client.limits")
+                            .addConstructorArgValue(ImmutableList.of(clientId(id)))));
+        }
+
+        return LimiterListener.DEFAULT;
+    }
+
     private Optional<String> registerTimeoutFailsafePlugin(final String id, final Client client) {
         if (client.getTimeouts().getEnabled()) {
             final String pluginId = registry.registerIfAbsent(name(id, Timeout.class, FailsafePlugin.class), () -> {
@@ -482,7 +623,35 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
                         .setFactoryMethod("createTimeoutPlugin")
                         .addConstructorArgValue(client)
                         .addConstructorArgValue(createTaskDecorators(id, client))
-                        .addConstructorArgValue(executorServiceRef);
+                        .addConstructorArgValue(executorServiceRef)
+                        .addConstructorArgValue(createScheduler(id, client));
+            });
+            return Optional.of(pluginId);
+        }
+        return Optional.empty();
+    }
+
+    @Nullable
+    private BeanReference createScheduler(final String id, final Client client) {
+        if (client.getTimer().getEnabled()) {
+            return ref(registry.registerIfAbsent(id, HashedWheelScheduler.class, () -> {
+                log.debug("Client [{}]: Registering [{}]", id, HashedWheelScheduler.class.getSimpleName());
+                return genericBeanDefinition(FailsafePluginFactory.class)
+                        .setFactoryMethod("createScheduler")
+                        .addConstructorArgValue(client.getTimer());
+            }));
+        }
+        return null;
+    }
+
+    private Optional<String> registerDeadlinePlugin(final String id, final Client client) {
+        if (client.getTimeouts().getDeadline().getEnabled()) {
+            final String pluginId = registry.registerIfAbsent(id, DeadlinePlugin.class, () -> {
+                log.debug("Client [{}]: Registering [{}]", id, DeadlinePlugin.class.getSimpleName());
+                return genericBeanDefinition(DeadlinePluginFactory.class)
+                        .setFactoryMethod("create")
+                        .addConstructorArgValue(client.getTimeouts())
+                        .addConstructorArgValue(createScheduler(id, client));
             });
             return Optional.of(pluginId);
         }
@@ -545,6 +714,34 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
         });
     }
 
+    private String registerBackupRequestListener(final String id, final Client client) {
+        return registry.registerIfAbsent(id, BackupRequestListener.class, () -> {
+            if (client.getMetrics().getEnabled()) {
+                return genericBeanDefinition(MicrometerFailsafeFactory.class)
+                        .setFactoryMethod("createBackupRequestListener")
+                        .addConstructorArgValue(METER_REGISTRY_REF)
+                        .addConstructorArgValue(ImmutableList.of(clientId(id), clientName(id, client)));
+            } else {
+                return genericBeanDefinition(MicrometerFailsafeFactory.class)
+                        .setFactoryMethod("getDefaultBackupRequestListener");
+            }
+        });
+    }
+
+    private String registerRetryBudgetListener(final String id, final Client client) {
+        return registry.registerIfAbsent(id, RetryBudgetListener.class, () -> {
+            if (client.getMetrics().getEnabled()) {
+                return genericBeanDefinition(MicrometerFailsafeFactory.class)
+                        .setFactoryMethod("createRetryBudgetListener")
+                        .addConstructorArgValue(METER_REGISTRY_REF)
+                        .addConstructorArgValue(ImmutableList.of(clientId(id), clientName(id, client)));
+            } else {
+                return genericBeanDefinition(MicrometerFailsafeFactory.class)
+                        .setFactoryMethod("getDefaultRetryBudgetListener");
+            }
+        });
+    }
+
     private Tag clientId(final String id) {
         return Tag.of("client_id", id);
     }
@@ -559,9 +756,10 @@ final class DefaultRiptideRegistrar implements RiptideRegistrar {
 
     private String registerAuthorizationProvider(final String id, final Auth auth) {
         return registry.registerIfAbsent(id, AuthorizationProvider.class, () ->
-                genericBeanDefinition(PlatformCredentialsAuthorizationProvider.class)
+                genericBeanDefinition(CachingPlatformCredentialsAuthorizationProvider.class)
                         .addConstructorArgValue(auth.getCredentialsDirectory())
-                        .addConstructorArgValue(id));
+                        .addConstructorArgValue(id)
+                        .setDestroyMethodName("close"));
     }
 
     private String registerHttpClient(final String id, final Client client) {
@@ -12,6 +12,7 @@ import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.ErrorResponses;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.Exceptions;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Chaos.Latency;
+import org.zalando.riptide.autoconfigure.RiptideProperties.ConcurrencyLimit;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Connections;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Logging;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Metrics;
@@ -21,7 +22,9 @@ import org.zalando.riptide.autoconfigure.RiptideProperties.Soap;
 import org.zalando.riptide.autoconfigure.RiptideProperties.StackTracePreservation;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Telemetry;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Timeouts;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Timer;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Tracing;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Threads.Adaptive;
 import org.zalando.riptide.autoconfigure.RiptideProperties.TransientFaultDetection;
 
 import javax.annotation.Nullable;
@@ -73,6 +76,8 @@ final class Defaulting {
                 defaults.getCircuitBreaker(),
                 defaults.getBackupRequest(),
                 defaults.getTimeouts(),
+                defaults.getTimer(),
+                defaults.getConcurrencyLimit(),
                 defaults.getRequestCompression(),
                 defaults.getCertificatePinning(),
                 defaults.getCaching(),
@@ -115,6 +120,8 @@ final class Defaulting {
                 merge(base.getCircuitBreaker(), defaults.getCircuitBreaker(), Defaulting::merge),
                 merge(base.getBackupRequest(), defaults.getBackupRequest(), Defaulting::merge),
                 merge(base.getTimeouts(), defaults.getTimeouts(), Defaulting::merge),
+                merge(base.getTimer(), defaults.getTimer(), Defaulting::merge),
+                merge(base.getConcurrencyLimit(), defaults.getConcurrencyLimit(), Defaulting::merge),
                 merge(base.getRequestCompression(), defaults.getRequestCompression(), Defaulting::merge),
                 merge(base.getCertificatePinning(), defaults.getCertificatePinning(), Defaulting::merge),
                 merge(base.getCaching(), defaults.getCaching(), Defaulting::merge),
@@ -146,7 +153,16 @@ final class Defaulting {
                 either(base.getMinSize(), defaults.getMinSize()),
                 either(base.getMaxSize(), defaults.getMaxSize()),
                 either(base.getKeepAlive(), defaults.getKeepAlive()),
-                either(base.getQueueSize(), defaults.getQueueSize())
+                either(base.getQueueSize(), defaults.getQueueSize()),
+                either(base.getVirtual(), defaults.getVirtual()),
+                merge(base.getAdaptive(), defaults.getAdaptive(), Defaulting::merge)
+        );
+    }
+
+    private static Adaptive merge(final Adaptive base, final Adaptive defaults) {
+        return new Adaptive(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getInterval(), defaults.getInterval())
         );
     }
 
@@ -201,7 +217,8 @@ final class Defaulting {
                 either(base.getMaxRetries(), defaults.getMaxRetries()),
                 either(base.getMaxDuration(), defaults.getMaxDuration()),
                 either(base.getJitterFactor(), defaults.getJitterFactor()),
-                either(base.getJitter(), defaults.getJitter())
+                either(base.getJitter(), defaults.getJitter()),
+                merge(base.getBudget(), defaults.getBudget(), Defaulting::merge)
         );
     }
 
@@ -214,33 +231,98 @@ final class Defaulting {
         );
     }
 
+    private static Retry.Budget merge(final Retry.Budget base, final Retry.Budget defaults) {
+        return new Retry.Budget(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getRatio(), defaults.getRatio()),
+                either(base.getReserve(), defaults.getReserve()),
+                either(base.getPerHost(), defaults.getPerHost())
+        );
+    }
+
     private static CircuitBreaker merge(final CircuitBreaker base, final CircuitBreaker defaults) {
         return new CircuitBreaker(
                 either(base.getEnabled(), defaults.getEnabled()),
                 either(base.getFailureThreshold(), defaults.getFailureThreshold()),
                 either(base.getFailureRateThreshold(), defaults.getFailureRateThreshold()),
                 either(base.getDelay(), defaults.getDelay()),
-                either(base.getSuccessThreshold(), defaults.getSuccessThreshold())
+                either(base.getSuccessThreshold(), defaults.getSuccessThreshold()),
+                merge(base.getPerHost(), defaults.getPerHost(), Defaulting::merge),
+                merge(base.getFallback(), defaults.getFallback(), Defaulting::merge)
+        );
+    }
+
+    private static CircuitBreaker.PerHost merge(final CircuitBreaker.PerHost base,
+            final CircuitBreaker.PerHost defaults) {
+        return new CircuitBreaker.PerHost(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getMaximumSize(), defaults.getMaximumSize()),
+                either(base.getIdleTimeout(), defaults.getIdleTimeout())
+        );
+    }
+
+    private static CircuitBreaker.Fallback merge(final CircuitBreaker.Fallback base,
+            final CircuitBreaker.Fallback defaults) {
+        return new CircuitBreaker.Fallback(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getMaxEntries(), defaults.getMaxEntries()),
+                either(base.getMaxBytes(), defaults.getMaxBytes()),
+                either(base.getMaxStaleness(), defaults.getMaxStaleness())
         );
     }
 
     private static BackupRequest merge(final BackupRequest base, final BackupRequest defaults) {
         return new BackupRequest(
                 either(base.getEnabled(), defaults.getEnabled()),
-                either(base.getDelay(), defaults.getDelay())
+                either(base.getDelay(), defaults.getDelay()),
+                either(base.getPercentile(), defaults.getPercentile()),
+                either(base.getBudget(), defaults.getBudget()),
+                either(base.getMaxAttempts(), defaults.getMaxAttempts()),
+                either(base.getMaxOutstanding(), defaults.getMaxOutstanding())
         );
     }
 
     private static Timeouts merge(final Timeouts base, final Timeouts defaults) {
         return new Timeouts(
                 either(base.getEnabled(), defaults.getEnabled()),
-                either(base.getGlobal(), defaults.getGlobal())
+                either(base.getGlobal(), defaults.getGlobal()),
+                merge(base.getDeadline(), defaults.getDeadline(), Defaulting::merge)
+        );
+    }
+
+    private static Timeouts.Deadline merge(final Timeouts.Deadline base, final Timeouts.Deadline defaults) {
+        return new Timeouts.Deadline(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getHeader(), defaults.getHeader())
+        );
+    }
+
+    private static Timer merge(final Timer base, final Timer defaults) {
+        return new Timer(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getTickDuration(), defaults.getTickDuration()),
+                either(base.getTicksPerWheel(), defaults.getTicksPerWheel())
+        );
+    }
+
+    private static ConcurrencyLimit merge(final ConcurrencyLimit base, final ConcurrencyLimit defaults) {
+        return new ConcurrencyLimit(
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getAlgorithm(), defaults.getAlgorithm()),
+                either(base.getInitialLimit(), defaults.getInitialLimit()),
+                either(base.getMinLimit(), defaults.getMinLimit()),
+                either(base.getMaxLimit(), defaults.getMaxLimit()),
+                either(base.getPerHost(), defaults.getPerHost()),
+                either(base.getQueueSize(), defaults.getQueueSize()),
+                either(base.getMaxWait(), defaults.getMaxWait())
         );
     }
 
     private static RequestCompression merge(final RequestCompression base, final RequestCompression defaults) {
         return new RequestCompression(
-                either(base.getEnabled(), defaults.getEnabled())
+                either(base.getEnabled(), defaults.getEnabled()),
+                either(base.getLevel(), defaults.getLevel()),
+                either(base.getThreshold(), defaults.getThreshold())
         );
     }
 
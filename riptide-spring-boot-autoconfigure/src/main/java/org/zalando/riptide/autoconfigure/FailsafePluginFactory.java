@@ -6,18 +6,28 @@ import dev.failsafe.RetryPolicy;
 import dev.failsafe.RetryPolicyBuilder;
 import dev.failsafe.Timeout;
 import dev.failsafe.function.ContextualSupplier;
+import dev.failsafe.spi.Scheduler;
 import org.springframework.http.client.ClientHttpResponse;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Retry;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Retry.Backoff;
+import org.zalando.riptide.autoconfigure.RiptideProperties.Timer;
+import org.zalando.riptide.failsafe.AdaptiveBackupRequest;
 import org.zalando.riptide.failsafe.BackupRequest;
+import org.zalando.riptide.failsafe.BackupRequestListener;
 import org.zalando.riptide.failsafe.CircuitBreakerListener;
+import org.zalando.riptide.failsafe.CircuitBreakerRequestPolicy;
 import org.zalando.riptide.failsafe.CompositeDelayFunction;
 import org.zalando.riptide.failsafe.FailsafePlugin;
+import org.zalando.riptide.failsafe.HashedWheelScheduler;
+import org.zalando.riptide.failsafe.LastKnownGoodFallback;
 import org.zalando.riptide.failsafe.RateLimitResetDelayFunction;
 import org.zalando.riptide.failsafe.RequestPolicies;
+import org.zalando.riptide.failsafe.RequestPolicy;
 import org.zalando.riptide.failsafe.RetryAfterDelayFunction;
+import org.zalando.riptide.failsafe.RetryBudget;
+import org.zalando.riptide.failsafe.RetryBudgetListener;
 import org.zalando.riptide.failsafe.RetryException;
 import org.zalando.riptide.failsafe.RetryRequestPolicy;
 import org.zalando.riptide.failsafe.TaskDecorator;
@@ -51,14 +61,49 @@ final class FailsafePluginFactory {
     public static Plugin createCircuitBreakerPlugin(
             final CircuitBreaker<ClientHttpResponse> breaker,
             final List<TaskDecorator> decorators,
-            @Nullable final ExecutorService executorService) {
+            @Nullable final ExecutorService executorService,
+            @Nullable final HashedWheelScheduler scheduler,
+            final RiptideProperties.CircuitBreaker.Fallback fallback) {
 
         return new FailsafePlugin()
                 .withExecutor(executorService)
+                .withScheduler(scheduler(scheduler, executorService))
+                .withFallback(createFallback(fallback))
                 .withPolicy(breaker)
                 .withDecorator(composite(decorators));
     }
 
+    public static Plugin createPerHostCircuitBreakerPlugin(
+            final Client client,
+            final CircuitBreakerListener listener,
+            final List<TaskDecorator> decorators,
+            @Nullable final ExecutorService executorService,
+            @Nullable final HashedWheelScheduler scheduler) {
+
+        final RiptideProperties.CircuitBreaker.PerHost config = client.getCircuitBreaker().getPerHost();
+
+        return new FailsafePlugin()
+                .withExecutor(executorService)
+                .withScheduler(scheduler(scheduler, executorService))
+                .withFallback(createFallback(client.getCircuitBreaker().getFallback()))
+                .withPolicy(new CircuitBreakerRequestPolicy(host -> createCircuitBreaker(client, listener.forKey(host)))
+                        .withMaximumSize(config.getMaximumSize())
+                        .withExpireAfterAccess(config.getIdleTimeout().toDuration()))
+                .withDecorator(composite(decorators));
+    }
+
+    @Nullable
+    private static LastKnownGoodFallback createFallback(final RiptideProperties.CircuitBreaker.Fallback config) {
+        if (!config.getEnabled()) {
+            return null;
+        }
+
+        return new LastKnownGoodFallback()
+                .withMaxEntries(config.getMaxEntries())
+                .withMaxBytes(config.getMaxBytes())
+                .withMaxStaleness(config.getMaxStaleness().toDuration());
+    }
+
     public static CircuitBreaker<ClientHttpResponse> createCircuitBreaker(
             final Client client,
             final CircuitBreakerListener listener) {
@@ -87,12 +132,18 @@ final class FailsafePluginFactory {
 
     public static Plugin createRetryFailsafePlugin(
             final Client client,
+            final RetryBudgetListener listener,
             final List<TaskDecorator> decorators,
-            @Nullable final ExecutorService executorService) {
+            @Nullable final ExecutorService executorService,
+            @Nullable final HashedWheelScheduler scheduler) {
+
+        final FailsafePlugin plugin = new FailsafePlugin()
+                .withExecutor(executorService)
+                .withScheduler(scheduler(scheduler, executorService))
+                .withRetryBudget(createRetryBudget(client.getRetry().getBudget(), listener));
 
         if (client.getTransientFaultDetection().getEnabled()) {
-            return new FailsafePlugin()
-                    .withExecutor(executorService)
+            return plugin
                     .withPolicy(new RetryRequestPolicy(getRetryPolicyBuilder(client)
                             .handleIf(toCheckedPredicate(transientSocketFaults()))
                             .build())
@@ -104,13 +155,28 @@ final class FailsafePluginFactory {
                     .withPolicy(new RetryRequestPolicy(getRetryPolicyBuilder(client).handle(RetryException.class).build()))
                     .withDecorator(composite(decorators));
         } else {
-            return new FailsafePlugin()
-                    .withExecutor(executorService)
+            return plugin
                     .withPolicy(new RetryRequestPolicy(getRetryPolicyBuilder(client).handle(RetryException.class).build()))
                     .withDecorator(composite(decorators));
         }
     }
 
+    @Nullable
+    private static RetryBudget createRetryBudget(
+            @Nullable final Retry.Budget config,
+            final RetryBudgetListener listener) {
+
+        if (config == null || !config.getEnabled()) {
+            return null;
+        }
+
+        final RetryBudget budget = new RetryBudget(config.getRatio())
+                .withReserve(config.getReserve())
+                .withListener(listener);
+
+        return config.getPerHost() ? budget.perHost() : budget;
+    }
+
     private static RetryPolicyBuilder<ClientHttpResponse> getRetryPolicyBuilder(Client client) {
         final RetryPolicyBuilder<ClientHttpResponse> policyBuilder = RetryPolicy.builder();
 
@@ -153,36 +219,81 @@ final class FailsafePluginFactory {
 
     public static Plugin createBackupRequestPlugin(
             final Client client,
+            final BackupRequestListener listener,
             final List<TaskDecorator> decorators,
-            @Nullable final ExecutorService executorService) {
+            @Nullable final ExecutorService executorService,
+            @Nullable final HashedWheelScheduler scheduler) {
 
-        final TimeSpan delay = client.getBackupRequest().getDelay();
+        final RiptideProperties.BackupRequest config = client.getBackupRequest();
 
         return new FailsafePlugin()
                 .withExecutor(executorService)
-                .withPolicy(RequestPolicies.of(
-                        new BackupRequest<>(delay.getAmount(), delay.getUnit()),
-                        new IdempotencyPredicate()))
+                .withScheduler(scheduler(scheduler, executorService))
+                .withPolicy(config.getPercentile() == null ?
+                        createBackupRequest(config) :
+                        createAdaptiveBackupRequest(config, listener))
                 .withDecorator(composite(decorators));
     }
 
+    private static RequestPolicy createBackupRequest(final RiptideProperties.BackupRequest config) {
+        final TimeSpan delay = config.getDelay();
+        final BackupRequest<ClientHttpResponse> policy =
+                new BackupRequest<ClientHttpResponse>(delay.getAmount(), delay.getUnit())
+                        .withMaxAttempts(config.getMaxAttempts());
+
+        return RequestPolicies.of(
+                Optional.ofNullable(config.getMaxOutstanding())
+                        .map(policy::withMaxOutstanding)
+                        .orElse(policy),
+                new IdempotencyPredicate());
+    }
+
+    private static RequestPolicy createAdaptiveBackupRequest(
+            final RiptideProperties.BackupRequest config,
+            final BackupRequestListener listener) {
+
+        final AdaptiveBackupRequest policy = new AdaptiveBackupRequest(config.getDelay().toDuration())
+                .withPercentile(config.getPercentile())
+                .withBudget(config.getBudget())
+                .withMaxAttempts(config.getMaxAttempts())
+                .withListener(listener);
+
+        return Optional.ofNullable(config.getMaxOutstanding())
+                .map(policy::withMaxOutstanding)
+                .orElse(policy);
+    }
+
     public static Plugin createTimeoutPlugin(
             final Client client,
             final List<TaskDecorator> decorators,
-            @Nullable final ExecutorService executorService) {
+            @Nullable final ExecutorService executorService,
+            @Nullable final HashedWheelScheduler scheduler) {
 
         final Duration timeout = client.getTimeouts().getGlobal().toDuration();
 
         return new FailsafePlugin()
                 .withExecutor(executorService)
-                .withPolicy(
-                        Timeout.<ClientHttpResponse>builder(timeout)
-                                .withInterrupt()
-                                .build()
-                )
+                .withScheduler(scheduler(scheduler, executorService))
+                // expired attempts abort their exchange, interrupting threads is neither needed nor safe
+                .withPolicy(Timeout.of(timeout))
                 .withDecorator(composite(decorators));
     }
 
+    public static HashedWheelScheduler createScheduler(final Timer timer) {
+        return new HashedWheelScheduler(timer.getTickDuration().toDuration(), timer.getTicksPerWheel());
+    }
+
+    /**
+     * The wheel is shared by all plugins of a client, tasks are run by the executor of the respective plugin, if any.
+     */
+    @Nullable
+    private static Scheduler scheduler(
+            @Nullable final HashedWheelScheduler scheduler,
+            @Nullable final ExecutorService executorService) {
+
+        return scheduler == null || executorService == null ? scheduler : scheduler.withExecutor(executorService);
+    }
+
     private static ContextualSupplier<ClientHttpResponse, Duration> delayFunction() {
         return new CompositeDelayFunction<>(Arrays.asList(
                 new RetryAfterDelayFunction(systemUTC()),
@@ -3,8 +3,12 @@ package org.zalando.riptide.autoconfigure;
 import com.google.common.collect.ImmutableList;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import org.zalando.riptide.failsafe.BackupRequestListener;
 import org.zalando.riptide.failsafe.CircuitBreakerListener;
+import org.zalando.riptide.failsafe.RetryBudgetListener;
+import org.zalando.riptide.failsafe.metrics.MetricsBackupRequestListener;
 import org.zalando.riptide.failsafe.metrics.MetricsCircuitBreakerListener;
+import org.zalando.riptide.failsafe.metrics.MetricsRetryBudgetListener;
 
 final class MicrometerFailsafeFactory {
 
@@ -21,4 +25,22 @@ final class MicrometerFailsafeFactory {
         return CircuitBreakerListener.DEFAULT;
     }
 
+    public static BackupRequestListener createBackupRequestListener(final MeterRegistry registry,
+            final ImmutableList<Tag> defaultTags) {
+        return new MetricsBackupRequestListener(registry).withDefaultTags(defaultTags);
+    }
+
+    public static BackupRequestListener getDefaultBackupRequestListener() {
+        return BackupRequestListener.DEFAULT;
+    }
+
+    public static RetryBudgetListener createRetryBudgetListener(final MeterRegistry registry,
+            final ImmutableList<Tag> defaultTags) {
+        return new MetricsRetryBudgetListener(registry).withDefaultTags(defaultTags);
+    }
+
+    public static RetryBudgetListener getDefaultRetryBudgetListener() {
+        return RetryBudgetListener.DEFAULT;
+    }
+
 }
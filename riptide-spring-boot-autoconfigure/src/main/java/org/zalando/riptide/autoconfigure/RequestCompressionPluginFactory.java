@@ -0,0 +1,20 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.zalando.riptide.Plugin;
+import org.zalando.riptide.autoconfigure.RiptideProperties.RequestCompression;
+import org.zalando.riptide.compression.Compression;
+import org.zalando.riptide.compression.RequestCompressionPlugin;
+
+@SuppressWarnings("unused")
+final class RequestCompressionPluginFactory {
+
+    private RequestCompressionPluginFactory() {
+
+    }
+
+    public static Plugin create(final RequestCompression config) {
+        return new RequestCompressionPlugin(Compression.gzip(config.getLevel()))
+                .withThreshold(config.getThreshold());
+    }
+
+}
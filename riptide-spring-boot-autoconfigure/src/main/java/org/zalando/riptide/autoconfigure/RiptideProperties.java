@@ -27,6 +27,8 @@ import java.util.List;
 import java.util.Map;
 
 import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apiguardian.api.API.Status.INTERNAL;
@@ -73,7 +75,9 @@ public final class RiptideProperties {
                 1,
                 null,
                 TimeSpan.of(1, MINUTES),
-                0
+                0,
+                false,
+                new Threads.Adaptive(false, TimeSpan.of(10, SECONDS))
         );
 
         @NestedConfigurationProperty
@@ -97,19 +101,29 @@ public final class RiptideProperties {
 
         @NestedConfigurationProperty
         private Retry retry = new Retry(false, null,
-                new Backoff(false, null, null, null), -1, TimeSpan.of(5, SECONDS), null, null);
+                new Backoff(false, null, null, null), -1, TimeSpan.of(5, SECONDS), null, null,
+                new Retry.Budget(false, 0.2, 10, false));
+
+        @NestedConfigurationProperty
+        private CircuitBreaker circuitBreaker = new CircuitBreaker(false, null, null, TimeSpan.of(0, SECONDS), null,
+                new CircuitBreaker.PerHost(false, 1000, TimeSpan.of(10, MINUTES)),
+                new CircuitBreaker.Fallback(false, 1000, 10_485_760L, TimeSpan.of(1, HOURS)));
+
+        @NestedConfigurationProperty
+        private BackupRequest backupRequest = new BackupRequest(false, null, null, 0.1, 2, null);
 
         @NestedConfigurationProperty
-        private CircuitBreaker circuitBreaker = new CircuitBreaker(false, null, null, TimeSpan.of(0, SECONDS), null);
+        private Timeouts timeouts = new Timeouts(false, null, new Timeouts.Deadline(false, null));
 
         @NestedConfigurationProperty
-        private BackupRequest backupRequest = new BackupRequest(false, null);
+        private Timer timer = new Timer(false, TimeSpan.of(10, MILLISECONDS), 512);
 
         @NestedConfigurationProperty
-        private Timeouts timeouts = new Timeouts(false, null);
+        private ConcurrencyLimit concurrencyLimit = new ConcurrencyLimit(false, ConcurrencyLimit.Algorithm.GRADIENT,
+                20, 1, 200, false, 0, TimeSpan.of(0, SECONDS));
 
         @NestedConfigurationProperty
-        private RequestCompression requestCompression = new RequestCompression(false);
+        private RequestCompression requestCompression = new RequestCompression(false, -1, 0);
 
         @NestedConfigurationProperty
         private CertificatePinning certificatePinning = new CertificatePinning(false, new Keystore());
@@ -193,6 +207,12 @@ public final class RiptideProperties {
         @NestedConfigurationProperty
         private Timeouts timeouts;
 
+        @NestedConfigurationProperty
+        private Timer timer;
+
+        @NestedConfigurationProperty
+        private ConcurrencyLimit concurrencyLimit;
+
         @NestedConfigurationProperty
         private RequestCompression requestCompression;
 
@@ -240,9 +260,22 @@ public final class RiptideProperties {
         private Integer maxSize;
         private TimeSpan keepAlive;
         private Integer queueSize;
+        private Boolean virtual;
+        private Adaptive adaptive;
 
         public Threads(final Integer maxSize) {
             this.maxSize = maxSize;
+            this.virtual = false;
+            this.adaptive = new Adaptive(false, TimeSpan.of(10, SECONDS));
+        }
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static final class Adaptive {
+            private Boolean enabled;
+            private TimeSpan interval;
         }
     }
 
@@ -300,6 +333,7 @@ public final class RiptideProperties {
         private TimeSpan maxDuration;
         private Double jitterFactor;
         private TimeSpan jitter;
+        private Budget budget;
 
         @Getter
         @Setter
@@ -311,6 +345,17 @@ public final class RiptideProperties {
             private TimeSpan maxDelay;
             private Double delayFactor;
         }
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static final class Budget {
+            private Boolean enabled;
+            private Double ratio;
+            private Integer reserve;
+            private Boolean perHost;
+        }
     }
 
     @Getter
@@ -323,6 +368,29 @@ public final class RiptideProperties {
         private RatioInTimeSpan failureRateThreshold;
         private TimeSpan delay;
         private Ratio successThreshold;
+        private PerHost perHost;
+        private Fallback fallback;
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static final class PerHost {
+            private Boolean enabled;
+            private Integer maximumSize;
+            private TimeSpan idleTimeout;
+        }
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static final class Fallback {
+            private Boolean enabled;
+            private Integer maxEntries;
+            private Long maxBytes;
+            private TimeSpan maxStaleness;
+        }
     }
 
     @Getter
@@ -332,6 +400,10 @@ public final class RiptideProperties {
     public static final class BackupRequest {
         private Boolean enabled;
         private TimeSpan delay;
+        private Double percentile;
+        private Double budget;
+        private Integer maxAttempts;
+        private Integer maxOutstanding;
     }
 
     @Getter
@@ -341,6 +413,45 @@ public final class RiptideProperties {
     public static final class Timeouts {
         private Boolean enabled;
         private TimeSpan global;
+        private Deadline deadline;
+
+        @Getter
+        @Setter
+        @NoArgsConstructor
+        @AllArgsConstructor
+        public static final class Deadline {
+            private Boolean enabled;
+            private String header;
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class Timer {
+        private Boolean enabled;
+        private TimeSpan tickDuration;
+        private Integer ticksPerWheel;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static final class ConcurrencyLimit {
+        private Boolean enabled;
+        private Algorithm algorithm;
+        private Integer initialLimit;
+        private Integer minLimit;
+        private Integer maxLimit;
+        private Boolean perHost;
+        private Integer queueSize;
+        private TimeSpan maxWait;
+
+        public enum Algorithm {
+            AIMD, GRADIENT, VEGAS
+        }
     }
 
     @Getter
@@ -349,6 +460,8 @@ public final class RiptideProperties {
     @AllArgsConstructor
     public static final class RequestCompression {
         private Boolean enabled;
+        private Integer level;
+        private Integer threshold;
     }
 
     @Getter
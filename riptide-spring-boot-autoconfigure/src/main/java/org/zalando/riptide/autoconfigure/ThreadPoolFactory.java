@@ -2,7 +2,10 @@ package org.zalando.riptide.autoconfigure;
 
 import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Threads;
+import org.zalando.riptide.concurrent.AdaptivePoolSizer;
+import org.zalando.riptide.concurrent.TaskListener;
 import org.zalando.riptide.concurrent.ThreadPoolExecutors;
+import org.zalando.riptide.concurrent.VirtualThreadExecutor;
 
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -17,13 +20,37 @@ final class ThreadPoolFactory {
 
     public static ThreadPoolExecutor create(
             final String id,
-            final Threads threads) {
+            final Threads threads,
+            final TaskListener listener) {
 
         return configure(threads)
                 .threadFactory(new CustomizableThreadFactory("http-" + id + "-"))
+                .listener(listener)
                 .build();
     }
 
+    public static ThreadPoolExecutor create(
+            final String id,
+            final Threads threads,
+            final TaskListener listener,
+            final AdaptivePoolSizer sizer) {
+
+        final ThreadPoolExecutor executor = create(id, threads,
+                listener == TaskListener.DEFAULT ? sizer : TaskListener.composite(listener, sizer));
+
+        sizer.start(executor, threads.getAdaptive().getInterval().toDuration());
+
+        return executor;
+    }
+
+    public static VirtualThreadExecutor createVirtual(
+            final String id,
+            final Threads threads,
+            final TaskListener listener) {
+
+        return VirtualThreadExecutor.create("http-" + id + "-", threads.getMaxSize(), listener);
+    }
+
     private static ThreadPoolExecutors.Threads configure(final Threads threads) {
         final int minSize = threads.getMinSize();
         final int maxSize = threads.getMaxSize();
@@ -2,6 +2,7 @@ package org.zalando.riptide.autoconfigure;
 
 import org.junit.jupiter.api.Test;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Caching.Heuristic;
+import org.zalando.riptide.autoconfigure.RiptideProperties.CircuitBreaker;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Client;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Connections;
 import org.zalando.riptide.autoconfigure.RiptideProperties.Defaults;
@@ -57,7 +58,7 @@ final class DefaultingTest {
     void shouldNotOverwriteProvidedDefaultThreadsMaxSizeWithConnectionsMaxTotal() {
         final RiptideProperties properties = new RiptideProperties();
         final Defaults defaults = new Defaults();
-        defaults.setThreads(new Threads(true, null, 10, null, null));
+        defaults.setThreads(new Threads(true, null, 10, null, null, null, null));
         properties.setDefaults(defaults);
         final RiptideProperties actual = Defaulting.withDefaults(properties);
 
@@ -120,4 +121,20 @@ final class DefaultingTest {
         assertThat(actual.getHeuristic().getDefaultLifeTime(), hasToString("1 hours"));
     }
 
+    @Test
+    void shouldMergeCircuitBreakerFallback() {
+        final RiptideProperties properties = new RiptideProperties();
+        final Client client = new Client();
+        client.setCircuitBreaker(new CircuitBreaker());
+        client.getCircuitBreaker().setFallback(new CircuitBreaker.Fallback(true, 100, null, null));
+        properties.getClients().put("example", client);
+        final RiptideProperties actual = Defaulting.withDefaults(properties);
+
+        final CircuitBreaker.Fallback fallback = actual.getClients().get("example").getCircuitBreaker().getFallback();
+        assertThat(fallback.getEnabled(), is(true));
+        assertThat(fallback.getMaxEntries(), is(100));
+        assertThat(fallback.getMaxBytes(), is(10_485_760L));
+        assertThat(fallback.getMaxStaleness(), hasToString("1 hours"));
+    }
+
 }
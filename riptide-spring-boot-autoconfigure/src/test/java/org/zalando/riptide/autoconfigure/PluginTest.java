@@ -9,10 +9,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Component;
 import org.springframework.test.context.TestPropertySource;
+import org.zalando.riptide.DeadlinePlugin;
 import org.zalando.riptide.Http;
 import org.zalando.riptide.OriginalStackTracePlugin;
 import org.zalando.riptide.Plugin;
 import org.zalando.riptide.failsafe.FailsafePlugin;
+import org.zalando.riptide.failsafe.HashedWheelScheduler;
+import org.zalando.riptide.limits.ConcurrencyLimitPlugin;
 import org.zalando.riptide.logbook.LogbookPlugin;
 import org.zalando.riptide.micrometer.MicrometerPlugin;
 import org.zalando.riptide.opentelemetry.OpenTelemetryPlugin;
@@ -26,6 +29,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
 
 @SpringBootTest(classes = PluginTest.TestConfiguration.class, webEnvironment = NONE)
@@ -70,6 +74,10 @@ final class PluginTest {
     @Qualifier("example")
     private Http example;
 
+    @Autowired
+    @Qualifier("baz")
+    private HashedWheelScheduler bazScheduler;
+
     @Test
     void shouldUseFailsafePlugin() throws Exception {
         assertThat(getPlugins(foo), contains(asList(
@@ -89,7 +97,21 @@ final class PluginTest {
                 instanceOf(Plugin.class), // internal plugin
                 instanceOf(MicrometerPlugin.class),
                 instanceOf(FailsafePlugin.class), // backup requests
-                instanceOf(FailsafePlugin.class)))); // timeouts
+                instanceOf(FailsafePlugin.class), // timeouts
+                instanceOf(DeadlinePlugin.class))));
+    }
+
+    @Test
+    void shouldEnforceDeadlinesUsingTimer() throws Exception {
+        final Plugin plugin = getPlugins(baz).stream()
+                .filter(DeadlinePlugin.class::isInstance)
+                .findFirst()
+                .orElseThrow();
+
+        final Field field = DeadlinePlugin.class.getDeclaredField("scheduler");
+        field.setAccessible(true);
+
+        assertThat(field.get(plugin), sameInstance(bazScheduler));
     }
 
     @Test
@@ -101,6 +123,7 @@ final class PluginTest {
                 instanceOf(MicrometerPlugin.class),
                 instanceOf(LogbookPlugin.class),
                 instanceOf(OpenTracingPlugin.class),
+                instanceOf(ConcurrencyLimitPlugin.class),
                 instanceOf(OriginalStackTracePlugin.class))));
     }
 
@@ -0,0 +1,48 @@
+package org.zalando.riptide.autoconfigure;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.TestPropertySource;
+import org.zalando.riptide.concurrent.VirtualThreadExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.condition.JRE.JAVA_20;
+import static org.junit.jupiter.api.condition.JRE.JAVA_21;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
+
+@SpringBootTest(classes = DefaultTestConfiguration.class, webEnvironment = NONE)
+@TestPropertySource(properties = {
+        "riptide.clients.bar.threads.virtual: true",
+        "riptide.clients.bar.threads.max-size: 50",
+})
+@Component
+final class VirtualThreadsTest {
+
+    @Autowired
+    @Qualifier("bar")
+    private ExecutorService executor;
+
+    @Test
+    @EnabledForJreRange(min = JAVA_21)
+    void shouldUseVirtualThreads() {
+        assertThat(executor, is(instanceOf(VirtualThreadExecutor.class)));
+        assertThat(((VirtualThreadExecutor) executor).getMaxConcurrency(), is(50));
+    }
+
+    @Test
+    @EnabledForJreRange(max = JAVA_20)
+    void shouldFallBackToThreadPool() {
+        assertThat(executor, is(instanceOf(ThreadPoolExecutor.class)));
+        assertThat(((ThreadPoolExecutor) executor).getMaximumPoolSize(), is(50));
+    }
+
+}
@@ -15,6 +15,7 @@ import org.zalando.riptide.Http;
 import org.zalando.riptide.autoconfigure.MetricsTestAutoConfiguration;
 import org.zalando.riptide.autoconfigure.OpenTracingTestAutoConfiguration;
 import org.zalando.riptide.autoconfigure.RiptideClientTest;
+import org.zalando.riptide.failsafe.HashedWheelScheduler;
 
 import javax.annotation.Nonnull;
 import java.util.concurrent.BlockingQueue;
@@ -128,6 +129,10 @@ public class FailsafeCustomExecutorTest {
     @Qualifier("custom-executor-testTimeoutExecutorService")
     private CountingExecutorService timeoutExecutorService;
 
+    @Autowired
+    @Qualifier("custom-executor-test")
+    private HashedWheelScheduler scheduler;
+
     @Autowired
     private MockRestServiceServer server;
 
@@ -146,4 +151,9 @@ public class FailsafeCustomExecutorTest {
         assertEquals(invocationCount, backupRequestExecutorService.counter.get());
         assertEquals(invocationCount, timeoutExecutorService.counter.get());
     }
+
+    @Test
+    void shouldRegisterHashedWheelScheduler() throws Exception {
+        assertEquals("done", scheduler.schedule(() -> "done", 10, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS));
+    }
 }